@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.benchmark;
+
+import io.github.malapert.jwcs.crs.AbstractCrs;
+import io.github.malapert.jwcs.crs.CrsConverter;
+import io.github.malapert.jwcs.crs.CrsFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the conversion of sky positions between each pair of coordinate
+ * reference systems.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrsConversionBenchmark {
+
+    /**
+     * Number of positions converted by each invocation.
+     */
+    static final int NB_POSITIONS = 1024;
+
+    /**
+     * Coordinate reference system of the input positions.
+     */
+    @Param({"EQUATORIAL", "ECLIPTIC", "GALACTIC", "SUPER_GALACTIC"})
+    private String source;
+
+    /**
+     * Coordinate reference system of the output positions.
+     */
+    @Param({"EQUATORIAL", "ECLIPTIC", "GALACTIC", "SUPER_GALACTIC"})
+    private String target;
+
+    /**
+     * Source coordinate reference system.
+     */
+    private AbstractCrs sourceCrs;
+
+    /**
+     * Target coordinate reference system.
+     */
+    private AbstractCrs targetCrs;
+
+    /**
+     * Input positions as (longitude,latitude) pairs.
+     */
+    private double[] coordinates;
+
+    /**
+     * Input longitudes.
+     */
+    private double[] longitude;
+
+    /**
+     * Input latitudes.
+     */
+    private double[] latitude;
+
+    /**
+     * Output longitudes.
+     */
+    private double[] longitudeOut;
+
+    /**
+     * Output latitudes.
+     */
+    private double[] latitudeOut;
+
+    /**
+     * Builds the coordinate reference systems and random positions.
+     */
+    @Setup
+    public void setUp() {
+        this.sourceCrs = CrsFactory.create(AbstractCrs.CoordinateReferenceSystem.valueOf(this.source));
+        this.targetCrs = CrsFactory.create(AbstractCrs.CoordinateReferenceSystem.valueOf(this.target));
+        final Random random = new Random(0);
+        this.coordinates = new double[2 * NB_POSITIONS];
+        this.longitude = new double[NB_POSITIONS];
+        this.latitude = new double[NB_POSITIONS];
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            this.longitude[i] = 360 * random.nextDouble();
+            this.latitude[i] = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+            this.coordinates[2 * i] = this.longitude[i];
+            this.coordinates[2 * i + 1] = this.latitude[i];
+        }
+        this.longitudeOut = new double[NB_POSITIONS];
+        this.latitudeOut = new double[NB_POSITIONS];
+    }
+
+    /**
+     * Measures the conversion of one position at a time.
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void convertPosition(final Blackhole blackhole) {
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            blackhole.consume(this.sourceCrs.convertTo(this.targetCrs, this.longitude[i], this.latitude[i]));
+        }
+    }
+
+    /**
+     * Measures the conversion of one position at a time with the cached
+     * converter.
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void convertWithConverter(final Blackhole blackhole) {
+        final CrsConverter converter = this.sourceCrs.converterTo(this.targetCrs);
+        final double[] position = new double[2];
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            converter.convert(this.longitude[i], this.latitude[i], position, 0);
+            blackhole.consume(position);
+        }
+    }
+
+    /**
+     * Measures the conversion of an array of (longitude,latitude) pairs.
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void convertArray(final Blackhole blackhole) {
+        blackhole.consume(this.sourceCrs.convertTo(this.targetCrs, this.coordinates));
+    }
+
+    /**
+     * Measures the in-place conversion of separate longitude and latitude
+     * arrays.
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void convertColumns(final Blackhole blackhole) {
+        System.arraycopy(this.longitude, 0, this.longitudeOut, 0, NB_POSITIONS);
+        System.arraycopy(this.latitude, 0, this.latitudeOut, 0, NB_POSITIONS);
+        blackhole.consume(this.sourceCrs.convertTo(this.targetCrs, this.longitudeOut, this.latitudeOut, NB_POSITIONS));
+        blackhole.consume(this.longitudeOut);
+    }
+
+    /**
+     * Measures the conversion of separate longitude and latitude arrays into
+     * output arrays.
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void convertColumnsToOutput(final Blackhole blackhole) {
+        blackhole.consume(this.sourceCrs.convertTo(this.targetCrs, this.longitude, this.latitude, this.longitudeOut, this.latitudeOut));
+        blackhole.consume(this.longitudeOut);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.benchmark;
+
+import io.github.malapert.jwcs.JWcsMap;
+import io.github.malapert.jwcs.proj.exception.JWcsException;
+import io.github.malapert.jwcs.utility.HeaderFitsReader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of reading a header and of initializing a WCS from its
+ * keywords.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InitBenchmark {
+
+    /**
+     * Projection code.
+     */
+    @Param({"AIR", "AIT", "ARC", "AZP", "BON", "CAR", "CEA", "COD", "COE",
+        "COO", "COP", "CYP", "MER", "MOL", "NCP", "PAR", "PCO", "SFL", "SIN",
+        "STG", "SZP", "TAN", "ZEA", "ZPN"})
+    private String projection;
+
+    /**
+     * WCS keywords.
+     */
+    private Map keywords;
+
+    /**
+     * Header as text, one card per line.
+     */
+    private String header;
+
+    /**
+     * Builds the keywords and the header of the projection.
+     * @throws JWcsException the projection cannot be initialized
+     */
+    @Setup
+    public void setUp() throws JWcsException {
+        final JWcsMap wcs = (JWcsMap) JWcsMap.getProjection(this.projection);
+        this.keywords = new HashMap(wcs.getKeywords());
+        final StringBuilder builder = new StringBuilder();
+        for (final Object keyword : this.keywords.keySet()) {
+            builder.append(String.format("%-8s= '%s' / benchmark%n", keyword, this.keywords.get(keyword)));
+        }
+        this.header = builder.toString();
+    }
+
+    /**
+     * Measures the initialization of a WCS from a map of keywords.
+     * @return the WCS
+     * @throws JWcsException the projection cannot be initialized
+     */
+    @Benchmark
+    public JWcsMap doInit() throws JWcsException {
+        final JWcsMap wcs = new JWcsMap(this.keywords);
+        wcs.doInit();
+        return wcs;
+    }
+
+    /**
+     * Measures the parsing of a header.
+     * @return the list of (keyword,value)
+     */
+    @Benchmark
+    public List<List<String>> readHeader() {
+        return new HeaderFitsReader(new StringReader(this.header)).readKeywords();
+    }
+
+    /**
+     * Measures the parsing of a header followed by the initialization of the
+     * WCS.
+     * @return the WCS
+     * @throws JWcsException the projection cannot be initialized
+     */
+    @Benchmark
+    public JWcsMap readHeaderAndInit() throws JWcsException {
+        final Map keyMap = new HashMap();
+        new HeaderFitsReader(new StringReader(this.header)).readKeywords().forEach((keywordLine) -> {
+            keyMap.put(keywordLine.get(0), keywordLine.get(1));
+        });
+        final JWcsMap wcs = new JWcsMap(keyMap);
+        wcs.doInit();
+        return wcs;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.benchmark;
+
+import io.github.malapert.jwcs.AbstractJWcs;
+import io.github.malapert.jwcs.JWcsMap;
+import io.github.malapert.jwcs.proj.ProjectionStatus;
+import io.github.malapert.jwcs.proj.exception.JWcsException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the forward (pix2wcs) and the inverse (wcs2pix) transformations
+ * of each projection.
+ *
+ * <p>Each projection is built with {@link JWcsMap#getProjection(java.lang.String)}.
+ * The pixels are a regular grid over the image. Only the pixels that are
+ * projected without error are kept so that both directions measure the same
+ * valid positions.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    /**
+     * Number of positions transformed by each invocation.
+     */
+    static final int NB_POSITIONS = 1024;
+
+    /**
+     * Projection code.
+     */
+    @Param({"AIR", "AIT", "ARC", "AZP", "BON", "CAR", "CEA", "COD", "COE",
+        "COO", "COP", "CYP", "MER", "MOL", "NCP", "PAR", "PCO", "SFL", "SIN",
+        "STG", "SZP", "TAN", "ZEA", "ZPN"})
+    private String projection;
+
+    /**
+     * WCS.
+     */
+    private AbstractJWcs wcs;
+
+    /**
+     * Pixels as (x,y) pairs.
+     */
+    private double[] pixels;
+
+    /**
+     * Sky positions as (longitude,latitude) pairs.
+     */
+    private double[] skyPositions;
+
+    /**
+     * Output buffer.
+     */
+    private double[] output;
+
+    /**
+     * Status of each position.
+     */
+    private byte[] status;
+
+    /**
+     * Builds the WCS and the valid positions.
+     * @throws JWcsException the projection cannot be initialized
+     */
+    @Setup
+    public void setUp() throws JWcsException {
+        this.wcs = JWcsMap.getProjection(this.projection);
+        final int width = this.wcs.getValueAsInt(AbstractJWcs.NAXIS1);
+        final int height = this.wcs.getValueAsInt(AbstractJWcs.NAXIS2);
+        final int nbSamples = 4 * NB_POSITIONS;
+        final int step = (int) Math.sqrt((double) width * height / nbSamples) + 1;
+        final double[] candidates = new double[2 * nbSamples];
+        int nbCandidates = 0;
+        for (int y = 1; y <= height && nbCandidates < nbSamples; y += step) {
+            for (int x = 1; x <= width && nbCandidates < nbSamples; x += step) {
+                candidates[2 * nbCandidates] = x;
+                candidates[2 * nbCandidates + 1] = y;
+                nbCandidates++;
+            }
+        }
+        final double[] sky = new double[2 * nbCandidates];
+        final byte[] candidateStatus = new byte[nbCandidates];
+        this.wcs.pix2wcs(candidates, 0, sky, 0, nbCandidates, candidateStatus);
+        this.pixels = new double[2 * NB_POSITIONS];
+        this.skyPositions = new double[2 * NB_POSITIONS];
+        int nbValid = 0;
+        for (int i = 0; i < nbCandidates && nbValid < NB_POSITIONS; i++) {
+            if (candidateStatus[i] == ProjectionStatus.OK.getCode()) {
+                this.pixels[2 * nbValid] = candidates[2 * i];
+                this.pixels[2 * nbValid + 1] = candidates[2 * i + 1];
+                this.skyPositions[2 * nbValid] = (sky[2 * i] + 360) % 360;
+                this.skyPositions[2 * nbValid + 1] = sky[2 * i + 1];
+                nbValid++;
+            }
+        }
+        // repeats the valid positions when the projection covers a small part of the image
+        for (int i = nbValid; i < NB_POSITIONS && nbValid > 0; i++) {
+            System.arraycopy(this.pixels, 2 * (i % nbValid), this.pixels, 2 * i, 2);
+            System.arraycopy(this.skyPositions, 2 * (i % nbValid), this.skyPositions, 2 * i, 2);
+        }
+        this.output = new double[2 * NB_POSITIONS];
+        this.status = new byte[NB_POSITIONS];
+    }
+
+    /**
+     * Measures the transformation from pixels to sky positions.
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void pix2wcs(final Blackhole blackhole) {
+        blackhole.consume(this.wcs.pix2wcs(this.pixels, 0, this.output, 0, NB_POSITIONS, this.status));
+        blackhole.consume(this.output);
+    }
+
+    /**
+     * Measures the transformation from sky positions to pixels.
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    @OperationsPerInvocation(NB_POSITIONS)
+    public void wcs2pix(final Blackhole blackhole) {
+        blackhole.consume(this.wcs.wcs2pix(this.skyPositions, 0, this.output, 0, NB_POSITIONS, this.status));
+        blackhole.consume(this.output);
+    }
+}
@@ -35,6 +35,8 @@ import io.github.malapert.jwcs.proj.exception.BadProjectionParameterException;
 import io.github.malapert.jwcs.proj.exception.JWcsException;
 import io.github.malapert.jwcs.proj.exception.JWcsError;
 import io.github.malapert.jwcs.proj.exception.ProjectionException;
+import io.github.malapert.jwcs.utility.BatchReport;
+import io.github.malapert.jwcs.utility.ParallelBatch;
 import io.github.malapert.jwcs.utility.TimeUtility;
 import java.text.ParseException;
 import java.util.Arrays;
@@ -309,6 +311,11 @@ public abstract class AbstractJWcs implements JWcsKeyProvider {
      */
     private RealMatrix cdInverse;
 
+    /**
+     * Compiled transformation created by {@link #init()}.
+     */
+    private WcsTransform transform;
+
     /**
      * LOG.
      */
@@ -322,6 +329,7 @@ public abstract class AbstractJWcs implements JWcsKeyProvider {
      * <li>creates the projection</li>
      * <li>creates the CD matrix</li>
      * <li>creates the CD matrix inverse</li>
+     * <li>compiles the transformation : {@link WcsTransform}</li>
      * <li>checks the WCS</li>
      * </ul>
      *
@@ -332,6 +340,7 @@ public abstract class AbstractJWcs implements JWcsKeyProvider {
         setProj(createProjection());
         setCd(createCdMatrix());
         setCdInverse(inverse(getCd()).transpose());
+        setTransform(new WcsTransform(getProj(), getCd(), getCdInverse(), crpix(1), crpix(2)));
     }
 
     /**
@@ -1174,13 +1183,7 @@ public abstract class AbstractJWcs implements JWcsKeyProvider {
      */
     @Override
     public double[] pix2wcs(final double x, final double y) throws ProjectionException {
-        final double[][] arraypj = {
-            {x - crpix(1), y - crpix(2)}
-        };
-        final RealMatrix pj = createRealMatrix(arraypj);
-        final RealMatrix pjt = pj.transpose();
-        final RealMatrix xi = this.getCd().multiply(pjt);
-        return this.getProj().projectionPlane2wcs(xi.getEntry(0, 0), xi.getEntry(1, 0));
+        return this.getTransform().pix2wcs(x, y);
     }
 
     /**
@@ -1194,45 +1197,189 @@ public abstract class AbstractJWcs implements JWcsKeyProvider {
      */
     @Override
     public double[] pix2wcs(final double[] pixels) throws ProjectionException {
-        final int pixelsLength = pixels.length;
-        if (pixelsLength % 2 != 0) {
-            throw new JWcsError("the length of pixels must be a multiple of 2");
-        }
-        final double[] skyPositions = new double[pixelsLength];
-        for (int i = 0; i < pixelsLength; i = i + 2) {
-            final double x = pixels[i];
-            final double y = pixels[i + 1];
-            final double[] result = this.pix2wcs(x, y);
-            skyPositions[i] = result[0];
-            skyPositions[i + 1] = result[1];
-        }
-        return skyPositions;
+        return this.getTransform().pix2wcs(pixels);
     }
 
+    /**
+     * Transforms pixel positions in positions in the sky, in a caller-owned
+     * buffer.
+     *
+     * @param pixels array of pixels
+     * @param pixelsOffset index of the first x in <code>pixels</code>
+     * @param skyPositions array where the sky positions are written
+     * @param skyPositionsOffset index where the first longitude is written
+     * @param count number of positions to transform
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException when
+     * there is a projection error
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     * @see WcsTransform#pix2wcs(double[], int, double[], int, int)
+     */
     @Override
-    public double[] getCenter() throws ProjectionException {
-        return pix2wcs(0.5 * naxis(1), 0.5 * naxis(2));
+    public void pix2wcs(final double[] pixels, final int pixelsOffset, final double[] skyPositions, final int skyPositionsOffset, final int count) throws ProjectionException {
+        this.getTransform().pix2wcs(pixels, pixelsOffset, skyPositions, skyPositionsOffset, count);
     }
 
+    /**
+     * Transforms pixel positions stored in columns in positions in the sky.
+     *
+     * @param x X coordinates of the pixels
+     * @param y Y coordinates of the pixels
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException when
+     * there is a projection error
+     * @throws JWcsError when the arrays do not have the same length
+     * @see WcsTransform#pix2wcs(double[], double[], double[], double[])
+     */
     @Override
-    public double[] getFov() throws ProjectionException {
-        return pix2wcs(new double[]{0.5, 0.5, naxis(1) + 0.5, 0.5, naxis(1) + 0.5, naxis(2) + 0.5, 0.5, naxis(2) + 0.5});
+    public void pix2wcs(final double[] x, final double[] y, final double[] longitude, final double[] latitude) throws ProjectionException {
+        this.getTransform().pix2wcs(x, y, longitude, latitude);
     }
 
     /**
-     * Checks validity of longitude and latitude.
+     * Transforms pixel positions in positions in the sky, in the batch mode.
      *
-     * @param longitude longitude [0, 360]
-     * @param latitude latitude [-90, 90]
-     * @throws JWcsError the range is not valid
-     */
-    private void checkLongitudeLatitude(final double longitude, final double latitude) {
-        if (longitude > MAX_LONGITUDE || longitude < MIN_LONGITUDE) {
-            throw new JWcsError("Longitude must be [0, 360], found " + longitude);
-        }
-        if (latitude > MAX_LATITUDE || latitude < MIN_LATITUDE) {
-            throw new JWcsError("Latitude must be [-90, 90], found " + latitude);
-        }
+     * <p>The positions that cannot be transformed are set to NaN without
+     * exception and their reason is written in <code>status</code>.
+     *
+     * @param pixels array of pixels
+     * @param pixelsOffset index of the first x in <code>pixels</code>
+     * @param skyPositions array where the sky positions are written
+     * @param skyPositionsOffset index where the first longitude is written
+     * @param count number of positions to transform
+     * @param status array where the status codes are written or null
+     * @return the number of positions that cannot be transformed
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     * @see WcsTransform#pix2wcs(double[], int, double[], int, int, byte[])
+     */
+    public int pix2wcs(final double[] pixels, final int pixelsOffset, final double[] skyPositions, final int skyPositionsOffset, final int count, final byte[] status) {
+        return this.getTransform().pix2wcs(pixels, pixelsOffset, skyPositions, skyPositionsOffset, count, status);
+    }
+
+    /**
+     * Transforms pixel positions stored in columns in positions in the sky,
+     * in the batch mode.
+     *
+     * @param x X coordinates of the pixels
+     * @param y Y coordinates of the pixels
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @param status array where the status codes are written or null
+     * @return the number of positions that cannot be transformed
+     * @throws JWcsError when the arrays do not have the same length
+     * @see WcsTransform#pix2wcs(double[], double[], double[], double[], byte[])
+     */
+    public int pix2wcs(final double[] x, final double[] y, final double[] longitude, final double[] latitude, final byte[] status) {
+        return this.getTransform().pix2wcs(x, y, longitude, latitude, status);
+    }
+
+    /**
+     * Transforms pixel positions in positions in the sky, in parallel.
+     *
+     * @param pixels array of pixels
+     * @param pixelsOffset index of the first x in <code>pixels</code>
+     * @param skyPositions array where the sky positions are written
+     * @param skyPositionsOffset index where the first longitude is written
+     * @param count number of positions to transform
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     * @see WcsTransform#pix2wcs(double[], int, double[], int, int, ParallelBatch)
+     */
+    public BatchReport pix2wcs(final double[] pixels, final int pixelsOffset, final double[] skyPositions, final int skyPositionsOffset, final int count, final ParallelBatch batch) {
+        return this.getTransform().pix2wcs(pixels, pixelsOffset, skyPositions, skyPositionsOffset, count, batch);
+    }
+
+    /**
+     * Transforms pixel positions stored in columns in positions in the sky,
+     * in parallel.
+     *
+     * @param x X coordinates of the pixels
+     * @param y Y coordinates of the pixels
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError when the arrays do not have the same length
+     * @see WcsTransform#pix2wcs(double[], double[], double[], double[], ParallelBatch)
+     */
+    public BatchReport pix2wcs(final double[] x, final double[] y, final double[] longitude, final double[] latitude, final ParallelBatch batch) {
+        return this.getTransform().pix2wcs(x, y, longitude, latitude, batch);
+    }
+
+    /**
+     * Computes the sky positions of every pixel of a region.
+     *
+     * <p>The result contains the longitudes and the latitudes in degrees,
+     * stored row by row: the pixel (x0 + i, y0 + j) is at the index
+     * <code>j * width + i</code>. The pixels that cannot be transformed are
+     * set to NaN.
+     *
+     * @param x0 X coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param y0 Y coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param width number of pixels along X
+     * @param height number of pixels along Y
+     * @return the longitudes and the latitudes as {longitudes, latitudes}
+     * @throws JWcsError when the size of the region is not valid
+     * @see WcsTransform#computeSkyGrid(int, int, int, int, double[], double[], byte[])
+     */
+    public double[][] computeSkyGrid(final int x0, final int y0, final int width, final int height) {
+        final int length = WcsTransform.checkGrid(width, height);
+        final double[] longitude = new double[length];
+        final double[] latitude = new double[length];
+        this.getTransform().computeSkyGrid(x0, y0, width, height, longitude, latitude, null);
+        return new double[][]{longitude, latitude};
+    }
+
+    /**
+     * Computes the sky positions of every pixel of a region in caller-owned
+     * arrays.
+     *
+     * @param x0 X coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param y0 Y coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param width number of pixels along X
+     * @param height number of pixels along Y
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @param status array where the status codes are written or null
+     * @return the number of pixels that cannot be transformed
+     * @throws JWcsError when the size of the region is not valid or the
+     * region does not fit in the arrays
+     * @see WcsTransform#computeSkyGrid(int, int, int, int, double[], double[], byte[])
+     */
+    public int computeSkyGrid(final int x0, final int y0, final int width, final int height, final double[] longitude, final double[] latitude, final byte[] status) {
+        return this.getTransform().computeSkyGrid(x0, y0, width, height, longitude, latitude, status);
+    }
+
+    /**
+     * Computes the sky positions of every pixel of a region by interpolation,
+     * with a bounded error.
+     *
+     * @param x0 X coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param y0 Y coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param width number of pixels along X
+     * @param height number of pixels along Y
+     * @param tolerance maximum angular error in degrees
+     * @return the longitudes and the latitudes as {longitudes, latitudes}
+     * @throws JWcsError when the size of the region or the tolerance is not valid
+     * @see WcsTransform#computeSkyGrid(int, int, int, int, double[], double[], byte[], double)
+     */
+    public double[][] computeSkyGrid(final int x0, final int y0, final int width, final int height, final double tolerance) {
+        final int length = WcsTransform.checkGrid(width, height);
+        final double[] longitude = new double[length];
+        final double[] latitude = new double[length];
+        this.getTransform().computeSkyGrid(x0, y0, width, height, longitude, latitude, null, tolerance);
+        return new double[][]{longitude, latitude};
+    }
+
+    @Override
+    public double[] getCenter() throws ProjectionException {
+        return pix2wcs(0.5 * naxis(1), 0.5 * naxis(2));
+    }
+
+    @Override
+    public double[] getFov() throws ProjectionException {
+        return pix2wcs(new double[]{0.5, 0.5, naxis(1) + 0.5, 0.5, naxis(1) + 0.5, naxis(2) + 0.5, 0.5, naxis(2) + 0.5});
     }
 
     /**
@@ -1277,14 +1424,7 @@ public abstract class AbstractJWcs implements JWcsKeyProvider {
      */
     @Override
     public double[] wcs2pix(final double longitude, final double latitude) throws ProjectionException {
-        checkLongitudeLatitude(longitude, latitude);
-        final double[] coordVal = this.getProj().wcs2projectionPlane(FastMath.toRadians(longitude), FastMath.toRadians(latitude));
-        final double[][] coord = {
-            {coordVal[0], coordVal[1]}
-        };
-        final RealMatrix coordM = createRealMatrix(coord);
-        final RealMatrix matrix = coordM.multiply(getCdInverse());
-        return new double[]{matrix.getEntry(0, 0) + crpix(1), matrix.getEntry(0, 1) + crpix(2)};
+        return this.getTransform().wcs2pix(longitude, latitude);
     }
 
     /**
@@ -1299,19 +1439,113 @@ public abstract class AbstractJWcs implements JWcsKeyProvider {
      */
     @Override
     public double[] wcs2pix(final double[] skyPositions) throws ProjectionException {
-        final int skyPositionLength = skyPositions.length;
-        if (skyPositionLength % 2 != 0) {
-            throw new JWcsError("the length of skyPositions must be a multiple of 2");
-        }
-        final double[] pixelPositions = new double[skyPositionLength];
-        for (int i = 0; i < skyPositionLength; i = i + 2) {
-            final double ra = skyPositions[i];
-            final double dec = skyPositions[i + 1];
-            final double[] result = this.wcs2pix(ra, dec);
-            pixelPositions[i] = result[0];
-            pixelPositions[i + 1] = result[1];
-        }
-        return pixelPositions;
+        return this.getTransform().wcs2pix(skyPositions);
+    }
+
+    /**
+     * Transforms sky positions in pixel positions, in a caller-owned buffer.
+     *
+     * @param skyPositions array of sky positions
+     * @param skyPositionsOffset index of the first longitude in <code>skyPositions</code>
+     * @param pixels array where the pixel positions are written
+     * @param pixelsOffset index where the first x is written
+     * @param count number of positions to transform
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException when
+     * there is a projection error
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     * @see WcsTransform#wcs2pix(double[], int, double[], int, int)
+     */
+    @Override
+    public void wcs2pix(final double[] skyPositions, final int skyPositionsOffset, final double[] pixels, final int pixelsOffset, final int count) throws ProjectionException {
+        this.getTransform().wcs2pix(skyPositions, skyPositionsOffset, pixels, pixelsOffset, count);
+    }
+
+    /**
+     * Transforms sky positions stored in columns in pixel positions.
+     *
+     * @param longitude longitudes of the sky positions
+     * @param latitude latitudes of the sky positions
+     * @param x array where the X coordinates are written
+     * @param y array where the Y coordinates are written
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException when
+     * there is a projection error
+     * @throws JWcsError when the arrays do not have the same length
+     * @see WcsTransform#wcs2pix(double[], double[], double[], double[])
+     */
+    @Override
+    public void wcs2pix(final double[] longitude, final double[] latitude, final double[] x, final double[] y) throws ProjectionException {
+        this.getTransform().wcs2pix(longitude, latitude, x, y);
+    }
+
+    /**
+     * Transforms sky positions in pixel positions, in the batch mode.
+     *
+     * <p>The positions that cannot be transformed are set to NaN without
+     * exception and their reason is written in <code>status</code>.
+     *
+     * @param skyPositions array of sky positions
+     * @param skyPositionsOffset index of the first longitude in <code>skyPositions</code>
+     * @param pixels array where the pixel positions are written
+     * @param pixelsOffset index where the first x is written
+     * @param count number of positions to transform
+     * @param status array where the status codes are written or null
+     * @return the number of positions that cannot be transformed
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     * @see WcsTransform#wcs2pix(double[], int, double[], int, int, byte[])
+     */
+    public int wcs2pix(final double[] skyPositions, final int skyPositionsOffset, final double[] pixels, final int pixelsOffset, final int count, final byte[] status) {
+        return this.getTransform().wcs2pix(skyPositions, skyPositionsOffset, pixels, pixelsOffset, count, status);
+    }
+
+    /**
+     * Transforms sky positions stored in columns in pixel positions, in the
+     * batch mode.
+     *
+     * @param longitude longitudes of the sky positions
+     * @param latitude latitudes of the sky positions
+     * @param x array where the X coordinates are written
+     * @param y array where the Y coordinates are written
+     * @param status array where the status codes are written or null
+     * @return the number of positions that cannot be transformed
+     * @throws JWcsError when the arrays do not have the same length
+     * @see WcsTransform#wcs2pix(double[], double[], double[], double[], byte[])
+     */
+    public int wcs2pix(final double[] longitude, final double[] latitude, final double[] x, final double[] y, final byte[] status) {
+        return this.getTransform().wcs2pix(longitude, latitude, x, y, status);
+    }
+
+    /**
+     * Transforms sky positions in pixel positions, in parallel.
+     *
+     * @param skyPositions array of sky positions
+     * @param skyPositionsOffset index of the first longitude in <code>skyPositions</code>
+     * @param pixels array where the pixel positions are written
+     * @param pixelsOffset index where the first x is written
+     * @param count number of positions to transform
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     * @see WcsTransform#wcs2pix(double[], int, double[], int, int, ParallelBatch)
+     */
+    public BatchReport wcs2pix(final double[] skyPositions, final int skyPositionsOffset, final double[] pixels, final int pixelsOffset, final int count, final ParallelBatch batch) {
+        return this.getTransform().wcs2pix(skyPositions, skyPositionsOffset, pixels, pixelsOffset, count, batch);
+    }
+
+    /**
+     * Transforms sky positions stored in columns in pixel positions, in
+     * parallel.
+     *
+     * @param longitude longitudes of the sky positions
+     * @param latitude latitudes of the sky positions
+     * @param x array where the X coordinates are written
+     * @param y array where the Y coordinates are written
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError when the arrays do not have the same length
+     * @see WcsTransform#wcs2pix(double[], double[], double[], double[], ParallelBatch)
+     */
+    public BatchReport wcs2pix(final double[] longitude, final double[] latitude, final double[] x, final double[] y, final ParallelBatch batch) {
+        return this.getTransform().wcs2pix(longitude, latitude, x, y, batch);
     }
 
     /**
@@ -1367,4 +1601,29 @@ public abstract class AbstractJWcs implements JWcsKeyProvider {
     protected final void setCdInverse(final RealMatrix cdInverse) {
         this.cdInverse = cdInverse;
     }
+
+    /**
+     * Returns the compiled transformation.
+     *
+     * <p>The transformation is immutable and can be shared by several
+     * threads. It is available once {@link #doInit()} has been called.
+     *
+     * @return the compiled transformation
+     * @throws JWcsError the WCS is not initialized
+     */
+    public final WcsTransform getTransform() {
+        if (this.transform == null) {
+            throw new JWcsError("The WCS is not initialized, call doInit() first");
+        }
+        return this.transform;
+    }
+
+    /**
+     * Sets the compiled transformation.
+     *
+     * @param transform the compiled transformation
+     */
+    private void setTransform(final WcsTransform transform) {
+        this.transform = transform;
+    }
 }
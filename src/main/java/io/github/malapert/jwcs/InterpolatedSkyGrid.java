@@ -0,0 +1,357 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs;
+
+import io.github.malapert.jwcs.proj.ProjectionStatus;
+import io.github.malapert.jwcs.utility.NumericalUtility;
+
+/**
+ * Computes the sky positions of a region of pixels by interpolation on an
+ * adaptive mesh.
+ *
+ * <p>The region is divided in cells of {@link #INITIAL_CELL_SIZE} pixels.
+ * The exact transformation is computed at the corners of each cell and the
+ * pixels inside the cell are interpolated bilinearly. Before interpolating, the
+ * exact transformation is also computed at the center and at the middle of the
+ * edges of the cell. When one of these check points differs from the
+ * interpolation by more than the tolerance, the cell is split in four. Cells
+ * smaller than {@link #MIN_CELL_SIZE} pixels are computed exactly, so that the
+ * cells that never fit (at the limb of the projection or around a pole)
+ * end up computed exactly.
+ *
+ * <p>The error is controlled at the check points only: a cell is accepted
+ * when the interpolation is within the tolerance at its five check points.
+ * This is enough for the smooth distortions of the projections, for which the
+ * interpolation error is largest in the middle of the cell.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+final class InterpolatedSkyGrid {
+
+    /**
+     * Size in pixels of the cells before refinement.
+     */
+    static final int INITIAL_CELL_SIZE = 64;
+
+    /**
+     * Size in pixels below which a cell is computed exactly.
+     */
+    static final int MIN_CELL_SIZE = 4;
+
+    /**
+     * Half of a turn in degrees.
+     */
+    private static final double HALF_TURN = 180;
+
+    /**
+     * Full turn in degrees.
+     */
+    private static final double TURN = 360;
+
+    /**
+     * Exact transformation.
+     */
+    private final WcsTransform transform;
+
+    /**
+     * X coordinate of the first pixel of the region.
+     */
+    private final int x0;
+
+    /**
+     * Y coordinate of the first pixel of the region.
+     */
+    private final int y0;
+
+    /**
+     * Number of pixels along X of the region.
+     */
+    private final int width;
+
+    /**
+     * Longitudes of the region, row by row.
+     */
+    private final double[] longitude;
+
+    /**
+     * Latitudes of the region, row by row.
+     */
+    private final double[] latitude;
+
+    /**
+     * Status codes of the region or null.
+     */
+    private final byte[] status;
+
+    /**
+     * Maximum angular error in degrees at the check points.
+     */
+    private final double tolerance;
+
+    /**
+     * Buffer for one exact sky position.
+     */
+    private final double[] skyPosition = new double[2];
+
+    /**
+     * Number of pixels that cannot be transformed.
+     */
+    private int nbInvalid;
+
+    /**
+     * Creates the interpolation of a region.
+     *
+     * @param transform exact transformation
+     * @param x0 X coordinate of the first pixel
+     * @param y0 Y coordinate of the first pixel
+     * @param width number of pixels along X
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @param status array where the status codes are written or null
+     * @param tolerance maximum angular error in degrees
+     */
+    InterpolatedSkyGrid(final WcsTransform transform, final int x0, final int y0, final int width,
+            final double[] longitude, final double[] latitude, final byte[] status, final double tolerance) {
+        this.transform = transform;
+        this.x0 = x0;
+        this.y0 = y0;
+        this.width = width;
+        this.longitude = longitude;
+        this.latitude = latitude;
+        this.status = status;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Computes the sky positions of the region.
+     *
+     * @param height number of pixels along Y
+     * @return the number of pixels that cannot be transformed
+     */
+    int compute(final int height) {
+        for (int j = 0; j < height; j += INITIAL_CELL_SIZE) {
+            final int jEnd = Math.min(j + INITIAL_CELL_SIZE, height);
+            for (int i = 0; i < this.width; i += INITIAL_CELL_SIZE) {
+                computeCell(i, Math.min(i + INITIAL_CELL_SIZE, this.width), j, jEnd);
+            }
+        }
+        return this.nbInvalid;
+    }
+
+    /**
+     * Computes the pixels [i0, i1[ x [j0, j1[ of a cell.
+     *
+     * <p>The corners of the cell are the pixels (i0, j0), (i1, j0), (i0, j1)
+     * and (i1, j1), the last row and the last column of corners are then
+     * outside the cell.
+     *
+     * @param i0 first column of the cell
+     * @param i1 column after the cell
+     * @param j0 first row of the cell
+     * @param j1 row after the cell
+     */
+    private void computeCell(final int i0, final int i1, final int j0, final int j1) {
+        if (i1 - i0 <= MIN_CELL_SIZE || j1 - j0 <= MIN_CELL_SIZE) {
+            computeExactly(i0, i1, j0, j1);
+            return;
+        }
+        final double[] c00 = exact(i0, j0);
+        final double[] c10 = exact(i1, j0);
+        final double[] c01 = exact(i0, j1);
+        final double[] c11 = exact(i1, j1);
+        final int im = (i0 + i1) / 2;
+        final int jm = (j0 + j1) / 2;
+        if (isValid(c00) && isValid(c10) && isValid(c01) && isValid(c11)) {
+            c10[0] = unwrap(c10[0], c00[0]);
+            c01[0] = unwrap(c01[0], c00[0]);
+            c11[0] = unwrap(c11[0], c00[0]);
+            if (isWithinTolerance(c00, c10, c01, c11, i0, i1, j0, j1, im, jm)) {
+                interpolate(c00, c10, c01, c11, i0, i1, j0, j1);
+                return;
+            }
+        }
+        computeCell(i0, im, j0, jm);
+        computeCell(im, i1, j0, jm);
+        computeCell(i0, im, jm, j1);
+        computeCell(im, i1, jm, j1);
+    }
+
+    /**
+     * Tests the interpolation of a cell at its check points.
+     *
+     * @param c00 sky position of (i0, j0)
+     * @param c10 sky position of (i1, j0)
+     * @param c01 sky position of (i0, j1)
+     * @param c11 sky position of (i1, j1)
+     * @param i0 first column of the cell
+     * @param i1 column after the cell
+     * @param j0 first row of the cell
+     * @param j1 row after the cell
+     * @param im middle column of the cell
+     * @param jm middle row of the cell
+     * @return True when the interpolation is within the tolerance at all the
+     * check points otherwise False
+     */
+    private boolean isWithinTolerance(final double[] c00, final double[] c10, final double[] c01, final double[] c11,
+            final int i0, final int i1, final int j0, final int j1, final int im, final int jm) {
+        final int[][] checkPoints = {{im, jm}, {im, j0}, {im, j1}, {i0, jm}, {i1, jm}};
+        final double[] interpolated = new double[2];
+        for (final int[] checkPoint : checkPoints) {
+            final double[] expected = exact(checkPoint[0], checkPoint[1]);
+            if (!isValid(expected)) {
+                return false;
+            }
+            final double t = (double) (checkPoint[0] - i0) / (i1 - i0);
+            final double u = (double) (checkPoint[1] - j0) / (j1 - j0);
+            bilinear(c00, c10, c01, c11, t, u, interpolated);
+            if (NumericalUtility.separation(expected[0], expected[1], interpolated[0], interpolated[1]) > this.tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Interpolates the pixels of a cell.
+     *
+     * @param c00 sky position of (i0, j0)
+     * @param c10 sky position of (i1, j0)
+     * @param c01 sky position of (i0, j1)
+     * @param c11 sky position of (i1, j1)
+     * @param i0 first column of the cell
+     * @param i1 column after the cell
+     * @param j0 first row of the cell
+     * @param j1 row after the cell
+     */
+    private void interpolate(final double[] c00, final double[] c10, final double[] c01, final double[] c11,
+            final int i0, final int i1, final int j0, final int j1) {
+        final double[] interpolated = new double[2];
+        for (int j = j0; j < j1; j++) {
+            final double u = (double) (j - j0) / (j1 - j0);
+            int index = j * this.width + i0;
+            for (int i = i0; i < i1; i++) {
+                bilinear(c00, c10, c01, c11, (double) (i - i0) / (i1 - i0), u, interpolated);
+                this.longitude[index] = interpolated[0];
+                this.latitude[index] = interpolated[1];
+                if (this.status != null) {
+                    this.status[index] = ProjectionStatus.OK.getCode();
+                }
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Computes exactly the pixels of a cell.
+     *
+     * @param i0 first column of the cell
+     * @param i1 column after the cell
+     * @param j0 first row of the cell
+     * @param j1 row after the cell
+     */
+    private void computeExactly(final int i0, final int i1, final int j0, final int j1) {
+        for (int j = j0; j < j1; j++) {
+            int index = j * this.width + i0;
+            for (int i = i0; i < i1; i++) {
+                final ProjectionStatus result = this.transform.pix2wcs(this.x0 + i, this.y0 + j, this.skyPosition, 0);
+                this.longitude[index] = this.skyPosition[0];
+                this.latitude[index] = this.skyPosition[1];
+                if (this.status != null) {
+                    this.status[index] = result.getCode();
+                }
+                if (result != ProjectionStatus.OK) {
+                    this.nbInvalid++;
+                }
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Computes exactly the sky position of a node of the mesh.
+     *
+     * @param i column of the node
+     * @param j row of the node
+     * @return the sky position, NaN when the node cannot be transformed
+     */
+    private double[] exact(final int i, final int j) {
+        final double[] position = new double[2];
+        this.transform.pix2wcs(this.x0 + i, this.y0 + j, position, 0);
+        return position;
+    }
+
+    /**
+     * Interpolates bilinearly between the corners of a cell.
+     *
+     * @param c00 sky position at (0, 0)
+     * @param c10 sky position at (1, 0), longitude unwrapped
+     * @param c01 sky position at (0, 1), longitude unwrapped
+     * @param c11 sky position at (1, 1), longitude unwrapped
+     * @param t position along X in [0, 1]
+     * @param u position along Y in [0, 1]
+     * @param result array where the sky position is written
+     */
+    private static void bilinear(final double[] c00, final double[] c10, final double[] c01, final double[] c11,
+            final double t, final double u, final double[] result) {
+        final double w00 = (1 - t) * (1 - u);
+        final double w10 = t * (1 - u);
+        final double w01 = (1 - t) * u;
+        final double w11 = t * u;
+        double lon = w00 * c00[0] + w10 * c10[0] + w01 * c01[0] + w11 * c11[0];
+        if (lon < 0) {
+            lon += TURN;
+        } else if (lon >= TURN) {
+            lon -= TURN;
+        }
+        result[0] = lon;
+        result[1] = w00 * c00[1] + w10 * c10[1] + w01 * c01[1] + w11 * c11[1];
+    }
+
+    /**
+     * Moves a longitude by a full turn so that it is within half a turn of the
+     * reference longitude.
+     *
+     * @param lon longitude in degrees
+     * @param reference reference longitude in degrees
+     * @return the unwrapped longitude
+     */
+    private static double unwrap(final double lon, final double reference) {
+        final double result;
+        if (lon - reference > HALF_TURN) {
+            result = lon - TURN;
+        } else if (lon - reference < -HALF_TURN) {
+            result = lon + TURN;
+        } else {
+            result = lon;
+        }
+        return result;
+    }
+
+    /**
+     * Tests if a sky position has been computed.
+     *
+     * @param position sky position
+     * @return False when the position is NaN otherwise True
+     */
+    private static boolean isValid(final double[] position) {
+        return !Double.isNaN(position[0]) && !Double.isNaN(position[1]);
+    }
+}
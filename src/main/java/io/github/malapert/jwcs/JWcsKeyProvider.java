@@ -133,7 +133,35 @@ public interface JWcsKeyProvider {
      * @throws io.github.malapert.jwcs.proj.exception.JWcsException When there is a projection error
      */
     double[] pix2wcs(double[] pixels) throws JWcsException;
-    
+
+    /**
+     * Transforms pixel positions in positions in the sky, in a caller-owned
+     * buffer.
+     *
+     * <p>Positions are stored as (x,y) pairs in the input and as
+     * (longitude, latitude) pairs in the output. Both arrays may be the same
+     * array with the same offset.
+     * @param pixels array of pixels. Starts to 1 according to FITS standard
+     * @param pixelsOffset index of the first x in <code>pixels</code>
+     * @param skyPositions array where the sky positions are written
+     * @param skyPositionsOffset index where the first longitude is written
+     * @param count number of positions to transform
+     * @throws io.github.malapert.jwcs.proj.exception.JWcsException When there is a projection error
+     */
+    void pix2wcs(double[] pixels, int pixelsOffset, double[] skyPositions, int skyPositionsOffset, int count) throws JWcsException;
+
+    /**
+     * Transforms pixel positions stored in columns in positions in the sky.
+     *
+     * <p>All arrays must have the same length.
+     * @param x X coordinates of the pixels. Starts to 1 according to FITS standard
+     * @param y Y coordinates of the pixels. Starts to 1 according to FITS standard
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @throws io.github.malapert.jwcs.proj.exception.JWcsException When there is a projection error
+     */
+    void pix2wcs(double[] x, double[] y, double[] longitude, double[] latitude) throws JWcsException;
+
     /**
      * Transforms the sky position given by (longitude, latitude) 
      * in a pixel position.
@@ -152,6 +180,33 @@ public interface JWcsKeyProvider {
      */  
     double[] wcs2pix(double[] skyPositions) throws JWcsException;
 
+    /**
+     * Transforms sky positions in pixel positions, in a caller-owned buffer.
+     *
+     * <p>Positions are stored as (longitude, latitude) pairs in the input and
+     * as (x,y) pairs in the output. Both arrays may be the same array with
+     * the same offset.
+     * @param skyPositions array of sky positions
+     * @param skyPositionsOffset index of the first longitude in <code>skyPositions</code>
+     * @param pixels array where the pixel positions are written
+     * @param pixelsOffset index where the first x is written
+     * @param count number of positions to transform
+     * @throws io.github.malapert.jwcs.proj.exception.JWcsException When there is a projection error
+     */
+    void wcs2pix(double[] skyPositions, int skyPositionsOffset, double[] pixels, int pixelsOffset, int count) throws JWcsException;
+
+    /**
+     * Transforms sky positions stored in columns in pixel positions.
+     *
+     * <p>All arrays must have the same length.
+     * @param longitude longitudes of the sky positions
+     * @param latitude latitudes of the sky positions
+     * @param x array where the X coordinates are written
+     * @param y array where the Y coordinates are written
+     * @throws io.github.malapert.jwcs.proj.exception.JWcsException When there is a projection error
+     */
+    void wcs2pix(double[] longitude, double[] latitude, double[] x, double[] y) throws JWcsException;
+
     /**
      * Returns true if the given lat/lon point is visible in this projection.
      * @param lon longitude in degrees.
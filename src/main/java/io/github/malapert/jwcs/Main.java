@@ -32,19 +32,34 @@ import static io.github.malapert.jwcs.datum.CoordinateReferenceFrame.ReferenceFr
 import static io.github.malapert.jwcs.datum.CoordinateReferenceFrame.ReferenceFrame.J2000;
 import io.github.malapert.jwcs.position.SkyPosition;
 import io.github.malapert.jwcs.crs.AbstractCrs;
+import io.github.malapert.jwcs.crs.CatalogConverter;
 import io.github.malapert.jwcs.crs.CrsFactory;
 import io.github.malapert.jwcs.crs.gui.ConvertSelectionPanel;
 import io.github.malapert.jwcs.proj.exception.JWcsException;
 import io.github.malapert.jwcs.proj.exception.ProjectionException;
 import io.github.malapert.jwcs.proj.gui.ProjectionSelectionPanel;
 import io.github.malapert.jwcs.utility.HeaderFitsReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
@@ -130,6 +145,7 @@ public class Main {
                 .append("    or java -jar JWcs.jar --file HDR_FILE --unproject RA,DEC [OPTIONS]\n")
                 .append("    or java -jar JWcs.jar --file HDR_FILE --convert RA,DEC --to SYS_TARGET [OPTIONS]\n")
                 .append("    or java -jar JWcs.jar --convert RA,DEC --from SYS_ORGIN --to SYS_TARGET [OPTIONS]\n")
+                .append("    or java -jar JWcs.jar --convert CATALOG --from SYS_ORGIN --to SYS_TARGET [OPTIONS]\n")
                 .append("           where:\n")
                 .append("               - PROG: either projection or converter\n")
                 .append("               - HDR_FILE: Header FITS or FITS file\n")
@@ -137,6 +153,7 @@ public class Main {
                 .append("               - Y: pixel coordinate along Y axis on the camera (starts to 1) \n")
                 .append("               - RA: sky coordinate\n")
                 .append("               - DEC: sky coordinate\n")
+                .append("               - CATALOG: CSV, TSV or binary file of sky coordinates\n")
                 .append("               - SYS_ORIGIN: sky system of the sky coordinates\n")
                 .append("               - SYS_TARGET: convert sky coordinates to the SYS_TARGET\n\n")
                 .append("           SYS_ORIGIN or SYS_TARGET can be:\n")
@@ -172,14 +189,19 @@ public class Main {
                 .append("  -f, --file               Header file or Fits file starting by a scheme (ex: file://, http://)\n")
                 .append("  -s, --from               Origin sky system\n")
                 .append("  -t, --to                 Target sky system\n")
-                .append("  -c, --convert            Convert a sky coordinate from a sky system to antoher one\n")
+                .append("  -c, --convert            Convert a sky coordinate or a catalog from a sky system to antoher one\n")
                 .append("  -g, --gui                Display projection or converter with a GUI\n")
                 .append("  -h, --help               Display this help and exit\n")
                 .append("\n")
                 .append("OPTIONS are the following:\n")
                 .append("  -d, --debug              Sets the DEBUG level : ALL,CONFIG,FINER,FINEST,INFO,OFF,SEVERE,WARNING\n")
                 .append("  -e, --extension          HDU number starting at 0 when --file argument is used. If not set, 0 is default\n")
-                .append("  -r, --precision          Precision such as %.6f. By default, precision is set to %.15f\n");
+                .append("  -r, --precision          Precision such as %.6f. By default, precision is set to %.15f\n")
+                .append("                           Applied to the coordinates of a csv or tsv catalog, not to a binary catalog\n")
+                .append("  -o, --output             File where the converted catalog is written. If not set, the standard output is used\n")
+                .append("  -m, --format             Format of the catalog : csv, tsv or binary (big-endian longitude,latitude doubles).\n")
+                .append("                           If not set, the format is given by the extension of the catalog (.tsv, .bin), csv otherwise\n")
+                .append("  -l, --columns            Columns of the longitude and the latitude starting at 0 in a csv or tsv catalog. If not set, 0,1 is default\n");
 
         System.out.println(sb.toString());
         System.exit(EXIT.OK.getCode());
@@ -444,13 +466,14 @@ public class Main {
      * @param to target crs
      * @param extension FITS extension
      * @param precision precision such as %.15f
+     * @param catalogOptions output, format and columns of a catalog
      * @throws URISyntaxException Cannot retrieve the Header file
      * @throws IOException Header file not found
      * @throws JWcsException JWS Error
      * @throws IllegalArgumentException Either --file argument or --from and
      * --to arguments are required
      */
-    private static void convertFromCommandLine(final String pos, final String file, final String from, final String to, final int extension, final String precision) throws URISyntaxException, IOException, JWcsException {
+    private static void convertFromCommandLine(final String pos, final String file, final String from, final String to, final int extension, final String precision, final Map<Character, String> catalogOptions) throws URISyntaxException, IOException, JWcsException {
         final Map<String, String> keyMap = new HashMap();
         final AbstractCrs crsFrom;
         if (file == null && from == null && to == null) {
@@ -480,6 +503,10 @@ public class Main {
             crsFrom = getCrs(from);
         }
         final String crsTarget = to;
+        if (Files.isRegularFile(Paths.get(pos))) {
+            convertCatalogFromCommandLine(Paths.get(pos), crsFrom, getCrs(crsTarget), precision, catalogOptions);
+            return;
+        }
         final double[] skyPos = Arrays.stream(pos.split(","))
                 .mapToDouble(Double::parseDouble)
                 .toArray();
@@ -490,6 +517,52 @@ public class Main {
         LOG.log(Level.INFO, "(longitude,latitude) = (%s,%s)", skyPosition);
     }
 
+    /**
+     * Converts a catalog from a coordinate reference system to another one.
+     *
+     * @param catalog the catalog
+     * @param crsFrom source crs
+     * @param crsTo target crs
+     * @param precision precision such as %.15f of the coordinates in a csv or
+     * tsv catalog, not used by a binary catalog
+     * @param catalogOptions output, format and columns of the catalog
+     * @throws IOException the catalog cannot be read or written
+     * @throws IllegalArgumentException unknown format or wrong columns
+     */
+    private static void convertCatalogFromCommandLine(final Path catalog, final AbstractCrs crsFrom, final AbstractCrs crsTo, final String precision, final Map<Character, String> catalogOptions) throws IOException {
+        final String fileName = catalog.getFileName().toString().toLowerCase(Locale.ROOT);
+        String format = catalogOptions.get('m');
+        if (format == null) {
+            format = fileName.endsWith(".tsv") ? "tsv" : fileName.endsWith(".bin") ? "binary" : "csv";
+        }
+        final int[] columns = Arrays.stream(catalogOptions.getOrDefault('l', "0,1").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        if (columns.length != 2) {
+            throw new IllegalArgumentException("--columns must contain the longitude and the latitude columns");
+        }
+        final String output = catalogOptions.get('o');
+        final CatalogConverter converter = new CatalogConverter(crsFrom, crsTo);
+        LOG.log(Level.INFO, "Converting catalog {0} ({1}) from {2} to {3}", new Object[]{catalog, format, crsFrom, crsTo});
+        try (InputStream in = Files.newInputStream(catalog);
+                OutputStream out = output == null ? new StandardOutputStream() : Files.newOutputStream(Paths.get(output))) {
+            final long nbPositions;
+            switch (format.toLowerCase(Locale.ROOT)) {
+                case "csv":
+                case "tsv":
+                    final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    nbPositions = converter.convertText(new InputStreamReader(in, StandardCharsets.UTF_8), writer, "csv".equalsIgnoreCase(format) ? "," : "\t", columns[0], columns[1], precision);
+                    break;
+                case "binary":
+                    nbPositions = converter.convertBinary(new BufferedInputStream(in), new BufferedOutputStream(out));
+                    break;
+                default:
+                    throw new IllegalArgumentException("The catalog format " + format + " is not supported");
+            }
+            LOG.log(Level.INFO, "{0} positions converted", nbPositions);
+        }
+    }
+
     /**
      * Sets debug level.
      *
@@ -525,8 +598,9 @@ public class Main {
         String file = null;
         String precision = "%.15f";
         String progGui = null;
+        final Map<Character, String> catalogOptions = new HashMap<>();
         final List<PROG> progChoice = new ArrayList<>();
-        LongOpt[] longopts = new LongOpt[11];
+        LongOpt[] longopts = new LongOpt[14];
         final Logger rootLogger = Logger.getLogger("");
         rootLogger.setLevel(Level.OFF);
 
@@ -541,8 +615,11 @@ public class Main {
         longopts[8] = new LongOpt("to", LongOpt.REQUIRED_ARGUMENT, null, 't');
         longopts[9] = new LongOpt("extension", LongOpt.REQUIRED_ARGUMENT, null, 'e');
         longopts[10] = new LongOpt("precision", LongOpt.REQUIRED_ARGUMENT, null, 'r');
+        longopts[11] = new LongOpt("output", LongOpt.REQUIRED_ARGUMENT, null, 'o');
+        longopts[12] = new LongOpt("format", LongOpt.REQUIRED_ARGUMENT, null, 'm');
+        longopts[13] = new LongOpt("columns", LongOpt.REQUIRED_ARGUMENT, null, 'l');
         // 
-        final Getopt g = new Getopt("JWcs", args, "-::p:u:c:d:f:s:t:e:r:g:h;", longopts);
+        final Getopt g = new Getopt("JWcs", args, "-::p:u:c:d:f:s:t:e:r:o:m:l:g:h;", longopts);
         g.setOpterr(true);
         //
         while ((c = g.getopt()) != -1) {
@@ -561,6 +638,11 @@ public class Main {
                 case 'f':
                     file = g.getOptarg();
                     break;
+                case 'o':
+                case 'm':
+                case 'l':
+                    catalogOptions.put((char) c, g.getOptarg());
+                    break;
                 case 's':
                     from = g.getOptarg();
                     break;
@@ -661,7 +743,7 @@ public class Main {
                     projectToCameraFromCommandLine(prog.getCommandLine(), file, extension, precision);
                     break;
                 case SKY_CONVERTER:
-                    convertFromCommandLine(prog.getCommandLine(), file, from, to, extension, precision);
+                    convertFromCommandLine(prog.getCommandLine(), file, from, to, extension, precision, catalogOptions);
                     break;
                 default:
                     throw new IllegalArgumentException(prog.name() + " not supported");
@@ -677,4 +759,28 @@ public class Main {
             }
         }
     }
+
+    /**
+     * Standard output, which is flushed but not closed by
+     * {@link OutputStream#close()}, so that the process can still write on it.
+     */
+    private static final class StandardOutputStream extends FilterOutputStream {
+
+        /**
+         * Creates the stream on System.out.
+         */
+        StandardOutputStream() {
+            super(System.out);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            this.out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
 }
@@ -0,0 +1,565 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs;
+
+import io.github.malapert.jwcs.crs.AbstractCrs;
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.utility.BatchReport;
+import io.github.malapert.jwcs.utility.ParallelBatch;
+import java.util.Arrays;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Resamples an image from a source WCS onto a target WCS.
+ *
+ * <p>The target image is processed by square tiles of
+ * {@link #getTileSize()} pixels. For each tile, the pipeline is the
+ * following:
+ * <ul>
+ * <li>computes the sky positions of the tile in the target WCS, see
+ * {@link WcsTransform#computeSkyGrid(int, int, int, int, double[], double[], byte[])}</li>
+ * <li>converts them from the CRS of the target to the CRS of the source, see
+ * {@link AbstractCrs#convertTo(AbstractCrs, double[], double[], int)}</li>
+ * <li>computes the pixel positions in the source WCS in the batch mode, see
+ * {@link WcsTransform#wcs2pix(double[], double[], double[], double[], byte[])}</li>
+ * <li>samples the source image with the {@link Interpolation}</li>
+ * </ul>
+ * All the steps work on primitive arrays of the size of a tile. The positions
+ * that cannot be transformed are set to NaN. The tiles are independent and are
+ * processed in parallel by a {@link ParallelBatch}; the memory is bounded by
+ * the number of tiles in progress, not by the size of the target image.
+ *
+ * <p>Pixels follow the FITS convention: the pixel (i, j) starts to 1 and
+ * covers [i-0.5, i+0.5] x [j-0.5, j+0.5].
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public final class Reprojector {
+
+    /**
+     * Default size in pixels of the side of a tile.
+     */
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    /**
+     * Maximum number of vertices of a footprint clipped by a source pixel.
+     *
+     * <p>Each of the four passes of the Sutherland-Hodgman algorithm adds at
+     * most one vertex per pair of crossing edges, i.e. n vertices give at most
+     * n + n / 2 vertices. A footprint that is not convex (a target pixel
+     * straddling a seam of the projection, ...) can then grow from 4 to 6, 9,
+     * 13 and 19 vertices.
+     */
+    static final int MAX_CLIPPED_VERTICES = 19;
+
+    /**
+     * Interpolation of the source image.
+     */
+    public enum Interpolation {
+        /**
+         * Value of the closest source pixel.
+         */
+        NEAREST,
+        /**
+         * Bilinear interpolation between the four closest source pixels.
+         */
+        BILINEAR,
+        /**
+         * Sum of the source pixels weighted by their overlap with the footprint
+         * of the target pixel, so that the total flux is conserved.
+         */
+        FLUX_CONSERVING
+    }
+
+    /**
+     * Source image.
+     */
+    @FunctionalInterface
+    public interface ImageSource {
+
+        /**
+         * Returns the value of a pixel of the source image.
+         *
+         * @param x X coordinate of the pixel, from 1 to NAXIS1
+         * @param y Y coordinate of the pixel, from 1 to NAXIS2
+         * @return the value, NaN for a blank pixel
+         */
+        double getValue(int x, int y);
+    }
+
+    /**
+     * Receiver of the resampled tiles.
+     *
+     * <p>The tiles are written concurrently when the batch is parallel, so
+     * that the implementation must be thread-safe.
+     */
+    @FunctionalInterface
+    public interface TileSink {
+
+        /**
+         * Writes a resampled tile.
+         *
+         * @param x0 X coordinate of the first pixel of the tile in the target
+         * @param y0 Y coordinate of the first pixel of the tile in the target
+         * @param width number of pixels along X
+         * @param height number of pixels along Y
+         * @param values values of the tile, row by row
+         */
+        void write(int x0, int y0, int width, int height, double[] values);
+    }
+
+    /**
+     * Transform of the source WCS.
+     */
+    private final WcsTransform source;
+
+    /**
+     * Transform of the target WCS.
+     */
+    private final WcsTransform target;
+
+    /**
+     * CRS of the source WCS.
+     */
+    private final AbstractCrs sourceCrs;
+
+    /**
+     * CRS of the target WCS.
+     */
+    private final AbstractCrs targetCrs;
+
+    /**
+     * NAXIS1 of the source.
+     */
+    private final int sourceWidth;
+
+    /**
+     * NAXIS2 of the source.
+     */
+    private final int sourceHeight;
+
+    /**
+     * NAXIS1 of the target.
+     */
+    private final int targetWidth;
+
+    /**
+     * NAXIS2 of the target.
+     */
+    private final int targetHeight;
+
+    /**
+     * Interpolation of the source image.
+     */
+    private final Interpolation interpolation;
+
+    /**
+     * Size in pixels of the side of a tile.
+     */
+    private final int tileSize;
+
+    /**
+     * Creates a reprojector with {@link #DEFAULT_TILE_SIZE}.
+     *
+     * @param source WCS of the source image
+     * @param target WCS of the target image
+     * @param interpolation interpolation of the source image
+     * @throws JWcsError a WCS is not initialized or its CRS is not supported
+     */
+    public Reprojector(final AbstractJWcs source, final AbstractJWcs target, final Interpolation interpolation) {
+        this(source, target, interpolation, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Creates a reprojector.
+     *
+     * @param source WCS of the source image
+     * @param target WCS of the target image
+     * @param interpolation interpolation of the source image
+     * @param tileSize size in pixels of the side of a tile
+     * @throws JWcsError tileSize is not strictly positive, a WCS is not
+     * initialized or its CRS is not supported
+     */
+    public Reprojector(final AbstractJWcs source, final AbstractJWcs target, final Interpolation interpolation, final int tileSize) {
+        if (tileSize <= 0) {
+            throw new JWcsError("tileSize must be strictly positive, found " + tileSize);
+        }
+        this.source = source.getTransform();
+        this.target = target.getTransform();
+        this.sourceCrs = source.getCrs();
+        this.targetCrs = target.getCrs();
+        this.sourceWidth = source.naxis(1);
+        this.sourceHeight = source.naxis(2);
+        this.targetWidth = target.naxis(1);
+        this.targetHeight = target.naxis(2);
+        this.interpolation = interpolation;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Returns the size in pixels of the side of a tile.
+     *
+     * @return the tile size
+     */
+    public int getTileSize() {
+        return this.tileSize;
+    }
+
+    /**
+     * Returns the number of tiles of the target image.
+     *
+     * @return the number of tiles
+     */
+    public int getNbTiles() {
+        return getNbTilesX() * ((this.targetHeight + this.tileSize - 1) / this.tileSize);
+    }
+
+    /**
+     * Returns the number of tiles along X.
+     *
+     * @return the number of tiles along X
+     */
+    private int getNbTilesX() {
+        return (this.targetWidth + this.tileSize - 1) / this.tileSize;
+    }
+
+    /**
+     * Resamples the source image onto the target by tiles.
+     *
+     * <p>The positions of the batch are the tiles, numbered row by row, so
+     * that the chunk size of <code>batch</code> is a number of tiles. When a
+     * tile fails, a tile of NaN is written and the failure is reported.
+     *
+     * @param image source image
+     * @param sink receiver of the resampled tiles
+     * @param batch the parallel batch
+     * @return the report of the failed tiles
+     */
+    public BatchReport reproject(final ImageSource image, final TileSink sink, final ParallelBatch batch) {
+        return batch.execute(getNbTiles(),
+                (from, to) -> {
+                    for (int tile = from; tile < to; tile++) {
+                        final int[] region = getTileRegion(tile);
+                        sink.write(region[0], region[1], region[2], region[3], reprojectTile(image, region[0], region[1], region[2], region[3]));
+                    }
+                },
+                (from, to) -> {
+                    for (int tile = from; tile < to; tile++) {
+                        final int[] region = getTileRegion(tile);
+                        final double[] values = new double[region[2] * region[3]];
+                        Arrays.fill(values, Double.NaN);
+                        sink.write(region[0], region[1], region[2], region[3], values);
+                    }
+                });
+    }
+
+    /**
+     * Resamples the source image onto the whole target image.
+     *
+     * <p>This method allocates the target image and is intended for images
+     * fitting in memory. Use
+     * {@link #reproject(ImageSource, TileSink, ParallelBatch)} to stream the
+     * tiles.
+     *
+     * @param image source image
+     * @param batch the parallel batch
+     * @return the target image, row by row
+     * @throws JWcsError the target image is too large for an array
+     */
+    public double[] reproject(final ImageSource image, final ParallelBatch batch) {
+        final double[] result = new double[WcsTransform.checkGrid(this.targetWidth, this.targetHeight)];
+        reproject(image, (x0, y0, width, height, values) -> {
+            for (int j = 0; j < height; j++) {
+                System.arraycopy(values, j * width, result, (y0 - 1 + j) * this.targetWidth + x0 - 1, width);
+            }
+        }, batch);
+        return result;
+    }
+
+    /**
+     * Returns the region of a tile.
+     *
+     * @param tile index of the tile
+     * @return the region as (x0, y0, width, height)
+     */
+    private int[] getTileRegion(final int tile) {
+        final int nbTilesX = getNbTilesX();
+        final int x0 = (tile % nbTilesX) * this.tileSize + 1;
+        final int y0 = (tile / nbTilesX) * this.tileSize + 1;
+        return new int[]{x0, y0, Math.min(this.tileSize, this.targetWidth - x0 + 1), Math.min(this.tileSize, this.targetHeight - y0 + 1)};
+    }
+
+    /**
+     * Resamples a tile of the target.
+     *
+     * @param image source image
+     * @param x0 X coordinate of the first pixel of the tile
+     * @param y0 Y coordinate of the first pixel of the tile
+     * @param width number of pixels along X
+     * @param height number of pixels along Y
+     * @return the values of the tile, row by row
+     */
+    private double[] reprojectTile(final ImageSource image, final int x0, final int y0, final int width, final int height) {
+        final double[] values;
+        if (this.interpolation == Interpolation.FLUX_CONSERVING) {
+            values = reprojectTileFlux(image, x0, y0, width, height);
+        } else {
+            final int length = width * height;
+            final double[] longitude = new double[length];
+            final double[] latitude = new double[length];
+            this.target.computeSkyGrid(x0, y0, width, height, longitude, latitude, null);
+            final double[] x = new double[length];
+            final double[] y = new double[length];
+            toSourcePixels(longitude, latitude, x, y);
+            values = new double[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = this.interpolation == Interpolation.NEAREST ? nearest(image, x[i], y[i]) : bilinear(image, x[i], y[i]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Resamples a tile of the target by conserving the flux.
+     *
+     * <p>The corners of the target pixels are projected in the source. The
+     * footprint of a target pixel is then the quadrilateral of its four
+     * corners, which is clipped by each source pixel it overlaps.
+     *
+     * @param image source image
+     * @param x0 X coordinate of the first pixel of the tile
+     * @param y0 Y coordinate of the first pixel of the tile
+     * @param width number of pixels along X
+     * @param height number of pixels along Y
+     * @return the values of the tile, row by row
+     */
+    private double[] reprojectTileFlux(final ImageSource image, final int x0, final int y0, final int width, final int height) {
+        final int nbCornersX = width + 1;
+        final int nbCorners = nbCornersX * (height + 1);
+        final double[] longitude = new double[nbCorners];
+        final double[] latitude = new double[nbCorners];
+        for (int j = 0, index = 0; j <= height; j++) {
+            for (int i = 0; i <= width; i++, index++) {
+                longitude[index] = x0 - 0.5 + i;
+                latitude[index] = y0 - 0.5 + j;
+            }
+        }
+        this.target.pix2wcs(longitude, latitude, longitude, latitude, (byte[]) null);
+        final double[] x = new double[nbCorners];
+        final double[] y = new double[nbCorners];
+        toSourcePixels(longitude, latitude, x, y);
+        final double[] values = new double[width * height];
+        final double[] quad = new double[8];
+        final double[] clipped = new double[2 * MAX_CLIPPED_VERTICES];
+        final double[] buffer = new double[2 * MAX_CLIPPED_VERTICES];
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                final int c00 = j * nbCornersX + i;
+                final int[] corners = {c00, c00 + 1, c00 + 1 + nbCornersX, c00 + nbCornersX};
+                boolean isValid = true;
+                for (int k = 0; k < 4; k++) {
+                    quad[2 * k] = x[corners[k]];
+                    quad[2 * k + 1] = y[corners[k]];
+                    isValid &= !Double.isNaN(quad[2 * k]) && !Double.isNaN(quad[2 * k + 1]);
+                }
+                values[j * width + i] = isValid ? integrate(image, quad, clipped, buffer) : Double.NaN;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Integrates the source image over a quadrilateral footprint.
+     *
+     * @param image source image
+     * @param quad corners of the footprint in source pixels as (x1, y1, ..., x4, y4)
+     * @param clipped work array of 2 * {@link #MAX_CLIPPED_VERTICES} elements
+     * @param buffer work array of 2 * {@link #MAX_CLIPPED_VERTICES} elements
+     * @return the sum of the source values weighted by their overlap, NaN
+     * when the footprint does not overlap the source image
+     */
+    private double integrate(final ImageSource image, final double[] quad, final double[] clipped, final double[] buffer) {
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < 4; k++) {
+            minX = FastMath.min(minX, quad[2 * k]);
+            maxX = FastMath.max(maxX, quad[2 * k]);
+            minY = FastMath.min(minY, quad[2 * k + 1]);
+            maxY = FastMath.max(maxY, quad[2 * k + 1]);
+        }
+        final int iMin = (int) FastMath.max(1, FastMath.floor(minX + 0.5));
+        final int iMax = (int) FastMath.min(this.sourceWidth, FastMath.floor(maxX + 0.5));
+        final int jMin = (int) FastMath.max(1, FastMath.floor(minY + 0.5));
+        final int jMax = (int) FastMath.min(this.sourceHeight, FastMath.floor(maxY + 0.5));
+        double sum = 0;
+        double coveredArea = 0;
+        for (int j = jMin; j <= jMax; j++) {
+            for (int i = iMin; i <= iMax; i++) {
+                final double area = clipArea(quad, i - 0.5, i + 0.5, j - 0.5, j + 0.5, clipped, buffer);
+                if (area > 0) {
+                    final double value = image.getValue(i, j);
+                    if (!Double.isNaN(value)) {
+                        sum += value * area;
+                    }
+                    coveredArea += area;
+                }
+            }
+        }
+        return coveredArea > 0 ? sum : Double.NaN;
+    }
+
+    /**
+     * Computes the area of the intersection between a quadrilateral and a
+     * source pixel.
+     *
+     * <p>The quadrilateral is clipped by the four edges of the pixel with the
+     * Sutherland-Hodgman algorithm.
+     *
+     * @param quad corners of the quadrilateral as (x1, y1, ..., x4, y4)
+     * @param xMin left edge of the pixel
+     * @param xMax right edge of the pixel
+     * @param yMin bottom edge of the pixel
+     * @param yMax top edge of the pixel
+     * @param clipped work array of 2 * {@link #MAX_CLIPPED_VERTICES} elements
+     * @param buffer work array of 2 * {@link #MAX_CLIPPED_VERTICES} elements
+     * @return the area of the intersection in source pixels
+     */
+    static double clipArea(final double[] quad, final double xMin, final double xMax, final double yMin, final double yMax,
+            final double[] clipped, final double[] buffer) {
+        System.arraycopy(quad, 0, clipped, 0, 8);
+        int n = 4;
+        n = clip(clipped, n, buffer, 0, xMin, 1);
+        n = clip(buffer, n, clipped, 0, xMax, -1);
+        n = clip(clipped, n, buffer, 1, yMin, 1);
+        n = clip(buffer, n, clipped, 1, yMax, -1);
+        double area = 0;
+        for (int k = 0; k < n; k++) {
+            final int next = (k + 1) % n;
+            area += clipped[2 * k] * clipped[2 * next + 1] - clipped[2 * next] * clipped[2 * k + 1];
+        }
+        return 0.5 * FastMath.abs(area);
+    }
+
+    /**
+     * Clips a polygon by the half-plane <code>sign * (p[axis] - limit) &gt;= 0</code>.
+     *
+     * @param in vertices of the polygon as (x1, y1, x2, y2, ...)
+     * @param n number of vertices
+     * @param out array where the vertices of the clipped polygon are written
+     * @param axis 0 to clip along X, 1 to clip along Y
+     * @param limit position of the edge
+     * @param sign 1 to keep the side above the limit, -1 to keep the side below
+     * @return the number of vertices of the clipped polygon
+     */
+    private static int clip(final double[] in, final int n, final double[] out, final int axis, final double limit, final int sign) {
+        int m = 0;
+        for (int k = 0; k < n; k++) {
+            final int next = (k + 1) % n;
+            final double dCurrent = sign * (in[2 * k + axis] - limit);
+            final double dNext = sign * (in[2 * next + axis] - limit);
+            if (dCurrent >= 0) {
+                out[2 * m] = in[2 * k];
+                out[2 * m + 1] = in[2 * k + 1];
+                m++;
+            }
+            if ((dCurrent >= 0) != (dNext >= 0)) {
+                final double t = dCurrent / (dCurrent - dNext);
+                out[2 * m] = in[2 * k] + t * (in[2 * next] - in[2 * k]);
+                out[2 * m + 1] = in[2 * k + 1] + t * (in[2 * next + 1] - in[2 * k + 1]);
+                m++;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Converts the sky positions of the target in pixel positions of the
+     * source.
+     *
+     * @param longitude longitudes in the CRS of the target, converted in place
+     * @param latitude latitudes in the CRS of the target, converted in place
+     * @param x array where the X coordinates in the source are written
+     * @param y array where the Y coordinates in the source are written
+     */
+    private void toSourcePixels(final double[] longitude, final double[] latitude, final double[] x, final double[] y) {
+        this.targetCrs.convertTo(this.sourceCrs, longitude, latitude, longitude.length);
+        this.source.wcs2pix(longitude, latitude, x, y, (byte[]) null);
+    }
+
+    /**
+     * Returns the value of the closest source pixel.
+     *
+     * @param image source image
+     * @param x X coordinate in the source
+     * @param y Y coordinate in the source
+     * @return the value, NaN outside the source image
+     */
+    private double nearest(final ImageSource image, final double x, final double y) {
+        if (!isInsideSource(x, y)) {
+            return Double.NaN;
+        }
+        final int i = (int) FastMath.min(this.sourceWidth, FastMath.max(1, FastMath.floor(x + 0.5)));
+        final int j = (int) FastMath.min(this.sourceHeight, FastMath.max(1, FastMath.floor(y + 0.5)));
+        return image.getValue(i, j);
+    }
+
+    /**
+     * Interpolates bilinearly the four closest source pixels.
+     *
+     * <p>In the half pixel at the border of the source image, the value of the
+     * border is extended.
+     *
+     * @param image source image
+     * @param x X coordinate in the source
+     * @param y Y coordinate in the source
+     * @return the value, NaN outside the source image
+     */
+    private double bilinear(final ImageSource image, final double x, final double y) {
+        if (!isInsideSource(x, y)) {
+            return Double.NaN;
+        }
+        final double xc = FastMath.min(this.sourceWidth, FastMath.max(1, x));
+        final double yc = FastMath.min(this.sourceHeight, FastMath.max(1, y));
+        final int i0 = (int) FastMath.floor(xc);
+        final int j0 = (int) FastMath.floor(yc);
+        final int i1 = FastMath.min(i0 + 1, this.sourceWidth);
+        final int j1 = FastMath.min(j0 + 1, this.sourceHeight);
+        final double fx = xc - i0;
+        final double fy = yc - j0;
+        return (1 - fx) * (1 - fy) * image.getValue(i0, j0)
+                + fx * (1 - fy) * image.getValue(i1, j0)
+                + (1 - fx) * fy * image.getValue(i0, j1)
+                + fx * fy * image.getValue(i1, j1);
+    }
+
+    /**
+     * Tests if a position falls in the source image.
+     *
+     * @param x X coordinate in the source
+     * @param y Y coordinate in the source
+     * @return True when the position is in a source pixel otherwise False
+     */
+    private boolean isInsideSource(final double x, final double y) {
+        return x >= 0.5 && x <= this.sourceWidth + 0.5 && y >= 0.5 && y <= this.sourceHeight + 0.5;
+    }
+}
@@ -0,0 +1,999 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs;
+
+import io.github.malapert.jwcs.proj.AbstractProjection;
+import io.github.malapert.jwcs.proj.ProjectionStatus;
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.proj.exception.ProjectionException;
+import io.github.malapert.jwcs.utility.BatchReport;
+import io.github.malapert.jwcs.utility.ParallelBatch;
+import io.github.malapert.jwcs.utility.PrecisionPolicy;
+import java.util.Arrays;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Compiled WCS transformation between the pixel grid and the sky.
+ *
+ * <p>A transform is created by {@link AbstractJWcs#init()} once the header
+ * has been parsed. It holds a copy of the projection, the CD matrix, its
+ * inverse, CRPIX and the celestial coordinates of the native pole. None of
+ * them changes after the creation, even when the projection given to the
+ * constructor is modified by its setters, so that a single instance can be
+ * shared by several threads working on the same image.
+ *
+ * <p>The trigonometric functions of the projection and of the spherical
+ * rotation are computed with the precision of the transform, see
+ * {@link #withPrecision(PrecisionPolicy)}.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public final class WcsTransform {
+
+    /**
+     * Number of positions whose projection plane coordinates are computed
+     * before being projected, in the columnar batch mode.
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    /**
+     * Copy of the projection, owned by this transform.
+     */
+    private final AbstractProjection proj;
+
+    /**
+     * CD<sub>1_1</sub>.
+     */
+    private final double cd11;
+
+    /**
+     * CD<sub>1_2</sub>.
+     */
+    private final double cd12;
+
+    /**
+     * CD<sub>2_1</sub>.
+     */
+    private final double cd21;
+
+    /**
+     * CD<sub>2_2</sub>.
+     */
+    private final double cd22;
+
+    /**
+     * Element (1,1) of the inverse CD matrix.
+     */
+    private final double cdInverse11;
+
+    /**
+     * Element (1,2) of the inverse CD matrix.
+     */
+    private final double cdInverse12;
+
+    /**
+     * Element (2,1) of the inverse CD matrix.
+     */
+    private final double cdInverse21;
+
+    /**
+     * Element (2,2) of the inverse CD matrix.
+     */
+    private final double cdInverse22;
+
+    /**
+     * CRPIX1.
+     */
+    private final double crpix1;
+
+    /**
+     * CRPIX2.
+     */
+    private final double crpix2;
+
+    /**
+     * Celestial longitude and latitude in radians of the native pole
+     * (\u03B1<sub>p</sub>, \u03B4<sub>p</sub>).
+     */
+    private final double[] coordNativePole;
+
+    /**
+     * Precision of the trigonometric functions.
+     */
+    private final PrecisionPolicy precision;
+
+    /**
+     * Creates a compiled transform.
+     *
+     * <p>The projection is copied: a later change of its parameters does not
+     * change this transform.
+     *
+     * @param proj the projection
+     * @param cd the CD matrix
+     * @param cdInverse the inverse CD matrix, transposed to be applied on
+     * row vectors
+     * @param crpix1 CRPIX1
+     * @param crpix2 CRPIX2
+     */
+    WcsTransform(final AbstractProjection proj, final RealMatrix cd, final RealMatrix cdInverse, final double crpix1, final double crpix2) {
+        this.proj = proj.copy();
+        this.cd11 = cd.getEntry(0, 0);
+        this.cd12 = cd.getEntry(0, 1);
+        this.cd21 = cd.getEntry(1, 0);
+        this.cd22 = cd.getEntry(1, 1);
+        this.cdInverse11 = cdInverse.getEntry(0, 0);
+        this.cdInverse12 = cdInverse.getEntry(1, 0);
+        this.cdInverse21 = cdInverse.getEntry(0, 1);
+        this.cdInverse22 = cdInverse.getEntry(1, 1);
+        this.crpix1 = crpix1;
+        this.crpix2 = crpix2;
+        this.coordNativePole = this.proj.getCoordNativePole();
+        this.precision = PrecisionPolicy.EXACT;
+    }
+
+    /**
+     * Creates a copy of a transform with another precision.
+     *
+     * @param transform the transform to copy
+     * @param precision precision of the trigonometric functions
+     */
+    private WcsTransform(final WcsTransform transform, final PrecisionPolicy precision) {
+        this.proj = transform.proj;
+        this.cd11 = transform.cd11;
+        this.cd12 = transform.cd12;
+        this.cd21 = transform.cd21;
+        this.cd22 = transform.cd22;
+        this.cdInverse11 = transform.cdInverse11;
+        this.cdInverse12 = transform.cdInverse12;
+        this.cdInverse21 = transform.cdInverse21;
+        this.cdInverse22 = transform.cdInverse22;
+        this.crpix1 = transform.crpix1;
+        this.crpix2 = transform.crpix2;
+        this.coordNativePole = transform.coordNativePole;
+        this.precision = precision;
+    }
+
+    /**
+     * Returns a transform computing the trigonometric functions with the
+     * given precision.
+     *
+     * <p>The transform created by {@link AbstractJWcs#init()} is
+     * {@link PrecisionPolicy#EXACT}. With {@link PrecisionPolicy#FAST}, the
+     * spherical rotation and the closed-form projections use polynomial
+     * approximations whose error is below
+     * {@link io.github.malapert.jwcs.utility.FastTrigonometry#MAX_ERROR}
+     * radians, which is enough for quick-look products needing a
+     * milliarcsecond accuracy. The positions that cannot be transformed are
+     * detected as with the exact functions. Both transforms share the same
+     * projection and can be used at the same time.
+     *
+     * @param precision precision of the trigonometric functions
+     * @return a transform with this precision
+     * @throws JWcsError when precision is null
+     */
+    public WcsTransform withPrecision(final PrecisionPolicy precision) {
+        if (precision == null) {
+            throw new JWcsError("precision must not be null");
+        }
+        return precision == this.precision ? this : new WcsTransform(this, precision);
+    }
+
+    /**
+     * Returns the precision of the trigonometric functions.
+     *
+     * @return the precision
+     */
+    public PrecisionPolicy getPrecision() {
+        return this.precision;
+    }
+
+    /**
+     * Transforms the position of a pixel given by (x,y) in a position in the
+     * sky.
+     *
+     * @param x X coordinate of the pixel
+     * @param y Y coordinate of the pixel
+     * @return the pixel position in the sky
+     * @throws ProjectionException when there is a projection error
+     */
+    public double[] pix2wcs(final double x, final double y) throws ProjectionException {
+        if (this.precision != PrecisionPolicy.EXACT) {
+            final double[] skyPosition = new double[2];
+            if (pix2wcs(x, y, skyPosition, 0) == ProjectionStatus.OK) {
+                return skyPosition;
+            }
+            // the exact path gives the reason of the failure
+        }
+        final double dx = x - this.crpix1;
+        final double dy = y - this.crpix2;
+        return this.proj.projectionPlane2wcs(this.cd11 * dx + this.cd12 * dy, this.cd21 * dx + this.cd22 * dy);
+    }
+
+    /**
+     * Transforms an array of pixel position in an array of position in the sky.
+     *
+     * @param pixels an array of pixel
+     * @return an array of sky position
+     * @throws ProjectionException when there is a projection error
+     * @throws JWcsError the length of pixels must be a multiple of 2
+     */
+    public double[] pix2wcs(final double[] pixels) throws ProjectionException {
+        final int pixelsLength = pixels.length;
+        if (pixelsLength % 2 != 0) {
+            throw new JWcsError("the length of pixels must be a multiple of 2");
+        }
+        final double[] skyPositions = new double[pixelsLength];
+        pix2wcs(pixels, 0, skyPositions, 0, pixelsLength / 2);
+        return skyPositions;
+    }
+
+    /**
+     * Transforms pixel positions in positions in the sky, in a caller-owned
+     * buffer.
+     *
+     * <p>Positions are stored as (x,y) pairs in the input and as
+     * (longitude, latitude) pairs in the output. Both arrays may be the same
+     * array with the same offset.
+     *
+     * @param pixels array of pixels
+     * @param pixelsOffset index of the first x in <code>pixels</code>
+     * @param skyPositions array where the sky positions are written
+     * @param skyPositionsOffset index where the first longitude is written
+     * @param count number of positions to transform
+     * @throws ProjectionException when there is a projection error
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     */
+    public void pix2wcs(final double[] pixels, final int pixelsOffset, final double[] skyPositions, final int skyPositionsOffset, final int count) throws ProjectionException {
+        checkBuffer(pixels, pixelsOffset, count, "pixels");
+        checkBuffer(skyPositions, skyPositionsOffset, count, "skyPositions");
+        int in = pixelsOffset;
+        int out = skyPositionsOffset;
+        for (int i = 0; i < count; i++) {
+            final double x = pixels[in];
+            final double y = pixels[in + 1];
+            if (pix2wcs(x, y, skyPositions, out) != ProjectionStatus.OK) {
+                // computes again to raise the exception of the projection
+                final double[] result = this.pix2wcs(x, y);
+                skyPositions[out] = result[0];
+                skyPositions[out + 1] = result[1];
+            }
+            in += 2;
+            out += 2;
+        }
+    }
+
+    /**
+     * Transforms pixel positions stored in columns in positions in the sky.
+     *
+     * <p>All arrays must have the same length. The output arrays may be the
+     * input arrays.
+     *
+     * @param x X coordinates of the pixels
+     * @param y Y coordinates of the pixels
+     * @param longitude array where the longitudes are written in degrees
+     * @param latitude array where the latitudes are written in degrees
+     * @throws ProjectionException when there is a projection error
+     * @throws JWcsError when the arrays do not have the same length
+     */
+    public void pix2wcs(final double[] x, final double[] y, final double[] longitude, final double[] latitude) throws ProjectionException {
+        final int length = checkColumns(x, y, longitude, latitude);
+        final double[] skyPosition = new double[2];
+        for (int i = 0; i < length; i++) {
+            if (pix2wcs(x[i], y[i], skyPosition, 0) != ProjectionStatus.OK) {
+                // computes again to raise the exception of the projection
+                final double[] result = this.pix2wcs(x[i], y[i]);
+                skyPosition[0] = result[0];
+                skyPosition[1] = result[1];
+            }
+            longitude[i] = skyPosition[0];
+            latitude[i] = skyPosition[1];
+        }
+    }
+
+    /**
+     * Transforms pixel positions in positions in the sky, in parallel.
+     *
+     * <p>The positions are split in chunks processed by <code>batch</code>.
+     * When a position of a chunk cannot be projected, the whole chunk is set
+     * to NaN in <code>skyPositions</code> and the failure is reported; the
+     * other chunks are processed.
+     *
+     * @param pixels array of pixels
+     * @param pixelsOffset index of the first x in <code>pixels</code>
+     * @param skyPositions array where the sky positions are written
+     * @param skyPositionsOffset index where the first longitude is written
+     * @param count number of positions to transform
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     * @see #pix2wcs(double[], int, double[], int, int)
+     */
+    public BatchReport pix2wcs(final double[] pixels, final int pixelsOffset, final double[] skyPositions, final int skyPositionsOffset, final int count, final ParallelBatch batch) {
+        checkBuffer(pixels, pixelsOffset, count, "pixels");
+        checkBuffer(skyPositions, skyPositionsOffset, count, "skyPositions");
+        return batch.execute(count,
+                (from, to) -> pix2wcs(pixels, pixelsOffset + 2 * from, skyPositions, skyPositionsOffset + 2 * from, to - from),
+                (from, to) -> Arrays.fill(skyPositions, skyPositionsOffset + 2 * from, skyPositionsOffset + 2 * to, Double.NaN));
+    }
+
+    /**
+     * Transforms pixel positions in positions in the sky, in the batch mode.
+     *
+     * <p>No exception is thrown for the positions that cannot be transformed:
+     * their sky position is set to NaN and, when <code>status</code> is not
+     * null, the reason is written at the index of the position in the batch
+     * as a {@link ProjectionStatus} code.
+     *
+     * @param pixels array of (x,y) pairs. Starts to 1 according to FITS standard
+     * @param pixelsOffset index of the first x in <code>pixels</code>
+     * @param skyPositions array where the (longitude, latitude) pairs are written
+     * @param skyPositionsOffset index where the first longitude is written
+     * @param count number of positions to transform
+     * @param status array where the status codes are written or null
+     * @return the number of positions that cannot be transformed
+     * @throws JWcsError when the positions do not fit in the arrays
+     */
+    public int pix2wcs(final double[] pixels, final int pixelsOffset, final double[] skyPositions, final int skyPositionsOffset, final int count, final byte[] status) {
+        checkBuffer(pixels, pixelsOffset, count, "pixels");
+        checkBuffer(skyPositions, skyPositionsOffset, count, "skyPositions");
+        checkStatus(status, count);
+        int nbInvalid = 0;
+        int in = pixelsOffset;
+        int out = skyPositionsOffset;
+        for (int i = 0; i < count; i++) {
+            final ProjectionStatus result = pix2wcs(pixels[in], pixels[in + 1], skyPositions, out);
+            nbInvalid += writeStatus(status, i, result);
+            in += 2;
+            out += 2;
+        }
+        return nbInvalid;
+    }
+
+    /**
+     * Transforms pixel positions stored in columns in positions in the sky,
+     * in the batch mode.
+     *
+     * <p>The projection plane coordinates are computed by blocks and each
+     * block is projected by
+     * {@link AbstractProjection#projectionPlane2wcs(double[], double[], int, double[], double[], int, byte[])},
+     * which vectorizes the closed-form projections on Java 17 and later
+     * when the <code>jdk.incubator.vector</code> module is added.
+     *
+     * @param x X coordinates of the pixels. Starts to 1 according to FITS standard
+     * @param y Y coordinates of the pixels. Starts to 1 according to FITS standard
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @param status array where the status codes are written or null
+     * @return the number of positions that cannot be transformed
+     * @throws JWcsError when the arrays do not have the same length
+     * @see #pix2wcs(double[], int, double[], int, int, byte[])
+     */
+    public int pix2wcs(final double[] x, final double[] y, final double[] longitude, final double[] latitude, final byte[] status) {
+        final int length = checkColumns(x, y, longitude, latitude);
+        checkStatus(status, length);
+        return pix2wcs(x, y, longitude, latitude, status, 0, length);
+    }
+
+    /**
+     * Transforms the pixel positions from <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) stored in columns in positions in the sky,
+     * in the batch mode.
+     *
+     * @param x X coordinates of the pixels
+     * @param y Y coordinates of the pixels
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @param status array where the status codes are written or null
+     * @param from index of the first position
+     * @param to index after the last position
+     * @return the number of positions that cannot be transformed
+     */
+    private int pix2wcs(final double[] x, final double[] y, final double[] longitude, final double[] latitude, final byte[] status, final int from, final int to) {
+        final int blockSize = FastMath.min(to - from, BLOCK_SIZE);
+        final double[] u = new double[blockSize];
+        final double[] v = new double[blockSize];
+        int nbInvalid = 0;
+        for (int start = from; start < to; start += blockSize) {
+            final int count = FastMath.min(blockSize, to - start);
+            for (int i = 0; i < count; i++) {
+                final double dx = x[start + i] - this.crpix1;
+                final double dy = y[start + i] - this.crpix2;
+                u[i] = this.cd11 * dx + this.cd12 * dy;
+                v[i] = this.cd21 * dx + this.cd22 * dy;
+            }
+            nbInvalid += this.proj.projectionPlane2wcs(u, v, count, longitude, latitude, start, status, this.precision);
+        }
+        return nbInvalid;
+    }
+
+    /**
+     * Computes the sky positions of every pixel of a region.
+     *
+     * <p>The region starts at the pixel (x0, y0) and is stored row by row:
+     * the pixel (x0 + i, y0 + j) is at the index <code>j * width + i</code>.
+     * The CD matrix is linear, so that moving one pixel along X adds the same
+     * vector (CD<sub>1_1</sub>, CD<sub>2_1</sub>) to the projection plane
+     * coordinates. The projection plane coordinates are computed once per
+     * row and then incremented along the row instead of applying the CD
+     * matrix to every pixel.
+     *
+     * <p>The pixels that cannot be transformed are set to NaN without
+     * exception, as in {@link #pix2wcs(double[], double[], double[], double[], byte[])}.
+     *
+     * @param x0 X coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param y0 Y coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param width number of pixels along X
+     * @param height number of pixels along Y
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @param status array where the status codes are written or null
+     * @return the number of pixels that cannot be transformed
+     * @throws JWcsError when the size of the region is not valid or the
+     * region does not fit in the arrays
+     */
+    public int computeSkyGrid(final int x0, final int y0, final int width, final int height, final double[] longitude, final double[] latitude, final byte[] status) {
+        final int length = checkGrid(width, height);
+        if (longitude.length < length || latitude.length < length) {
+            throw new JWcsError(width + "x" + height + " pixels do not fit in longitude of length " + longitude.length + " and latitude of length " + latitude.length);
+        }
+        checkStatus(status, length);
+        final double[] u = new double[width];
+        final double[] v = new double[width];
+        final double dx = x0 - this.crpix1;
+        int nbInvalid = 0;
+        for (int j = 0; j < height; j++) {
+            final double dy = y0 + j - this.crpix2;
+            final double uRow = this.cd11 * dx + this.cd12 * dy;
+            final double vRow = this.cd21 * dx + this.cd22 * dy;
+            for (int i = 0; i < width; i++) {
+                u[i] = uRow + i * this.cd11;
+                v[i] = vRow + i * this.cd21;
+            }
+            nbInvalid += this.proj.projectionPlane2wcs(u, v, width, longitude, latitude, j * width, status, this.precision);
+        }
+        return nbInvalid;
+    }
+
+    /**
+     * Computes the sky positions of every pixel of a region by interpolation,
+     * with a bounded error.
+     *
+     * <p>The exact transformation is computed on a coarse mesh over the region
+     * and the pixels are interpolated between the nodes of the mesh. The mesh
+     * is refined where the interpolation differs from the exact transformation
+     * by more than <code>tolerance</code> at the check points of a cell, see
+     * {@link InterpolatedSkyGrid}. This is much faster than the exact
+     * computation for the projections using an iterative solver (AIR, ZPN,
+     * PCO, ...). The result is stored as in
+     * {@link #computeSkyGrid(int, int, int, int, double[], double[], byte[])}.
+     *
+     * @param x0 X coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param y0 Y coordinate of the first pixel. Starts to 1 according to FITS standard
+     * @param width number of pixels along X
+     * @param height number of pixels along Y
+     * @param longitude array where the longitudes are written
+     * @param latitude array where the latitudes are written
+     * @param status array where the status codes are written or null
+     * @param tolerance maximum angular error in degrees, for instance
+     * 1 mas = 1 / 3600000 degrees
+     * @return the number of pixels that cannot be transformed
+     * @throws JWcsError when the size of the region is not valid, the region
+     * does not fit in the arrays or the tolerance is not strictly positive
+     */
+    public int computeSkyGrid(final int x0, final int y0, final int width, final int height, final double[] longitude, final double[] latitude, final byte[] status, final double tolerance) {
+        if (!(tolerance > 0)) {
+            throw new JWcsError("tolerance must be strictly positive, found " + tolerance);
+        }
+        final int length = checkGrid(width, height);
+        if (longitude.length < length || latitude.length < length) {
+            throw new JWcsError(width + "x" + height + " pixels do not fit in longitude of length " + longitude.length + " and latitude of length " + latitude.length);
+        }
+        checkStatus(status, length);
+        return new InterpolatedSkyGrid(this, x0, y0, width, longitude, latitude, status, tolerance).compute(height);
+    }
+
+    /**
+     * Transforms pixel positions stored in columns in positions in the sky,
+     * in parallel.
+     *
+     * <p>Each chunk is transformed in the batch mode, see
+     * {@link #pix2wcs(double[], double[], double[], double[], byte[])}: a
+     * pixel that cannot be transformed is set to NaN without failing its
+     * chunk.
+     *
+     * @param x X coordinates of the pixels
+     * @param y Y coordinates of the pixels
+     * @param longitude array where the longitudes are written in degrees
+     * @param latitude array where the latitudes are written in degrees
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError when the arrays do not have the same length
+     * @see #pix2wcs(double[], int, double[], int, int, ParallelBatch)
+     */
+    public BatchReport pix2wcs(final double[] x, final double[] y, final double[] longitude, final double[] latitude, final ParallelBatch batch) {
+        final int length = checkColumns(x, y, longitude, latitude);
+        return batch.execute(length,
+                (from, to) -> pix2wcs(x, y, longitude, latitude, null, from, to),
+                (from, to) -> {
+                    Arrays.fill(longitude, from, to, Double.NaN);
+                    Arrays.fill(latitude, from, to, Double.NaN);
+                });
+    }
+
+    /**
+     * Transforms the sky position given by (longitude, latitude) in a pixel
+     * position.
+     *
+     * @param longitude longitude of the sky position in degrees [0, 360]
+     * @param latitude latitude of the sky position in degrees [-90, 90]
+     * @return the sky position in the pixel grid.
+     * @throws ProjectionException when there is a projection error
+     * @throws JWcsError the range of longitude or latitude is not valid
+     */
+    public double[] wcs2pix(final double longitude, final double latitude) throws ProjectionException {
+        checkLongitudeLatitude(longitude, latitude);
+        if (this.precision != PrecisionPolicy.EXACT) {
+            final double[] pixel = new double[2];
+            if (wcs2pix(longitude, latitude, pixel, 0) == ProjectionStatus.OK) {
+                return pixel;
+            }
+            // the exact path gives the reason of the failure
+        }
+        final double[] coordVal = this.proj.wcs2projectionPlane(FastMath.toRadians(longitude), FastMath.toRadians(latitude));
+        final double u = coordVal[0];
+        final double v = coordVal[1];
+        coordVal[0] = this.cdInverse11 * u + this.cdInverse12 * v + this.crpix1;
+        coordVal[1] = this.cdInverse21 * u + this.cdInverse22 * v + this.crpix2;
+        return coordVal;
+    }
+
+    /**
+     * Transforms an array of sky position in an array of pixel position.
+     *
+     * @param skyPositions array of sky positions
+     * @return the sky position in the pixel grid.
+     * @throws ProjectionException when there is a projection error
+     * @throws JWcsError When the length of <code>skyPositions</code> is not a
+     * multiple of 2
+     */
+    public double[] wcs2pix(final double[] skyPositions) throws ProjectionException {
+        final int skyPositionLength = skyPositions.length;
+        if (skyPositionLength % 2 != 0) {
+            throw new JWcsError("the length of skyPositions must be a multiple of 2");
+        }
+        final double[] pixelPositions = new double[skyPositionLength];
+        wcs2pix(skyPositions, 0, pixelPositions, 0, skyPositionLength / 2);
+        return pixelPositions;
+    }
+
+    /**
+     * Transforms sky positions in pixel positions, in a caller-owned buffer.
+     *
+     * <p>Positions are stored as (longitude, latitude) pairs in the input and
+     * as (x,y) pairs in the output. Both arrays may be the same array with
+     * the same offset.
+     *
+     * @param skyPositions array of sky positions in degrees
+     * @param skyPositionsOffset index of the first longitude in <code>skyPositions</code>
+     * @param pixels array where the pixel positions are written
+     * @param pixelsOffset index where the first x is written
+     * @param count number of positions to transform
+     * @throws ProjectionException when there is a projection error
+     * @throws JWcsError when the offsets or count do not fit in the arrays or
+     * when the range of a longitude or latitude is not valid
+     */
+    public void wcs2pix(final double[] skyPositions, final int skyPositionsOffset, final double[] pixels, final int pixelsOffset, final int count) throws ProjectionException {
+        checkBuffer(skyPositions, skyPositionsOffset, count, "skyPositions");
+        checkBuffer(pixels, pixelsOffset, count, "pixels");
+        int in = skyPositionsOffset;
+        int out = pixelsOffset;
+        for (int i = 0; i < count; i++) {
+            final double longitude = skyPositions[in];
+            final double latitude = skyPositions[in + 1];
+            if (wcs2pix(longitude, latitude, pixels, out) != ProjectionStatus.OK) {
+                // computes again to raise the exception of the projection
+                final double[] result = this.wcs2pix(longitude, latitude);
+                pixels[out] = result[0];
+                pixels[out + 1] = result[1];
+            }
+            in += 2;
+            out += 2;
+        }
+    }
+
+    /**
+     * Transforms sky positions stored in columns in pixel positions.
+     *
+     * <p>All arrays must have the same length. The output arrays may be the
+     * input arrays.
+     *
+     * @param longitude longitudes of the sky positions in degrees
+     * @param latitude latitudes of the sky positions in degrees
+     * @param x array where the X coordinates are written
+     * @param y array where the Y coordinates are written
+     * @throws ProjectionException when there is a projection error
+     * @throws JWcsError when the arrays do not have the same length or when
+     * the range of a longitude or latitude is not valid
+     */
+    public void wcs2pix(final double[] longitude, final double[] latitude, final double[] x, final double[] y) throws ProjectionException {
+        final int length = checkColumns(longitude, latitude, x, y);
+        final double[] pixel = new double[2];
+        for (int i = 0; i < length; i++) {
+            if (wcs2pix(longitude[i], latitude[i], pixel, 0) != ProjectionStatus.OK) {
+                // computes again to raise the exception of the projection
+                final double[] result = this.wcs2pix(longitude[i], latitude[i]);
+                pixel[0] = result[0];
+                pixel[1] = result[1];
+            }
+            x[i] = pixel[0];
+            y[i] = pixel[1];
+        }
+    }
+
+    /**
+     * Transforms sky positions in pixel positions, in parallel.
+     *
+     * <p>The positions are split in chunks processed by <code>batch</code>.
+     * When a position of a chunk cannot be projected, the whole chunk is set
+     * to NaN in <code>pixels</code> and the failure is reported; the other
+     * chunks are processed.
+     *
+     * @param skyPositions array of sky positions in degrees
+     * @param skyPositionsOffset index of the first longitude in <code>skyPositions</code>
+     * @param pixels array where the pixel positions are written
+     * @param pixelsOffset index where the first x is written
+     * @param count number of positions to transform
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError when the offsets or count do not fit in the arrays
+     * @see #wcs2pix(double[], int, double[], int, int)
+     */
+    public BatchReport wcs2pix(final double[] skyPositions, final int skyPositionsOffset, final double[] pixels, final int pixelsOffset, final int count, final ParallelBatch batch) {
+        checkBuffer(skyPositions, skyPositionsOffset, count, "skyPositions");
+        checkBuffer(pixels, pixelsOffset, count, "pixels");
+        return batch.execute(count,
+                (from, to) -> wcs2pix(skyPositions, skyPositionsOffset + 2 * from, pixels, pixelsOffset + 2 * from, to - from),
+                (from, to) -> Arrays.fill(pixels, pixelsOffset + 2 * from, pixelsOffset + 2 * to, Double.NaN));
+    }
+
+    /**
+     * Transforms sky positions in pixel positions, in the batch mode.
+     *
+     * <p>No exception is thrown for the positions that cannot be transformed:
+     * their pixel position is set to NaN and, when <code>status</code> is not
+     * null, the reason is written at the index of the position in the batch
+     * as a {@link ProjectionStatus} code.
+     *
+     * @param skyPositions array of (longitude, latitude) pairs in degrees
+     * @param skyPositionsOffset index of the first longitude in <code>skyPositions</code>
+     * @param pixels array where the (x,y) pairs are written
+     * @param pixelsOffset index where the first x is written
+     * @param count number of positions to transform
+     * @param status array where the status codes are written or null
+     * @return the number of positions that cannot be transformed
+     * @throws JWcsError when the positions do not fit in the arrays
+     */
+    public int wcs2pix(final double[] skyPositions, final int skyPositionsOffset, final double[] pixels, final int pixelsOffset, final int count, final byte[] status) {
+        checkBuffer(skyPositions, skyPositionsOffset, count, "skyPositions");
+        checkBuffer(pixels, pixelsOffset, count, "pixels");
+        checkStatus(status, count);
+        int nbInvalid = 0;
+        int in = skyPositionsOffset;
+        int out = pixelsOffset;
+        for (int i = 0; i < count; i++) {
+            final ProjectionStatus result = wcs2pix(skyPositions[in], skyPositions[in + 1], pixels, out);
+            nbInvalid += writeStatus(status, i, result);
+            in += 2;
+            out += 2;
+        }
+        return nbInvalid;
+    }
+
+    /**
+     * Transforms sky positions stored in columns in pixel positions, in the
+     * batch mode.
+     *
+     * @param longitude longitudes of the sky positions in degrees
+     * @param latitude latitudes of the sky positions in degrees
+     * @param x array where the X coordinates are written
+     * @param y array where the Y coordinates are written
+     * @param status array where the status codes are written or null
+     * @return the number of positions that cannot be transformed
+     * @throws JWcsError when the arrays do not have the same length
+     * @see #wcs2pix(double[], int, double[], int, int, byte[])
+     */
+    public int wcs2pix(final double[] longitude, final double[] latitude, final double[] x, final double[] y, final byte[] status) {
+        final int length = checkColumns(longitude, latitude, x, y);
+        checkStatus(status, length);
+        return wcs2pix(longitude, latitude, x, y, status, 0, length);
+    }
+
+    /**
+     * Transforms the sky positions from <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) stored in columns in pixel positions, in
+     * the batch mode.
+     *
+     * @param longitude longitudes of the sky positions in degrees
+     * @param latitude latitudes of the sky positions in degrees
+     * @param x array where the X coordinates are written
+     * @param y array where the Y coordinates are written
+     * @param status array where the status codes are written or null
+     * @param from index of the first position
+     * @param to index after the last position
+     * @return the number of positions that cannot be transformed
+     */
+    private int wcs2pix(final double[] longitude, final double[] latitude, final double[] x, final double[] y, final byte[] status, final int from, final int to) {
+        final double[] pixel = new double[2];
+        int nbInvalid = 0;
+        for (int i = from; i < to; i++) {
+            final ProjectionStatus result = wcs2pix(longitude[i], latitude[i], pixel, 0);
+            x[i] = pixel[0];
+            y[i] = pixel[1];
+            nbInvalid += writeStatus(status, i, result);
+        }
+        return nbInvalid;
+    }
+
+    /**
+     * Transforms sky positions stored in columns in pixel positions, in
+     * parallel.
+     *
+     * <p>Each chunk is transformed in the batch mode, see
+     * {@link #wcs2pix(double[], double[], double[], double[], byte[])}: a
+     * sky position that cannot be transformed is set to NaN without failing
+     * its chunk.
+     *
+     * @param longitude longitudes of the sky positions in degrees
+     * @param latitude latitudes of the sky positions in degrees
+     * @param x array where the X coordinates are written
+     * @param y array where the Y coordinates are written
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError when the arrays do not have the same length
+     * @see #wcs2pix(double[], int, double[], int, int, ParallelBatch)
+     */
+    public BatchReport wcs2pix(final double[] longitude, final double[] latitude, final double[] x, final double[] y, final ParallelBatch batch) {
+        final int length = checkColumns(longitude, latitude, x, y);
+        return batch.execute(length,
+                (from, to) -> wcs2pix(longitude, latitude, x, y, null, from, to),
+                (from, to) -> {
+                    Arrays.fill(x, from, to, Double.NaN);
+                    Arrays.fill(y, from, to, Double.NaN);
+                });
+    }
+
+    /**
+     * Transforms a pixel position in a sky position without exception.
+     *
+     * @param x X coordinate of the pixel
+     * @param y Y coordinate of the pixel
+     * @param skyPositions array where (longitude, latitude) is written
+     * @param offset index where the longitude is written
+     * @return the status of the position
+     */
+    ProjectionStatus pix2wcs(final double x, final double y, final double[] skyPositions, final int offset) {
+        final double dx = x - this.crpix1;
+        final double dy = y - this.crpix2;
+        return this.proj.projectionPlane2wcs(this.cd11 * dx + this.cd12 * dy, this.cd21 * dx + this.cd22 * dy, skyPositions, offset, this.precision);
+    }
+
+    /**
+     * Transforms a sky position in a pixel position without exception.
+     *
+     * @param longitude longitude in degrees
+     * @param latitude latitude in degrees
+     * @param pixels array where (x,y) is written
+     * @param offset index where x is written
+     * @return the status of the position
+     */
+    private ProjectionStatus wcs2pix(final double longitude, final double latitude, final double[] pixels, final int offset) {
+        if (!isLongitudeLatitudeValid(longitude, latitude)) {
+            pixels[offset] = Double.NaN;
+            pixels[offset + 1] = Double.NaN;
+            return ProjectionStatus.INVALID_COORDINATES;
+        }
+        final ProjectionStatus status = this.proj.wcs2projectionPlane(FastMath.toRadians(longitude), FastMath.toRadians(latitude), pixels, offset, this.precision);
+        if (status == ProjectionStatus.OK) {
+            final double u = pixels[offset];
+            final double v = pixels[offset + 1];
+            pixels[offset] = this.cdInverse11 * u + this.cdInverse12 * v + this.crpix1;
+            pixels[offset + 1] = this.cdInverse21 * u + this.cdInverse22 * v + this.crpix2;
+        }
+        return status;
+    }
+
+    /**
+     * Checks the size of a region of pixels.
+     *
+     * @param width number of pixels along X
+     * @param height number of pixels along Y
+     * @return the number of pixels of the region
+     * @throws JWcsError when the size is negative or too large
+     */
+    static int checkGrid(final int width, final int height) {
+        if (width < 0 || height < 0) {
+            throw new JWcsError("width and height must be positive, found " + width + "x" + height);
+        }
+        final long length = (long) width * height;
+        if (length > Integer.MAX_VALUE) {
+            throw new JWcsError("the region " + width + "x" + height + " is too large");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Writes the status code of a position when the status array is given.
+     *
+     * @param status array of status codes or null
+     * @param index index of the position in the batch
+     * @param result status of the position
+     * @return 1 when the position is not valid otherwise 0
+     */
+    private static int writeStatus(final byte[] status, final int index, final ProjectionStatus result) {
+        if (status != null) {
+            status[index] = result.getCode();
+        }
+        return result == ProjectionStatus.OK ? 0 : 1;
+    }
+
+    /**
+     * Checks that the status array, when given, can store <code>count</code>
+     * codes.
+     *
+     * @param status array of status codes or null
+     * @param count number of positions
+     * @throws JWcsError when the array is too small
+     */
+    private static void checkStatus(final byte[] status, final int count) {
+        if (status != null && status.length < count) {
+            throw new JWcsError(count + " status do not fit in status of length " + status.length);
+        }
+    }
+
+    /**
+     * Checks that the columns have the same length.
+     *
+     * @param in1 first input column
+     * @param in2 second input column
+     * @param out1 first output column
+     * @param out2 second output column
+     * @return the length of the columns
+     * @throws JWcsError when the columns do not have the same length
+     */
+    private static int checkColumns(final double[] in1, final double[] in2, final double[] out1, final double[] out2) {
+        final int length = in1.length;
+        if (in2.length != length || out1.length != length || out2.length != length) {
+            throw new JWcsError("the columns must have the same length, found " + length + ", " + in2.length + ", " + out1.length + " and " + out2.length);
+        }
+        return length;
+    }
+
+    /**
+     * Checks that <code>count</code> pairs starting at <code>offset</code>
+     * fit in the array.
+     *
+     * @param array array of pairs
+     * @param offset index of the first element
+     * @param count number of pairs
+     * @param name name of the array for the error message
+     * @throws JWcsError when the pairs do not fit in the array
+     */
+    private static void checkBuffer(final double[] array, final int offset, final int count, final String name) {
+        if (count < 0) {
+            throw new JWcsError("count must be positive, found " + count);
+        }
+        if (offset < 0 || offset > array.length - 2L * count) {
+            throw new JWcsError(count + " positions from offset " + offset + " do not fit in " + name + " of length " + array.length);
+        }
+    }
+
+    /**
+     * Tests the validity of longitude and latitude.
+     *
+     * @param longitude longitude [0, 360]
+     * @param latitude latitude [-90, 90]
+     * @return True when the range is valid otherwise False
+     */
+    private static boolean isLongitudeLatitudeValid(final double longitude, final double latitude) {
+        // written so that NaN is not valid
+        return longitude >= AbstractJWcs.MIN_LONGITUDE && longitude <= AbstractJWcs.MAX_LONGITUDE
+                && latitude >= AbstractJWcs.MIN_LATITUDE && latitude <= AbstractJWcs.MAX_LATITUDE;
+    }
+
+    /**
+     * Checks validity of longitude and latitude.
+     *
+     * @param longitude longitude [0, 360]
+     * @param latitude latitude [-90, 90]
+     * @throws JWcsError the range is not valid
+     */
+    private static void checkLongitudeLatitude(final double longitude, final double latitude) {
+        if (longitude > AbstractJWcs.MAX_LONGITUDE || longitude < AbstractJWcs.MIN_LONGITUDE) {
+            throw new JWcsError("Longitude must be [0, 360], found " + longitude);
+        }
+        if (latitude > AbstractJWcs.MAX_LATITUDE || latitude < AbstractJWcs.MIN_LATITUDE) {
+            throw new JWcsError("Latitude must be [-90, 90], found " + latitude);
+        }
+    }
+
+    /**
+     * Returns the element (i,j) of the CD matrix.
+     *
+     * @param i the row, 1 or 2
+     * @param j the column, 1 or 2
+     * @return CD<sub>i_j</sub>
+     * @throws JWcsError i or j is not 1 or 2
+     */
+    public double cd(final int i, final int j) {
+        final double value;
+        if (i == 1 && j == 1) {
+            value = this.cd11;
+        } else if (i == 1 && j == 2) {
+            value = this.cd12;
+        } else if (i == 2 && j == 1) {
+            value = this.cd21;
+        } else if (i == 2 && j == 2) {
+            value = this.cd22;
+        } else {
+            throw new JWcsError("CD" + i + "_" + j + " does not exist");
+        }
+        return value;
+    }
+
+    /**
+     * Returns the location of the reference point in pixels.
+     *
+     * @param n the axis, 1 or 2
+     * @return CRPIX<sub>n</sub>
+     * @throws JWcsError n is not 1 or 2
+     */
+    public double crpix(final int n) {
+        final double value;
+        if (n == 1) {
+            value = this.crpix1;
+        } else if (n == 2) {
+            value = this.crpix2;
+        } else {
+            throw new JWcsError("CRPIX" + n + " does not exist");
+        }
+        return value;
+    }
+
+    /**
+     * Returns the celestial longitude and latitude of the native pole
+     * (\u03B1<sub>p</sub>, \u03B4<sub>p</sub>).
+     *
+     * @return the celestial coordinates of the native pole in radians
+     */
+    public double[] getCoordNativePole() {
+        return this.coordNativePole.clone();
+    }
+
+    /**
+     * Returns the projection's name.
+     *
+     * @return the projection's name
+     */
+    public String getName() {
+        return this.proj.getName();
+    }
+}
@@ -23,8 +23,10 @@ import io.github.malapert.jwcs.position.SkyPosition;
 import io.github.malapert.jwcs.datum.FK4;
 import io.github.malapert.jwcs.datum.CoordinateReferenceFrame;
 import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.utility.BatchReport;
 import io.github.malapert.jwcs.utility.NumericalUtility;
-import static io.github.malapert.jwcs.utility.NumericalUtility.aasin;
+import io.github.malapert.jwcs.utility.ParallelBatch;
+import io.github.malapert.jwcs.utility.Vec3;
 import static io.github.malapert.jwcs.utility.NumericalUtility.createRealIdentityMatrix;
 import static io.github.malapert.jwcs.utility.NumericalUtility.createRealMatrix;
 import static io.github.malapert.jwcs.utility.NumericalUtility.inverse;
@@ -33,13 +35,11 @@ import static io.github.malapert.jwcs.utility.NumericalUtility.rotY;
 import static io.github.malapert.jwcs.utility.NumericalUtility.rotZ;
 import static io.github.malapert.jwcs.utility.TimeUtility.convertEpochBessel2JD;
 import static io.github.malapert.jwcs.utility.TimeUtility.convertEpochJulian2JD;
-import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.util.FastMath;
 import io.github.malapert.jwcs.utility.TimeUtility;
-import static io.github.malapert.jwcs.utility.NumericalUtility.aatan2;
 import static io.github.malapert.jwcs.utility.NumericalUtility.equal;
 import static io.github.malapert.jwcs.utility.NumericalUtility.isInInterval;
 
@@ -228,6 +228,20 @@ public abstract class AbstractCrs {
         }
         return eterms;        
     }
+
+    /**
+     * Returns the elliptical terms of aberration vector for the input 
+     * coordinate Reference System.
+     *
+     * @param crs the coordinate reference system
+     * @return the elliptical terms of aberration vector or <code>null</code>
+     * when the coordinate reference frame is not FK4
+     * @see #getEterms(io.github.malapert.jwcs.crs.AbstractCrs) 
+     */
+    static double[] getEtermsVector(final AbstractCrs crs) {
+        final RealMatrix eterms = getEterms(crs);
+        return eterms == null ? null : eterms.getRow(0);
+    }
   
     /**
      * Checks the coordinates.
@@ -275,30 +289,30 @@ public abstract class AbstractCrs {
      */
     public final SkyPosition convertTo(final AbstractCrs crs, final double longitude, final double latitude) {
         checkCoordinates(longitude, latitude);
-        RealMatrix xyz = longlat2xyz(longitude, latitude);
-        LOG.log(Level.FINER, "convert sky ({0},{1}) to xyz : {2}", new Object[]{longitude, latitude, xyz});
-        final RealMatrix rotation = getRotationMatrix(crs);
-        LOG.log(Level.FINER, "Rotation matrix from {0} to {1} : {2}", new Object[]{this.getCoordinateReferenceSystem(),crs.getCoordinateReferenceSystem(),rotation});        
-        final RealMatrix etermsIn = AbstractCrs.getEterms(this);
-        LOG.log(Level.FINER, "EtermsIn : {0}", new Object[]{etermsIn});        
-        final RealMatrix etermsOut = AbstractCrs.getEterms(crs);
-        LOG.log(Level.FINER, "EtermsOut from {0} : {1}", new Object[]{crs.getCoordinateReferenceSystem(), etermsOut});        
-        if (etermsIn != null) {
-            xyz = removeEterms(xyz, etermsIn);
-            LOG.log(Level.FINER, "Remove EtermsIn from xyz : {0}", xyz);            
-        }      
-        xyz = rotation.multiply(xyz);
-        if (etermsOut != null) {
-            xyz = addEterms(xyz, etermsOut);
-            LOG.log(Level.FINER, "Add EtermsOut to xyz : {0}", xyz);            
-        }          
-        LOG.log(Level.FINER, "Rotate xyz : {0}", xyz);                    
-        final double[] position = xyz2longlat(xyz);
-        LOG.log(Level.FINER, "Transforms xyz -> ra,dec : {0},{1}", new Object[]{position[0],position[1]});        
+        final double[] position = new double[2];
+        converterTo(crs).convert(longitude, latitude, position, 0);
         LOG.log(Level.INFO, "convert ({0},{1}) from {2} to {3} --> ({4},{5})", new Object[]{longitude, latitude, this, crs, position[0], position[1]});
         return new SkyPosition(position[0], position[1], crs);
     }
 
+    /**
+     * Returns the converter from the current coordinate reference system into
+     * the target coordinate reference system.
+     *
+     * <p>The rotation matrix and the E-terms are computed for the first
+     * conversion between two CRS with the same coordinate systems, reference
+     * frames, equinoxes and epochs of observation. The next calls return the
+     * converter from a bounded cache.
+     *
+     * @param crs the target coordinate reference system
+     * @return the converter, which can be shared between threads
+     * @throws JWcsError Unknown output crs
+     * @see CrsConverter
+     */
+    public final CrsConverter converterTo(final AbstractCrs crs) throws JWcsError {
+        return CrsConverter.getInstance(this, crs);
+    }
+
     /**
      * Converts an array of (longitude1, latitude2, longitude2, latitude2, ...)
      * coordinates from the current coordinate system into the target 
@@ -312,45 +326,121 @@ public abstract class AbstractCrs {
      * @see #convertTo 
      */
     public final SkyPosition[] convertTo(final AbstractCrs crs, final double[] coordinates) throws JWcsError {
-        
         final int numberElts = coordinates.length;
-        final int numberOfCoordinatesPerPoint = 3;
         if (numberElts % 2 != 0) {
             throw new JWcsError("coordinates should be an array containing a set of [longitude, latitude]");
         }
-        final SkyPosition[] skyPositionArray = new SkyPosition[(int) (numberElts * 0.5) * numberOfCoordinatesPerPoint];
+        final SkyPosition[] skyPositionArray = new SkyPosition[numberElts / 2];
+        final CrsConverter converter = converterTo(crs);
+        final double[] position = new double[2];
+        for (int i = 0; i < skyPositionArray.length; i++) {
+            final double longitude = coordinates[2 * i];
+            final double latitude = coordinates[2 * i + 1];
+            checkCoordinates(longitude, latitude);
+            converter.convert(longitude, latitude, position, 0);
+            skyPositionArray[i] = new SkyPosition(position[0], position[1], crs);
+        }
+        LOG.log(Level.FINE, "convert {0} positions from {1} to {2}", new Object[]{skyPositionArray.length, this.getCoordinateReferenceSystem(), crs.getCoordinateReferenceSystem()});
+        return skyPositionArray;
+    }
 
-        final RealMatrix rotation = getRotationMatrix(crs);
-        LOG.log(Level.FINER, "Rotation matrix from {0} to {1} : {2}", new Object[]{this.getCoordinateReferenceSystem(),crs.getCoordinateReferenceSystem(),rotation});
-        final RealMatrix etermsIn = AbstractCrs.getEterms(this);
-        LOG.log(Level.FINER, "EtermsIn : {0}", etermsIn);
-        final RealMatrix etermsOut = AbstractCrs.getEterms(crs);
-        LOG.log(Level.FINER, "EtermsOut from {0} : {1}", new Object[]{crs.getCoordinateReferenceSystem(), etermsOut});
+    /**
+     * Converts positions stored in columns from the current coordinate
+     * reference system into the target coordinate reference system.
+     *
+     * <p>The rotation matrix and the E-terms are computed once for all the
+     * positions, which are written in primitive arrays without creating any
+     * object per position. A position that is NaN or out of range is set to
+     * (NaN, NaN) without exception.
+     *
+     * @param crs the target coordinate reference system
+     * @param longitude longitudes in degrees
+     * @param latitude latitudes in degrees
+     * @param longitudeOut array where the converted longitudes are written
+     * @param latitudeOut array where the converted latitudes are written
+     * @return the number of positions set to NaN
+     * @throws JWcsError longitude and latitude do not have the same length or
+     * the positions do not fit in the output arrays
+     * @see CrsConverter#convert(double[], double[], double[], double[], int) 
+     */
+    public final int convertTo(final AbstractCrs crs, final double[] longitude, final double[] latitude, final double[] longitudeOut, final double[] latitudeOut) throws JWcsError {
+        if (longitude.length != latitude.length) {
+            throw new JWcsError("longitude of length " + longitude.length + " and latitude of length " + latitude.length + " should have the same length");
+        }
+        return converterTo(crs).convert(longitude, latitude, longitudeOut, latitudeOut, longitude.length);
+    }
 
-        int indice = 0;
-        for (int i = 0; i < numberElts; i = i + 2) {
-            checkCoordinates(coordinates[i], coordinates[i + 1]);
-            RealMatrix xyz = longlat2xyz(coordinates[i], coordinates[i + 1]);
-            LOG.log(Level.FINER, "xyz : {0}", xyz);
-            if (etermsIn != null) {
-                xyz = removeEterms(xyz, etermsIn);
-                LOG.log(Level.FINER, "Remove EtermsIn from xyz : {0}", xyz);
-            }
-            xyz = rotation.multiply(xyz);
-            LOG.log(Level.FINER, "Rotate xyz : {0}", xyz);            
-            if (etermsOut != null) {
-                xyz = addEterms(xyz, etermsOut);
-                LOG.log(Level.FINER, "Add EtermsOut to xyz : {0}", xyz);
-            }
-            final double[] position = xyz2longlat(xyz);
-            LOG.log(Level.FINER, "Transforms xyz -> ra,dec : {0}", position);
-            skyPositionArray[indice] = new SkyPosition(position[0], position[1], crs);
-            indice++;
+    /**
+     * Converts an array of (longitude1, latitude2, longitude2, latitude2, ...)
+     * coordinates from the current coordinate system into the target 
+     * coordinate reference system, in parallel.
+     * 
+     * <p>The rotation matrix and the E-terms are computed once, then the
+     * positions are split in chunks processed by <code>batch</code>. The 
+     * i<sup>th</sup> position is written in <code>skyPositions[i]</code>.
+     * When a position of a chunk is not valid, the whole chunk is set to 
+     * (NaN, NaN) and the failure is reported; the other chunks are processed.
+     *
+     * @param crs the target coordinate reference system
+     * @param coordinates an array of (longitude1, latitude2, longitude2,
+     * latitude2, ...) in degrees
+     * @param skyPositions array where the converted positions are written
+     * @param batch the parallel batch
+     * @return the report of the failed chunks
+     * @throws JWcsError coordinates should be an array containing a set of 
+     * [longitude, latitude] and skyPositions should contain one element per
+     * position
+     * @see #convertTo(io.github.malapert.jwcs.crs.AbstractCrs, double[]) 
+     */
+    public final BatchReport convertTo(final AbstractCrs crs, final double[] coordinates, final SkyPosition[] skyPositions, final ParallelBatch batch) throws JWcsError {
+        final int numberElts = coordinates.length;
+        if (numberElts % 2 != 0) {
+            throw new JWcsError("coordinates should be an array containing a set of [longitude, latitude]");
         }
-        LOG.log(Level.INFO, "convert {0} from {1} to {2} --> {3}", new Object[]{Arrays.toString(coordinates), this.getCoordinateReferenceSystem(), crs.getCoordinateReferenceSystem(), Arrays.toString(skyPositionArray)});
-        return skyPositionArray;
+        final int numberPositions = numberElts / 2;
+        if (skyPositions.length < numberPositions) {
+            throw new JWcsError("skyPositions should contain at least " + numberPositions + " elements, found " + skyPositions.length);
+        }
+        final CrsConverter converter = converterTo(crs);
+        return batch.execute(numberPositions,
+                (from, to) -> {
+                    final double[] position = new double[2];
+                    for (int i = from; i < to; i++) {
+                        final double longitude = coordinates[2 * i];
+                        final double latitude = coordinates[2 * i + 1];
+                        checkCoordinates(longitude, latitude);
+                        converter.convert(longitude, latitude, position, 0);
+                        skyPositions[i] = new SkyPosition(position[0], position[1], crs);
+                    }
+                },
+                (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        skyPositions[i] = new SkyPosition(Double.NaN, Double.NaN, crs);
+                    }
+                });
     }
-    
+
+    /**
+     * Converts positions stored in columns from the current coordinate
+     * reference system into the target coordinate reference system, in place.
+     *
+     * <p>The rotation matrix and the E-terms are computed once for all the
+     * positions. This conversion is intended for pipelines where some
+     * positions are already NaN (for instance pixels beyond a projection):
+     * a position that is NaN or out of range is set to (NaN, NaN) without
+     * exception.
+     *
+     * @param crs the target coordinate reference system
+     * @param longitude longitudes in degrees, replaced by the converted longitudes
+     * @param latitude latitudes in degrees, replaced by the converted latitudes
+     * @param count number of positions to convert from the index 0
+     * @return the number of positions set to NaN
+     * @throws JWcsError count does not fit in the columns
+     */
+    public final int convertTo(final AbstractCrs crs, final double[] longitude, final double[] latitude, final int count) throws JWcsError {
+        return converterTo(crs).convert(longitude, latitude, count);
+    }
+
     /**
      * Converts a sky position in a CRS to a target CRS.
      * @param targetCrs target CRS
@@ -709,42 +799,6 @@ public abstract class AbstractCrs {
         }
         return result;
     }
-    
-    /**
-     * Remove the elliptic component of annual aberration when this is included
-     * in a catalogue fk4 position.
-     *
-     * @param xyz vector xyz
-     * @param eterm E-terms vector (as returned by getEterms()). If input is
-     * omitted (== <code>null</code>), the e-terms for 1950 will be substituted.
-     * @return Mean place
-     * @see FK4#getEterms
-     */
-    private static RealMatrix removeEterms(final RealMatrix xyz, final RealMatrix eterm) {
-        RealMatrix etermToRemove = eterm;
-        if (eterm == null) {
-            etermToRemove = FK4.getEterms(1950);
-        }
-        return xyz.subtract(etermToRemove.transpose());
-    }
-
-    /**
-     * Add the elliptic component of annual aberration when the rsult must be a
-     * catalogue fk4 position.    
-     *
-     * @param xyz Cartesian position(s) converted from long/lat
-     * @param eterm E-terms vector (as returned by getEterms()). If input is
-     * omitted (i.e. == <code>null</code>), the e-terms for 1950 will be substituted.
-     * @return Apparent place
-     * @see FK4#getEterms
-     */
-    private static RealMatrix addEterms(final RealMatrix xyz, final RealMatrix eterm) {
-        RealMatrix etermToAdd = eterm;
-        if (eterm == null) {
-            etermToAdd = FK4.getEterms(1950);
-        }
-        return xyz.add(etermToAdd.transpose());
-    }
 
     /**
      * Create matrix to convert equatorial fk4 coordinates (without e-terms) to
@@ -1383,13 +1437,11 @@ public abstract class AbstractCrs {
      * @return Corresponding values of x,y,z in same order as input
      */
     public static RealMatrix longlatRad2xyz(final double longitudeRad, final double latitudeRad) {
-        final double x = FastMath.cos(longitudeRad) * FastMath.cos(latitudeRad);
-        final double y = FastMath.sin(longitudeRad) * FastMath.cos(latitudeRad);
-        final double z = FastMath.sin(latitudeRad);
+        final double[] xyz = Vec3.fromLongLatRad(longitudeRad, latitudeRad);
         final double[][] array = {
-            {x},
-            {y},
-            {z}
+            {xyz[0]},
+            {xyz[1]},
+            {xyz[2]}
         };
         return createRealMatrix(array);
     }
@@ -1407,15 +1459,7 @@ public abstract class AbstractCrs {
      * order as the input.
      */
     public static double[] xyz2longlat(final RealMatrix xyz) {
-        final double[] vec = xyz.getColumn(0);
-        final double len = FastMath.sqrt(FastMath.pow(vec[0], 2)+FastMath.pow(vec[1], 2)+FastMath.pow(vec[2], 2));
-        final double x = vec[0]/len;
-        final double y = vec[1]/len;
-        final double z = vec[2]/len;
-        double longitude = FastMath.toDegrees(aatan2(y, x, 0));
-        longitude = longitude < 0 ? longitude + 360.0d : longitude;
-        final double latitude = FastMath.toDegrees(aasin(z));
-        return new double[]{longitude, latitude};
+        return Vec3.toLongLat(xyz.getColumn(0));
     }    
 
     @Override
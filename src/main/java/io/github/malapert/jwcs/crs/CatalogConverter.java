@@ -0,0 +1,399 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.crs;
+
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.utility.BatchReport;
+import io.github.malapert.jwcs.utility.ParallelBatch;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming conversion of a catalog of positions from a coordinate reference
+ * system to another one.
+ *
+ * <p>The catalog is read by chunks of {@link #getChunkSize()} positions. Each
+ * chunk is converted in parallel by a {@link ParallelBatch} with a cached
+ * {@link CrsConverter}, then written in the order of the input before the
+ * next chunk is read. The memory is thus bounded by the chunk size, whatever
+ * the size of the catalog.
+ *
+ * <p>Two layouts are supported:
+ * <ul>
+ * <li>text (CSV, TSV, ...) : one position per line, the longitude and the
+ * latitude in decimal degrees being two columns separated by a delimiter.
+ * The other columns are written unchanged. The empty lines and the lines
+ * starting with <code>#</code> are copied. The first line is copied as a
+ * header when its coordinates are not numbers.</li>
+ * <li>binary : a sequence of (longitude, latitude) records, each coordinate
+ * being a big-endian double as written by
+ * {@link java.io.DataOutput#writeDouble(double)}.</li>
+ * </ul>
+ *
+ * <p>A position that is NaN or out of range is written as (NaN, NaN).
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public final class CatalogConverter {
+
+    /**
+     * Default number of positions per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 65536;
+
+    /**
+     * Number of bytes of a binary record.
+     */
+    private static final int RECORD_SIZE = 2 * Double.BYTES;
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = Logger.getLogger(CatalogConverter.class.getName());
+
+    /**
+     * Converter from the source CRS to the target CRS.
+     */
+    private final CrsConverter converter;
+
+    /**
+     * Parallel batch converting a chunk.
+     */
+    private final ParallelBatch batch;
+
+    /**
+     * Number of positions per chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Creates a catalog converter with {@link #DEFAULT_CHUNK_SIZE} running on
+     * the common pool.
+     *
+     * @param source the coordinate reference system of the catalog
+     * @param target the target coordinate reference system
+     * @throws JWcsError Unknown output crs
+     */
+    public CatalogConverter(final AbstractCrs source, final AbstractCrs target) {
+        this(source, target, new ParallelBatch(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a catalog converter.
+     *
+     * @param source the coordinate reference system of the catalog
+     * @param target the target coordinate reference system
+     * @param batch the parallel batch converting a chunk
+     * @param chunkSize number of positions read before being converted
+     * @throws JWcsError chunkSize must be strictly positive or unknown output crs
+     */
+    public CatalogConverter(final AbstractCrs source, final AbstractCrs target, final ParallelBatch batch, final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new JWcsError("chunkSize must be strictly positive, found " + chunkSize);
+        }
+        if (batch == null) {
+            throw new JWcsError("batch cannot be null");
+        }
+        this.converter = source.converterTo(target);
+        this.batch = batch;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the number of positions per chunk.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Converts a text catalog.
+     *
+     * @param input the catalog
+     * @param output where the converted catalog is written
+     * @param delimiter column delimiter such as "," or "\t"
+     * @param longitudeColumn index of the longitude column starting at 0
+     * @param latitudeColumn index of the latitude column starting at 0
+     * @return the number of converted positions
+     * @throws IOException the catalog cannot be read or written, or a line
+     * does not contain valid coordinates
+     * @throws JWcsError a column index is negative
+     */
+    public long convertText(final Reader input, final Writer output, final String delimiter, final int longitudeColumn, final int latitudeColumn) throws IOException {
+        return convertText(input, output, delimiter, longitudeColumn, latitudeColumn, null);
+    }
+
+    /**
+     * Converts a text catalog and writes the converted coordinates with a
+     * given format.
+     *
+     * <p>The format is applied with {@link Locale#ROOT}, so that the decimal
+     * separator is always a point whatever the default locale.
+     *
+     * @param input the catalog
+     * @param output where the converted catalog is written
+     * @param delimiter column delimiter such as "," or "\t"
+     * @param longitudeColumn index of the longitude column starting at 0
+     * @param latitudeColumn index of the latitude column starting at 0
+     * @param format format of a coordinate such as %.6f, or null to write
+     * the shortest representation of the double
+     * @return the number of converted positions
+     * @throws IOException the catalog cannot be read or written, or a line
+     * does not contain valid coordinates
+     * @throws JWcsError a column index is negative
+     */
+    public long convertText(final Reader input, final Writer output, final String delimiter, final int longitudeColumn, final int latitudeColumn, final String format) throws IOException {
+        if (longitudeColumn < 0 || latitudeColumn < 0) {
+            throw new JWcsError("column indexes must be positive, found " + longitudeColumn + " and " + latitudeColumn);
+        }
+        final Pattern separator = Pattern.compile(Pattern.quote(delimiter));
+        final BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        final String[] lines = new String[this.chunkSize];
+        final double[] longitude = new double[this.chunkSize];
+        final double[] latitude = new double[this.chunkSize];
+        long nbLines = 0;
+        long nbPositions = 0;
+        boolean isFirstLine = true;
+        String line;
+        int count = 0;
+        while ((line = reader.readLine()) != null) {
+            nbLines++;
+            if (isFirstLine && !isComment(line)) {
+                isFirstLine = false;
+                if (!hasCoordinates(separator.split(line, -1), longitudeColumn, latitudeColumn)) {
+                    // the comments before the header are written first
+                    nbPositions += convertLines(lines, longitude, latitude, count, nbLines - count, separator, delimiter, longitudeColumn, latitudeColumn, format, output);
+                    count = 0;
+                    output.write(line);
+                    output.write('\n');
+                    continue;
+                }
+            }
+            lines[count] = line;
+            count++;
+            if (count == this.chunkSize) {
+                nbPositions += convertLines(lines, longitude, latitude, count, nbLines - count + 1, separator, delimiter, longitudeColumn, latitudeColumn, format, output);
+                count = 0;
+            }
+        }
+        nbPositions += convertLines(lines, longitude, latitude, count, nbLines - count + 1, separator, delimiter, longitudeColumn, latitudeColumn, format, output);
+        output.flush();
+        LOG.log(Level.FINE, "{0} positions converted from {1} lines", new Object[]{nbPositions, nbLines});
+        return nbPositions;
+    }
+
+    /**
+     * Formats a coordinate.
+     *
+     * @param value the coordinate
+     * @param format format of the coordinate or null
+     * @return the formatted coordinate
+     */
+    private static String format(final double value, final String format) {
+        return format == null ? Double.toString(value) : String.format(Locale.ROOT, format, value);
+    }
+
+    /**
+     * Converts a chunk of lines and writes them.
+     *
+     * @param lines the lines, replaced by the converted lines
+     * @param longitude work array of the longitudes
+     * @param latitude work array of the latitudes
+     * @param count number of lines of the chunk
+     * @param firstLine number of the first line of the chunk in the catalog
+     * @param separator column separator
+     * @param delimiter column delimiter
+     * @param longitudeColumn index of the longitude column
+     * @param latitudeColumn index of the latitude column
+     * @param format format of a coordinate or null
+     * @param output where the lines are written
+     * @return the number of converted positions
+     * @throws IOException a line does not contain valid coordinates or the
+     * lines cannot be written
+     */
+    private int convertLines(final String[] lines, final double[] longitude, final double[] latitude, final int count, final long firstLine,
+            final Pattern separator, final String delimiter, final int longitudeColumn, final int latitudeColumn, final String format, final Writer output) throws IOException {
+        final BatchReport report = this.batch.execute(count,
+                (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        if (isComment(lines[i])) {
+                            longitude[i] = Double.NaN;
+                            latitude[i] = Double.NaN;
+                            continue;
+                        }
+                        final String[] fields = separator.split(lines[i], -1);
+                        if (!hasCoordinates(fields, longitudeColumn, latitudeColumn)) {
+                            throw new IOException("line " + (firstLine + i) + " : cannot read the coordinates in columns " + longitudeColumn + " and " + latitudeColumn);
+                        }
+                        longitude[i] = Double.parseDouble(fields[longitudeColumn].trim());
+                        latitude[i] = Double.parseDouble(fields[latitudeColumn].trim());
+                    }
+                    this.converter.convert(longitude, latitude, longitude, latitude, from, to);
+                    for (int i = from; i < to; i++) {
+                        if (!isComment(lines[i])) {
+                            final String[] fields = separator.split(lines[i], -1);
+                            fields[longitudeColumn] = format(longitude[i], format);
+                            fields[latitudeColumn] = format(latitude[i], format);
+                            lines[i] = String.join(delimiter, fields);
+                        }
+                    }
+                },
+                (from, to) -> {
+                    //the whole conversion fails
+                });
+        checkReport(report);
+        int nbPositions = 0;
+        for (int i = 0; i < count; i++) {
+            if (!isComment(lines[i])) {
+                nbPositions++;
+            }
+            output.write(lines[i]);
+            output.write('\n');
+            lines[i] = null;
+        }
+        return nbPositions;
+    }
+
+    /**
+     * Tests if a line is empty or a comment.
+     *
+     * @param line the line
+     * @return True when the line is empty or starts with #
+     */
+    private static boolean isComment(final String line) {
+        return line.trim().isEmpty() || line.startsWith("#");
+    }
+
+    /**
+     * Tests if the columns of the coordinates are numbers.
+     *
+     * @param fields the columns of a line
+     * @param longitudeColumn index of the longitude column
+     * @param latitudeColumn index of the latitude column
+     * @return True when the longitude and the latitude are numbers
+     */
+    private static boolean hasCoordinates(final String[] fields, final int longitudeColumn, final int latitudeColumn) {
+        if (longitudeColumn >= fields.length || latitudeColumn >= fields.length) {
+            return false;
+        }
+        try {
+            Double.parseDouble(fields[longitudeColumn].trim());
+            Double.parseDouble(fields[latitudeColumn].trim());
+            return true;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Converts a binary catalog.
+     *
+     * @param input the catalog
+     * @param output where the converted catalog is written
+     * @return the number of converted positions
+     * @throws IOException the catalog cannot be read or written, or the last
+     * record is truncated
+     */
+    public long convertBinary(final InputStream input, final OutputStream output) throws IOException {
+        final byte[] buffer = new byte[this.chunkSize * RECORD_SIZE];
+        final double[] longitude = new double[this.chunkSize];
+        final double[] latitude = new double[this.chunkSize];
+        long nbPositions = 0;
+        int nbBytes;
+        while ((nbBytes = readChunk(input, buffer)) > 0) {
+            if (nbBytes % RECORD_SIZE != 0) {
+                throw new IOException("truncated record after " + (nbPositions + nbBytes / RECORD_SIZE) + " positions");
+            }
+            final int count = nbBytes / RECORD_SIZE;
+            final ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, nbBytes);
+            for (int i = 0; i < count; i++) {
+                longitude[i] = bytes.getDouble();
+                latitude[i] = bytes.getDouble();
+            }
+            checkReport(this.batch.execute(count,
+                    (from, to) -> this.converter.convert(longitude, latitude, longitude, latitude, from, to),
+                    (from, to) -> {
+                        //the whole conversion fails
+                    }));
+            bytes.clear();
+            for (int i = 0; i < count; i++) {
+                bytes.putDouble(longitude[i]);
+                bytes.putDouble(latitude[i]);
+            }
+            output.write(buffer, 0, nbBytes);
+            nbPositions += count;
+        }
+        output.flush();
+        LOG.log(Level.FINE, "{0} positions converted", nbPositions);
+        return nbPositions;
+    }
+
+    /**
+     * Fills the buffer from the input.
+     *
+     * @param input the input
+     * @param buffer the buffer
+     * @return the number of bytes read, smaller than the buffer length only
+     * at the end of the input
+     * @throws IOException the input cannot be read
+     */
+    private static int readChunk(final InputStream input, final byte[] buffer) throws IOException {
+        int nbBytes = 0;
+        int read;
+        while (nbBytes < buffer.length && (read = input.read(buffer, nbBytes, buffer.length - nbBytes)) != -1) {
+            nbBytes += read;
+        }
+        return nbBytes;
+    }
+
+    /**
+     * Throws the failure of the first failed chunk.
+     *
+     * @param report the report of a chunk
+     * @throws IOException the cause of the failure
+     * @throws JWcsError a failure that is not an IOException
+     */
+    private static void checkReport(final BatchReport report) throws IOException {
+        if (report.hasFailures()) {
+            final Throwable cause = report.getFailures().get(0).getCause();
+            // the executor may wrap the exception of the chunk
+            Throwable ioException = cause;
+            while (ioException != null && !(ioException instanceof IOException)) {
+                ioException = ioException.getCause();
+            }
+            if (ioException != null) {
+                throw (IOException) ioException;
+            }
+            throw new JWcsError("Catalog conversion failed", cause);
+        }
+    }
+}
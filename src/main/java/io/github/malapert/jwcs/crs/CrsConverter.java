@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.crs;
+
+import io.github.malapert.jwcs.datum.CoordinateReferenceFrame;
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.utility.Mat3;
+import io.github.malapert.jwcs.utility.Vec3;
+import static io.github.malapert.jwcs.utility.NumericalUtility.isInInterval;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Precomputed conversion from a coordinate reference system to another one.
+ *
+ * <p>The conversion removes the E-terms of the source CRS, applies the
+ * rotation matrix and adds the E-terms of the target CRS (see
+ * {@link AbstractCrs#convertTo(AbstractCrs, double, double)}). These three
+ * steps are fused in the affine transformation
+ * xyz' = R.xyz + (e<sub>out</sub> - R.e<sub>in</sub>), which is computed
+ * once so that each position only needs the trigonometric functions of its
+ * own coordinates followed by a 3x3 matrix product.
+ *
+ * <p>The converters are cached by {@link AbstractCrs#converterTo(AbstractCrs)}
+ * according to the coordinate system, the reference frame, the equinox and
+ * the epoch of observation of both CRS. The converter describes the CRS at
+ * the time it has been created: a later change of the frame of the source or
+ * of the target is not seen by the converter but gives a new one. The
+ * converter does not keep the CRS themselves, which are mutable.
+ *
+ * <p>This class is immutable and can be shared between threads.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public final class CrsConverter {
+
+    /**
+     * Maximum number of converters kept in the cache.
+     */
+    private static final int CACHE_SIZE = 64;
+
+    /**
+     * Converters from the least recently used to the most recently used.
+     */
+    private static final Map<Key, CrsConverter> CACHE = new LinkedHashMap<Key, CrsConverter>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, CrsConverter> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Rotation matrix.
+     */
+    private final Mat3 rotation;
+
+    /**
+     * E-terms of the target minus the rotated E-terms of the source.
+     */
+    private final double t1, t2, t3;
+
+    /**
+     * Creates the converter.
+     *
+     * @param source the source coordinate reference system
+     * @param target the target coordinate reference system
+     * @throws JWcsError Unknown output crs
+     */
+    private CrsConverter(final AbstractCrs source, final AbstractCrs target) throws JWcsError {
+        this.rotation = Mat3.valueOf(source.getRotationMatrix(target));
+        final double[] etermsIn = AbstractCrs.getEtermsVector(source);
+        final double[] etermsOut = AbstractCrs.getEtermsVector(target);
+        final double[] offset = Vec3.subtract(
+                etermsOut == null ? new double[3] : etermsOut,
+                etermsIn == null ? new double[3] : this.rotation.multiply(etermsIn));
+        this.t1 = offset[0];
+        this.t2 = offset[1];
+        this.t3 = offset[2];
+    }
+
+    /**
+     * Returns the converter from <code>source</code> to <code>target</code>,
+     * from the cache when it has already been created.
+     *
+     * @param source the source coordinate reference system
+     * @param target the target coordinate reference system
+     * @return the converter
+     * @throws JWcsError Unknown output crs
+     */
+    static CrsConverter getInstance(final AbstractCrs source, final AbstractCrs target) throws JWcsError {
+        final Key key = new Key(source, target);
+        synchronized (CACHE) {
+            final CrsConverter converter = CACHE.get(key);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        // the rotation matrix is computed outside the lock
+        final CrsConverter converter = new CrsConverter(source, target);
+        synchronized (CACHE) {
+            CACHE.put(key, converter);
+        }
+        return converter;
+    }
+
+    /**
+     * Converts a position into the target coordinate reference system.
+     *
+     * @param longitude longitude in decimal degrees
+     * @param latitude latitude in decimal degrees
+     * @param position array where the converted (longitude, latitude) is
+     * written in decimal degrees
+     * @param offset index where the longitude is written
+     */
+    public void convert(final double longitude, final double latitude, final double[] position, final int offset) {
+        convert(longitude, latitude, new double[3], position, offset);
+    }
+
+    /**
+     * Converts a position into the target coordinate reference system.
+     *
+     * @param longitude longitude in decimal degrees
+     * @param latitude latitude in decimal degrees
+     * @param xyz work array of 3 elements
+     * @param position array where the converted (longitude, latitude) is
+     * written in decimal degrees
+     * @param offset index where the longitude is written
+     */
+    private void convert(final double longitude, final double latitude, final double[] xyz, final double[] position, final int offset) {
+        final double lon = FastMath.toRadians(longitude);
+        final double lat = FastMath.toRadians(latitude);
+        final double cosLat = FastMath.cos(lat);
+        this.rotation.multiply(FastMath.cos(lon) * cosLat, FastMath.sin(lon) * cosLat, FastMath.sin(lat), xyz, 0);
+        Vec3.toLongLat(xyz[0] + this.t1, xyz[1] + this.t2, xyz[2] + this.t3, position, offset);
+    }
+
+    /**
+     * Converts positions stored in columns into the target coordinate
+     * reference system, in place.
+     *
+     * <p>A position that is NaN or out of range is set to (NaN, NaN) without
+     * exception.
+     *
+     * @param longitude longitudes in degrees, replaced by the converted longitudes
+     * @param latitude latitudes in degrees, replaced by the converted latitudes
+     * @param count number of positions to convert from the index 0
+     * @return the number of positions set to NaN
+     * @throws JWcsError count does not fit in the columns
+     */
+    public int convert(final double[] longitude, final double[] latitude, final int count) throws JWcsError {
+        return convert(longitude, latitude, longitude, latitude, count);
+    }
+
+    /**
+     * Converts positions stored in columns into the target coordinate
+     * reference system.
+     *
+     * <p>A position that is NaN or out of range is set to (NaN, NaN) without
+     * exception. The output columns can be the input columns.
+     *
+     * @param longitude longitudes in degrees
+     * @param latitude latitudes in degrees
+     * @param longitudeOut array where the converted longitudes are written
+     * @param latitudeOut array where the converted latitudes are written
+     * @param count number of positions to convert from the index 0
+     * @return the number of positions set to NaN
+     * @throws JWcsError count does not fit in the columns
+     */
+    public int convert(final double[] longitude, final double[] latitude, final double[] longitudeOut, final double[] latitudeOut, final int count) throws JWcsError {
+        if (count < 0 || count > longitude.length || count > latitude.length) {
+            throw new JWcsError(count + " positions do not fit in longitude of length " + longitude.length + " and latitude of length " + latitude.length);
+        }
+        if (count > longitudeOut.length || count > latitudeOut.length) {
+            throw new JWcsError(count + " positions do not fit in longitudeOut of length " + longitudeOut.length + " and latitudeOut of length " + latitudeOut.length);
+        }
+        return convert(longitude, latitude, longitudeOut, latitudeOut, 0, count);
+    }
+
+    /**
+     * Converts the positions from <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) stored in columns into the target
+     * coordinate reference system.
+     *
+     * <p>This conversion is intended for the chunks of a
+     * {@link io.github.malapert.jwcs.utility.ParallelBatch}: the chunks can be
+     * converted concurrently in the same columns.
+     *
+     * @param longitude longitudes in degrees
+     * @param latitude latitudes in degrees
+     * @param longitudeOut array where the converted longitudes are written
+     * @param latitudeOut array where the converted latitudes are written
+     * @param from index of the first position
+     * @param to index after the last position
+     * @return the number of positions set to NaN
+     */
+    public int convert(final double[] longitude, final double[] latitude, final double[] longitudeOut, final double[] latitudeOut, final int from, final int to) {
+        final double[] xyz = new double[3];
+        final double[] position = new double[2];
+        int nbInvalid = 0;
+        for (int i = from; i < to; i++) {
+            if (!isInInterval(longitude[i], 0, 360) || !isInInterval(latitude[i], -90, 90)) {
+                longitudeOut[i] = Double.NaN;
+                latitudeOut[i] = Double.NaN;
+                nbInvalid++;
+                continue;
+            }
+            convert(longitude[i], latitude[i], xyz, position, 0);
+            longitudeOut[i] = position[0];
+            latitudeOut[i] = position[1];
+        }
+        return nbInvalid;
+    }
+
+    /**
+     * Cache key : the coordinate system, the reference frame, the equinox and
+     * the epoch of observation of the source and of the target.
+     */
+    private static final class Key {
+
+        /**
+         * Description of the source CRS.
+         */
+        private final Object[] source;
+
+        /**
+         * Description of the target CRS.
+         */
+        private final Object[] target;
+
+        /**
+         * Creates the key.
+         *
+         * @param source the source coordinate reference system
+         * @param target the target coordinate reference system
+         */
+        Key(final AbstractCrs source, final AbstractCrs target) {
+            this.source = describe(source);
+            this.target = describe(target);
+        }
+
+        /**
+         * Describes a CRS by its coordinate system, its reference frame, its
+         * equinox and its epoch of observation.
+         *
+         * @param crs the coordinate reference system
+         * @return the description
+         */
+        private static Object[] describe(final AbstractCrs crs) {
+            final CoordinateReferenceFrame refFrame = crs.getCoordinateReferenceFrame();
+            if (refFrame == null) {
+                return new Object[]{crs.getCoordinateReferenceSystem()};
+            }
+            return new Object[]{
+                crs.getCoordinateReferenceSystem(),
+                refFrame.getReferenceFrame(),
+                refFrame.getEquinox(),
+                refFrame.getEpochObs()
+            };
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return Arrays.equals(this.source, other.source)
+                    && Arrays.equals(this.target, other.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(Arrays.hashCode(this.source), Arrays.hashCode(this.target));
+        }
+    }
+}
@@ -1,8 +1,8 @@
-/* 
+/*
  * Copyright (C) 2014-2022 Jean-Christophe Malapert
  *
  * This file is part of JWcs.
- * 
+ *
  * JWcs is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
  * License as published by the Free Software Foundation; either
@@ -19,10 +19,237 @@
  */
 package io.github.malapert.jwcs.crs;
 
+import io.github.malapert.jwcs.datum.CoordinateReferenceFrame;
+import io.github.malapert.jwcs.datum.FK5;
+import io.github.malapert.jwcs.position.SkyPosition;
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.utility.Mat3;
+import io.github.malapert.jwcs.utility.TimeUtility;
+import io.github.malapert.jwcs.utility.Vec3;
+import static io.github.malapert.jwcs.utility.NumericalUtility.isInInterval;
+import org.apache.commons.math3.util.FastMath;
+
 /**
+ * Horizontal coordinates (azimuth, altitude) of an observatory site.
+ *
+ * <p>The azimuth is measured from the North through the East in [0, 360[ and
+ * the altitude is measured from the horizon in [-90, 90].
+ *
+ * <p>The positions are first converted to the equatorial FK5 J2000
+ * coordinates. Then, for each time, the following rotations are fused in one
+ * matrix:
+ * <ul>
+ * <li>precession from J2000 to the mean equator and equinox of the time</li>
+ * <li>rotation by the local mean sidereal time, giving the hour angle</li>
+ * <li>rotation by the latitude of the site, giving the azimuth and the
+ * altitude</li>
+ * </ul>
+ * The matrix is computed once by time and reused for all the positions
+ * observed at this time, so that the conversion of a grid of (time, position)
+ * only needs a 3x3 matrix product and the inverse trigonometric functions for
+ * each pair.
+ *
+ * <p>The nutation, the aberration and the atmospheric refraction are not
+ * taken into account: the accuracy, of the order of 20 arcseconds, is
+ * intended for the visibility and the scheduling computations.
+ *
+ * <p>This class is immutable and can be shared between threads.
  *
- * @author malapert
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
  */
-public class Horizontal {
-    
+public final class Horizontal {
+
+    /**
+     * Reference frame of the positions before the rotation of each time.
+     */
+    private static final CoordinateReferenceFrame.ReferenceFrame FK5_FRAME = CoordinateReferenceFrame.ReferenceFrame.FK5;
+
+    /**
+     * Julian epoch of the positions before the rotation of each time.
+     */
+    private static final double J2000 = 2000.0d;
+
+    /**
+     * East longitude of the site in decimal degrees.
+     */
+    private final double longitude;
+
+    /**
+     * Latitude of the site in decimal degrees.
+     */
+    private final double latitude;
+
+    /**
+     * Rotation from the hour angle coordinates to the horizontal coordinates.
+     */
+    private final Mat3 hourAngleToHorizontal;
+
+    /**
+     * Creates the horizontal coordinates of a site.
+     *
+     * @param longitude East longitude of the site in decimal degrees in [-180, 360]
+     * @param latitude latitude of the site in decimal degrees in [-90, 90]
+     * @throws JWcsError longitude or latitude is out of range
+     */
+    public Horizontal(final double longitude, final double latitude) throws JWcsError {
+        if (!isInInterval(longitude, -180, 360)) {
+            throw new JWcsError("longitude must be in [-180,360], found " + longitude);
+        }
+        if (!isInInterval(latitude, -90, 90)) {
+            throw new JWcsError("latitude must be in [-90,90], found " + latitude);
+        }
+        this.longitude = longitude;
+        this.latitude = latitude;
+        final double latitudeRad = FastMath.toRadians(latitude);
+        final double sinLatitude = FastMath.sin(latitudeRad);
+        final double cosLatitude = FastMath.cos(latitudeRad);
+        // rows : North, East and zenith in the hour angle coordinates, whose
+        // x axis points to the meridian and y axis to the East
+        this.hourAngleToHorizontal = new Mat3(
+                -sinLatitude, 0, cosLatitude,
+                0, 1, 0,
+                cosLatitude, 0, sinLatitude);
+    }
+
+    /**
+     * Returns the East longitude of the site.
+     *
+     * @return the longitude in decimal degrees
+     */
+    public double getLongitude() {
+        return this.longitude;
+    }
+
+    /**
+     * Returns the latitude of the site.
+     *
+     * @return the latitude in decimal degrees
+     */
+    public double getLatitude() {
+        return this.latitude;
+    }
+
+    /**
+     * Computes the local mean sidereal time of the site.
+     *
+     * @param jd Julian date (UT1)
+     * @return the local mean sidereal time in degrees in [0, 360[
+     * @see TimeUtility#gmst(double)
+     */
+    public double getLocalSiderealTime(final double jd) {
+        final double lst = (TimeUtility.gmst(jd) + this.longitude) % 360.0d;
+        return lst < 0 ? lst + 360.0d : lst;
+    }
+
+    /**
+     * Computes the rotation from the equatorial FK5 J2000 coordinates to the
+     * horizontal coordinates at a time.
+     *
+     * @param jd Julian date (UT1)
+     * @return the rotation matrix
+     */
+    public Mat3 getRotationMatrix(final double jd) {
+        final Mat3 precession = Mat3.valueOf(AbstractCrs.convertMatrixEpoch12Epoch2(J2000, TimeUtility.convertJD2epochJulian(jd), FK5_FRAME, FK5_FRAME, Double.NaN));
+        return this.hourAngleToHorizontal.multiply(Mat3.rotZ(getLocalSiderealTime(jd))).multiply(precession);
+    }
+
+    /**
+     * Converts a position into the horizontal coordinates at a time.
+     *
+     * @param crs the coordinate reference system of the position
+     * @param longitude longitude in decimal degrees
+     * @param latitude latitude in decimal degrees
+     * @param jd Julian date (UT1)
+     * @return the (azimuth, altitude) in decimal degrees
+     * @throws JWcsError longitude or latitude is out of range
+     */
+    public double[] convertFrom(final AbstractCrs crs, final double longitude, final double latitude, final double jd) throws JWcsError {
+        final SkyPosition position = crs.convertTo(createJ2000(), longitude, latitude);
+        final double[] xyz = getRotationMatrix(jd).multiply(Vec3.fromLongLat(position.getLongitude(), position.getLatitude()));
+        return Vec3.toLongLat(xyz);
+    }
+
+    /**
+     * Converts positions into the horizontal coordinates at several times.
+     *
+     * <p>The positions are converted to the equatorial FK5 J2000 coordinates
+     * once, then the rotation of each time is applied to all the positions.
+     * The (azimuth, altitude) of the position <code>p</code> at the time
+     * <code>t</code> is written at the index
+     * <code>t * longitude.length + p</code>. A position or a time that is NaN
+     * or out of range gives (NaN, NaN) without exception.
+     *
+     * @param crs the coordinate reference system of the positions
+     * @param jd Julian dates (UT1)
+     * @param longitude longitudes in decimal degrees
+     * @param latitude latitudes in decimal degrees
+     * @param azimuth array where the azimuths are written in decimal degrees
+     * @param altitude array where the altitudes are written in decimal degrees
+     * @return the number of (azimuth, altitude) set to NaN
+     * @throws JWcsError longitude and latitude do not have the same length or
+     * the grid does not fit in the output arrays
+     */
+    public int convertFrom(final AbstractCrs crs, final double[] jd, final double[] longitude, final double[] latitude, final double[] azimuth, final double[] altitude) throws JWcsError {
+        final int nbPositions = longitude.length;
+        final long nbPairs = (long) jd.length * nbPositions;
+        if (nbPairs > azimuth.length || nbPairs > altitude.length) {
+            throw new JWcsError(nbPairs + " (time, position) do not fit in azimuth of length " + azimuth.length + " and altitude of length " + altitude.length);
+        }
+        final double[] ra = new double[nbPositions];
+        final double[] dec = new double[nbPositions];
+        crs.convertTo(createJ2000(), longitude, latitude, ra, dec);
+
+        // unit vectors, computed once for all the times
+        final double[] x = new double[nbPositions];
+        final double[] y = new double[nbPositions];
+        final double[] z = new double[nbPositions];
+        for (int p = 0; p < nbPositions; p++) {
+            final double raRad = FastMath.toRadians(ra[p]);
+            final double decRad = FastMath.toRadians(dec[p]);
+            final double cosDec = FastMath.cos(decRad);
+            x[p] = FastMath.cos(raRad) * cosDec;
+            y[p] = FastMath.sin(raRad) * cosDec;
+            z[p] = FastMath.sin(decRad);
+        }
+
+        final double[] xyz = new double[3];
+        final double[] horizontal = new double[2];
+        int nbInvalid = 0;
+        for (int t = 0; t < jd.length; t++) {
+            final int offset = t * nbPositions;
+            if (Double.isNaN(jd[t]) || Double.isInfinite(jd[t])) {
+                for (int p = 0; p < nbPositions; p++) {
+                    azimuth[offset + p] = Double.NaN;
+                    altitude[offset + p] = Double.NaN;
+                }
+                nbInvalid += nbPositions;
+                continue;
+            }
+            final Mat3 rotation = getRotationMatrix(jd[t]);
+            for (int p = 0; p < nbPositions; p++) {
+                if (Double.isNaN(x[p])) {
+                    azimuth[offset + p] = Double.NaN;
+                    altitude[offset + p] = Double.NaN;
+                    nbInvalid++;
+                    continue;
+                }
+                rotation.multiply(x[p], y[p], z[p], xyz, 0);
+                Vec3.toLongLat(xyz[0], xyz[1], xyz[2], horizontal, 0);
+                azimuth[offset + p] = horizontal[0];
+                altitude[offset + p] = horizontal[1];
+            }
+        }
+        return nbInvalid;
+    }
+
+    /**
+     * Creates the equatorial FK5 J2000 coordinate reference system, in which
+     * the positions are given to the rotation of each time.
+     *
+     * @return the coordinate reference system
+     */
+    private static AbstractCrs createJ2000() {
+        return new Equatorial(new FK5());
+    }
 }
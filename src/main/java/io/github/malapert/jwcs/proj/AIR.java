@@ -25,12 +25,19 @@ import io.github.malapert.jwcs.proj.exception.MathematicalSolutionException;
 import io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException;
 import io.github.malapert.jwcs.utility.AiryFunction;
 import io.github.malapert.jwcs.utility.NumericalUtility;
+import java.util.Arrays;
 import org.apache.commons.math3.util.FastMath;
 
 /**
  * The Airy projection minimizes the error for the region within \u03B8b
  * (Evenden 1991).
  *
+ * <p>The radius R<sub>\u03B8</sub> has no analytic inverse. The deprojection
+ * uses a table of R<sub>\u03B8</sub> over a regular grid of \u03B6, which is
+ * built once for each \u03B8<sub>b</sub>. The table gives a first estimate of
+ * \u03B6 that is refined with the Newton method. The bisection of
+ * {@link AiryFunction} is only used when this refinement does not converge.
+ *
  * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
  * @see <a href="http://www.atnf.csiro.au/people/mcalabre/WCS/ccs.pdf">
  * "Representations of celestial coordinates in FITS", M. R. Calabretta and E.
@@ -53,26 +60,49 @@ public final class AIR extends AbstractZenithalProjection {
      */
     public final static double DEFAULT_VALUE_THETHAB = 90;
 
+    /**
+     * Number of \u03B6 values in the radius table.
+     */
+    private final static int TABLE_SIZE = 512;
+
+    /**
+     * Step in radians between two \u03B6 values of the radius table.
+     */
+    private final static double ZETA_STEP = NumericalUtility.HALF_PI / TABLE_SIZE;
+
+    /**
+     * Maximum number of Newton iterations.
+     */
+    private final static int MAX_NEWTON_ITERATIONS = 5;
+
+    /**
+     * Convergence criterion in radians of the Newton iterations.
+     */
+    private final static double NEWTON_ACCURACY = 1e-12;
+
     /**
      * \u03B8<SUB>b</SUB> value.
      */
     private double thetab;
 
     /**
-     * The Airy function R<sub>\u03B8</sub> to solve in an iterative way when a
-     * point is projected.
-     *
-     * <p>R<sub>\u03B8</sub> = -2 *
-     * (ln(cos\u03B6)/tan\u03B6+ln(cos\u03B6<sub>b</sub>)/tan<sup>2</sup>\u03B6<sub>b</sub>*tan\u03B6)
-     * with:
-     * <ul>
-     * <li>\u03B6 = 0.5 * (HALF_PI - \u03B8)</li>
-     * <li>\u03B6<sub>b</sub> = 0.5 * (HALF_PI - \u03B8<sub>b</sub>)</li>
-     * </ul>
-     * @see io.github.malapert.jwcs.utility.AiryFunction
+     * ln(cos\u03B6<sub>b</sub>) / tan<sup>2</sup>\u03B6<sub>b</sub>, computed
+     * when \u03B8<sub>b</sub> is set.
+     */
+    private double c;
+
+    /**
+     * Radius R<sub>\u03B8</sub> for \u03B6 = i * {@link AIR#ZETA_STEP}. The
+     * table stops where the radius does not increase anymore.
+     */
+    private double[] radiusTable;
+
+    /**
+     * Airy function for the current \u03B8<sub>b</sub>, used when the radius
+     * is outside the radius table.
      */
     private AiryFunction airyFunction;
-    
+
     /**
      * Creates a new AIR projection based on the default \u03B8<sub>b</sub> 
      * and celestial longitude and latitude of the fiducial 
@@ -116,7 +146,6 @@ public final class AIR extends AbstractZenithalProjection {
     public AIR(final double crval1, final double crval2, final double thetab) throws BadProjectionParameterException {
         super(crval1, crval2);
         setThetab(FastMath.toRadians(thetab));
-        this.airyFunction = new AiryFunction(this.thetab);
     }
     
     /**
@@ -137,30 +166,39 @@ public final class AIR extends AbstractZenithalProjection {
      * <p>The algorithm to make this projection is the following:
      * <ul>
      * <li>computes the radius : {@link AbstractZenithalProjection#computeRadius(double, double) }</li>
-     * <li>solves by an iterative way \u03B8 : {@link AiryFunction}</li>
+     * <li>solves \u03B6 : {@link AIR#computeZeta(double) }, then
+     * \u03B8 = HALF_PI - 2 * \u03B6</li>
+     * <li>solves by an iterative way \u03B8 : {@link AiryFunction} when the
+     * previous step has no solution</li>
      * <li>computes \u03D5 : {@link AbstractZenithalProjection#computePhi(double, double, double) }</li>
      * </ul>
      *
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException 
      * No valid solution for (x,y) when an error happens during {@link NumericalUtility#computeFunctionSolution(int, org.apache.commons.math3.analysis.UnivariateFunction, double, double) }
      */    
     @Override
-    protected double[] project(final double x, final double y) throws PixelBeyondProjectionException {  
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException {  
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double radius = this.computeRadius(xr, yr);
-        getAiryFunction().setRadius(radius);
+        final double zeta = computeZeta(radius);
         final double theta;
-        try {
-            theta = NumericalUtility.computeFunctionSolution(1000, getAiryFunction(), -NumericalUtility.HALF_PI, NumericalUtility.HALF_PI);
-        } catch(MathematicalSolutionException ex) {
-            throw new PixelBeyondProjectionException(this, x, y, ex.getMessage(), true);
+        if (Double.isNaN(zeta)) {
+            try {
+                theta = NumericalUtility.computeFunctionSolution(1000, this.airyFunction.withRadius(radius), -NumericalUtility.HALF_PI, NumericalUtility.HALF_PI);
+            } catch(MathematicalSolutionException ex) {
+                throw new PixelBeyondProjectionException(this, x, y, ex.getMessage(), true);
+            }
+        } else {
+            theta = NumericalUtility.HALF_PI - 2 * zeta;
         }
         final double phi = computePhi(xr, yr, radius);
-        return new double[]{phi, theta};
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     /**
@@ -169,7 +207,7 @@ public final class AIR extends AbstractZenithalProjection {
      * 
      * <p>The algorithm to make this projection is the following:
      * <ul>
-     * <li>computes c : {@link AIR#computeC() }</li>
+     * <li>uses c : {@link AIR#computeC() }</li>
      * <li>computes term1 = ln(cos\u03B6) / tan\u03B6</li>
      * <li>computes the radius : -2 * (term1 + c * tan(\u03B6))</li>
      * <li>computes x : {@link AbstractZenithalProjection#computeX(double, double) }</li>
@@ -178,21 +216,22 @@ public final class AIR extends AbstractZenithalProjection {
      *
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B6) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y) when \u03B6=0
      */    
     @Override
-    protected double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException  {
-        final double c = computeC();
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws PixelBeyondProjectionException  {
         final double zeta = 0.5 * (NumericalUtility.HALF_PI - theta);
         if (NumericalUtility.equal(zeta, 0)) {
             throw new PixelBeyondProjectionException(this, FastMath.toDegrees(phi), FastMath.toDegrees(theta), false);
         }
         final double term1 = FastMath.log(FastMath.cos(zeta)) / FastMath.tan(zeta);
-        final double radius = -2 * (term1 + c * FastMath.tan(zeta));
+        final double radius = -2 * (term1 + this.c * FastMath.tan(zeta));
         final double x = computeX(radius, phi);
         final double y = computeY(radius, phi);
-        return new double[]{FastMath.toDegrees(x), FastMath.toDegrees(y)};
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }
     
     /**
@@ -218,6 +257,91 @@ public final class AIR extends AbstractZenithalProjection {
         }         
         return c;
     }    
+
+    /**
+     * Computes the radius R<sub>\u03B8</sub> = -2 * (ln(cos\u03B6) / tan\u03B6 + c * tan\u03B6).
+     *
+     * @param zeta \u03B6 in radians
+     * @return the radius in radians
+     */
+    private double computeAiryRadius(final double zeta) {
+        if (zeta == 0) {
+            return 0;
+        }
+        final double tanZeta = FastMath.tan(zeta);
+        return -2 * (FastMath.log(FastMath.cos(zeta)) / tanZeta + this.c * tanZeta);
+    }
+
+    /**
+     * Computes the derivative of R<sub>\u03B8</sub> according to \u03B6.
+     *
+     * <p>dR<sub>\u03B8</sub>/d\u03B6 = 2 * (1 + ln(cos\u03B6) / sin<sup>2</sup>\u03B6 - c / cos<sup>2</sup>\u03B6)
+     *
+     * @param zeta \u03B6 in radians
+     * @return the derivative
+     */
+    private double computeAiryRadiusDerivative(final double zeta) {
+        final double cosZeta = FastMath.cos(zeta);
+        final double sinZeta = FastMath.sin(zeta);
+        return 2 * (1 + FastMath.log(cosZeta) / (sinZeta * sinZeta) - this.c / (cosZeta * cosZeta));
+    }
+
+    /**
+     * Computes the radius table for the current \u03B8<sub>b</sub>.
+     *
+     * @return the radius R<sub>\u03B8</sub> for each \u03B6 until R<sub>\u03B8</sub>
+     * stops increasing
+     */
+    private double[] computeRadiusTable() {
+        final double[] table = new double[TABLE_SIZE];
+        int nbValues = 1;
+        while (nbValues < TABLE_SIZE) {
+            final double radius = computeAiryRadius(nbValues * ZETA_STEP);
+            if (!(radius > table[nbValues - 1])) {
+                break;
+            }
+            table[nbValues] = radius;
+            nbValues++;
+        }
+        return Arrays.copyOf(table, nbValues);
+    }
+
+    /**
+     * Computes \u03B6 from the radius R<sub>\u03B8</sub>.
+     *
+     * <p>The radius table gives the interval of \u03B6 and a first estimate
+     * by linear interpolation. This estimate is then refined with the Newton
+     * method.
+     *
+     * @param radius the radius in radians
+     * @return \u03B6 in radians or NaN when the radius is outside the table or
+     * when the Newton method does not converge
+     */
+    private double computeZeta(final double radius) {
+        final int index = Arrays.binarySearch(this.radiusTable, radius);
+        if (index >= 0) {
+            return index * ZETA_STEP;
+        }
+        final int lower = -index - 2;
+        if (lower < 0 || lower >= this.radiusTable.length - 1) {
+            return Double.NaN;
+        }
+        final double zetaMin = lower * ZETA_STEP;
+        final double zetaMax = zetaMin + ZETA_STEP;
+        final double radiusMin = this.radiusTable[lower];
+        double zeta = zetaMin + ZETA_STEP * (radius - radiusMin) / (this.radiusTable[lower + 1] - radiusMin);
+        for (int i = 0; i < MAX_NEWTON_ITERATIONS; i++) {
+            final double delta = (computeAiryRadius(zeta) - radius) / computeAiryRadiusDerivative(zeta);
+            zeta -= delta;
+            if (!(zeta >= zetaMin && zeta <= zetaMax)) {
+                return Double.NaN;
+            }
+            if (FastMath.abs(delta) <= NEWTON_ACCURACY) {
+                return zeta;
+            }
+        }
+        return Double.NaN;
+    }
     
     @Override
     public boolean inside(final double lon, final double lat) {
@@ -243,15 +367,6 @@ public final class AIR extends AbstractZenithalProjection {
         return new ProjectionParameter[]{p1};
     }
 
-    /**
-     * Returns the Airy function to solve.
-     *
-     * @return the airyFunction     
-     */
-    private AiryFunction getAiryFunction() {
-        return airyFunction;
-    }
-
     /**
      * Returns \u03B8<SUB>b</SUB> in radians.
      *
@@ -271,6 +386,14 @@ public final class AIR extends AbstractZenithalProjection {
     public void setThetab(final double thetab) throws BadProjectionParameterException {
         checkParameter(thetab);
         this.thetab = thetab;
+        computeConstants();
+    }
+
+    @Override
+    protected void computeConstants() {
+        this.c = computeC();
+        this.radiusTable = computeRadiusTable();
+        this.airyFunction = new AiryFunction(getThetab());
     }
 
 }
@@ -76,6 +76,23 @@ public final class AIT extends AbstractCylindricalProjection {
         LOG.log(Level.FINER, "INPUTS[Deg] (crval1,crval2)=({0},{1})", new Object[]{crval1,crval2});        
     }
 
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
+     * coordinates (x, y).
+     *
+     * @param x projection plane coordinate along X
+     * @param y projection plane coordinate along Y
+     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y)
+     * @see #project(double, double, double[], int)
+     */
+    @Override
+    public double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+        final double[] pos = new double[2];
+        project(x, y, pos, 0);
+        return pos;
+    }
+
     /**
      * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
      * coordinates (x, y).
@@ -89,12 +106,13 @@ public final class AIT extends AbstractCylindricalProjection {
      *
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException 
      * No valid solution for (x,y) when z &lt; 0 or y*z is outside [-1,1]
      */            
     @Override
-    public double[] project(final double x, final double y) throws PixelBeyondProjectionException  {
+    public void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException  {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         double z = 1 - FastMath.pow(xr / 4, 2) - FastMath.pow(yr / 2, 2);
@@ -107,8 +125,36 @@ public final class AIT extends AbstractCylindricalProjection {
         if(Double.isNaN(theta)) {
             throw new PixelBeyondProjectionException(this, x, y, true);
         }
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+    }
+
+    @Override
+    ProjectionKernel getProjectionKernel() {
+        return ProjectionKernel.AIT;
+    }
+
+    @Override
+    protected boolean isInsidePlane(final double x, final double y) {
+        final double xr = FastMath.toRadians(x);
+        final double yr = FastMath.toRadians(y);
+        return 1 - FastMath.pow(xr / 4, 2) - FastMath.pow(yr / 2, 2) >= 0;
+    }
+
+    /**
+     * Computes the projection plane coordinates (x, y) from the native spherical
+     * coordinates (\u03D5, \u03B8).
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @return the projection plane coordinates
+     * @see #projectInverse(double, double, double[], int)
+     */
+    @Override
+    public double[] projectInverse(final double phi, final double theta) {
+        final double[] coord = new double[2];
+        projectInverse(phi, theta, coord, 0);
+        return coord;
     }
 
     /**
@@ -125,18 +171,19 @@ public final class AIT extends AbstractCylindricalProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */   
     @Override
-    public double[] projectInverse(final double phi, final double theta) {         
+    public void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {         
         final double d = 1 + FastMath.cos(theta) * FastMath.cos(phi * 0.5d);
         // d cannot be equal to 0 because the two cosinus value goes to [0,1]
         // then we do not need to raise an exception
         final double gamma = FastMath.toDegrees(FastMath.sqrt(2.0d / d));        
         final double x = 2 * gamma * FastMath.cos(theta) * FastMath.sin(phi * 0.5d);
         final double y = gamma * FastMath.sin(theta);
-        final double[] coord = {x, y};
-        return coord;
+        planePosition[offset] = x;
+        planePosition[offset + 1] = y;
     }
 
     @Override
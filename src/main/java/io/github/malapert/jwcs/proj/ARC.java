@@ -82,17 +82,23 @@ public final class ARC extends AbstractZenithalProjection {
      *
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      */     
     @Override
-    protected double[] project(final double x, final double y) {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double r_theta = computeRadius(xr, yr);
         final double phi = computePhi(xr, yr, r_theta);
         final double theta = HALF_PI - r_theta;
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+    }
+
+    @Override
+    ProjectionKernel getProjectionKernel() {
+        return ProjectionKernel.ARC;
     }
 
     /**
@@ -108,15 +114,16 @@ public final class ARC extends AbstractZenithalProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */     
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double r = FastMath.toDegrees(HALF_PI - theta);  // theta between [-HALF_PI, HALF_PI] => no need to test
         final double x = computeX(r, phi);
         final double y = computeY(r, phi);
-        final double[] pos = {x, y};
-        return pos;
+        planePosition[offset] = x;
+        planePosition[offset + 1] = y;
     }  
     
     @Override
@@ -62,6 +62,19 @@ public final class AZP extends AbstractZenithalProjection {
      * \u03BC increases in the direction away from the plane of projection.
      */
     private double mu;
+    /**
+     * cos\u0263, computed when \u0263 is set.
+     */
+    private double cosGamma;
+    /**
+     * tan\u0263, computed when \u0263 is set.
+     */
+    private double tanGamma;
+    /**
+     * Native latitude \u03B8<sub>x</sub> in radians of the limb, computed
+     * when \u03BC is set.
+     */
+    private double thetax;
     /**
      * Default value for \u0263 and \u03BC.
      */
@@ -171,7 +184,7 @@ public final class AZP extends AbstractZenithalProjection {
      * @return the plane coordinate along Y with application of parameter projection
      */    
     private double computeYr(final double y) {
-        return y * FastMath.cos(getGamma());
+        return y * this.cosGamma;
     }       
     
     /**
@@ -186,7 +199,7 @@ public final class AZP extends AbstractZenithalProjection {
      * @throws BadProjectionParameterException getMu() + 1 + y * FastMath.tan(getGamma()) cannot be 0
      */
     private double computeRho(final double y, final double radius) throws BadProjectionParameterException {
-        final double denom = getMu() + 1 + y * FastMath.tan(getGamma());
+        final double denom = getMu() + 1 + y * this.tanGamma;
         if (NumericalUtility.equal(denom,0)) {
             throw new BadProjectionParameterException(this,"(mu,gamma) = (" + getMu() + ", " + getGamma()+"). (mu + 1) + y * tan(gamma) must be !=0");
         }    
@@ -292,6 +305,24 @@ public final class AZP extends AbstractZenithalProjection {
         return theta;
     }
 
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
+     * coordinates (x, y).
+     *
+     * @param x projection plane coordinate along X
+     * @param y projection plane coordinate along Y
+     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @throws io.github.malapert.jwcs.proj.exception.BadProjectionParameterException the projection parameters are not valid
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y)
+     * @see #project(double, double, double[], int)
+     */
+    @Override
+    public double[] project(final double x, final double y) throws BadProjectionParameterException, PixelBeyondProjectionException {
+        final double[] pos = new double[2];
+        project(x, y, pos, 0);
+        return pos;
+    }
+
     /**
      * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
      * coordinates (x, y).
@@ -305,19 +336,37 @@ public final class AZP extends AbstractZenithalProjection {
      *
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      * @throws io.github.malapert.jwcs.proj.exception.BadProjectionParameterException getMu() + 1 + y * FastMath.tan(getGamma()) cannot be 0
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y)
      */     
     @Override
-    public double[] project(final double x, final double y) throws BadProjectionParameterException, PixelBeyondProjectionException {
+    public void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws BadProjectionParameterException, PixelBeyondProjectionException {
         final double xr = computeXr(FastMath.toRadians(x));
         final double yr = computeYr(FastMath.toRadians(y));
         final double r = computeRadius(xr, yr);
         final double theta = computeTheta(xr, yr, r);
         final double phi = computePhi(xr, yr, r);              
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+    }
+
+    /**
+     * Computes the projection plane coordinates (x, y) from the native spherical
+     * coordinates (\u03D5, \u03B8).
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @return the projection plane coordinates
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (\u03D5, \u03B8)
+     * @see #projectInverse(double, double, double[], int)
+     */
+    @Override
+    public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {
+        final double[] coord = new double[2];
+        projectInverse(phi, theta, coord, 0);
+        return coord;
     }
 
     /**
@@ -333,16 +382,17 @@ public final class AZP extends AbstractZenithalProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException \u03B8 is beyond the projection
      */     
     @Override
-    public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {
+    public void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws PixelBeyondProjectionException {
         final double r = computeRadiusFrom(phi, theta);
         final double x = computeX(r, phi);
-        final double y = computeY(r / FastMath.cos(getGamma()), phi);
-        final double[] pos = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return pos;
+        final double y = computeY(r / this.cosGamma, phi);
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }
     
     /**
@@ -357,32 +407,68 @@ public final class AZP extends AbstractZenithalProjection {
      * @throws PixelBeyondProjectionException \u03B8 is beyond the projection
      */
     private double computeRadiusFrom(final double phi, final double theta) throws PixelBeyondProjectionException {
-        final double denom = getMu() + FastMath.sin(theta) + FastMath.cos(theta) * FastMath.cos(phi) * FastMath.tan(getGamma());        
-        if (!isVisible(theta, denom)) {
+        final double denom = computeDenom(phi, theta);
+        if (!isVisibleFrom(theta, denom)) {
             throw new PixelBeyondProjectionException(this, FastMath.toDegrees(phi), FastMath.toDegrees(theta), false);
         }
 
         return (getMu() + 1) * FastMath.cos(theta) / denom;          
     }
     
+    /**
+     * Computes the denominator of R.
+     *
+     * <p>The denominator is computed as:
+     * <br><code>\u03BC + sin\u03B8 + cos\u03B8 * cos\u03D5 * tan\u0263</code>
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @return the denominator
+     */
+    private double computeDenom(final double phi, final double theta) {
+        return getMu() + FastMath.sin(theta) + FastMath.cos(theta) * FastMath.cos(phi) * this.tanGamma;
+    }
+
+    @Override
+    protected boolean isVisible(final double phi, final double theta) {
+        return isVisibleFrom(theta, computeDenom(phi, theta));
+    }
+
     /**
      * Computes if theta is beyond the limb.
      * @param theta theta
      * @param denom denom
      * @return false when theta is beyond the limb
      */
-    private boolean isVisible(final double theta, final double denom) {
-        final double thetax;
+    private boolean isVisibleFrom(final double theta, final double denom) {
+        return !(NumericalUtility.equal(denom, 0) || theta < this.thetax);
+    }
+
+    /**
+     * Computes the native latitude of the limb.
+     *
+     * <p>\u03B8<sub>x</sub> = asin(-1 / \u03BC) when |\u03BC| &gt; 1,
+     * otherwise asin(-\u03BC).
+     *
+     * @return \u03B8<sub>x</sub> in radians
+     */
+    private double computeThetax() {
+        final double limb;
         if (NumericalUtility.equal(getMu(), 0)) {
-            thetax = 0;
+            limb = 0;
         } else if (FastMath.abs(getMu()) > 1) {
-            thetax = NumericalUtility.aasin(-1.0d / getMu());
+            limb = NumericalUtility.aasin(-1.0d / getMu());
         } else {
-            thetax = NumericalUtility.aasin(-getMu());
-        }        
-        final boolean result;
-        result = !(NumericalUtility.equal(denom, 0) || theta < thetax);        
-        return result;
+            limb = NumericalUtility.aasin(-getMu());
+        }
+        return limb;
+    }
+
+    @Override
+    protected void computeConstants() {
+        this.cosGamma = FastMath.cos(getGamma());
+        this.tanGamma = FastMath.tan(getGamma());
+        this.thetax = computeThetax();
     }
     
     @Override
@@ -390,8 +476,7 @@ public final class AZP extends AbstractZenithalProjection {
         final double raFixed = NumericalUtility.normalizeLongitude(lon);
         double[] nativeSpherical = computeNativeSpherical(raFixed, lat);
         nativeSpherical[0] = phiRange(nativeSpherical[0]);
-        final double denom = getMu() + FastMath.sin(nativeSpherical[1]) + FastMath.cos(nativeSpherical[1]) * FastMath.cos(nativeSpherical[0]) * FastMath.tan(getGamma());                
-        return isVisible(nativeSpherical[1], denom);
+        return isVisible(nativeSpherical[0], nativeSpherical[1]);
     }    
 
     @Override
@@ -427,6 +512,7 @@ public final class AZP extends AbstractZenithalProjection {
     public void setGamma(final double gamma) throws BadProjectionParameterException {
         checkParameterGamma(gamma);
         this.gamma = gamma;
+        computeConstants();
     }
 
     /**
@@ -445,6 +531,7 @@ public final class AZP extends AbstractZenithalProjection {
     public void setMu(final double mu) throws BadProjectionParameterException {
         checkParameterMu(mu);
         this.mu = mu;
+        computeConstants();
     }
     
     /**
@@ -194,11 +194,13 @@ public abstract class AbstractConicProjection extends AbstractProjection {
     @Override
     public final void setPhi0(final double phio) {
         this.phio = phio;
+        updateConstants();
     }
 
     @Override
     public final void setTheta0(final double theta0) {
         this.theta0 = theta0;
+        updateConstants();
     }    
 
     /**
@@ -97,6 +97,7 @@ public abstract class AbstractCylindricalProjection extends AbstractProjection {
     @Override
     public final void setPhi0(final double phi0) {
         this.phi0 = phi0;
+        updateConstants();
     } 
     
     @Override
@@ -107,6 +108,7 @@ public abstract class AbstractCylindricalProjection extends AbstractProjection {
     @Override
     public final void setTheta0(final double theta0) {
         this.theta0 = theta0;
+        updateConstants();
     }     
 
     @Override
@@ -19,8 +19,10 @@
  */
 package io.github.malapert.jwcs.proj;
 import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException;
 import io.github.malapert.jwcs.proj.exception.ProjectionException;
 import io.github.malapert.jwcs.utility.NumericalUtility;
+import io.github.malapert.jwcs.utility.PrecisionPolicy;
 import static io.github.malapert.jwcs.utility.NumericalUtility.HALF_PI;
 import static io.github.malapert.jwcs.utility.NumericalUtility.TWO_PI;
 import java.util.Arrays;
@@ -49,7 +51,7 @@ import org.apache.commons.math3.util.FastMath;
  * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
  * @version 2.0
  */
-public abstract class AbstractProjection {
+public abstract class AbstractProjection implements Cloneable {
 
     /**
      * Default native latitude of the celestial pole (\u03B8<sub>p</sub>) sets to {@link NumericalUtility#HALF_PI}.
@@ -97,6 +99,11 @@ public abstract class AbstractProjection {
      * Celestial longitude and latitude of the native pole (\u03B1<sub>p</sub>, \u03B4<sub>p</sub>).
      */
     private double[] coordNativePole;
+    /**
+     * Spherical rotation computed from (\u03B1<sub>p</sub>, \u03B4<sub>p</sub>)
+     * and \u03D5<sub>p</sub>.
+     */
+    private SphericalRotation rotation;
 
     /**
      * Creates an instance of projection by given sky position coordinates.
@@ -123,8 +130,30 @@ public abstract class AbstractProjection {
      * @return the native spherical coordinates (\u03D5, \u03B8) in radians
      * @throws io.github.malapert.jwcs.proj.exception.ProjectionException when
      * an error happens while the projection
+     * @see #project(double, double, double[], int)
      */
-    protected abstract double[] project(final double x, final double y) throws ProjectionException;
+    protected double[] project(final double x, final double y) throws ProjectionException {
+        final double[] pos = new double[2];
+        project(x, y, pos, 0);
+        return pos;
+    }
+
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
+     * coordinates (x, y) in a caller-provided array.
+     *
+     * <p>This is the contract implemented by each projection. It does not
+     * allocate, so that the batch mode can write directly in the output
+     * buffer.
+     *
+     * @param x projection plane coordinate along X
+     * @param y projection plane coordinate along Y
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException when
+     * an error happens while the projection
+     */
+    protected abstract void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws ProjectionException;
 
     /**
      * Computes the projection plane coordinates (x, y) from the native spherical
@@ -135,8 +164,30 @@ public abstract class AbstractProjection {
      * @return the projection plane coordinates
      * @throws io.github.malapert.jwcs.proj.exception.ProjectionException when
      * an error happens while the projection
+     * @see #projectInverse(double, double, double[], int)
      */
-    protected abstract double[] projectInverse(final double phi, final double theta) throws ProjectionException;
+    protected double[] projectInverse(final double phi, final double theta) throws ProjectionException {
+        final double[] coord = new double[2];
+        projectInverse(phi, theta, coord, 0);
+        return coord;
+    }
+
+    /**
+     * Computes the projection plane coordinates (x, y) from the native spherical
+     * coordinates (\u03D5, \u03B8) in a caller-provided array.
+     *
+     * <p>This is the contract implemented by each projection. It does not
+     * allocate, so that the batch mode can write directly in the output
+     * buffer.
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException when
+     * an error happens while the projection
+     */
+    protected abstract void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws ProjectionException;
 
     /**
      * Returns the native longitude of the fiducial point (\u03D5<sub>0</sub>) in radians.
@@ -216,39 +267,14 @@ public abstract class AbstractProjection {
      * degrees
      */
     protected double[] computeCelestialSpherical(final double phi, final double theta) {
-        double ra;
-        double dec;
-        LOG.log(Level.FINER, "INPUTS[deg]: (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(phi),FastMath.toDegrees(theta)});        
-        
-        final double alphap = getCoordNativePole()[0];
-        final double deltap = getCoordNativePole()[1];
-        LOG.log(Level.FINEST, "CoordinateNativePole[deg]: (alphap,deltap)=({0},{1})", new Object[]{FastMath.toDegrees(alphap),FastMath.toDegrees(deltap)});        
-        
-        if (NumericalUtility.equal(deltap, HALF_PI)) {
-            ra = alphap + phi - getPhip() - FastMath.PI;
-            dec = theta;
-        } else if (NumericalUtility.equal(deltap, -HALF_PI)) {
-            ra = alphap - phi + getPhip();
-            dec = -theta;
-        } else {            
-            ra = alphap + NumericalUtility.aatan2(-FastMath.cos(theta) * FastMath.sin(phi - phip),
-                    FastMath.sin(theta) * FastMath.cos(deltap)
-                    - FastMath.cos(theta) * FastMath.sin(deltap)
-                    * FastMath.cos(phi - getPhip()),0);            
-
-            dec = NumericalUtility.aasin(FastMath.sin(theta) * FastMath.sin(deltap)
-                    + FastMath.cos(theta) * FastMath.cos(deltap)
-                    * FastMath.cos(phi - getPhip()));
-        }
-        // convert ra, dec to degrees
-        ra = FastMath.toDegrees(ra);
-        dec = FastMath.toDegrees(dec);
-        if (ra < 0) {
-            ra += 360;
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "INPUTS[deg]: (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(phi),FastMath.toDegrees(theta)});
+        }
+        final double[] pos = new double[2];
+        this.rotation.toCelestial(phi, theta, pos, 0, PrecisionPolicy.EXACT);
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "OUTPUTS[deg] pos=({0},{1})", new Object[]{pos[0],pos[1]});
         }
-        
-        final double[] pos = {ra, dec};
-        LOG.log(Level.FINER, "OUTPUTS[deg] pos=({0},{1})", new Object[]{FastMath.toDegrees(pos[0]),FastMath.toDegrees(pos[1])});
         return pos;
     }
 
@@ -266,31 +292,14 @@ public abstract class AbstractProjection {
      * @return Returns native longitude and latitude in radians
      */
     protected double[] computeNativeSpherical(final double ra, final double dec) {
-        LOG.log(Level.FINER, "INPUTS[deg]: (ra,dec)=({0},{1})", new Object[]{FastMath.toDegrees(ra),FastMath.toDegrees(dec)});        
-
-        final double ra_p = getCoordNativePole()[0];
-        final double dec_p = getCoordNativePole()[1];
-        LOG.log(Level.FINEST, "CoordinateNativePole[deg]: (alphap,deltap)=({0},{1})", new Object[]{FastMath.toDegrees(ra_p),FastMath.toDegrees(dec_p)});                
-        
-        final double phi;
-        final double theta;
-        if (NumericalUtility.equal(dec_p, HALF_PI)) {
-            phi = getPhip() + ra - ra_p;
-            theta = dec;
-        } else if (NumericalUtility.equal(dec_p, -HALF_PI)) {
-            phi = getPhip() - ra + ra_p;
-            theta = -dec;            
-        } else {
-            phi = getPhip() + NumericalUtility.aatan2(-FastMath.cos(dec) * FastMath.sin(ra - ra_p),
-                    FastMath.sin(dec) * FastMath.cos(dec_p)
-                    - FastMath.cos(dec) * FastMath.sin(dec_p)
-                    * FastMath.cos(ra - ra_p), 0);
-            theta = NumericalUtility.aasin(FastMath.sin(dec) * FastMath.sin(dec_p)
-                     + FastMath.cos(dec) * FastMath.cos(dec_p)
-                     * FastMath.cos(ra - ra_p));      
-        }                   
-        final double[] pos = {phi, theta};
-        LOG.log(Level.FINER, "OUTPUTS[deg] (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(phi),FastMath.toDegrees(theta)});
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "INPUTS[deg]: (ra,dec)=({0},{1})", new Object[]{FastMath.toDegrees(ra),FastMath.toDegrees(dec)});
+        }
+        final double[] pos = new double[2];
+        this.rotation.toNative(ra, dec, pos, 0, PrecisionPolicy.EXACT);
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "OUTPUTS[deg] (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(pos[0]),FastMath.toDegrees(pos[1])});
+        }
         return pos;
     }
 
@@ -419,7 +428,7 @@ public abstract class AbstractProjection {
      */
     public final void setPhip(final double phip) {
         this.phip = phip;
-        this.coordNativePole = computeCoordNativePole(phip);
+        updateRotation();
     }
 
     /**
@@ -438,6 +447,55 @@ public abstract class AbstractProjection {
      */
     public final void setThetap(final double thetap) {
         this.thetap = thetap;
+        if (this.rotation != null) {
+            updateRotation();
+        }
+    }
+
+    /**
+     * Computes the celestial coordinates of the native pole and the spherical
+     * rotation from the current parameters.
+     *
+     * <p>The rotation is computed once \u03D5<sub>p</sub> is set, then each
+     * time \u03D5<sub>p</sub>, \u03B8<sub>p</sub> or the fiducial point
+     * changes.
+     */
+    private void updateRotation() {
+        this.coordNativePole = computeCoordNativePole(this.phip);
+        this.rotation = new SphericalRotation(this.coordNativePole[0], this.coordNativePole[1], this.phip);
+        if (LOG.isLoggable(Level.FINEST)) {
+            LOG.log(Level.FINEST, "CoordinateNativePole[deg]: (alphap,deltap)=({0},{1})", new Object[]{FastMath.toDegrees(this.coordNativePole[0]),FastMath.toDegrees(this.coordNativePole[1])});
+        }
+    }
+
+    /**
+     * Updates the precomputed constants after a change of the native
+     * coordinates of the fiducial point (\u03D5<sub>0</sub>, \u03B8<sub>0</sub>).
+     *
+     * <p>Nothing is done while the family constructor has not set
+     * \u03D5<sub>p</sub> yet, the projection computing its constants when its
+     * own parameters are set. The spherical rotation is still updated by
+     * {@link #setPhip(double)}.
+     */
+    protected final void updateConstants() {
+        if (this.rotation != null) {
+            computeConstants();
+        }
+    }
+
+    /**
+     * Computes the terms of the projection that only depend on its
+     * parameters.
+     *
+     * <p>It is called each time a parameter of the projection,
+     * \u03D5<sub>0</sub> or \u03B8<sub>0</sub> changes so that
+     * {@link #project(double, double, double[], int)} and
+     * {@link #projectInverse(double, double, double[], int)} only compute the
+     * terms depending on the coordinates. There is nothing to compute by
+     * default.
+     */
+    protected void computeConstants() {
+        // no constant
     }
 
     /**
@@ -476,9 +534,13 @@ public abstract class AbstractProjection {
      * an error happens while the projection
      */
     public double[] projectionPlane2wcs(final double x, final double y) throws ProjectionException {
-        LOG.log(Level.FINER, "INPUTS[Deg] (x,y)=({0},{1})", new Object[]{x,y});                                                                                                                                                
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "INPUTS[Deg] (x,y)=({0},{1})", new Object[]{x,y});
+        }
         final double[] pos = project(x, y);
-        LOG.log(Level.FINER, "OUTPUTS[Deg] (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(pos[0]),FastMath.toDegrees(pos[1])}); 
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "OUTPUTS[Deg] (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(pos[0]),FastMath.toDegrees(pos[1])});
+        }
         return computeCelestialSpherical(pos[0], pos[1]);
     }
 
@@ -493,15 +555,360 @@ public abstract class AbstractProjection {
      * an error happens while the projection
      */
     public double[] wcs2projectionPlane(final double ra, final double dec) throws ProjectionException {
-        final double raFixed = NumericalUtility.normalizeLongitude(ra);
-        double[] nativeSpherical = computeNativeSpherical(raFixed, dec);
-        nativeSpherical[0] = phiRange(nativeSpherical[0]);
-        LOG.log(Level.FINER, "INPUTS[Deg] (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(nativeSpherical[0]), FastMath.toDegrees(nativeSpherical[1])});
+        final double[] nativeSpherical = computeNativeSphericalInRange(ra, dec);
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "INPUTS[Deg] (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(nativeSpherical[0]), FastMath.toDegrees(nativeSpherical[1])});
+        }
         final double[] coord = projectInverse(nativeSpherical[0], nativeSpherical[1]);
-        LOG.log(Level.FINER, "OUTPUTS[Deg] (x,y)=({0},{1})", coord); 
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "OUTPUTS[Deg] (x,y)=({0},{1})", new Object[]{coord[0], coord[1]});
+        }
         return coord;
     }
 
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) with \u03D5
+     * in the range of the projection.
+     *
+     * @param ra right ascension (\u03B1)
+     * @param dec declination (\u03B4)
+     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     */
+    private double[] computeNativeSphericalInRange(final double ra, final double dec) {
+        final double[] nativeSpherical = new double[2];
+        this.rotation.toNative(NumericalUtility.normalizeLongitude(ra), dec, nativeSpherical, 0, PrecisionPolicy.EXACT);
+        nativeSpherical[0] = phiRange(nativeSpherical[0]);
+        return nativeSpherical;
+    }
+
+    /**
+     * Computes the celestial spherical coordinates (\u03B1, \u03B4) from the
+     * projection plane coordinates (x, y) without throwing an exception.
+     *
+     * <p>This is the batch mode of
+     * {@link #projectionPlane2wcs(double, double)}. When the position is not
+     * valid, NaN is written in <code>skyPosition</code> and the reason is
+     * returned. The invalid positions that are detected by
+     * {@link #isInsidePlane(double, double)} do not create any exception.
+     *
+     * @param x projection plane coordinate along X in degrees
+     * @param y projection plane coordinate along Y in degrees
+     * @param skyPosition array where (\u03B1, \u03B4) is written in degrees
+     * @param offset index where \u03B1 is written
+     * @return the status of the position
+     */
+    public final ProjectionStatus projectionPlane2wcs(final double x, final double y, final double[] skyPosition, final int offset) {
+        return projectionPlane2wcs(x, y, skyPosition, offset, PrecisionPolicy.EXACT);
+    }
+
+    /**
+     * Computes the celestial spherical coordinates (\u03B1, \u03B4) from the
+     * projection plane coordinates (x, y) without throwing an exception, with
+     * a given precision of the trigonometric functions.
+     *
+     * <p>The precision is used by the spherical rotation and by the
+     * closed-form projections (TAN, SIN, ARC, ZEA, STG, CAR, CEA, MER, SFL,
+     * PAR and AIT).
+     *
+     * @param x projection plane coordinate along X in degrees
+     * @param y projection plane coordinate along Y in degrees
+     * @param skyPosition array where (\u03B1, \u03B4) is written in degrees
+     * @param offset index where \u03B1 is written
+     * @param precision precision of the trigonometric functions
+     * @return the status of the position
+     * @see #projectionPlane2wcs(double, double, double[], int)
+     */
+    public final ProjectionStatus projectionPlane2wcs(final double x, final double y, final double[] skyPosition, final int offset, final PrecisionPolicy precision) {
+        final ProjectionStatus status;
+        if (isInsidePlane(x, y)) {
+            status = projectionPlane2wcsStatus(x, y, skyPosition, offset, precision);
+        } else {
+            status = ProjectionStatus.BEYOND_PROJECTION;
+        }
+        if (status != ProjectionStatus.OK) {
+            skyPosition[offset] = Double.NaN;
+            skyPosition[offset + 1] = Double.NaN;
+        }
+        return status;
+    }
+
+    /**
+     * Computes the celestial spherical coordinates and converts the exceptions
+     * that are not detected by {@link #isInsidePlane(double, double)} in status.
+     *
+     * @param x projection plane coordinate along X in degrees
+     * @param y projection plane coordinate along Y in degrees
+     * @param skyPosition array where (\u03B1, \u03B4) is written in degrees
+     * @param offset index where \u03B1 is written
+     * @param precision precision of the trigonometric functions
+     * @return the status of the position
+     */
+    private ProjectionStatus projectionPlane2wcsStatus(final double x, final double y, final double[] skyPosition, final int offset, final PrecisionPolicy precision) {
+        try {
+            final ProjectionKernel kernel = precision == PrecisionPolicy.FAST ? getProjectionKernel() : null;
+            if (kernel == null || !FastKernels.project(kernel, getKernelParameter(), x, y, skyPosition, offset)) {
+                project(x, y, skyPosition, offset);
+            }
+        } catch (PixelBeyondProjectionException ex) {
+            return ProjectionStatus.BEYOND_PROJECTION;
+        } catch (ProjectionException ex) {
+            return ProjectionStatus.PROJECTION_ERROR;
+        }
+        if (!isFinite(skyPosition, offset)) {
+            return ProjectionStatus.BEYOND_PROJECTION;
+        }
+        this.rotation.toCelestial(skyPosition[offset], skyPosition[offset + 1], skyPosition, offset, precision);
+        if (!isFinite(skyPosition, offset)) {
+            return ProjectionStatus.BEYOND_PROJECTION;
+        }
+        return ProjectionStatus.OK;
+    }
+
+    /**
+     * Computes the celestial spherical coordinates (\u03B1, \u03B4) of
+     * projection plane coordinates stored in columns, without throwing an
+     * exception.
+     *
+     * <p>This is the columnar form of
+     * {@link #projectionPlane2wcs(double, double, double[], int)}. When the
+     * projection has a closed-form kernel (see {@link #getProjectionKernel()})
+     * and the running JVM supports it, the positions are first computed by
+     * {@link VectorKernels}. The positions that the kernel does not compute,
+     * or that are not finite, are then computed one by one by the scalar
+     * path, so that the statuses are the same whatever the path.
+     *
+     * <p><code>x</code> and <code>y</code> are read to compute the positions
+     * again and must not be the output arrays.
+     *
+     * @param x projection plane coordinates along X in degrees, read from 0
+     * @param y projection plane coordinates along Y in degrees, read from 0
+     * @param count number of positions
+     * @param longitude array where \u03B1 is written in degrees, from offset
+     * @param latitude array where \u03B4 is written in degrees, from offset
+     * @param offset index where the first position is written
+     * @param status array where the status codes are written from offset or
+     * null
+     * @return the number of positions that cannot be transformed
+     */
+    public final int projectionPlane2wcs(final double[] x, final double[] y, final int count, final double[] longitude, final double[] latitude, final int offset, final byte[] status) {
+        return projectionPlane2wcs(x, y, count, longitude, latitude, offset, status, PrecisionPolicy.EXACT);
+    }
+
+    /**
+     * Computes the celestial spherical coordinates (\u03B1, \u03B4) of
+     * projection plane coordinates stored in columns, without throwing an
+     * exception, with a given precision of the trigonometric functions.
+     *
+     * <p>The vectorized positions are computed with the vectorized functions
+     * whatever the precision, the other ones with the given precision.
+     *
+     * @param x projection plane coordinates along X in degrees, read from 0
+     * @param y projection plane coordinates along Y in degrees, read from 0
+     * @param count number of positions
+     * @param longitude array where \u03B1 is written in degrees, from offset
+     * @param latitude array where \u03B4 is written in degrees, from offset
+     * @param offset index where the first position is written
+     * @param status array where the status codes are written from offset or
+     * null
+     * @param precision precision of the trigonometric functions
+     * @return the number of positions that cannot be transformed
+     * @see #projectionPlane2wcs(double[], double[], int, double[], double[], int, byte[])
+     */
+    public final int projectionPlane2wcs(final double[] x, final double[] y, final int count, final double[] longitude, final double[] latitude, final int offset, final byte[] status, final PrecisionPolicy precision) {
+        final ProjectionKernel kernel = getProjectionKernel();
+        final int nbVectorized;
+        if (kernel == null) {
+            nbVectorized = 0;
+        } else {
+            nbVectorized = VectorKernels.project(kernel, getKernelParameter(), x, y, longitude, latitude, offset, count);
+            VectorKernels.toCelestial(this.rotation, longitude, latitude, offset, nbVectorized);
+        }
+        final double[] skyPosition = new double[2];
+        int nbInvalid = 0;
+        for (int i = 0; i < count; i++) {
+            final int index = offset + i;
+            final ProjectionStatus result;
+            if (i < nbVectorized && Double.isFinite(longitude[index]) && Double.isFinite(latitude[index])) {
+                result = ProjectionStatus.OK;
+            } else {
+                result = projectionPlane2wcs(x[i], y[i], skyPosition, 0, precision);
+                longitude[index] = skyPosition[0];
+                latitude[index] = skyPosition[1];
+            }
+            if (status != null) {
+                status[index] = result.getCode();
+            }
+            if (result != ProjectionStatus.OK) {
+                nbInvalid++;
+            }
+        }
+        return nbInvalid;
+    }
+
+    /**
+     * Computes the projection plane coordinates (x, y) from the celestial
+     * spherical coordinates (\u03B1, \u03B4) without throwing an exception.
+     *
+     * <p>This is the batch mode of
+     * {@link #wcs2projectionPlane(double, double)}. When the position is not
+     * visible, NaN is written in <code>planePosition</code> and the reason is
+     * returned. The positions that are rejected by
+     * {@link #isVisible(double, double)} do not create any exception.
+     *
+     * @param ra right ascension (\u03B1)
+     * @param dec declination (\u03B4)
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
+     * @return the status of the position
+     */
+    public final ProjectionStatus wcs2projectionPlane(final double ra, final double dec, final double[] planePosition, final int offset) {
+        return wcs2projectionPlane(ra, dec, planePosition, offset, PrecisionPolicy.EXACT);
+    }
+
+    /**
+     * Computes the projection plane coordinates (x, y) from the celestial
+     * spherical coordinates (\u03B1, \u03B4) without throwing an exception,
+     * with a given precision of the trigonometric functions.
+     *
+     * <p>The precision is used by the spherical rotation, the projection
+     * itself being computed with FastMath.
+     *
+     * @param ra right ascension (\u03B1)
+     * @param dec declination (\u03B4)
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
+     * @param precision precision of the trigonometric functions
+     * @return the status of the position
+     * @see #wcs2projectionPlane(double, double, double[], int)
+     */
+    public final ProjectionStatus wcs2projectionPlane(final double ra, final double dec, final double[] planePosition, final int offset, final PrecisionPolicy precision) {
+        this.rotation.toNative(NumericalUtility.normalizeLongitude(ra), dec, planePosition, offset, precision);
+        final double phi = phiRange(planePosition[offset]);
+        final double theta = planePosition[offset + 1];
+        final ProjectionStatus status;
+        if (isVisible(phi, theta)) {
+            status = wcs2projectionPlaneStatus(phi, theta, planePosition, offset);
+        } else {
+            status = ProjectionStatus.NOT_VISIBLE;
+        }
+        if (status != ProjectionStatus.OK) {
+            planePosition[offset] = Double.NaN;
+            planePosition[offset + 1] = Double.NaN;
+        }
+        return status;
+    }
+
+    /**
+     * Computes the projection plane coordinates and converts the exceptions
+     * that are not detected by {@link #isVisible(double, double)} in status.
+     *
+     * @param phi native spherical coordinate (\u03D5) in radians
+     * @param theta native spherical coordinate (\u03B8) in radians
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
+     * @return the status of the position
+     */
+    private ProjectionStatus wcs2projectionPlaneStatus(final double phi, final double theta, final double[] planePosition, final int offset) {
+        try {
+            projectInverse(phi, theta, planePosition, offset);
+        } catch (PixelBeyondProjectionException ex) {
+            return ProjectionStatus.NOT_VISIBLE;
+        } catch (ProjectionException ex) {
+            return ProjectionStatus.PROJECTION_ERROR;
+        }
+        if (!isFinite(planePosition, offset)) {
+            return ProjectionStatus.NOT_VISIBLE;
+        }
+        return ProjectionStatus.OK;
+    }
+
+    /**
+     * Tests if the two coordinates of a position are finite.
+     *
+     * <p>A projection may return an infinite or NaN coordinate without
+     * throwing an exception, this position is then invalid in the batch mode.
+     *
+     * @param position array where the position is stored
+     * @param offset index of the first coordinate
+     * @return True when both coordinates are finite otherwise False
+     */
+    private static boolean isFinite(final double[] position, final int offset) {
+        return Double.isFinite(position[offset]) && Double.isFinite(position[offset + 1]);
+    }
+
+    /**
+     * Tests, without exception, if the projection plane coordinates (x, y)
+     * have a solution.
+     *
+     * <p>This test is used by the batch mode to skip the positions beyond the
+     * projection before calling {@link #project(double, double)}. The default
+     * implementation returns true, the invalid positions are then detected
+     * from the exception of {@link #project(double, double)}. Projections
+     * having large regions beyond the projection override this method.
+     *
+     * @param x projection plane coordinate along X in degrees
+     * @param y projection plane coordinate along Y in degrees
+     * @return False when (x, y) is beyond the projection otherwise True
+     */
+    protected boolean isInsidePlane(final double x, final double y) {
+        return true;
+    }
+
+    /**
+     * Tests, without exception, if the native spherical coordinates
+     * (\u03D5, \u03B8) can be projected.
+     *
+     * <p>This test is used by the batch mode to skip the positions that are
+     * not visible before calling {@link #projectInverse(double, double)}. The
+     * default implementation returns true, the invalid positions are then
+     * detected from the exception of {@link #projectInverse(double, double)}.
+     *
+     * @param phi native spherical coordinate (\u03D5) in radians
+     * @param theta native spherical coordinate (\u03B8) in radians
+     * @return False when (\u03D5, \u03B8) is not visible otherwise True
+     */
+    protected boolean isVisible(final double phi, final double theta) {
+        return true;
+    }
+
+    /**
+     * Returns true when the projections of the columns are vectorized.
+     *
+     * <p>The vectorized path needs the Java 17 classes of the multi-release
+     * jar and the <code>jdk.incubator.vector</code> module.
+     *
+     * @return true when the closed-form projections are vectorized by
+     * {@link #projectionPlane2wcs(double[], double[], int, double[], double[], int, byte[])}
+     */
+    public static boolean isVectorized() {
+        return VectorKernels.isAvailable();
+    }
+
+    /**
+     * Returns the closed-form kernel computing the same native spherical
+     * coordinates as {@link #project(double, double, double[], int)}.
+     *
+     * <p>A projection returns a kernel only when its transformation from the
+     * projection plane to the native spherical coordinates is closed-form and
+     * does not depend on overridable methods. A subclass of a projection
+     * having a kernel may change the transformation, so that the kernel is
+     * returned only for the class itself.
+     *
+     * @return the kernel or null when the projection has none
+     */
+    ProjectionKernel getProjectionKernel() {
+        return null;
+    }
+
+    /**
+     * Returns the parameter of the kernel, see {@link ProjectionKernel}.
+     *
+     * @return the parameter of the kernel, 0 when the kernel has none
+     */
+    double getKernelParameter() {
+        return 0;
+    }
+
     /**
      * Returns the celestial longitude in radians of the ﬁducial point (\u03B1<sub>0</sub>).
      *
@@ -526,6 +933,9 @@ public abstract class AbstractProjection {
      */
     public void setCrval1(final double crval1) {
         this.crval1 = crval1;
+        if (this.rotation != null) {
+            updateRotation();
+        }
     }
 
     /**
@@ -534,6 +944,9 @@ public abstract class AbstractProjection {
      */
     public void setCrval2(final double crval2) {
         this.crval2 = crval2;
+        if (this.rotation != null) {
+            updateRotation();
+        }
     }    
 
     /**
@@ -574,13 +987,30 @@ public abstract class AbstractProjection {
      */
     public abstract String getDescription();
 
+    /**
+     * Returns a copy of this projection.
+     *
+     * <p>The setters replace the parameters and the precomputed terms instead
+     * of modifying them in place, so that the setters of the copy and of this
+     * projection are independent.
+     *
+     * @return the copy
+     */
+    public AbstractProjection copy() {
+        try {
+            return (AbstractProjection) super.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new JWcsError("Cannot copy the projection " + getName(), ex);
+        }
+    }
+
     /**
      * Returns the celestial longitude and latitude of the native 
      * pole (\u03B1<sub>p</sub>, \u03B4<sub>p</sub>).
      * 
      * @return the coordNativePole (\u03B1<sub>p</sub>, \u03B4<sub>p</sub>)
      */
-    protected double[] getCoordNativePole() {
+    public double[] getCoordNativePole() {
         return coordNativePole.clone();
     }
     
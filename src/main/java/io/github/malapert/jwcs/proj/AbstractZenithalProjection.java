@@ -123,11 +123,13 @@ public abstract class AbstractZenithalProjection extends AbstractProjection {
     @Override
     public final void setPhi0(final double phi0) {
         this.phi0 = phi0;
+        updateConstants();
     }
 
     @Override
     public final void setTheta0(final double theta0) {
         this.theta0 = theta0;
+        updateConstants();
     }
 
     /**
@@ -54,6 +54,11 @@ public final class BON extends AbstractPolyConicProjection {
      */
     private SFL sfl;
 
+    /**
+     * y0 = \u03B8<sub>1</sub> + cot\u03B8<sub>1</sub> in radians.
+     */
+    private final double y0;
+
     /**
      * Constructs a BON projection by providing the default celestial longitude and latitude
      * of the fiducial point (\u03B1<sub>0</sub>, \u03B4<sub>0</sub>) and \u03B8<sub>1</sub>=45&deg;.          
@@ -74,6 +79,7 @@ public final class BON extends AbstractPolyConicProjection {
      */
     public BON(final double crval1, final double crval2, final double theta1) {
         super(crval1, crval2, theta1);
+        this.y0 = computeY0();
         LOG.log(Level.FINER, "INPUTS[Deg] (crval1,crval2,theta1)=({0},{1},{2})", new Object[]{crval1,crval2,theta1});                
         if (NumericalUtility.equal(theta1,0)) {
             this.sfl = new SFL(crval1, crval2);
@@ -95,16 +101,15 @@ public final class BON extends AbstractPolyConicProjection {
      *
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      */     
     @Override
-    protected double[] project(final double x, final double y) {
-        final double[] result;
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         if (this.sfl == null) {
             final double xr = FastMath.toRadians(x);
             final double yr = FastMath.toRadians(y);
             // compute radius
-            final double y0 = computeY0();            
             final double r_theta = FastMath.signum(getTheta1())* FastMath.sqrt(FastMath.pow(xr, 2) + FastMath.pow(y0 - yr, 2));
             // compute theta
             final double theta = y0 - r_theta;
@@ -117,12 +122,11 @@ public final class BON extends AbstractPolyConicProjection {
             } else {
                 phi = aphi * r_theta / cos_theta;
             }
-            final double[] pos = {phi, theta};
-            result = pos;
+            nativeSpherical[offset] = phi;
+            nativeSpherical[offset + 1] = theta;
         } else {
-            result = this.sfl.project(x, y);
+            this.sfl.project(x, y, nativeSpherical, offset);
         }
-        return result;
     }
     
     /**
@@ -151,14 +155,13 @@ public final class BON extends AbstractPolyConicProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */     
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
-        double[] result;
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         if (sfl == null) {
             // computes radius
-            final double y0 = computeY0();
             final double r_theta = y0 - theta;
             // computes x and y
             final double aphi;
@@ -169,14 +172,25 @@ public final class BON extends AbstractPolyConicProjection {
             }
             final double x = r_theta * FastMath.sin(aphi);
             final double y = -r_theta * FastMath.cos(aphi) + y0;
-            final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-            result = coord;
+            planePosition[offset] = FastMath.toDegrees(x);
+            planePosition[offset + 1] = FastMath.toDegrees(y);
         } else {
-            result = sfl.projectInverse(phi, theta);
+            sfl.projectInverse(phi, theta, planePosition, offset);
         }
-        return result;
     }
     
+    /**
+     * Returns a copy of this projection, including its SFL projection.
+     *
+     * @return the copy
+     */
+    @Override
+    public BON copy() {
+        final BON copy = (BON) super.copy();
+        copy.sfl = this.sfl == null ? null : (SFL) this.sfl.copy();
+        return copy;
+    }
+
     @Override
     public String getName() {
         return NAME_PROJECTION;
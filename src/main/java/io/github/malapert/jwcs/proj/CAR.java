@@ -78,14 +78,20 @@ public final class CAR extends AbstractCylindricalProjection{
      * 
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      */      
     @Override
-    protected double[] project(final double x, final double y) {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         final double phi = FastMath.toRadians(x);
         final double theta = FastMath.toRadians(y);
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+    }
+
+    @Override
+    ProjectionKernel getProjectionKernel() {
+        return ProjectionKernel.CAR;
     }
 
     /**
@@ -100,14 +106,15 @@ public final class CAR extends AbstractCylindricalProjection{
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */    
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double x = FastMath.toDegrees(phi);
         final double y = FastMath.toDegrees(theta);
-        final double[] coord = {x, y};
-        return coord;
+        planePosition[offset] = x;
+        planePosition[offset + 1] = y;
     }
 
     @Override
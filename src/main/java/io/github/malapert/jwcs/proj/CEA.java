@@ -124,11 +124,12 @@ public class CEA extends AbstractCylindricalProjection {
      * 
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y)
      */     
     @Override
-    protected double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double phi = xr;
@@ -137,8 +138,23 @@ public class CEA extends AbstractCylindricalProjection {
         if(Double.isNaN(theta)) {
             throw new PixelBeyondProjectionException(this, x, y, true);
         }
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+    }
+
+    @Override
+    ProjectionKernel getProjectionKernel() {
+        return getClass() == CEA.class ? ProjectionKernel.CEA : null;
+    }
+
+    @Override
+    double getKernelParameter() {
+        return getLambda();
+    }
+
+    @Override
+    protected boolean isInsidePlane(final double x, final double y) {
+        return !Double.isNaN(NumericalUtility.aasin(getLambda() * FastMath.toRadians(y)));
     }
 
     /**
@@ -153,14 +169,15 @@ public class CEA extends AbstractCylindricalProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */    
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double x = FastMath.toDegrees(phi);
         final double y = FastMath.toDegrees(FastMath.sin(theta) / getLambda());
-        final double[] coord = {x, y};
-        return coord;
+        planePosition[offset] = x;
+        planePosition[offset + 1] = y;
     }
 
     /**
@@ -133,17 +133,18 @@ public class COD extends AbstractConicProjection {
      * 
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      */ 
     @Override
-    protected double[] project(final double x, final double y) {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);     
         final double r_theta = FastMath.signum(getThetaA()) * FastMath.sqrt(FastMath.pow(xr, 2) + FastMath.pow(getY0() - yr, 2));
         final double phi = computePhi(xr, yr, r_theta, getY0(), getC());
         final double theta = getThetaA() + getY0() - r_theta;
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     /**
@@ -160,15 +161,16 @@ public class COD extends AbstractConicProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */     
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double r_theta = getThetaA() + getY0() - theta;       
         final double x = computeX(phi, r_theta, getC());
         final double y = computeY(phi, r_theta, getC(), getY0());
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }
         
     /**
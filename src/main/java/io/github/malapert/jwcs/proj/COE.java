@@ -70,6 +70,16 @@ public class COE extends AbstractConicProjection {
      * <p>This constant is equal to 0.5*\u0263
      */
     private final double c;  
+
+    /**
+     * Constant equal to 1 + sin\u03B8<sub>1</sub> * sin\u03B8<sub>2</sub>.
+     */
+    private final double radiusTerm;
+
+    /**
+     * Constant equal to 1 / \u0263 + sin\u03B8<sub>1</sub> * sin\u03B8<sub>2</sub> / \u0263.
+     */
+    private final double latitudeTerm;
     
     /**
      * Constructs a COE projection based on the default celestial longitude and latitude
@@ -103,7 +113,9 @@ public class COE extends AbstractConicProjection {
         gamma = FastMath.sin(getTheta1()) + FastMath.sin(getTheta2());
         checkParameters(gamma);
         c = gamma * 0.5;       
-        y0 = FastMath.sqrt(1.0d + FastMath.sin(getTheta1()) * FastMath.sin(getTheta2()) - gamma * FastMath.sin((getTheta1()+getTheta2())*0.5)) / c;
+        radiusTerm = 1.0d + FastMath.sin(getTheta1()) * FastMath.sin(getTheta2());
+        latitudeTerm = 1.0d / gamma + FastMath.sin(getTheta1()) * FastMath.sin(getTheta2()) / gamma;
+        y0 = FastMath.sqrt(radiusTerm - gamma * FastMath.sin((getTheta1()+getTheta2())*0.5)) / c;
     }
     
     /**
@@ -130,22 +142,23 @@ public class COE extends AbstractConicProjection {
      * 
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y)
      */    
     @Override
-    protected double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);                              
         final double r_theta = FastMath.signum(getThetaA()) * FastMath.sqrt(FastMath.pow(xr, 2) + FastMath.pow(getY0() - yr, 2));
         final double phi = computePhi(xr, yr, r_theta, getY0(), getC());                   
-        final double w = 1.0d / getGamma() + FastMath.sin(getTheta1()) * FastMath.sin(getTheta2()) / getGamma() - getGamma() * FastMath.pow(r_theta * 0.5, 2);
+        final double w = this.latitudeTerm - getGamma() * FastMath.pow(r_theta * 0.5, 2);
         final double theta = NumericalUtility.aasin(w);
         if (Double.isNaN(theta)) {
             throw new PixelBeyondProjectionException(this, x, y, true);
         }        
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     /**
@@ -161,17 +174,22 @@ public class COE extends AbstractConicProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */  
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
-        LOG.log(Level.FINER, "INPUTS[Deg] (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(phi),FastMath.toDegrees(theta)});                                                                
-        final double r_theta = FastMath.sqrt(1.0d + FastMath.sin(getTheta1()) * FastMath.sin(getTheta2()) - getGamma() * FastMath.sin(theta)) / getC();      
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "INPUTS[Deg] (phi,theta)=({0},{1})", new Object[]{FastMath.toDegrees(phi),FastMath.toDegrees(theta)});
+        }
+        final double r_theta = FastMath.sqrt(this.radiusTerm - getGamma() * FastMath.sin(theta)) / getC();      
         final double x = computeX(phi, r_theta, getC());
         final double y = computeY(phi, r_theta, getC(), getY0());
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        LOG.log(Level.FINER, "OUTPUTS[Deg] (x,y)=({0},{1})", coord);                                                        
-        return coord;
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
+        if (LOG.isLoggable(Level.FINER)) {
+            LOG.log(Level.FINER, "OUTPUTS[Deg] (x,y)=({0},{1})", new Object[]{planePosition[offset], planePosition[offset + 1]});
+        }
     }
     
     @Override
@@ -58,6 +58,16 @@ public class COO extends AbstractConicProjection {
      * tan((HALF_PI - \u03B8<sub>2</sub>) * 0.5).
      */
     private final double tan2;
+
+    /**
+     * \u03C8 = cos\u03B8<sub>1</sub> / (c * tan1<sup>c</sup>).
+     */
+    private final double psi;
+
+    /**
+     * y0 = \u03C8 * tan<sup>c</sup>((HALF_PI - \u03B8<sub>a</sub>) * 0.5) in radians.
+     */
+    private final double y0;
     
     /**
      * Constructs a COO projection based on the default celestial longitude and latitude
@@ -93,6 +103,8 @@ public class COO extends AbstractConicProjection {
         this.tan1 = FastMath.tan((HALF_PI - this.getTheta1()) * 0.5);
         this.tan2 = FastMath.tan((HALF_PI - this.getTheta2()) * 0.5);
         this.c = computeC(this.tan1, this.tan2);
+        this.psi = NumericalUtility.equal(getTan1(), 0) ? FastMath.cos(getTheta2()) / (getC() * FastMath.pow(getTan2(), getC())) : FastMath.cos(getTheta1()) / (getC() * FastMath.pow(getTan1(), getC()));
+        this.y0 = this.psi * FastMath.pow(FastMath.tan((HALF_PI - getThetaA()) * 0.5), getC());
     }
 
     /**
@@ -115,30 +127,26 @@ public class COO extends AbstractConicProjection {
     }
 
     @Override
-    protected double[] project(final double x, final double y) {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
-        final double psi = NumericalUtility.equal(getTan1(), 0) ? FastMath.cos(getTheta2()) / (getC() * FastMath.pow(getTan2(), getC())) : FastMath.cos(getTheta1()) / (getC() * FastMath.pow(getTan1(), getC()));
-        final double y0 = psi * FastMath.pow(FastMath.tan((HALF_PI - getThetaA()) * 0.5), getC());
-        final double r_theta = FastMath.signum(getThetaA()) * FastMath.sqrt(FastMath.pow(xr, 2) + FastMath.pow(y0 - yr, 2));
-        final double phi = computePhi(xr, yr, r_theta, y0, getC());
-        final double theta = HALF_PI - 2 * FastMath.atan(FastMath.pow(r_theta / psi, 1.0 / getC()));
-        final double[] pos = {phi, theta};
-        return pos;
+        final double r_theta = FastMath.signum(getThetaA()) * FastMath.sqrt(FastMath.pow(xr, 2) + FastMath.pow(this.y0 - yr, 2));
+        final double phi = computePhi(xr, yr, r_theta, this.y0, getC());
+        final double theta = HALF_PI - 2 * FastMath.atan(FastMath.pow(r_theta / this.psi, 1.0 / getC()));
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     @Override
-    protected double[] projectInverse(final double phi, final double theta) throws BadProjectionParameterException {
-        final double psi = NumericalUtility.equal(getTan1(), 0) ? FastMath.cos(getTheta2()) / (getC() * FastMath.pow(getTan2(), getC())) : FastMath.cos(getTheta1()) / (getC() * FastMath.pow(getTan1(), getC()));
-        if (NumericalUtility.equal(psi, 0)) {
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws BadProjectionParameterException {
+        if (NumericalUtility.equal(this.psi, 0)) {
             throw new BadProjectionParameterException(this, "(theta_a, eta) = (" + getThetaA() + ", " + getEta() + ")");
         }
-        final double y0 = psi * FastMath.pow(FastMath.tan((HALF_PI - getThetaA()) * 0.5), getC());
-        final double r_theta = psi * FastMath.pow(FastMath.tan((HALF_PI - theta) * 0.5), getC());
+        final double r_theta = this.psi * FastMath.pow(FastMath.tan((HALF_PI - theta) * 0.5), getC());
         final double x = computeX(phi, r_theta, getC());
-        final double y = computeY(phi, r_theta, getC(), y0);
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;
+        final double y = computeY(phi, r_theta, getC(), this.y0);
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }
 
     @Override
@@ -49,6 +49,21 @@ public class COP extends AbstractConicProjection {
      * <p>This constant is defined as c=sin\u03B8<sub>a</sub>
      */
     private final double c;
+
+    /**
+     * cos\u03B7.
+     */
+    private final double cosEta;
+
+    /**
+     * 1 / tan\u03B8<sub>a</sub>.
+     */
+    private final double cotThetaA;
+
+    /**
+     * y0 = cos\u03B7 / tan\u03B8<sub>a</sub> in radians.
+     */
+    private final double y0;
     
     /**
      * Constructs a COP projection based on the default celestial longitude and latitude
@@ -87,6 +102,9 @@ public class COP extends AbstractConicProjection {
         LOG.log(Level.FINER, "INPUTS[Deg] (crval1,crval2,theta_a,eta)=({0},{1},{2},{3})", new Object[]{crval1, crval2, theta_a, eta});
         checkParameters(theta_a, eta);
         this.c = FastMath.sin(getThetaA());
+        this.cosEta = FastMath.cos(getEta());
+        this.cotThetaA = 1.0 / FastMath.tan(getThetaA());
+        this.y0 = this.cosEta / FastMath.tan(getThetaA());
     }
     
     /**
@@ -111,26 +129,23 @@ public class COP extends AbstractConicProjection {
     }    
 
     @Override
-    protected double[] project(final double x, final double y) throws BadProjectionParameterException {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws BadProjectionParameterException {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
-        final double d = FastMath.cos(getEta());
-        final double y0 = d / FastMath.tan(getThetaA());
         final double r_theta = FastMath.signum(getThetaA()) * FastMath.sqrt(FastMath.pow(xr, 2) + FastMath.pow(y0 - yr, 2));
         final double phi = computePhi(xr, yr, r_theta, y0, c);
-        final double theta = getThetaA() + FastMath.atan(1.0 / FastMath.tan(getThetaA()) - r_theta / FastMath.cos(getEta()));
-        final double[] pos = {phi, theta};
-        return pos;
+        final double theta = getThetaA() + FastMath.atan(this.cotThetaA - r_theta / this.cosEta);
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     @Override
-    protected double[] projectInverse(final double phi, final double theta) throws BadProjectionParameterException {
-        final double y0 = FastMath.cos(getEta()) / FastMath.tan(getThetaA());
-        final double r_theta = y0 - FastMath.cos(getEta()) * FastMath.tan(theta - getThetaA());
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws BadProjectionParameterException {
+        final double r_theta = y0 - this.cosEta * FastMath.tan(theta - getThetaA());
         final double x = computeX(phi, r_theta, c);
         final double y = computeY(phi, r_theta, c, y0);
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }
 
     @Override
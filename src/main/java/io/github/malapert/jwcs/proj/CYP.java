@@ -67,6 +67,10 @@ public class CYP extends AbstractCylindricalProjection {
      * \u03BB: radius of the cylinder in spherical radii.
      */
     private double lambda;
+    /**
+     * \u03BC + \u03BB, computed when the parameters are set.
+     */
+    private double muPlusLambda;
 
    /**
      * Constructs a CYP projection based on the default celestial longitude and latitude
@@ -115,6 +119,7 @@ public class CYP extends AbstractCylindricalProjection {
         super(crval1, crval2);
         this.mu = mu;
         this.lambda = lambda;
+        computeConstants();
         LOG.log(Level.FINER, "INPUTS[Deg] (crval1,crval2,mu,lambda)=({0},{1},{2},{3})", new Object[]{crval1, crval2, mu, lambda});        
         checkParameters(mu, lambda);
     }
@@ -136,27 +141,60 @@ public class CYP extends AbstractCylindricalProjection {
         }              
     }    
 
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
+     * coordinates (x, y).
+     *
+     * @param x projection plane coordinate along X
+     * @param y projection plane coordinate along Y
+     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @see #project(double, double, double[], int)
+     */
     @Override
     public double[] project(final double x, final double y) {
+        final double[] pos = new double[2];
+        project(x, y, pos, 0);
+        return pos;
+    }
+
+    @Override
+    public void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double phi = xr / getLambda();        
-        final double eta = yr / (getMu() + getLambda());
+        final double eta = yr / this.muPlusLambda;
         final double theta = NumericalUtility.aatan2(eta, 1) + NumericalUtility.aasin(getMu() * eta / FastMath.sqrt(FastMath.pow(eta, 2) + 1));       
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
+    /**
+     * Computes the projection plane coordinates (x, y) from the native spherical
+     * coordinates (\u03D5, \u03B8).
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @return the projection plane coordinates
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (\u03D5, \u03B8)
+     * @see #projectInverse(double, double, double[], int)
+     */
     @Override
     public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {
+        final double[] coord = new double[2];
+        projectInverse(phi, theta, coord, 0);
+        return coord;
+    }
+
+    @Override
+    public void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws PixelBeyondProjectionException {
         final double x = getLambda() * phi;
         final double ctheta = FastMath.cos(theta);
         if(NumericalUtility.equal(getMu(), -ctheta)) {
             throw new PixelBeyondProjectionException(this, FastMath.toDegrees(phi), FastMath.toDegrees(theta), false);
         }
-        final double y = (getMu()+getLambda())/(getMu() + ctheta) * FastMath.sin(theta);
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;
+        final double y = this.muPlusLambda / (getMu() + ctheta) * FastMath.sin(theta);
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }
 
     /**
@@ -220,6 +258,12 @@ public class CYP extends AbstractCylindricalProjection {
         checkParameters(mu, lambda);
         setMu(mu);
         setLambda(lambda);
+        computeConstants();
+    }
+
+    @Override
+    protected void computeConstants() {
+        this.muPlusLambda = getMu() + getLambda();
     }
 
 }
@@ -0,0 +1,170 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.proj;
+
+import io.github.malapert.jwcs.utility.FastTrigonometry;
+import io.github.malapert.jwcs.utility.PrecisionPolicy;
+import static io.github.malapert.jwcs.utility.NumericalUtility.HALF_PI;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Closed-form projections computed with {@link FastTrigonometry}, for
+ * {@link PrecisionPolicy#FAST}.
+ *
+ * <p>The formulae are the ones of the method <code>project</code> of each
+ * projection. As in {@link VectorKernels}, the special cases of the formulae
+ * (\u03D5 undefined at the center of a zenithal projection, arguments of asin
+ * or acos close to 1, positions close to the boundary of the projection,
+ * ...) are not computed here: the position is left to the exact method
+ * <code>project</code>, which gives the same result and the same exception.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+final class FastKernels {
+
+    /**
+     * Margin around the special cases of the formulae, larger than the
+     * tolerance of {@link io.github.malapert.jwcs.utility.NumericalUtility#equal(double, double)}.
+     */
+    private static final double MARGIN = 1e-10;
+
+    /**
+     * Utility class.
+     */
+    private FastKernels() {
+    }
+
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the
+     * projection plane coordinates (x, y).
+     *
+     * @param kernel projection
+     * @param parameter parameter of the projection, see {@link ProjectionKernel}
+     * @param x projection plane coordinate along X in degrees
+     * @param y projection plane coordinate along Y in degrees
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
+     * @return false when the position is a special case that must be computed
+     * by the projection
+     */
+    static boolean project(final ProjectionKernel kernel, final double parameter, final double x, final double y, final double[] nativeSpherical, final int offset) {
+        final double xr = FastMath.toRadians(x);
+        final double yr = FastMath.toRadians(y);
+        final double phi;
+        final double theta;
+        switch (kernel) {
+            case TAN:
+            case SIN:
+            case ARC:
+            case ZEA:
+            case STG:
+                final double radius = FastMath.sqrt(xr * xr + yr * yr);
+                if (radius < MARGIN) {
+                    return false;
+                }
+                phi = FastTrigonometry.atan2(xr, -yr);
+                theta = computeZenithalTheta(kernel, radius);
+                break;
+            case CAR:
+                phi = xr;
+                theta = yr;
+                break;
+            case CEA:
+                final double arg = parameter * yr;
+                if (FastMath.abs(arg) > 1 - MARGIN) {
+                    return false;
+                }
+                phi = xr;
+                theta = FastTrigonometry.asin(arg);
+                break;
+            case MER:
+                phi = xr;
+                theta = 2 * FastTrigonometry.atan(FastMath.exp(yr)) - HALF_PI;
+                break;
+            case SFL:
+                final double cosTheta = FastTrigonometry.cos(yr);
+                if (FastMath.abs(cosTheta) < MARGIN) {
+                    return false;
+                }
+                phi = xr / cosTheta;
+                theta = yr;
+                break;
+            case PAR:
+                final double ratio = yr / FastMath.PI;
+                if (FastMath.abs(ratio) > 1 - MARGIN) {
+                    return false;
+                }
+                phi = xr / (1 - 4 * ratio * ratio);
+                theta = 3 * FastTrigonometry.asin(ratio);
+                break;
+            default:
+                final double zSquare = 1 - xr * xr / 16 - yr * yr / 4;
+                if (zSquare < MARGIN) {
+                    return false;
+                }
+                final double z = FastMath.sqrt(zSquare);
+                final double numerator = z * xr / 2;
+                final double denominator = 2 * z * z - 1;
+                final double sinTheta = yr * z;
+                if (FastMath.abs(numerator) < MARGIN && FastMath.abs(denominator) < MARGIN || FastMath.abs(sinTheta) > 1 - MARGIN) {
+                    return false;
+                }
+                phi = 2 * FastTrigonometry.atan2(numerator, denominator);
+                theta = FastTrigonometry.asin(sinTheta);
+                break;
+        }
+        if (Double.isNaN(theta)) {
+            return false;
+        }
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+        return true;
+    }
+
+    /**
+     * Computes the native latitude of a zenithal projection from the radius.
+     *
+     * @param kernel TAN, SIN, ARC, ZEA or STG
+     * @param radius radius in radians, not close to 0
+     * @return \u03B8 in radians, NaN for a special case
+     */
+    private static double computeZenithalTheta(final ProjectionKernel kernel, final double radius) {
+        final double theta;
+        switch (kernel) {
+            case TAN:
+                theta = FastTrigonometry.atan2(1, radius);
+                break;
+            case SIN:
+                theta = radius > 1 - MARGIN ? Double.NaN : FastTrigonometry.acos(radius);
+                break;
+            case ARC:
+                theta = HALF_PI - radius;
+                break;
+            case ZEA:
+                theta = radius * 0.5 > 1 - MARGIN ? Double.NaN : HALF_PI - 2 * FastTrigonometry.asin(radius * 0.5);
+                break;
+            default:
+                theta = HALF_PI - 2 * FastTrigonometry.atan(radius * 0.5);
+                break;
+        }
+        return theta;
+    }
+}
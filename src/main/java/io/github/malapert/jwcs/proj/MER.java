@@ -74,17 +74,22 @@ public class MER extends AbstractCylindricalProjection {
     }
 
     @Override
-    protected double[] project(final double x, final double y) {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double phi = xr;
         final double theta = 2*FastMath.atan(FastMath.exp(yr)) - HALF_PI;
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     @Override
-    protected double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException  {
+    ProjectionKernel getProjectionKernel() {
+        return getClass() == MER.class ? ProjectionKernel.MER : null;
+    }
+
+    @Override
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws PixelBeyondProjectionException  {
         final double x = phi;
         if (NumericalUtility.equal(FastMath.abs(theta), HALF_PI)) {
             throw new PixelBeyondProjectionException(this, FastMath.toDegrees(phi), FastMath.toDegrees(theta), false);            
@@ -98,8 +103,8 @@ public class MER extends AbstractCylindricalProjection {
             throw new PixelBeyondProjectionException(this, FastMath.toDegrees(phi), FastMath.toDegrees(theta), false);     
         }
         final double y = FastMath.log(d);
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;        
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);        
     }
 
     @Override
@@ -53,16 +53,22 @@ public class MOL extends AbstractCylindricalProjection {
      */
     public final static int DEFAULT_MAX_ITER = 1000;
 
+    /**
+     * Tolerance on s = 2 - y<sup>2</sup> at the poles.
+     */
+    private final static double TOLERANCE = 1.0e-12;
+
     /**
      * Maximum iteration for the iterative solution.
      */
     private int maxIter;
-    
+
     /**
-     * GammaFunction function to solve.
+     * Last solution of {@link MOL#computeGamma(double) } in the current
+     * thread, used as first guess for the next point.
      */
-    private final GammaFunction gammaFunction;
-
+    private final ThreadLocal<double[]> lastSolution = ThreadLocal.withInitial(() -> new double[1]);
+    
     /**
      * Constructs a MOL projection based on the default celestial longitude and latitude
      * of the fiducial point (\u03B1<sub>0</sub>, \u03B4<sub>0</sub>).
@@ -84,19 +90,18 @@ public class MOL extends AbstractCylindricalProjection {
         super(crval1, crval2);
         LOG.log(Level.FINER, "INPUTS[Deg] (crval1,crval2)=({0},{1})", new Object[]{crval1, crval2});
         setMaxIter(DEFAULT_MAX_ITER);
-        this.gammaFunction = new GammaFunction();
     }
 
     @Override
-    protected double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);        
         final double[] phis = computePhiAndS(xr, yr);
         final double phi = phis[0];
         final double s = phis[1];
         final double theta = computeTheta(xr, yr, s);
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     /**
@@ -142,15 +147,14 @@ public class MOL extends AbstractCylindricalProjection {
      * @throws PixelBeyondProjectionException Solution not defined
      */
     private double[] computePhiAndS(final double xr, final double yr) throws PixelBeyondProjectionException {
-        final double tol = 1.0e-12;        
         double s = 2 - FastMath.pow(yr, 2);
         final double phi;
-        if (s <= tol) {
-            if (s < -tol) {
+        if (s <= TOLERANCE) {
+            if (s < -TOLERANCE) {
                 throw new PixelBeyondProjectionException(this, FastMath.toDegrees(xr), FastMath.toDegrees(yr), true);
             }
             s = 0.0;
-            if (FastMath.abs(xr) > tol) {
+            if (FastMath.abs(xr) > TOLERANCE) {
                 throw new PixelBeyondProjectionException(this, FastMath.toDegrees(xr), FastMath.toDegrees(yr), true);
             }
             phi = 0;
@@ -162,12 +166,28 @@ public class MOL extends AbstractCylindricalProjection {
     }
 
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    protected boolean isInsidePlane(final double x, final double y) {
+        final double xr = FastMath.toRadians(x);
+        final double yr = FastMath.toRadians(y);
+        final double s = 2 - FastMath.pow(yr, 2);
+        final boolean result;
+        if (s < -TOLERANCE) {
+            result = false;
+        } else if (s <= TOLERANCE) {
+            result = FastMath.abs(xr) <= TOLERANCE;
+        } else {
+            result = true;
+        }
+        return result;
+    }
+
+    @Override
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double gamma = computeGamma(theta);
         final double x = FastMath.toDegrees((FastMath.sqrt(2.0d) / HALF_PI) * phi * FastMath.cos(gamma));
         final double y = FastMath.toDegrees(FastMath.sqrt(2.0d) * FastMath.sin(gamma));
-        final double[] coord = {x, y};
-        return coord;
+        planePosition[offset] = x;
+        planePosition[offset + 1] = y;
     }
 
     /**
@@ -176,14 +196,20 @@ public class MOL extends AbstractCylindricalProjection {
      * <p>Solves <code>v - PI*sin(theta) + sin(v) = 0</code><br>
      * with <code>gamma = 0.5 * v</code>
      *
+     * <p>The solution is computed by the Newton algorithm starting from the
+     * solution of the previous point in the same thread, so that successive
+     * points of a raster converge in a few iterations.
+     *
      * @param theta the native spherical coordinate (\u03B8) in radians along
      * latitude
      * @return gamma
      * @see GammaFunction
      */
     private double computeGamma(final double theta) {
-        this.gammaFunction.setTheta(theta);
-        return NumericalUtility.computeFunctionSolution(this.getMaxIter(), this.gammaFunction, -FastMath.PI, FastMath.PI) * 0.5;
+        final GammaFunction gammaFunction = new GammaFunction(theta);
+        final double[] solution = this.lastSolution.get();
+        solution[0] = NumericalUtility.computeNewtonSolution(this.getMaxIter(), gammaFunction, -FastMath.PI, FastMath.PI, solution[0]);
+        return solution[0] * 0.5;
     }
 
     /**
@@ -69,7 +69,7 @@ public class PAR extends AbstractCylindricalProjection {
     }
 
     @Override
-    protected double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double theta = 3 * NumericalUtility.aasin(yr / FastMath.PI);
@@ -77,16 +77,26 @@ public class PAR extends AbstractCylindricalProjection {
             throw new PixelBeyondProjectionException(this, x, y, true);
         }
         final double phi = xr / (1 - 4 * FastMath.pow(yr / FastMath.PI, 2));
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    ProjectionKernel getProjectionKernel() {
+        return getClass() == PAR.class ? ProjectionKernel.PAR : null;
+    }
+
+    @Override
+    protected boolean isInsidePlane(final double x, final double y) {
+        return !Double.isNaN(NumericalUtility.aasin(FastMath.toRadians(y) / FastMath.PI));
+    }
+
+    @Override
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double y = FastMath.toDegrees(FastMath.PI * FastMath.sin(theta / 3d));
         final double x = FastMath.toDegrees(phi * (2d * FastMath.cos(theta / 1.5d) - 1d));
-        final double[] coord = {x, y};
-        return coord;
+        planePosition[offset] = x;
+        planePosition[offset + 1] = y;
     }
 
     @Override
@@ -62,9 +62,10 @@ public class PCO extends AbstractPolyConicProjection {
     private int maxIter;
 
     /**
-     * Function to solve theta.
+     * Last solution of {@link PCO#computeIterativeSolution(double, double) }
+     * in the current thread, used as first guess for the next point.
      */
-    private final PcoFunction pcoFunction;
+    private final ThreadLocal<double[]> lastSolution = ThreadLocal.withInitial(() -> new double[1]);
 
     /**
      * Constructs a PCO projection based on the default celestial longitude and latitude
@@ -87,7 +88,6 @@ public class PCO extends AbstractPolyConicProjection {
         super(crval1, crval2, 45);
         LOG.log(Level.FINER, "INPUTS[Deg] (crval1,crval2)=({0},{1},45)", new Object[]{crval1, crval2});
         setMaxIter(DEFAULT_MAX_ITER);
-        this.pcoFunction = new PcoFunction();
     }
 
 
@@ -110,7 +110,7 @@ public class PCO extends AbstractPolyConicProjection {
     }
 
     @Override
-    protected double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double phi;
@@ -127,12 +127,12 @@ public class PCO extends AbstractPolyConicProjection {
             theta = position[1];
         }
 
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double costhe = FastMath.cos(theta);
         final double sinthe = FastMath.sin(theta);
         final double a = phi * sinthe;
@@ -146,13 +146,17 @@ public class PCO extends AbstractPolyConicProjection {
             x = cotthe * FastMath.sin(a);
             y = cotthe * (1.0 - FastMath.cos(a)) + theta;
         }
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }
     
     /**
-     * Computes the iterative solution of the {@link PcoFunction}  using 
-     * bisection algorithm.
+     * Computes the iterative solution of the {@link PcoFunction} using the
+     * Newton algorithm.
+     * 
+     * <p>The search starts from the solution of the previous point in the
+     * same thread, so that successive points of a raster converge in a few
+     * iterations.
      * 
      * @param xr projection plane coordinate along X in radians
      * @param yr projection plane coordinate along Y in radians
@@ -167,10 +171,13 @@ public class PCO extends AbstractPolyConicProjection {
             max = HALF_PI;
         } else {
             min = -HALF_PI;
-            max = 0;
+            // -0.0 gives cot(max) = -infinity, the limit of cot from below
+            max = -0.0;
         }
-        this.pcoFunction.set(xr, yr);
-        final double theta = NumericalUtility.computeFunctionSolution(getMaxIter(), pcoFunction, min, max);  
+        final PcoFunction pcoFunction = new PcoFunction(xr, yr);
+        final double[] solution = this.lastSolution.get();
+        final double theta = NumericalUtility.computeNewtonSolution(getMaxIter(), pcoFunction, min, max, solution[0]);
+        solution[0] = theta;
         final double tanthe = FastMath.tan(theta);
         final double xp = 1 - (yr - theta) * tanthe;
         final double yp = xr * tanthe;
@@ -0,0 +1,79 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.proj;
+
+/**
+ * Closed-form projection plane to native spherical transformation of a
+ * projection that can be computed by {@link VectorKernels}.
+ *
+ * <p>A projection returns its kernel by
+ * {@link AbstractProjection#getProjectionKernel()}. The kernel computes
+ * (\u03D5, \u03B8) in radians from (x, y) in degrees with the same formulae
+ * as the method <code>project</code> of the projection.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+enum ProjectionKernel {
+    /**
+     * Gnomonic, see {@link TAN}.
+     */
+    TAN,
+    /**
+     * Orthographic without (\u03BE, \u03B7), see {@link SIN}.
+     */
+    SIN,
+    /**
+     * Zenithal equidistant, see {@link ARC}.
+     */
+    ARC,
+    /**
+     * Zenithal equal-area, see {@link ZEA}.
+     */
+    ZEA,
+    /**
+     * Stereographic, see {@link STG}.
+     */
+    STG,
+    /**
+     * Plate carrée, see {@link CAR}.
+     */
+    CAR,
+    /**
+     * Cylindrical equal area, the parameter is \u03BB, see {@link CEA}.
+     */
+    CEA,
+    /**
+     * Mercator, see {@link MER}.
+     */
+    MER,
+    /**
+     * Sanson-Flamsteed, see {@link SFL}.
+     */
+    SFL,
+    /**
+     * Parabolic, see {@link PAR}.
+     */
+    PAR,
+    /**
+     * Hammer-Aitoff, see {@link AIT}.
+     */
+    AIT
+}
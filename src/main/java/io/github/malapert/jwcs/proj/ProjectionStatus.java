@@ -0,0 +1,111 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.proj;
+
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+
+/**
+ * Status of a position transformed in the batch mode.
+ *
+ * <p>In the batch mode, an invalid position does not throw an exception: its
+ * output is set to NaN and the reason is given by a status. The status is
+ * stored as a byte, given by {@link ProjectionStatus#getCode()}.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public enum ProjectionStatus {
+    /**
+     * The position is valid.
+     */
+    OK((byte) 0, "valid position"),
+    /**
+     * The position of the projection plane has no solution in the projection.
+     */
+    BEYOND_PROJECTION((byte) 1, "position of the projection plane beyond the projection"),
+    /**
+     * The sky position cannot be seen in the projection (beyond the limb or
+     * at a singularity).
+     */
+    NOT_VISIBLE((byte) 2, "sky position not visible in the projection"),
+    /**
+     * The longitude or the latitude is out of range.
+     */
+    INVALID_COORDINATES((byte) 3, "longitude or latitude out of range"),
+    /**
+     * Any other error raised by the projection.
+     */
+    PROJECTION_ERROR((byte) 4, "projection error");
+
+    /**
+     * Code of the status.
+     */
+    private final byte code;
+
+    /**
+     * Description of the status.
+     */
+    private final String description;
+
+    /**
+     * Constructor.
+     *
+     * @param code code of the status
+     * @param description description of the status
+     */
+    ProjectionStatus(final byte code, final String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * Returns the code of the status.
+     *
+     * @return the code
+     */
+    public byte getCode() {
+        return this.code;
+    }
+
+    /**
+     * Returns the description of the status.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Returns the status from its code.
+     *
+     * @param code code of the status
+     * @return the status
+     * @throws JWcsError unknown code
+     */
+    public static ProjectionStatus valueOf(final byte code) {
+        for (final ProjectionStatus status : ProjectionStatus.values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new JWcsError("Unknown projection status: " + code);
+    }
+}
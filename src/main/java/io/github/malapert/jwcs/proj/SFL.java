@@ -68,7 +68,7 @@ public class SFL extends AbstractCylindricalProjection {
     }
 
     @Override
-    protected double[] project(final double x, final double y) {        
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) {        
         final double theta = FastMath.toRadians(y);
         final double cosTheta = FastMath.cos(theta);
         final double phi;
@@ -77,16 +77,21 @@ public class SFL extends AbstractCylindricalProjection {
         } else {
             phi = FastMath.toRadians(x) / FastMath.cos(theta);
         }
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
     }
 
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    ProjectionKernel getProjectionKernel() {
+        return getClass() == SFL.class ? ProjectionKernel.SFL : null;
+    }
+
+    @Override
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double x = FastMath.toDegrees(phi * FastMath.cos(theta));
         final double y = FastMath.toDegrees(theta);
-        final double[] coord = {x, y};
-        return coord;        
+        planePosition[offset] = x;
+        planePosition[offset + 1] = y;        
     }
 
     @Override
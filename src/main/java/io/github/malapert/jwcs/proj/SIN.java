@@ -63,6 +63,18 @@ public class SIN extends AbstractZenithalProjection {
      */
     private double eta;
 
+    /**
+     * True when \u03BE = \u03B7 = {@link SIN#DEFAULT_VALUE}, computed when
+     * the parameters are set.
+     */
+    private boolean orthographic;
+
+    /**
+     * \u03BE<sup>2</sup> + \u03B7<sup>2</sup> + 1, computed when the
+     * parameters are set.
+     */
+    private double quadraticTerm;
+
    /**
      * Constructs a SIN projection based on the default celestial longitude and latitude
      * of the fiducial point (\u03B1<sub>0</sub>, \u03B4<sub>0</sub>) with default \u03BE,\u03B7 
@@ -104,15 +116,34 @@ public class SIN extends AbstractZenithalProjection {
         LOG.log(Level.FINER, "INPUTS[Deg] (crval1,crval2,ksi,eta)=({0},{1},{2},{3})", new Object[]{crval1,crval2,ksi,eta});                                                
         this.ksi = ksi;
         this.eta = eta;
+        computeConstants();
     }
 
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
+     * coordinates (x, y).
+     *
+     * @param x projection plane coordinate along X
+     * @param y projection plane coordinate along Y
+     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @throws io.github.malapert.jwcs.proj.exception.BadProjectionParameterException the projection parameters are not valid
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y)
+     * @see #project(double, double, double[], int)
+     */
     @Override
     public double[] project(final double x, final double y) throws BadProjectionParameterException, PixelBeyondProjectionException {
+        final double[] pos = new double[2];
+        project(x, y, pos, 0);
+        return pos;
+    }
+
+    @Override
+    public void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws BadProjectionParameterException, PixelBeyondProjectionException {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double phi;
         final double theta;
-        if (NumericalUtility.equal(getKsi(), DEFAULT_VALUE) && NumericalUtility.equal(getEta(), DEFAULT_VALUE)) {
+        if (this.orthographic) {
             final double r_theta = computeRadius(xr, yr);
             phi = computePhi(xr, yr, r_theta);
             
@@ -123,9 +154,12 @@ public class SIN extends AbstractZenithalProjection {
             theta = NumericalUtility.aacos(r_theta);
             
         } else {
-            final double[] coeffFromReducedDiscrimant = computeCoeffOfReducedDiscrimant(xr, yr);
+            // coefficients of the reduced discriminant
+            final double a = this.quadraticTerm;
+            final double b = (getKsi() * (xr - getKsi()) + getEta() * (yr - getEta())) * 2;
+            final double c = (xr - getKsi()) * (xr - getKsi()) + (yr - getEta()) * (yr - getEta()) - 1;
             try {
-                theta = NumericalUtility.computeQuatraticSolution(coeffFromReducedDiscrimant);
+                theta = NumericalUtility.computeQuadraticSolution(a, b, c);
             } catch (MathematicalSolutionException ex) {
                 throw new PixelBeyondProjectionException(this, x, y, ex.getMessage(), true);
             }
@@ -133,43 +167,66 @@ public class SIN extends AbstractZenithalProjection {
             phi = NumericalUtility.aatan2(xr - getKsi() * (1 - FastMath.sin(theta)), -(yr - eta * (1 - FastMath.sin(theta))));
         }
 
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+    }
+
+    @Override
+    ProjectionKernel getProjectionKernel() {
+        final boolean hasKernel = getClass() == SIN.class && this.orthographic;
+        return hasKernel ? ProjectionKernel.SIN : null;
     }
     
+    @Override
+    protected boolean isInsidePlane(final double x, final double y) {
+        final boolean result;
+        if (this.orthographic) {
+            final double r_theta = computeRadius(FastMath.toRadians(x), FastMath.toRadians(y));
+            result = NumericalUtility.isInInterval(r_theta, 0, true, 1, false);
+        } else {
+            result = true;
+        }
+        return result;
+    }
+
     /**
      * Computes if theta is beyond the limb.
      * @param phi phi phi
      * @param theta theta     
      * @return false when theta is beyond the limb
      */
-    private boolean isVisible(final double phi, final double theta) {
+    @Override
+    protected boolean isVisible(final double phi, final double theta) {
         final double thetax = -FastMath.atan(ksi*FastMath.sin(phi)-eta*FastMath.cos(phi));
         return theta > thetax;
     }    
     
     /**
-     * Computes the coefficients of the reduced discriminant.
-     * @param xr projection plane coordinate along X in radians
-     * @param yr projection plane coordinate along Y in radians
-     * @return the coefficients of the reduced discrimant as (c,b,a)
+     * Computes the projection plane coordinates (x, y) from the native spherical
+     * coordinates (\u03D5, \u03B8).
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @return the projection plane coordinates
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (\u03D5, \u03B8)
+     * @see #projectInverse(double, double, double[], int)
      */
-    private double[] computeCoeffOfReducedDiscrimant(final double xr, final double yr) {
-        final double a = FastMath.pow(getKsi(), 2) + FastMath.pow(getEta(), 2) + 1;
-        final double b = (getKsi() * (xr - getKsi()) + getEta() * (yr - getEta())) * 2;
-        final double c = FastMath.pow(xr - getKsi(),2) + FastMath.pow(yr - getEta(),2) - 1;
-        return new double[]{c,b,a};
+    @Override
+    public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {
+        final double[] coord = new double[2];
+        projectInverse(phi, theta, coord, 0);
+        return coord;
     }
 
     @Override
-    public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {
+    public void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws PixelBeyondProjectionException {
         if (!isVisible(phi, theta)) {
             throw new PixelBeyondProjectionException(this, FastMath.toDegrees(phi), FastMath.toDegrees(theta), false);
         }
         final double x = FastMath.cos(theta) * FastMath.sin(phi) + getKsi() * (1 - FastMath.sin(theta));
         final double y = -FastMath.cos(theta) * FastMath.cos(phi) + getEta() * (1 - FastMath.sin(theta));
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }
     
     @Override
@@ -211,6 +268,7 @@ public class SIN extends AbstractZenithalProjection {
      */
     public void setKsi(final double ksi) {
         this.ksi = ksi;
+        computeConstants();
     }
 
     /**
@@ -227,5 +285,12 @@ public class SIN extends AbstractZenithalProjection {
      */
     public void setEta(final double eta) {
         this.eta = eta;
-    }        
+        computeConstants();
+    }
+
+    @Override
+    protected void computeConstants() {
+        this.orthographic = NumericalUtility.equal(getKsi(), DEFAULT_VALUE) && NumericalUtility.equal(getEta(), DEFAULT_VALUE);
+        this.quadraticTerm = getKsi() * getKsi() + getEta() * getEta() + 1;
+    }
 }
@@ -73,6 +73,22 @@ public class STG extends AbstractZenithalProjection {
         LOG.log(Level.FINER, "INPUTS[Deg] (crval1,crval2)=({0},{1})", new Object[]{crval1,crval2});                                        
     }
 
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
+     * coordinates (x, y).
+     *
+     * @param x projection plane coordinate along X
+     * @param y projection plane coordinate along Y
+     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @see #project(double, double, double[], int)
+     */
+    @Override
+    public double[] project(final double x, final double y) {
+        final double[] pos = new double[2];
+        project(x, y, pos, 0);
+        return pos;
+    }
+
     /**
      * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
      * coordinates (x, y).
@@ -86,17 +102,39 @@ public class STG extends AbstractZenithalProjection {
      * 
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians     
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      */        
     @Override
-    public double[] project(final double x, final double y) {
+    public void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double r_theta = computeRadius(xr, yr);
         final double phi = computePhi(x, y, r_theta);        
         final double theta = HALF_PI - 2 * FastMath.atan(r_theta * 0.5);       
-        final double[] pos = {phi, theta};
-        return pos;       
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;       
+    }
+
+    @Override
+    ProjectionKernel getProjectionKernel() {
+        return getClass() == STG.class ? ProjectionKernel.STG : null;
+    }
+
+    /**
+     * Computes the projection plane coordinates (x, y) from the native spherical
+     * coordinates (\u03D5, \u03B8).
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @return the projection plane coordinates
+     * @see #projectInverse(double, double, double[], int)
+     */
+    @Override
+    public double[] projectInverse(final double phi, final double theta) {
+        final double[] coord = new double[2];
+        projectInverse(phi, theta, coord, 0);
+        return coord;
     }
 
     /**
@@ -112,15 +150,16 @@ public class STG extends AbstractZenithalProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */     
     @Override
-    public double[] projectInverse(final double phi, final double theta) {
+    public void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double r = 2 * FastMath.tan((HALF_PI-theta)*0.5d);
         final double x = computeX(r, phi);
         final double y = computeY(r, phi);
-        final double[] pos = {FastMath.toDegrees(x),FastMath.toDegrees(y)};
-        return pos;
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }   
     
     @Override
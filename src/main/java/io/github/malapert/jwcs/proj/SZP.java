@@ -79,6 +79,23 @@ public class SZP extends AbstractZenithalProjection {
      */
     private double zp;
 
+    /**
+     * Native latitude in radians below which the points are hidden,
+     * asin(1 - zp), or NaN when there is no limit.
+     */
+    private double thetaLimit;
+
+    /**
+     * \u03C1 = \u03BC sin\u03B8<sub>c</sub>.
+     */
+    private double rho;
+
+    /**
+     * -\u03BC cos\u03B8<sub>c</sub>, so that \u03C3 is this value
+     * times cos(\u03D5 - \u03D5<sub>c</sub>).
+     */
+    private double sigmaScale;
+
     /**
      * Default value for \u03BC.
      */
@@ -143,17 +160,21 @@ public class SZP extends AbstractZenithalProjection {
         this.mu = mu;
         this.thetac = FastMath.toRadians(thetac);
         this.phic = FastMath.toRadians(phic);
-        init();
+        computeConstants();
         checkParameters(this.mu, this.phic, this.thetac);        
     }
     
     /**
-     * Init xp,yp,zp.
+     * Computes xp, yp, zp and the terms of the visibility constraints.
      */
-    private void init() {
+    @Override
+    protected void computeConstants() {
         this.xp = -this.mu * FastMath.cos(this.thetac) * FastMath.sin(this.phic);
         this.yp = this.mu * FastMath.cos(this.thetac) * FastMath.cos(this.phic);
-        this.zp = this.mu * FastMath.sin(this.thetac) + 1;          
+        this.zp = this.mu * FastMath.sin(this.thetac) + 1;
+        this.thetaLimit = NumericalUtility.aasin(1 - this.zp);
+        this.rho = this.mu * FastMath.sin(this.thetac);
+        this.sigmaScale = -this.mu * FastMath.cos(this.thetac);
     }
 
     /**
@@ -174,23 +195,41 @@ public class SZP extends AbstractZenithalProjection {
         }
     }
 
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
+     * coordinates (x, y).
+     *
+     * @param x projection plane coordinate along X
+     * @param y projection plane coordinate along Y
+     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y)
+     * @see #project(double, double, double[], int)
+     */
+    @Override
+    public double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+        final double[] pos = new double[2];
+        project(x, y, pos, 0);
+        return pos;
+    }
+
     /**
      * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
      * coordinates (x, y).
      * 
      * <p>The algorithm to make this projection is the following:
      * <ul>
-     * <li>computes \u03B8 : {@link NumericalUtility#computeQuatraticSolution(double[]) }</li>
+     * <li>computes \u03B8 : {@link NumericalUtility#computeQuadraticSolution(double, double, double) }</li>
      * <li>computes \u03D5 : {@link AbstractZenithalProjection#computePhi(double, double, double) }</li>      
      * </ul>
      * 
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians     
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No mathematical solution found   
      */      
     @Override
-    public double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+    public void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);        
         final double X = xr;
@@ -202,13 +241,30 @@ public class SZP extends AbstractZenithalProjection {
         final double c = (X - X1) * (X - X1) + (Y - Y1) * (Y - Y1) - 1;
         final double theta;
         try {
-            theta = NumericalUtility.computeQuatraticSolution(new double[]{c,b,a});
+            theta = NumericalUtility.computeQuadraticSolution(a, b, c);
         } catch (MathematicalSolutionException ex) {
             throw new PixelBeyondProjectionException(this, x, y, ex.getMessage(), true);
         }
         final double phi = computePhi(X - X1 * (1 - FastMath.sin(theta)), Y - Y1 * (1 - FastMath.sin(theta)), 1);
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+    }
+
+    /**
+     * Computes the projection plane coordinates (x, y) from the native spherical
+     * coordinates (\u03D5, \u03B8).
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @return the projection plane coordinates
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (\u03D5, \u03B8)
+     * @see #projectInverse(double, double, double[], int)
+     */
+    @Override
+    public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {
+        final double[] coord = new double[2];
+        projectInverse(phi, theta, coord, 0);
+        return coord;
     }
 
     /**
@@ -224,21 +280,27 @@ public class SZP extends AbstractZenithalProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (\u03D5, \u03B8)
      */     
     @Override
-    public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {
+    public void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws PixelBeyondProjectionException {
         final double denom = zp - (1 - FastMath.sin(theta));        
         if (!isVisible(phi, theta, denom)) {
             throw new PixelBeyondProjectionException(this, FastMath.toDegrees(phi), FastMath.toDegrees(theta), false);            
         }
         final double x = (zp * FastMath.cos(theta) * FastMath.sin(phi) - xp * (1 - FastMath.sin(theta)))/denom;
         final double y = -(zp * FastMath.cos(theta) * FastMath.cos(phi) + yp * (1 - FastMath.sin(theta)))/denom;
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }  
     
+    @Override
+    protected boolean isVisible(final double phi, final double theta) {
+        return isVisible(phi, theta, zp - (1 - FastMath.sin(theta)));
+    }
+
     /**
      * Computes if theta is beyond the limb.
      * @param phi phi phi
@@ -271,11 +333,10 @@ public class SZP extends AbstractZenithalProjection {
      * @return true when it is visible
      */    
     private boolean secondConstraintVisibility(final double theta) {
-        final double thetaLimit = NumericalUtility.aasin(1 - this.zp);
-        if (Double.isNaN(thetaLimit)) {
+        if (Double.isNaN(this.thetaLimit)) {
             return true;
         }
-        return theta > thetaLimit;
+        return theta > this.thetaLimit;
     }
     
     /**
@@ -285,10 +346,9 @@ public class SZP extends AbstractZenithalProjection {
      * @return true when it is visible
      */    
     private boolean firstContstraintVisibility(final double phi, final double theta) {
-        final double rho = getMu() * FastMath.sin(getThetac());
-        final double sigma = -getMu() * FastMath.cos(getThetac()) * FastMath.cos(phi - getPhic());
-        final double omega = NumericalUtility.aasin(1.0d / FastMath.sqrt(FastMath.pow(rho, 2) + FastMath.pow(sigma, 2)));
-        final double psi = NumericalUtility.aatan2(sigma, rho);
+        final double sigma = this.sigmaScale * FastMath.cos(phi - getPhic());
+        final double omega = NumericalUtility.aasin(1.0d / FastMath.sqrt(FastMath.pow(this.rho, 2) + FastMath.pow(sigma, 2)));
+        final double psi = NumericalUtility.aatan2(sigma, this.rho);
         double thetax1 = psi - omega;
         if (!Double.isNaN(thetax1)) {
             thetax1 = NumericalUtility.normalizeLatitude(thetax1)+1e-4;
@@ -374,6 +434,7 @@ public class SZP extends AbstractZenithalProjection {
         setMu(mu);
         setThetac(thetac);
         setPhic(phic);
+        computeConstants();
     }
 
     /**
@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.proj;
+
+import io.github.malapert.jwcs.utility.NumericalUtility;
+import io.github.malapert.jwcs.utility.PrecisionPolicy;
+import static io.github.malapert.jwcs.utility.NumericalUtility.HALF_PI;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Precomputed spherical coordinate rotation between the native spherical
+ * coordinates (\u03D5, \u03B8) and the celestial spherical coordinates
+ * (\u03B1, \u03B4).
+ *
+ * <p>The rotation is fully defined by the celestial coordinates of the native
+ * pole (\u03B1<sub>p</sub>, \u03B4<sub>p</sub>) and by the native longitude of
+ * the celestial pole \u03D5<sub>p</sub>. It is computed once by
+ * {@link AbstractProjection} each time one of these parameters changes, so
+ * that each point only needs the trigonometric functions of its own
+ * coordinates followed by a 3x3 matrix product.
+ *
+ * <p>The matrices give the unit vector relatively to \u03B1<sub>p</sub> (resp.
+ * \u03D5<sub>p</sub>). Adding \u03B1<sub>p</sub> (resp. \u03D5<sub>p</sub>)
+ * afterwards keeps the same longitude (\u03B1<sub>p</sub> or
+ * \u03D5<sub>p</sub>) as the trigonometric formulae of Calabretta and Greisen
+ * at the poles of the rotation.
+ *
+ * <p>When \u03B4<sub>p</sub> = &plusmn;HALF_PI, the rotation is a simple
+ * change of longitude origin, which is computed without trigonometry.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+final class SphericalRotation {
+
+    /**
+     * No special case.
+     */
+    static final int GENERAL = 0;
+
+    /**
+     * \u03B4<sub>p</sub> = HALF_PI.
+     */
+    static final int NORTH_POLE = 1;
+
+    /**
+     * \u03B4<sub>p</sub> = -HALF_PI.
+     */
+    static final int SOUTH_POLE = -1;
+
+    /**
+     * Celestial longitude \u03B1<sub>p</sub> in radians of the native pole.
+     */
+    private final double alphap;
+
+    /**
+     * Native longitude \u03D5<sub>p</sub> in radians of the celestial pole.
+     */
+    private final double phip;
+
+    /**
+     * One of {@link #GENERAL}, {@link #NORTH_POLE}, {@link #SOUTH_POLE}.
+     */
+    private final int pole;
+
+    /**
+     * Native to celestial matrix.
+     */
+    private final double n11, n12, n13, n21, n22, n23, n31, n32, n33;
+
+    /**
+     * Celestial to native matrix.
+     */
+    private final double c11, c12, c13, c21, c22, c23, c31, c32, c33;
+
+    /**
+     * Creates the rotation.
+     *
+     * @param alphap Celestial longitude \u03B1<sub>p</sub> in radians of the native pole
+     * @param deltap Celestial latitude \u03B4<sub>p</sub> in radians of the native pole
+     * @param phip Native longitude \u03D5<sub>p</sub> in radians of the celestial pole
+     */
+    SphericalRotation(final double alphap, final double deltap, final double phip) {
+        this.alphap = alphap;
+        this.phip = phip;
+        if (NumericalUtility.equal(deltap, HALF_PI)) {
+            this.pole = NORTH_POLE;
+        } else if (NumericalUtility.equal(deltap, -HALF_PI)) {
+            this.pole = SOUTH_POLE;
+        } else {
+            this.pole = GENERAL;
+        }
+        final double sinDeltap = FastMath.sin(deltap);
+        final double cosDeltap = FastMath.cos(deltap);
+        final double sinPhip = FastMath.sin(phip);
+        final double cosPhip = FastMath.cos(phip);
+        final double sinAlphap = FastMath.sin(alphap);
+        final double cosAlphap = FastMath.cos(alphap);
+        // (-sin\u03B4p, 0, cos\u03B4p; 0, -1, 0; cos\u03B4p, 0, sin\u03B4p).Rz(-\u03D5p)
+        this.n11 = -sinDeltap * cosPhip;
+        this.n12 = -sinDeltap * sinPhip;
+        this.n13 = cosDeltap;
+        this.n21 = sinPhip;
+        this.n22 = -cosPhip;
+        this.n23 = 0;
+        this.n31 = cosDeltap * cosPhip;
+        this.n32 = cosDeltap * sinPhip;
+        this.n33 = sinDeltap;
+        // (-sin\u03B4p, 0, cos\u03B4p; 0, -1, 0; cos\u03B4p, 0, sin\u03B4p).Rz(-\u03B1p)
+        this.c11 = -sinDeltap * cosAlphap;
+        this.c12 = -sinDeltap * sinAlphap;
+        this.c13 = cosDeltap;
+        this.c21 = sinAlphap;
+        this.c22 = -cosAlphap;
+        this.c23 = 0;
+        this.c31 = cosDeltap * cosAlphap;
+        this.c32 = cosDeltap * sinAlphap;
+        this.c33 = sinDeltap;
+    }
+
+    /**
+     * Returns the celestial longitude \u03B1<sub>p</sub> in radians of the
+     * native pole.
+     *
+     * @return \u03B1<sub>p</sub>
+     */
+    double getAlphap() {
+        return this.alphap;
+    }
+
+    /**
+     * Returns the native longitude \u03D5<sub>p</sub> in radians of the
+     * celestial pole.
+     *
+     * @return \u03D5<sub>p</sub>
+     */
+    double getPhip() {
+        return this.phip;
+    }
+
+    /**
+     * Returns the special case of the rotation.
+     *
+     * @return one of {@link #GENERAL}, {@link #NORTH_POLE}, {@link #SOUTH_POLE}
+     */
+    int getPole() {
+        return this.pole;
+    }
+
+    /**
+     * Returns the native to celestial matrix, row by row.
+     *
+     * @return the 9 elements of the matrix
+     */
+    double[] getNativeToCelestialMatrix() {
+        return new double[]{
+            this.n11, this.n12, this.n13,
+            this.n21, this.n22, this.n23,
+            this.n31, this.n32, this.n33
+        };
+    }
+
+    /**
+     * Computes the celestial spherical coordinates (\u03B1, \u03B4) from the
+     * native spherical coordinates (\u03D5, \u03B8).
+     *
+     * @param phi Native longitude (\u03D5) in radians
+     * @param theta Native latitude (\u03B8) in radians
+     * @param celestial array where (\u03B1, \u03B4) is written in degrees,
+     * with \u03B1 &ge; 0
+     * @param offset index where \u03B1 is written
+     * @param precision precision of the trigonometric functions
+     */
+    void toCelestial(final double phi, final double theta, final double[] celestial, final int offset, final PrecisionPolicy precision) {
+        double ra;
+        final double dec;
+        switch (this.pole) {
+            case NORTH_POLE:
+                ra = this.alphap + phi - this.phip - FastMath.PI;
+                dec = theta;
+                break;
+            case SOUTH_POLE:
+                ra = this.alphap - phi + this.phip;
+                dec = -theta;
+                break;
+            default:
+                final double cosTheta = precision.cos(theta);
+                final double x = cosTheta * precision.cos(phi);
+                final double y = cosTheta * precision.sin(phi);
+                final double z = precision.sin(theta);
+                final double u = this.n11 * x + this.n12 * y + this.n13 * z;
+                final double v = this.n21 * x + this.n22 * y + this.n23 * z;
+                final double w = this.n31 * x + this.n32 * y + this.n33 * z;
+                ra = this.alphap + precision.aatan2(v, u, 0);
+                dec = precision.atan2(w, FastMath.sqrt(u * u + v * v));
+                break;
+        }
+        ra = FastMath.toDegrees(ra);
+        if (ra < 0) {
+            ra += 360;
+        }
+        celestial[offset] = ra;
+        celestial[offset + 1] = FastMath.toDegrees(dec);
+    }
+
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the
+     * celestial spherical coordinates (\u03B1, \u03B4).
+     *
+     * @param ra Celestial longitude (\u03B1) in radians
+     * @param dec Celestial latitude (\u03B4) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
+     * @param precision precision of the trigonometric functions
+     */
+    void toNative(final double ra, final double dec, final double[] nativeSpherical, final int offset, final PrecisionPolicy precision) {
+        switch (this.pole) {
+            case NORTH_POLE:
+                nativeSpherical[offset] = this.phip + ra - this.alphap + FastMath.PI;
+                nativeSpherical[offset + 1] = dec;
+                break;
+            case SOUTH_POLE:
+                nativeSpherical[offset] = this.phip - ra + this.alphap;
+                nativeSpherical[offset + 1] = -dec;
+                break;
+            default:
+                final double cosDec = precision.cos(dec);
+                final double x = cosDec * precision.cos(ra);
+                final double y = cosDec * precision.sin(ra);
+                final double z = precision.sin(dec);
+                final double u = this.c11 * x + this.c12 * y + this.c13 * z;
+                final double v = this.c21 * x + this.c22 * y + this.c23 * z;
+                final double w = this.c31 * x + this.c32 * y + this.c33 * z;
+                nativeSpherical[offset] = this.phip + precision.aatan2(v, u, 0);
+                nativeSpherical[offset + 1] = precision.atan2(w, FastMath.sqrt(u * u + v * v));
+                break;
+        }
+    }
+}
@@ -71,6 +71,22 @@ public class TAN extends AbstractZenithalProjection {
         
     }
 
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
+     * coordinates (x, y).
+     *
+     * @param x projection plane coordinate along X
+     * @param y projection plane coordinate along Y
+     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @see #project(double, double, double[], int)
+     */
+    @Override
+    public double[] project(final double x, final double y) {
+        final double[] pos = new double[2];
+        project(x, y, pos, 0);
+        return pos;
+    }
+
     /**
      * Computes the native spherical coordinates (\u03D5, \u03B8) from the projection plane
      * coordinates (x, y).
@@ -84,17 +100,40 @@ public class TAN extends AbstractZenithalProjection {
      * 
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians     
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      */      
     @Override
-    public double[] project(final double x, final double y) {
+    public void project(final double x, final double y, final double[] nativeSpherical, final int offset) {
         final double xr = FastMath.toRadians(x);
         final double yr = FastMath.toRadians(y);
         final double r_theta = computeRadius(xr, yr);        
         final double phi = computePhi(x, y, r_theta);       
         final double theta = NumericalUtility.aatan2(1, r_theta);        
-        final double[] pos = {phi, theta};
-        return pos;
+        nativeSpherical[offset] = phi;
+        nativeSpherical[offset + 1] = theta;
+    }
+
+    @Override
+    ProjectionKernel getProjectionKernel() {
+        return getClass() == TAN.class ? ProjectionKernel.TAN : null;
+    }
+
+    /**
+     * Computes the projection plane coordinates (x, y) from the native spherical
+     * coordinates (\u03D5, \u03B8).
+     *
+     * @param phi the native spherical coordinate (\u03D5) in radians along longitude
+     * @param theta the native spherical coordinate (\u03B8) in radians along latitude
+     * @return the projection plane coordinates
+     * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (\u03D5, \u03B8)
+     * @see #projectInverse(double, double, double[], int)
+     */
+    @Override
+    public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {
+        final double[] coord = new double[2];
+        projectInverse(phi, theta, coord, 0);
+        return coord;
     }
 
     /**
@@ -110,11 +149,12 @@ public class TAN extends AbstractZenithalProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (\u03D5, \u03B8)
      */     
     @Override
-    public double[] projectInverse(final double phi, final double theta) throws PixelBeyondProjectionException {        
+    public void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) throws PixelBeyondProjectionException {        
         final double s = FastMath.sin(theta);
         if (NumericalUtility.equal(s, 0)) {
             throw new PixelBeyondProjectionException(this, FastMath.toDegrees(phi), FastMath.toDegrees(theta), false);
@@ -122,10 +162,15 @@ public class TAN extends AbstractZenithalProjection {
         final double r_theta = FastMath.cos(theta) / s;
         final double x = computeX(r_theta, phi);
         final double y = computeY(r_theta, phi);
-        final double[] coord = {FastMath.toDegrees(x), FastMath.toDegrees(y)};
-        return coord;
+        planePosition[offset] = FastMath.toDegrees(x);
+        planePosition[offset + 1] = FastMath.toDegrees(y);
     }       
 
+    @Override
+    protected boolean isVisible(final double phi, final double theta) {
+        return !NumericalUtility.equal(FastMath.sin(theta), 0);
+    }
+
     @Override
     public String getName() {
         return NAME_PROJECTION;
@@ -0,0 +1,92 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.proj;
+
+/**
+ * Vectorized computation of the closed-form projections.
+ *
+ * <p>This class is the Java 11 version, which does not vectorize anything:
+ * {@link #project(ProjectionKernel, double, double[], double[], double[], double[], int, int)}
+ * processes no position so that the caller computes all of them with the
+ * scalar path. On Java 17 and later, the multi-release jar contains another
+ * version of this class, built from <code>src/main/java17</code>, which uses
+ * the <code>jdk.incubator.vector</code> module when it is added to the
+ * module graph (<code>--add-modules jdk.incubator.vector</code>).
+ *
+ * <p>The contract of both versions is the same: the first positions are
+ * processed by blocks of the vector length, the number of processed
+ * positions is returned and each position that needs a special case of the
+ * scalar formulae (singularity, boundary of the projection, ...) is set to
+ * NaN so that the caller computes it again with the scalar path.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+final class VectorKernels {
+
+    /**
+     * Utility class.
+     */
+    private VectorKernels() {
+    }
+
+    /**
+     * Returns true when the positions are vectorized.
+     *
+     * @return false with Java 11
+     */
+    static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) of the first
+     * projection plane coordinates.
+     *
+     * @param kernel projection
+     * @param parameter parameter of the projection, see {@link ProjectionKernel}
+     * @param x projection plane coordinates along X in degrees, read from 0
+     * @param y projection plane coordinates along Y in degrees, read from 0
+     * @param phi array where \u03D5 is written in radians, from offset
+     * @param theta array where \u03B8 is written in radians, from offset
+     * @param offset index where the first position is written
+     * @param count number of positions
+     * @return the number of processed positions, always 0 with Java 11
+     */
+    static int project(final ProjectionKernel kernel, final double parameter, final double[] x, final double[] y, final double[] phi, final double[] theta, final int offset, final int count) {
+        return 0;
+    }
+
+    /**
+     * Computes in place the celestial spherical coordinates (\u03B1, \u03B4)
+     * in degrees from the native spherical coordinates (\u03D5, \u03B8) in
+     * radians.
+     *
+     * @param rotation spherical rotation
+     * @param longitude \u03D5 replaced by \u03B1
+     * @param latitude \u03B8 replaced by \u03B4
+     * @param offset index of the first position
+     * @param count number of positions, as returned by
+     * {@link #project(ProjectionKernel, double, double[], double[], double[], double[], int, int)}
+     */
+    static void toCelestial(final SphericalRotation rotation, final double[] longitude, final double[] latitude, final int offset, final int count) {
+        // nothing is vectorized
+    }
+}
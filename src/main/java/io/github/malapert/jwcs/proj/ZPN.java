@@ -35,6 +35,14 @@ import org.apache.commons.math3.util.FastMath;
  * <p>The zenithal polynomial projection, ZPN, generalizes the ARC projection by
  * adding polynomial terms up to a large degree in the zenith distance
  *
+ * <p>When the degree of the polynomial is higher than 2, the deprojection
+ * uses an inverse approximant built when the projection parameters are set:
+ * the zenith distance is interpolated from the radius by a cubic Hermite
+ * spline over the monotonic range of the polynomial. Each segment of the
+ * spline is validated against the polynomial, and each solution is then
+ * corrected by one Newton step. The iterative solution is only used outside
+ * the validated range.
+ *
  * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
  * @version 2.0
  */
@@ -55,6 +63,21 @@ public final class ZPN extends AbstractZenithalProjection {
      */
     public final static int DEFAULT_MAX_ITER = 1000;
 
+    /**
+     * Number of segments of the inverse approximant over [0, PI].
+     */
+    private final static int INVERSE_SIZE = 256;
+
+    /**
+     * Step in radians between two nodes of the inverse approximant.
+     */
+    private final static double INVERSE_STEP = FastMath.PI / INVERSE_SIZE;
+
+    /**
+     * Maximum error in radians of the inverse approximant.
+     */
+    private final static double INVERSE_ACCURACY = 1e-8;
+
     /**
      * Maximum iteration for iterative solution.
      */
@@ -63,11 +86,22 @@ public final class ZPN extends AbstractZenithalProjection {
      * Projection parameters.
      */
     private double[] pv;
+
+    /**
+     * Radius at the nodes of the inverse approximant.
+     */
+    private double[] inverseRadius;
+
+    /**
+     * Derivative of the radius according to the zenith distance at the nodes
+     * of the inverse approximant.
+     */
+    private double[] inverseSlope;
     
     /**
      * Order of the polynomial function.
      */
-    private final int n;
+    private int n;
 
     /**
      * Creates a ZPN projection based on crval1, crval2 and the default projection
@@ -99,7 +133,6 @@ public final class ZPN extends AbstractZenithalProjection {
         setPv(pv);
         setMaxIter(DEFAULT_MAX_ITER);
         check();
-        this.n= NumericalUtility.getPolynomialOrder(pv);
     }
 
 
@@ -165,6 +198,123 @@ public final class ZPN extends AbstractZenithalProjection {
         return result;
     }
 
+    /**
+     * Computes the derivative of a polynomial where orders are given by pv.
+     *
+     * @param x value
+     * @param pv polynomial order
+     * @return the value of the derivative
+     */
+    private double polyDerivativeEval(final double x, final double[] pv) {
+        double y = 0;
+        for (int i = pv.length - 1; i >= 1; i--) {
+            y = y * x + i * pv[i];
+        }
+        return y;
+    }
+
+    /**
+     * Interpolates the zenith distance from the radius in a segment of the
+     * inverse approximant with a cubic Hermite spline.
+     *
+     * @param radius radius in radians
+     * @param segment index of the segment
+     * @return the zenith distance in radians
+     */
+    private double interpolateZeta(final double radius, final int segment) {
+        final double deltaRadius = this.inverseRadius[segment + 1] - this.inverseRadius[segment];
+        final double s = (radius - this.inverseRadius[segment]) / deltaRadius;
+        final double s2 = s * s;
+        final double s3 = s2 * s;
+        final double zeta0 = segment * INVERSE_STEP;
+        return (2 * s3 - 3 * s2 + 1) * zeta0
+                + (s3 - 2 * s2 + s) * deltaRadius / this.inverseSlope[segment]
+                + (-2 * s3 + 3 * s2) * (zeta0 + INVERSE_STEP)
+                + (s3 - s2) * deltaRadius / this.inverseSlope[segment + 1];
+    }
+
+    /**
+     * Checks a segment of the inverse approximant.
+     *
+     * <p>The segment is valid when the polynomial is strictly increasing at
+     * both nodes and when the approximant error is lower than
+     * {@link ZPN#INVERSE_ACCURACY} at the quarter points of the segment.
+     *
+     * @param segment index of the segment, both nodes being already computed
+     * @return True when the segment can be used otherwise False
+     */
+    private boolean isValidSegment(final int segment) {
+        if (!(this.inverseSlope[segment] > 0 && this.inverseSlope[segment + 1] > 0
+                && this.inverseRadius[segment + 1] > this.inverseRadius[segment])) {
+            return false;
+        }
+        for (int i = 1; i <= 3; i++) {
+            final double zeta = (segment + 0.25 * i) * INVERSE_STEP;
+            final double radius = polyEval(zeta, this.pv);
+            if (!(radius > this.inverseRadius[segment] && radius < this.inverseRadius[segment + 1])
+                    || FastMath.abs(interpolateZeta(radius, segment) - zeta) > INVERSE_ACCURACY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the inverse approximant of the polynomial.
+     *
+     * <p>The segments are computed from the zenith distance 0 until the first
+     * segment that is not valid.
+     */
+    private void computeInverse() {
+        final double[] radius = new double[INVERSE_SIZE + 1];
+        final double[] slope = new double[INVERSE_SIZE + 1];
+        this.inverseRadius = radius;
+        this.inverseSlope = slope;
+        int nbNodes = 0;
+        if (this.pv.length > 1) {
+            radius[0] = polyEval(0, this.pv);
+            slope[0] = polyDerivativeEval(0, this.pv);
+            nbNodes = 1;
+            while (nbNodes <= INVERSE_SIZE) {
+                final double zeta = nbNodes * INVERSE_STEP;
+                radius[nbNodes] = polyEval(zeta, this.pv);
+                slope[nbNodes] = polyDerivativeEval(zeta, this.pv);
+                if (!isValidSegment(nbNodes - 1)) {
+                    break;
+                }
+                nbNodes++;
+            }
+        }
+        this.inverseRadius = Arrays.copyOf(radius, nbNodes);
+        this.inverseSlope = Arrays.copyOf(slope, nbNodes);
+    }
+
+    /**
+     * Computes the zenith distance from the radius with the inverse
+     * approximant.
+     *
+     * <p>The approximated solution is corrected by one Newton step. This step
+     * is also an estimate of the approximant error: when it is higher than
+     * {@link ZPN#INVERSE_ACCURACY}, no solution is returned.
+     *
+     * @param radius radius in radians
+     * @return the zenith distance in radians or NaN when the radius is outside
+     * the validated range
+     */
+    private double computeZeta(final double radius) {
+        final int index = Arrays.binarySearch(this.inverseRadius, radius);
+        if (index >= 0) {
+            return index * INVERSE_STEP;
+        }
+        final int segment = -index - 2;
+        if (segment < 0 || segment >= this.inverseRadius.length - 1) {
+            return Double.NaN;
+        }
+        final double zeta = interpolateZeta(radius, segment);
+        final double delta = (polyEval(zeta, this.pv) - radius) / polyDerivativeEval(zeta, this.pv);
+        return FastMath.abs(delta) <= INVERSE_ACCURACY ? zeta - delta : Double.NaN;
+    }
+
     /**
      * Computes the solution for a linear equation.
      *
@@ -182,11 +332,11 @@ public final class ZPN extends AbstractZenithalProjection {
      * @param f polynomial coefficients
      * @return the solution for a quadratic equation
      * @throws MathematicalSolutionException No mathematical solution found
-     * @see NumericalUtility#computeQuatraticSolution
+     * @see NumericalUtility#computeQuadraticSolution
      */
     private double quadraticSolution(final Object f) throws MathematicalSolutionException {
         final double[] coeff = NumericalUtility.getPolynomialCoefficients(f);
-        return NumericalUtility.computeQuatraticSolution(coeff);
+        return NumericalUtility.computeQuadraticSolution(coeff[2], coeff[1], coeff[0]);
     }
 
     /**
@@ -232,27 +382,34 @@ public final class ZPN extends AbstractZenithalProjection {
      * <ul>
      * <li>computes radius : {@link ZPN#computeRadius(double, double) }</li>
      * <li>computes \u03D5 : {@link AbstractZenithalProjection#computePhi(double, double, double) }</li>      
-     * <li>computes \u03B8 : HALF_PI - {@link ZPN#computeSolution(java.lang.Object) }</li>
+     * <li>computes \u03B8 : HALF_PI - {@link ZPN#computeZeta(double) } when
+     * the degree of the polynomial is higher than 2 and the radius is in the
+     * validated range, otherwise HALF_PI - {@link ZPN#computeSolution(java.lang.Object) }</li>
      * </ul>
      * 
      * @param x projection plane coordinate along X
      * @param y projection plane coordinate along Y
-     * @return the native spherical coordinates (\u03D5, \u03B8) in radians
+     * @param nativeSpherical array where (\u03D5, \u03B8) is written in radians
+     * @param offset index where \u03D5 is written
      * @throws io.github.malapert.jwcs.proj.exception.PixelBeyondProjectionException No valid solution for (x,y)
      */     
     @Override
-    protected double[] project(final double x, final double y) throws PixelBeyondProjectionException {
+    protected void project(final double x, final double y, final double[] nativeSpherical, final int offset) throws PixelBeyondProjectionException {
         try {
             final double xr = FastMath.toRadians(x);
             final double yr = FastMath.toRadians(y);
             final double r_theta = computeRadius(xr, yr);
-            final double[] coeffPolynomial = getPv();
-            coeffPolynomial[0] = coeffPolynomial[0] - r_theta;
-            final Object polynomialFunction = NumericalUtility.createPolynomialFunction(coeffPolynomial);
             final double phi = computePhi(xr, yr, r_theta);
-            final double theta = HALF_PI - computeSolution(polynomialFunction);
-            final double[] pos = {phi, theta};
-            return pos;
+            double zeta = getN() > 2 ? computeZeta(r_theta) : Double.NaN;
+            if (Double.isNaN(zeta)) {
+                final double[] coeffPolynomial = getPv();
+                coeffPolynomial[0] = coeffPolynomial[0] - r_theta;
+                final Object polynomialFunction = NumericalUtility.createPolynomialFunction(coeffPolynomial);
+                zeta = computeSolution(polynomialFunction);
+            }
+            final double theta = HALF_PI - zeta;
+            nativeSpherical[offset] = phi;
+            nativeSpherical[offset + 1] = theta;
         } catch (MathematicalSolutionException ex) {
             throw new PixelBeyondProjectionException(this, x, y, ex.getMessage(), true);
         }
@@ -271,15 +428,16 @@ public final class ZPN extends AbstractZenithalProjection {
      * 
      * @param phi the native spherical coordinate (\u03D5) in radians along longitude
      * @param theta the native spherical coordinate (\u03B8) in radians along latitude
-     * @return the projection plane coordinates
+     * @param planePosition array where (x, y) is written in degrees
+     * @param offset index where x is written
      */    
     @Override
-    protected double[] projectInverse(final double phi, final double theta) {
+    protected void projectInverse(final double phi, final double theta, final double[] planePosition, final int offset) {
         final double r_theta = FastMath.toDegrees(polyEval(HALF_PI - theta, getPv()));        
         final double x = computeX(r_theta, phi);
         final double y = computeY(r_theta, phi);
-        final double[] coord = {x, y};
-        return coord;
+        planePosition[offset] = x;
+        planePosition[offset + 1] = y;
     }
 
     @Override
@@ -322,6 +480,16 @@ public final class ZPN extends AbstractZenithalProjection {
         } else {
             this.pv = Arrays.copyOf(pv, pv.length);
         }
+        computeConstants();
+    }
+
+    /**
+     * Computes the order of the polynomial and its inverse approximant.
+     */
+    @Override
+    protected void computeConstants() {
+        this.n = this.pv.length == 0 ? 0 : NumericalUtility.getPolynomialOrder(this.pv);
+        computeInverse();
     }
 
 }
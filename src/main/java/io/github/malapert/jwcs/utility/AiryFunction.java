@@ -38,7 +38,8 @@ import org.apache.commons.math3.util.FastMath;
  * <p>Special cases must be handled for ln(cos\u03B6<sub>b</sub>) / tan<sup>2</sup>\u03B6<sub>b</sub>,
  * this is managed to {@link AiryFunction#computeC() }
  * 
- * <p>When \u03B8<sub>b</sub>
+ * <p>This class is immutable, so that a function can be shared by several
+ * threads.
  * 
  * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
  */
@@ -48,23 +49,65 @@ public class AiryFunction implements UnivariateFunction {
      * \u03B8<sub>b</sub>.
      */
     private final double thetab;
+
+    /**
+     * ln(cos\u03B6<sub>b</sub>) / tan<sup>2</sup>\u03B6<sub>b</sub>, which only
+     * depends on \u03B8<sub>b</sub>.
+     */
+    private final double c;
     
     /**
      * Radius.
      */
-    private double radius;
+    private final double radius;
     
     /**
      * Initialize the function with \u03B8<sub>b</sub> with radius = 0.
      * 
-     * <p>\u03B8<sub>b</sub> is a fixed parameter. Only the radius changes
-     * according to (x,y) values.
+     * <p>\u03B8<sub>b</sub> is a fixed parameter. The function for a given
+     * radius is created by {@link AiryFunction#withRadius(double) }.
      * 
      * @param thetab \u03B8<sub>b</sub>.
      */
     public AiryFunction(final double thetab) {
+        this(thetab, 0);
+    }
+
+    /**
+     * Initialize the function with \u03B8<sub>b</sub> and the radius.
+     * 
+     * @param thetab \u03B8<sub>b</sub>.
+     * @param radius the radius
+     */
+    public AiryFunction(final double thetab, final double radius) {
         this.thetab = thetab;
-        this.radius = 0;
+        this.c = computeC();
+        this.radius = radius;
+    }
+
+    /**
+     * Copies the function with a new radius.
+     * 
+     * @param function function to copy
+     * @param radius the radius
+     */
+    private AiryFunction(final AiryFunction function, final double radius) {
+        this.thetab = function.thetab;
+        this.c = function.c;
+        this.radius = radius;
+    }
+
+    /**
+     * Returns the same function for a given radius.
+     * 
+     * <p>ln(cos\u03B6<sub>b</sub>) / tan<sup>2</sup>\u03B6<sub>b</sub> is not
+     * computed again.
+     * 
+     * @param radius the radius
+     * @return the function for this radius
+     */
+    public AiryFunction withRadius(final double radius) {
+        return new AiryFunction(this, radius);
     }
     
     /**
@@ -93,14 +136,13 @@ public class AiryFunction implements UnivariateFunction {
 
     @Override
     public double value(final double theta) {
-        final double c = computeC();
         final double zeta = 0.5 * (NumericalUtility.HALF_PI - theta);        
         if (NumericalUtility.equal(zeta, 0)) {
             throw new MathematicalSolutionException("zeta cannot be 0");
         }
         final double lncZeta = FastMath.log(FastMath.cos(zeta));
         final double tanZeta = FastMath.tan(zeta);
-        return 2 * (lncZeta / tanZeta + c * tanZeta) + getRadius();       
+        return 2 * (lncZeta / tanZeta + this.c * tanZeta) + getRadius();       
     }
 
     /**
@@ -118,13 +160,5 @@ public class AiryFunction implements UnivariateFunction {
     public double getRadius() {
         return radius;
     }
-
-    /**
-     * Sets the radius.
-     * @param radius the radius to set
-     */
-    public void setRadius(final double radius) {
-        this.radius = radius;
-    }
     
 }
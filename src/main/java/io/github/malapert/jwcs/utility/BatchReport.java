@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Report of a batch processed by {@link ParallelBatch}.
+ *
+ * <p>The report gives the number of chunks and, for each chunk that failed,
+ * the range of positions and the cause of the failure. The positions of a
+ * failed chunk are set to NaN in the output.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public final class BatchReport {
+
+    /**
+     * Number of chunks.
+     */
+    private final int nbChunks;
+
+    /**
+     * Failed chunks, sorted by position.
+     */
+    private final List<ChunkFailure> failures;
+
+    /**
+     * Creates a report.
+     *
+     * @param nbChunks number of chunks
+     * @param failures failed chunks, sorted by position
+     */
+    BatchReport(final int nbChunks, final List<ChunkFailure> failures) {
+        this.nbChunks = nbChunks;
+        this.failures = Collections.unmodifiableList(new ArrayList<>(failures));
+    }
+
+    /**
+     * Returns the number of chunks.
+     *
+     * @return the number of chunks
+     */
+    public int getNbChunks() {
+        return this.nbChunks;
+    }
+
+    /**
+     * Returns the failed chunks, sorted by position.
+     *
+     * @return the failed chunks
+     */
+    public List<ChunkFailure> getFailures() {
+        return this.failures;
+    }
+
+    /**
+     * Returns true when at least one chunk failed.
+     *
+     * @return True when at least one chunk failed otherwise False
+     */
+    public boolean hasFailures() {
+        return !this.failures.isEmpty();
+    }
+
+    /**
+     * Returns the number of positions set to NaN because their chunk failed.
+     *
+     * @return the number of positions in failed chunks
+     */
+    public int getNbFailedPositions() {
+        int nb = 0;
+        for (final ChunkFailure failure : this.failures) {
+            nb += failure.getTo() - failure.getFrom();
+        }
+        return nb;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchReport{" + "nbChunks=" + nbChunks + ", failures=" + failures + '}';
+    }
+
+    /**
+     * Failure of a chunk.
+     */
+    public static final class ChunkFailure {
+
+        /**
+         * Index of the first position of the chunk.
+         */
+        private final int from;
+
+        /**
+         * Index after the last position of the chunk.
+         */
+        private final int to;
+
+        /**
+         * Cause of the failure.
+         */
+        private final Throwable cause;
+
+        /**
+         * Creates a chunk failure.
+         *
+         * @param from index of the first position of the chunk
+         * @param to index after the last position of the chunk
+         * @param cause cause of the failure
+         */
+        ChunkFailure(final int from, final int to, final Throwable cause) {
+            this.from = from;
+            this.to = to;
+            this.cause = cause;
+        }
+
+        /**
+         * Returns the index of the first position of the chunk.
+         *
+         * @return the index of the first position
+         */
+        public int getFrom() {
+            return this.from;
+        }
+
+        /**
+         * Returns the index after the last position of the chunk.
+         *
+         * @return the index after the last position
+         */
+        public int getTo() {
+            return this.to;
+        }
+
+        /**
+         * Returns the cause of the failure.
+         *
+         * @return the cause
+         */
+        public Throwable getCause() {
+            return this.cause;
+        }
+
+        @Override
+        public String toString() {
+            return "ChunkFailure{" + "from=" + from + ", to=" + to + ", cause=" + cause + '}';
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+
+/**
+ * Univariate function that also provides its first derivative.
+ *
+ * <p>This function is solved by
+ * {@link NumericalUtility#computeNewtonSolution(int, io.github.malapert.jwcs.utility.DifferentiableFunction, double, double, double) }.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public interface DifferentiableFunction extends UnivariateFunction {
+
+    /**
+     * Evaluates the first derivative for a given value.
+     *
+     * @param x value to evaluate
+     * @return the derivative
+     */
+    double derivative(final double x);
+}
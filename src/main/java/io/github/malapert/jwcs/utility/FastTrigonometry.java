@@ -0,0 +1,260 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Polynomial approximations of the trigonometric functions.
+ *
+ * <p>These functions are used by {@link PrecisionPolicy#FAST}. The argument
+ * is reduced to a small interval where a truncated Taylor series is
+ * evaluated with the Horner scheme, without the tables and the extra
+ * precision of FastMath:
+ * <ul>
+ * <li>sin, cos : reduction to [-\u03C0/4, \u03C0/4] by a multiple of
+ * \u03C0/2 and series up to the degree 13 (sin) and 14 (cos)</li>
+ * <li>atan, atan2 : reduction to [0, 1] by 1/x then to
+ * [-tan(\u03C0/12), tan(\u03C0/12)] by a rotation of \u03C0/6 and series up
+ * to the degree 19</li>
+ * <li>asin, acos : atan2 of the sine and the cosine</li>
+ * </ul>
+ * The absolute error is below {@link #MAX_ERROR}. The arguments that cannot
+ * be reduced accurately (|x| &ge; {@link #REDUCTION_LIMIT} for sin and cos),
+ * the infinite values and NaN are computed by FastMath.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public final class FastTrigonometry {
+
+    /**
+     * Maximum absolute error in radians of the functions returning an angle
+     * and maximum absolute error of sin and cos.
+     */
+    public static final double MAX_ERROR = 1e-12;
+
+    /**
+     * Largest argument of sin and cos reduced by this class.
+     */
+    static final double REDUCTION_LIMIT = 1e5;
+
+    /**
+     * 2/\u03C0.
+     */
+    private static final double TWO_OVER_PI = 2 / FastMath.PI;
+
+    /**
+     * First 33 bits of \u03C0/2, so that k.\u03C0/2 is exact for the reduced
+     * arguments.
+     */
+    private static final double HALF_PI_HIGH = 1.57079632673412561417e+00;
+
+    /**
+     * \u03C0/2 - {@link #HALF_PI_HIGH}.
+     */
+    private static final double HALF_PI_LOW = 6.07710050650619224932e-11;
+
+    /**
+     * tan(\u03C0/12) = 2 - sqrt(3).
+     */
+    private static final double TAN_PI_12 = 0.2679491924311227;
+
+    /**
+     * sqrt(3).
+     */
+    private static final double SQRT_3 = 1.7320508075688772;
+
+    /**
+     * \u03C0/6.
+     */
+    private static final double PI_6 = FastMath.PI / 6;
+
+    /**
+     * Utility class.
+     */
+    private FastTrigonometry() {
+    }
+
+    /**
+     * Computes the sine.
+     *
+     * @param x angle in radians
+     * @return the sine of x
+     */
+    public static double sin(final double x) {
+        if (!(FastMath.abs(x) < REDUCTION_LIMIT)) {
+            return FastMath.sin(x);
+        }
+        final double k = FastMath.rint(x * TWO_OVER_PI);
+        final double r = x - k * HALF_PI_HIGH - k * HALF_PI_LOW;
+        final double result;
+        switch ((int) k & 3) {
+            case 0:
+                result = sinPolynomial(r);
+                break;
+            case 1:
+                result = cosPolynomial(r);
+                break;
+            case 2:
+                result = -sinPolynomial(r);
+                break;
+            default:
+                result = -cosPolynomial(r);
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the cosine.
+     *
+     * @param x angle in radians
+     * @return the cosine of x
+     */
+    public static double cos(final double x) {
+        if (!(FastMath.abs(x) < REDUCTION_LIMIT)) {
+            return FastMath.cos(x);
+        }
+        final double k = FastMath.rint(x * TWO_OVER_PI);
+        final double r = x - k * HALF_PI_HIGH - k * HALF_PI_LOW;
+        final double result;
+        switch ((int) k & 3) {
+            case 0:
+                result = cosPolynomial(r);
+                break;
+            case 1:
+                result = -sinPolynomial(r);
+                break;
+            case 2:
+                result = -cosPolynomial(r);
+                break;
+            default:
+                result = sinPolynomial(r);
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the arc tangent.
+     *
+     * @param x value
+     * @return the arc tangent of x in [-\u03C0/2, \u03C0/2]
+     */
+    public static double atan(final double x) {
+        return atan2(x, 1);
+    }
+
+    /**
+     * Computes the angle of the point (x, y), with the same conventions as
+     * {@link FastMath#atan2(double, double)}.
+     *
+     * @param y ordinate
+     * @param x abscissa
+     * @return the angle in [-\u03C0, \u03C0]
+     */
+    public static double atan2(final double y, final double x) {
+        final double absY = FastMath.abs(y);
+        final double absX = FastMath.abs(x);
+        if (!(absY < Double.POSITIVE_INFINITY && absX < Double.POSITIVE_INFINITY) || absX == 0 && absY == 0) {
+            return FastMath.atan2(y, x);
+        }
+        double angle = absY > absX ? NumericalUtility.HALF_PI - atanReduced(absX / absY) : atanReduced(absY / absX);
+        if (x < 0) {
+            angle = FastMath.PI - angle;
+        }
+        return FastMath.copySign(angle, y);
+    }
+
+    /**
+     * Computes the arc sine.
+     *
+     * @param x value
+     * @return the arc sine of x in [-\u03C0/2, \u03C0/2], NaN when |x| &gt; 1
+     */
+    public static double asin(final double x) {
+        return atan2(x, FastMath.sqrt((1 - x) * (1 + x)));
+    }
+
+    /**
+     * Computes the arc cosine.
+     *
+     * @param x value
+     * @return the arc cosine of x in [0, \u03C0], NaN when |x| &gt; 1
+     */
+    public static double acos(final double x) {
+        return atan2(FastMath.sqrt((1 - x) * (1 + x)), x);
+    }
+
+    /**
+     * Computes the arc tangent of a value in [0, 1].
+     *
+     * @param t value in [0, 1]
+     * @return the arc tangent of t
+     */
+    private static double atanReduced(final double t) {
+        final double result;
+        if (t > TAN_PI_12) {
+            // atan(t) = \u03C0/6 + atan((t.sqrt(3) - 1) / (sqrt(3) + t))
+            result = PI_6 + atanPolynomial((t * SQRT_3 - 1) / (SQRT_3 + t));
+        } else {
+            result = atanPolynomial(t);
+        }
+        return result;
+    }
+
+    /**
+     * Taylor series of the arc tangent up to the degree 19.
+     *
+     * @param u value in [-tan(\u03C0/12), tan(\u03C0/12)]
+     * @return the arc tangent of u
+     */
+    private static double atanPolynomial(final double u) {
+        final double u2 = u * u;
+        return u + u * u2 * (-1.0 / 3 + u2 * (1.0 / 5 + u2 * (-1.0 / 7 + u2 * (1.0 / 9
+                + u2 * (-1.0 / 11 + u2 * (1.0 / 13 + u2 * (-1.0 / 15 + u2 * (1.0 / 17
+                + u2 * (-1.0 / 19)))))))));
+    }
+
+    /**
+     * Taylor series of the sine up to the degree 13.
+     *
+     * @param r angle in [-\u03C0/4, \u03C0/4]
+     * @return the sine of r
+     */
+    private static double sinPolynomial(final double r) {
+        final double r2 = r * r;
+        return r + r * r2 * (-1.0 / 6 + r2 * (1.0 / 120 + r2 * (-1.0 / 5040 + r2 * (1.0 / 362880
+                + r2 * (-1.0 / 39916800 + r2 * (1.0 / 6227020800.0))))));
+    }
+
+    /**
+     * Taylor series of the cosine up to the degree 14.
+     *
+     * @param r angle in [-\u03C0/4, \u03C0/4]
+     * @return the cosine of r
+     */
+    private static double cosPolynomial(final double r) {
+        final double r2 = r * r;
+        return 1 + r2 * (-0.5 + r2 * (1.0 / 24 + r2 * (-1.0 / 720 + r2 * (1.0 / 40320
+                + r2 * (-1.0 / 3628800 + r2 * (1.0 / 479001600 + r2 * (-1.0 / 87178291200.0)))))));
+    }
+}
@@ -19,7 +19,6 @@
  */
 package io.github.malapert.jwcs.utility;
 
-import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.util.FastMath;
 
 /**
@@ -29,29 +28,33 @@ import org.apache.commons.math3.util.FastMath;
  * <code>v + sin(v) - PI * sin(theta) = 0</code><br>
  * with <code>v</code> the value to find.
  * 
+ * <p>Its derivative is <code>1 + cos(v)</code>.
+ * 
+ * <p>This class is immutable.
+ * 
  * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
  * @version 2.0
  */
-public class GammaFunction implements UnivariateFunction {
+public class GammaFunction implements DifferentiableFunction {
 
     /**
-     * theta value.
+     * PI * sin(theta).
      */
-    private double theta;
+    private final double piSinTheta;
 
     /**
      * Initialize the constructor with <code>theta</code>=0.
      */
     public GammaFunction() {
-        this.theta = 0;
+        this(0);
     }
-    
+
     /**
-     * Sets the theta value.
+     * Initialize the constructor with the theta value.
      * @param theta the value of theta
      */
-    public void setTheta(final double theta) {
-        this.theta = theta;
+    public GammaFunction(final double theta) {
+        this.piSinTheta = FastMath.PI * FastMath.sin(theta);
     }
 
     /**
@@ -62,6 +65,11 @@ public class GammaFunction implements UnivariateFunction {
      */
     @Override
     public double value(final double d) {
-        return d + FastMath.sin(d) - FastMath.PI * FastMath.sin(theta);
-    }   
+        return d + FastMath.sin(d) - this.piSinTheta;
+    }
+
+    @Override
+    public double derivative(final double d) {
+        return 1 + FastMath.cos(d);
+    }
 }
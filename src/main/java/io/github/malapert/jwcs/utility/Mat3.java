@@ -0,0 +1,227 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import java.util.Arrays;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * 3x3 matrix of primitive doubles.
+ *
+ * <p>This matrix is used for the rotations between the coordinate reference
+ * systems instead of a RealMatrix: the product by a vector only needs nine
+ * multiplications and does not allocate any object when the result is
+ * written in a caller-owned array.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ * @see Vec3
+ */
+public final class Mat3 {
+
+    /**
+     * Identity matrix.
+     */
+    public static final Mat3 IDENTITY = new Mat3(1, 0, 0, 0, 1, 0, 0, 0, 1);
+
+    /**
+     * Elements of the matrix, row by row.
+     */
+    private final double m11, m12, m13, m21, m22, m23, m31, m32, m33;
+
+    /**
+     * Creates a matrix from its elements, row by row.
+     *
+     * @param m11 element (1,1)
+     * @param m12 element (1,2)
+     * @param m13 element (1,3)
+     * @param m21 element (2,1)
+     * @param m22 element (2,2)
+     * @param m23 element (2,3)
+     * @param m31 element (3,1)
+     * @param m32 element (3,2)
+     * @param m33 element (3,3)
+     */
+    public Mat3(final double m11, final double m12, final double m13,
+            final double m21, final double m22, final double m23,
+            final double m31, final double m32, final double m33) {
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m13 = m13;
+        this.m21 = m21;
+        this.m22 = m22;
+        this.m23 = m23;
+        this.m31 = m31;
+        this.m32 = m32;
+        this.m33 = m33;
+    }
+
+    /**
+     * Creates a matrix from a 3x3 RealMatrix.
+     *
+     * @param matrix the 3x3 matrix
+     * @return the matrix
+     */
+    public static Mat3 valueOf(final RealMatrix matrix) {
+        return new Mat3(
+                matrix.getEntry(0, 0), matrix.getEntry(0, 1), matrix.getEntry(0, 2),
+                matrix.getEntry(1, 0), matrix.getEntry(1, 1), matrix.getEntry(1, 2),
+                matrix.getEntry(2, 0), matrix.getEntry(2, 1), matrix.getEntry(2, 2));
+    }
+
+    /**
+     * Returns the rotation around the X axis (R1). This is a rotation in the
+     * YZ plane.
+     *
+     * @param angle Rotation angle in degrees
+     * @return the rotation matrix
+     */
+    public static Mat3 rotX(final double angle) {
+        final double angleRadians = FastMath.toRadians(angle);
+        final double cos = FastMath.cos(angleRadians);
+        final double sin = FastMath.sin(angleRadians);
+        return new Mat3(
+                1, 0, 0,
+                0, cos, sin,
+                0, -sin, cos);
+    }
+
+    /**
+     * Returns the rotation around the Y axis (R2). This is a rotation in the
+     * XZ plane.
+     *
+     * @param angle Rotation angle in degrees
+     * @return the rotation matrix
+     */
+    public static Mat3 rotY(final double angle) {
+        final double angleRadians = FastMath.toRadians(angle);
+        final double cos = FastMath.cos(angleRadians);
+        final double sin = FastMath.sin(angleRadians);
+        return new Mat3(
+                cos, 0, -sin,
+                0, 1, 0,
+                sin, 0, cos);
+    }
+
+    /**
+     * Returns the rotation around the Z axis (R3). This is a rotation in the
+     * XY plane.
+     *
+     * @param angle Rotation angle in degrees
+     * @return the rotation matrix
+     */
+    public static Mat3 rotZ(final double angle) {
+        final double angleRadians = FastMath.toRadians(angle);
+        final double cos = FastMath.cos(angleRadians);
+        final double sin = FastMath.sin(angleRadians);
+        return new Mat3(
+                cos, sin, 0,
+                -sin, cos, 0,
+                0, 0, 1);
+    }
+
+    /**
+     * Returns the product of this matrix by another one.
+     *
+     * @param m the matrix on the right
+     * @return this.m
+     */
+    public Mat3 multiply(final Mat3 m) {
+        return new Mat3(
+                this.m11 * m.m11 + this.m12 * m.m21 + this.m13 * m.m31,
+                this.m11 * m.m12 + this.m12 * m.m22 + this.m13 * m.m32,
+                this.m11 * m.m13 + this.m12 * m.m23 + this.m13 * m.m33,
+                this.m21 * m.m11 + this.m22 * m.m21 + this.m23 * m.m31,
+                this.m21 * m.m12 + this.m22 * m.m22 + this.m23 * m.m32,
+                this.m21 * m.m13 + this.m22 * m.m23 + this.m23 * m.m33,
+                this.m31 * m.m11 + this.m32 * m.m21 + this.m33 * m.m31,
+                this.m31 * m.m12 + this.m32 * m.m22 + this.m33 * m.m32,
+                this.m31 * m.m13 + this.m32 * m.m23 + this.m33 * m.m33);
+    }
+
+    /**
+     * Returns the product of this matrix by a vector.
+     *
+     * @param vec the vector (x, y, z)
+     * @return the vector this.vec
+     */
+    public double[] multiply(final double[] vec) {
+        final double[] result = new double[3];
+        multiply(vec[0], vec[1], vec[2], result, 0);
+        return result;
+    }
+
+    /**
+     * Computes the product of this matrix by a vector.
+     *
+     * @param x x of the vector
+     * @param y y of the vector
+     * @param z z of the vector
+     * @param result array where the vector is written
+     * @param offset index where x is written
+     */
+    public void multiply(final double x, final double y, final double z, final double[] result, final int offset) {
+        result[offset] = this.m11 * x + this.m12 * y + this.m13 * z;
+        result[offset + 1] = this.m21 * x + this.m22 * y + this.m23 * z;
+        result[offset + 2] = this.m31 * x + this.m32 * y + this.m33 * z;
+    }
+
+    /**
+     * Returns the transposed matrix, which is the inverse of a rotation.
+     *
+     * @return the transposed matrix
+     */
+    public Mat3 transpose() {
+        return new Mat3(
+                this.m11, this.m21, this.m31,
+                this.m12, this.m22, this.m32,
+                this.m13, this.m23, this.m33);
+    }
+
+    /**
+     * Returns the elements of the matrix.
+     *
+     * @return the elements, row by row
+     */
+    public double[][] toArray() {
+        return new double[][]{
+            {this.m11, this.m12, this.m13},
+            {this.m21, this.m22, this.m23},
+            {this.m31, this.m32, this.m33}
+        };
+    }
+
+    /**
+     * Returns the matrix as a RealMatrix.
+     *
+     * @return the RealMatrix
+     */
+    public RealMatrix toRealMatrix() {
+        return NumericalUtility.createRealMatrix(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(toArray());
+    }
+}
@@ -22,8 +22,6 @@ package io.github.malapert.jwcs.utility;
 import io.github.malapert.jwcs.proj.exception.MathematicalSolutionException;
 import io.github.malapert.jwcs.proj.exception.JWcsError;
 import java.text.DecimalFormat;
-import org.apache.commons.math3.analysis.solvers.LaguerreSolver;
-import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.analysis.UnivariateFunction;
@@ -39,14 +37,20 @@ import org.apache.commons.math3.util.FastMath;
 public final class NumericalUtility {
     
     /**
-     * Bisection algorithm.
+     * Absolute accuracy of the iterative solvers.
+     * 
+     * <p>commons-math solvers keep an evaluation counter and the function
+     * to solve, so a new solver is created for each call to remain 
+     * thread-safe.
      */
-    private static final BisectionSolver solverBisection = new BisectionSolver(1e-15);
-    
+    private static final double SOLVER_ACCURACY = 1e-15;
+
     /**
-     * Laguerre algorithm.
+     * Last step of the Newton algorithm to reach convergence. As the
+     * convergence is quadratic, the error after this last step is at the
+     * level of the rounding errors.
      */
-    private static final LaguerreSolver solverLaguerre = new LaguerreSolver(1e-15);
+    private static final double NEWTON_ACCURACY = 1e-12;
 
     /**
      * Double tolerance for numerical precision operations sets to 1e-12.
@@ -116,6 +120,27 @@ public final class NumericalUtility {
         return NumericalUtility.aacos(dot / (normVector(xyzPos1) * normVector(xyzPos2)));
     }
 
+    /**
+     * Angular separation between two positions with the haversine formula.
+     *
+     * <p>Unlike {@link #distAngle(double[], double[])}, this formula keeps its
+     * precision for separations of a few milliarcseconds.
+     *
+     * @param longitude1 longitude of the first position in degrees
+     * @param latitude1 latitude of the first position in degrees
+     * @param longitude2 longitude of the second position in degrees
+     * @param latitude2 latitude of the second position in degrees
+     * @return the separation in degrees
+     */
+    public static double separation(final double longitude1, final double latitude1, final double longitude2, final double latitude2) {
+        final double lat1 = FastMath.toRadians(latitude1);
+        final double lat2 = FastMath.toRadians(latitude2);
+        final double sinDLat = FastMath.sin((lat2 - lat1) * 0.5);
+        final double sinDLon = FastMath.sin(FastMath.toRadians(longitude2 - longitude1) * 0.5);
+        final double a = sinDLat * sinDLat + FastMath.cos(lat1) * FastMath.cos(lat2) * sinDLon * sinDLon;
+        return FastMath.toDegrees(2 * FastMath.asin(FastMath.min(1, FastMath.sqrt(a))));
+    }
+
     /**
      * Atan2 operation.
      *
@@ -355,13 +380,7 @@ public final class NumericalUtility {
      * @return A 3x3 matrix representing the rotation about angle around X axis.
      */
     public static RealMatrix rotX(final double angle) {
-        final double angleRadians = FastMath.toRadians(angle);
-        final double[][] array = {
-            {1, 0, 0},
-            {0, FastMath.cos(angleRadians), FastMath.sin(angleRadians)},
-            {0, -FastMath.sin(angleRadians), FastMath.cos(angleRadians)}
-        };
-        return createRealMatrix(array);
+        return Mat3.rotX(angle).toRealMatrix();
     }
 
     /**
@@ -383,13 +402,7 @@ public final class NumericalUtility {
      * @return A 3x3 matrix representing the rotation about angle around Y axis.
      */
     public static RealMatrix rotY(final double angle) {
-        final double angleRadians = FastMath.toRadians(angle);
-        final double[][] array = {
-            {FastMath.cos(angleRadians), 0, -FastMath.sin(angleRadians)},
-            {0, 1, 0},
-            {FastMath.sin(angleRadians), 0, FastMath.cos(angleRadians)}
-        };
-        return createRealMatrix(array);
+        return Mat3.rotY(angle).toRealMatrix();
     }
 
     /**
@@ -399,13 +412,7 @@ public final class NumericalUtility {
      * @return A 3x3 matrix representing the rotation about angle around Z axis.
      */
     public static RealMatrix rotZ(final double angle) {
-        final double angleRadians = FastMath.toRadians(angle);
-        final double[][] array = {
-            {FastMath.cos(angleRadians), FastMath.sin(angleRadians), 0},
-            {-FastMath.sin(angleRadians), FastMath.cos(angleRadians), 0},
-            {0, 0, 1}
-        };
-        return createRealMatrix(array);
+        return Mat3.rotZ(angle).toRealMatrix();
     }
 
     /**
@@ -439,27 +446,57 @@ public final class NumericalUtility {
     }
 
     /**
-     * Computes the quadratic solution using the Laguerre's Method
-     * for root finding of real coefficient polynomials.
+     * Computes the quadratic solution.
      * 
-     * <p>Once the roots are known, the nearest root from North pole is selected.
-     * The first element of the coefficients array is the constant term. 
-     * Higher degree coefficients follow in sequence. The degree of the 
-     * resulting polynomial is the index of the last non-null element of the 
-     * array, or 0 if all elements are null.
+     * <p>The first element of the coefficients array is the constant term. 
+     * Higher degree coefficients follow in sequence.
      * 
      * @param coefficients polynomial coefficients
      * @return the solution
      * @throws MathematicalSolutionException  No mathematical solution found
-     * @see <a href="http://mathworld.wolfram.com/LaguerresMethod.html"> 
-     * The Laguerre's method</a>
+     * @see NumericalUtility#computeQuadraticSolution(double, double, double) 
      */
     public static double computeQuatraticSolution(final double[] coefficients) throws MathematicalSolutionException {
-        final Complex[] solutions = solverLaguerre.solveAllComplex(coefficients, 0);
-        final Complex sol1 = solutions[0];
-        final Complex sol2 = solutions[1];
-        final double theta1 = NumericalUtility.aasin(sol1.getReal());
-        final double theta2 = NumericalUtility.aasin(sol2.getReal());
+        final double a = coefficients.length > 2 ? coefficients[2] : 0;
+        final double b = coefficients.length > 1 ? coefficients[1] : 0;
+        return computeQuadraticSolution(a, b, coefficients[0]);
+    }
+
+    /**
+     * Computes the quadratic solution of a * z<sup>2</sup> + b * z + c = 0 
+     * where z = sin(\u03B8).
+     * 
+     * <p>The roots are computed in closed form without cancellation:<br>
+     * q = -0.5 * (b + sign(b) * sqrt(b<sup>2</sup> - 4 * a * c))<br>
+     * z1 = q / a and z2 = c / q
+     * 
+     * <p>When the discriminant is negative, the real part -b / (2 * a) of the
+     * complex roots is used. Once the roots are known, the nearest root from 
+     * North pole is selected.
+     * 
+     * @param a coefficient of the second degree
+     * @param b coefficient of the first degree
+     * @param c constant term
+     * @return the solution \u03B8 in radians
+     * @throws MathematicalSolutionException  No mathematical solution found
+     */
+    public static double computeQuadraticSolution(final double a, final double b, final double c) throws MathematicalSolutionException {
+        final double root1;
+        final double root2;
+        final double discriminant = b * b - 4 * a * c;
+        if (a == 0) {
+            root1 = -c / b;
+            root2 = root1;
+        } else if (discriminant < 0) {
+            root1 = -b / (2 * a);
+            root2 = root1;
+        } else {
+            final double q = -0.5 * (b + FastMath.copySign(FastMath.sqrt(discriminant), b));
+            root1 = q / a;
+            root2 = q == 0 ? 0 : c / q;
+        }
+        final double theta1 = NumericalUtility.aasin(root1);
+        final double theta2 = NumericalUtility.aasin(root2);
         final boolean isTheta1Valid = NumericalUtility.isInInterval(theta1, -HALF_PI, HALF_PI);
         final boolean isTheta2Valid = NumericalUtility.isInInterval(theta2, -HALF_PI, HALF_PI);
         final double theta;
@@ -493,7 +530,7 @@ public final class NumericalUtility {
      * @see <a href="http://mathworld.wolfram.com/Bisection.html">Bisection algorithm</a>     
      */
     public static double computePolynomialSolution(final int maxEval, final Object f, final double min, final double max) {
-        return solverBisection.solve(maxEval, (PolynomialFunction)f, min, max);
+        return new BisectionSolver(SOLVER_ACCURACY).solve(maxEval, (PolynomialFunction)f, min, max);
     }
 
     /**
@@ -512,7 +549,68 @@ public final class NumericalUtility {
      * @see <a href="http://mathworld.wolfram.com/Bisection.html">Bisection algorithm</a>
      */
     public static double computeFunctionSolution(final int maxEval, final UnivariateFunction function, final double min, final double max) {
-        return solverBisection.solve(maxEval, function, min, max);
+        return new BisectionSolver(SOLVER_ACCURACY).solve(maxEval, function, min, max);
+    }
+
+    /**
+     * Solves for a zero root in the given interval for a given function using
+     * the Newton algorithm safeguarded by bisection.
+     *
+     * <p>The search starts from <code>startValue</code>, which is typically the
+     * solution of a neighbouring point. The interval is reduced at each
+     * iteration according to the sign of the function. When the Newton step
+     * goes outside the interval, a bisection step is made instead.
+     *
+     * <p>When the function has the same sign at both bounds, or when the
+     * solution is not found after <code>maxIter</code> iterations, the
+     * solution is computed by
+     * {@link NumericalUtility#computeFunctionSolution(int, org.apache.commons.math3.analysis.UnivariateFunction, double, double) }.
+     *
+     * @param maxIter maximum number of iterations
+     * @param function function to solve
+     * @param min Lower bound for the interval
+     * @param max Upper bound for the interval
+     * @param startValue first guess of the solution. When it is outside the
+     * interval, the middle of the interval is used
+     * @return a zero root
+     */
+    public static double computeNewtonSolution(final int maxIter, final DifferentiableFunction function, final double min, final double max, final double startValue) {
+        final double fMin = function.value(min);
+        if (fMin == 0) {
+            return min;
+        }
+        final double fMax = function.value(max);
+        if (fMax == 0) {
+            return max;
+        }
+        if (!(fMin < 0 && fMax > 0 || fMin > 0 && fMax < 0)) {
+            return computeFunctionSolution(maxIter, function, min, max);
+        }
+        // the function is negative at low and positive at high
+        double low = fMin < 0 ? min : max;
+        double high = fMin < 0 ? max : min;
+        double x = startValue > min && startValue < max ? startValue : 0.5 * (min + max);
+        for (int i = 0; i < maxIter; i++) {
+            final double fx = function.value(x);
+            if (fx == 0) {
+                return x;
+            } else if (fx < 0) {
+                low = x;
+            } else {
+                high = x;
+            }
+            double xNew = x - fx / function.derivative(x);
+            if (!(xNew >= FastMath.min(low, high) && xNew <= FastMath.max(low, high))) {
+                xNew = 0.5 * (low + high);
+            } else if (FastMath.abs(xNew - x) <= NEWTON_ACCURACY) {
+                return xNew;
+            }
+            if (FastMath.abs(high - low) <= SOLVER_ACCURACY) {
+                return xNew;
+            }
+            x = xNew;
+        }
+        return computeFunctionSolution(maxIter, function, FastMath.min(low, high), FastMath.max(low, high));
     }
   
     /**
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.utility.BatchReport.ChunkFailure;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Splits a batch of positions in chunks and processes them in parallel.
+ *
+ * <p>Each chunk writes its own range of the output, so that the output order
+ * does not depend on the scheduling. When a chunk fails, its range of the
+ * output is filled by the fallback and the failure is recorded in the
+ * {@link BatchReport}; the other chunks are not aborted.
+ *
+ * <p>By default, the chunks run on {@link ForkJoinPool#commonPool()}. The
+ * parallelism is configured by giving another executor, for instance
+ * <code>new ForkJoinPool(8)</code>. The executor is not shut down by this
+ * class.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public final class ParallelBatch {
+
+    /**
+     * Default number of positions per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = Logger.getLogger(ParallelBatch.class.getName());
+
+    /**
+     * Executor running the chunks.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Number of positions per chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Creates a parallel batch running on the common pool with
+     * {@link ParallelBatch#DEFAULT_CHUNK_SIZE}.
+     */
+    public ParallelBatch() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a parallel batch.
+     *
+     * @param executor executor running the chunks
+     * @param chunkSize number of positions per chunk
+     * @throws JWcsError chunkSize must be strictly positive
+     */
+    public ParallelBatch(final ExecutorService executor, final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new JWcsError("chunkSize must be strictly positive, found " + chunkSize);
+        }
+        if (executor == null) {
+            throw new JWcsError("executor cannot be null");
+        }
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the number of positions per chunk.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Processes <code>count</code> positions by chunks.
+     *
+     * @param count number of positions
+     * @param task processing of a range of positions
+     * @param fallback filling of the output of a failed range of positions
+     * @return the report of the batch
+     * @throws JWcsError when the current thread is interrupted
+     */
+    public BatchReport execute(final int count, final ChunkTask task, final ChunkFallback fallback) {
+        final int nbChunks = (int) ((count + (long) this.chunkSize - 1) / this.chunkSize);
+        final List<Future<?>> futures = new ArrayList<>(nbChunks);
+        for (int i = 0; i < nbChunks; i++) {
+            // i * chunkSize < count, so that it cannot overflow
+            final int start = i * this.chunkSize;
+            final int end = (int) Math.min((long) start + this.chunkSize, count);
+            futures.add(this.executor.submit(() -> {
+                task.process(start, end);
+                return null;
+            }));
+        }
+        final List<ChunkFailure> failures = new ArrayList<>();
+        for (int i = 0; i < nbChunks; i++) {
+            final int start = i * this.chunkSize;
+            final int end = (int) Math.min((long) start + this.chunkSize, count);
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException ex) {
+                LOG.log(Level.FINE, "Chunk [{0},{1}[ failed: {2}", new Object[]{start, end, ex.getCause()});
+                fallback.fill(start, end);
+                failures.add(new ChunkFailure(start, end, ex.getCause()));
+            } catch (InterruptedException ex) {
+                for (final Future<?> future : futures) {
+                    future.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new JWcsError("Batch interrupted", ex);
+            }
+        }
+        return new BatchReport(nbChunks, failures);
+    }
+
+    /**
+     * Processing of a range of positions.
+     */
+    @FunctionalInterface
+    public interface ChunkTask {
+
+        /**
+         * Processes the positions from <code>from</code> (inclusive) to
+         * <code>to</code> (exclusive).
+         *
+         * @param from index of the first position
+         * @param to index after the last position
+         * @throws Exception when the chunk cannot be processed
+         */
+        void process(int from, int to) throws Exception;
+    }
+
+    /**
+     * Filling of the output of a failed range of positions.
+     */
+    @FunctionalInterface
+    public interface ChunkFallback {
+
+        /**
+         * Fills the output from <code>from</code> (inclusive) to
+         * <code>to</code> (exclusive).
+         *
+         * @param from index of the first position
+         * @param to index after the last position
+         */
+        void fill(int from, int to);
+    }
+}
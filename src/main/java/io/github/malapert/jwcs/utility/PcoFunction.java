@@ -19,7 +19,6 @@
  */
 package io.github.malapert.jwcs.utility;
 
-import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.util.FastMath;
 
 /**
@@ -28,34 +27,38 @@ import org.apache.commons.math3.util.FastMath;
  * <p>The equation to solve is the following:<br>
  * <code>x<sup>2</sup> - 2 (y - \u03B8) * cot(\u03B8) + (y - \u03B8)<sup>2</sup> = 0</code>
  * 
+ * <p>Its derivative is:<br>
+ * <code>2 * (cot(\u03B8) - (y - \u03B8) + (y - \u03B8) / sin<sup>2</sup>(\u03B8))</code>
+ * 
+ * <p>This class is immutable.
+ * 
  * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
  */
-public class PcoFunction implements UnivariateFunction {
+public class PcoFunction implements DifferentiableFunction {
     
     /**
      * x value.
      */
-    private double x;
+    private final double x;
     
     /**
      * y value.
      */
-    private double y;
+    private final double y;
     
     /**
      * Creates a constructor by initializing x and y to zero.
      */
     public PcoFunction() {
-        this.x = 0;
-        this.y = 0;
+        this(0, 0);
     }
 
     /**
-     * Sets the x and y values in radians.
+     * Creates a constructor with the x and y values in radians.
      * @param x the x value
      * @param y the y value
      */
-    public void set(final double x, final double y) {
+    public PcoFunction(final double x, final double y) {
         this.x = x;
         this.y = y;
     }
@@ -70,6 +73,13 @@ public class PcoFunction implements UnivariateFunction {
         return f;
     }
 
+    @Override
+    public double derivative(final double theta) {
+        final double sinthe = FastMath.sin(theta);
+        final double ymthe = getY() - theta;
+        return 2 * (FastMath.cos(theta) / sinthe - ymthe + ymthe / (sinthe * sinthe));
+    }
+
     /**
      * Returns the x value in radians.
      * @return the x value
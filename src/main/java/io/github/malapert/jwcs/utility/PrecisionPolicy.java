@@ -0,0 +1,124 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Precision of the trigonometric functions used by the projections and the
+ * spherical rotation.
+ *
+ * <p>{@link #EXACT} uses FastMath and {@link NumericalUtility}, as the rest of
+ * the library. {@link #FAST} uses the polynomial approximations of
+ * {@link FastTrigonometry}, whose absolute error is below
+ * {@link FastTrigonometry#MAX_ERROR} radians, far below one milliarcsecond
+ * (4.8e-9 radians). The special case of {@link NumericalUtility#aatan2(double, double, double)}
+ * is kept by both policies.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+public enum PrecisionPolicy {
+    /**
+     * FastMath, accurate to one ulp.
+     */
+    EXACT {
+        @Override
+        public double sin(final double x) {
+            return FastMath.sin(x);
+        }
+
+        @Override
+        public double cos(final double x) {
+            return FastMath.cos(x);
+        }
+
+        @Override
+        public double atan2(final double y, final double x) {
+            return FastMath.atan2(y, x);
+        }
+
+        @Override
+        public double aatan2(final double n, final double d, final double defaultValue) {
+            return NumericalUtility.aatan2(n, d, defaultValue);
+        }
+    },
+    /**
+     * Polynomial approximations with an absolute error below
+     * {@link FastTrigonometry#MAX_ERROR} radians.
+     */
+    FAST {
+        @Override
+        public double sin(final double x) {
+            return FastTrigonometry.sin(x);
+        }
+
+        @Override
+        public double cos(final double x) {
+            return FastTrigonometry.cos(x);
+        }
+
+        @Override
+        public double atan2(final double y, final double x) {
+            return FastTrigonometry.atan2(y, x);
+        }
+
+        @Override
+        public double aatan2(final double n, final double d, final double defaultValue) {
+            return FastMath.abs(n) < NumericalUtility.DOUBLE_TOLERANCE && FastMath.abs(d) < NumericalUtility.DOUBLE_TOLERANCE ? defaultValue : FastTrigonometry.atan2(n, d);
+        }
+    };
+
+    /**
+     * Computes the sine.
+     *
+     * @param x angle in radians
+     * @return the sine of x
+     */
+    public abstract double sin(final double x);
+
+    /**
+     * Computes the cosine.
+     *
+     * @param x angle in radians
+     * @return the cosine of x
+     */
+    public abstract double cos(final double x);
+
+    /**
+     * Computes the angle of the point (x, y).
+     *
+     * @param y ordinate
+     * @param x abscissa
+     * @return the angle in radians
+     */
+    public abstract double atan2(final double y, final double x);
+
+    /**
+     * Computes the angle of the point (d, n) as
+     * {@link NumericalUtility#aatan2(double, double, double)}.
+     *
+     * @param n numerator
+     * @param d denominator
+     * @param defaultValue value returned when n and d are close to 0
+     * @return the angle in radians or the default value
+     */
+    public abstract double aatan2(final double n, final double d, final double defaultValue);
+}
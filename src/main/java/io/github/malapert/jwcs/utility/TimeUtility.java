@@ -440,6 +440,27 @@ public final class TimeUtility {
         return jd;
     }
 
+    /**
+     * Computes the Greenwich mean sidereal time.
+     *
+     * <p>The equation, which is applied is the following (Meeus, Astronomical
+     * Algorithms, eq. 12.4):
+     * <code>gmst = 280.46061837 + 360.98564736629 * (jd - 2451545.0) + 0.000387933 * T<sup>2</sup> - T<sup>3</sup> / 38710000</code>
+     * with <code>T = (jd - 2451545.0) / 36525</code>.
+     *
+     * <p>The nutation is not taken into account (mean sidereal time).
+     *
+     * @param jd Julian date (UT1)
+     * @return the Greenwich mean sidereal time in degrees in [0, 360[
+     */
+    public static double gmst(final double jd) {
+        final double days = jd - 2451545.0d;
+        final double t = days / 36525.0d;
+        final double gmst = 280.46061837d + 360.98564736629d * days + (0.000387933d - t / 38710000.0d) * t * t;
+        final double result = gmst % 360.0d;
+        return result < 0 ? result + 360.0d : result;
+    }
+
     /**
      * Private constructor.
      */
@@ -0,0 +1,144 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import static io.github.malapert.jwcs.utility.NumericalUtility.aasin;
+import static io.github.malapert.jwcs.utility.NumericalUtility.aatan2;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Routines on Cartesian 3-vectors stored in arrays of 3 doubles (x, y, z).
+ *
+ * <p>The three coordinate axes x, y and z are the set of right-handed
+ * Cartesian axes that correspond to the usual celestial spherical coordinate
+ * system. The xy-plane is the equator, the z-axis points toward the north
+ * celestial pole, and the x-axis points toward the origin of longitude.
+ *
+ * <p>These routines replace the 3x1 RealMatrix of the CRS conversions, which
+ * allocate several objects for each position.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ * @see Mat3
+ */
+public final class Vec3 {
+
+    /**
+     * Utility class.
+     */
+    private Vec3() {
+        //do nothing
+    }
+
+    /**
+     * Returns the unit vector of a position given in degrees.
+     *
+     * @param longitude longitude in decimal degrees
+     * @param latitude latitude in decimal degrees
+     * @return the vector (x, y, z)
+     */
+    public static double[] fromLongLat(final double longitude, final double latitude) {
+        return fromLongLatRad(FastMath.toRadians(longitude), FastMath.toRadians(latitude));
+    }
+
+    /**
+     * Returns the unit vector of a position given in radians.
+     *
+     * @param longitudeRad longitude in radians
+     * @param latitudeRad latitude in radians
+     * @return the vector (x, y, z)
+     */
+    public static double[] fromLongLatRad(final double longitudeRad, final double latitudeRad) {
+        final double cosLat = FastMath.cos(latitudeRad);
+        return new double[]{
+            FastMath.cos(longitudeRad) * cosLat,
+            FastMath.sin(longitudeRad) * cosLat,
+            FastMath.sin(latitudeRad)
+        };
+    }
+
+    /**
+     * Returns the position in degrees of a vector.
+     *
+     * @param xyz the vector (x, y, z), which is not necessarily a unit vector
+     * @return (longitude, latitude) in decimal degrees, with longitude in [0, 360[
+     */
+    public static double[] toLongLat(final double[] xyz) {
+        final double[] position = new double[2];
+        toLongLat(xyz[0], xyz[1], xyz[2], position, 0);
+        return position;
+    }
+
+    /**
+     * Computes the position in degrees of a vector.
+     *
+     * <p>Note that one can expect strange behavior for the values of the
+     * longitudes very close to the pole. In fact, at the poles itself, the
+     * longitudes are meaningless.
+     *
+     * @param x x of the vector
+     * @param y y of the vector
+     * @param z z of the vector
+     * @param position array where (longitude, latitude) is written in decimal
+     * degrees, with longitude in [0, 360[
+     * @param offset index where the longitude is written
+     */
+    public static void toLongLat(final double x, final double y, final double z, final double[] position, final int offset) {
+        final double len = norm(x, y, z);
+        double longitude = FastMath.toDegrees(aatan2(y / len, x / len, 0));
+        longitude = longitude < 0 ? longitude + 360.0d : longitude;
+        position[offset] = longitude;
+        position[offset + 1] = FastMath.toDegrees(aasin(z / len));
+    }
+
+    /**
+     * Returns the norm of a vector.
+     *
+     * @param x x of the vector
+     * @param y y of the vector
+     * @param z z of the vector
+     * @return the norm
+     */
+    public static double norm(final double x, final double y, final double z) {
+        return FastMath.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Returns the sum of two vectors.
+     *
+     * @param vec1 first vector
+     * @param vec2 second vector
+     * @return vec1 + vec2
+     */
+    public static double[] add(final double[] vec1, final double[] vec2) {
+        return new double[]{vec1[0] + vec2[0], vec1[1] + vec2[1], vec1[2] + vec2[2]};
+    }
+
+    /**
+     * Returns the difference of two vectors.
+     *
+     * @param vec1 first vector
+     * @param vec2 second vector
+     * @return vec1 - vec2
+     */
+    public static double[] subtract(final double[] vec1, final double[] vec2) {
+        return new double[]{vec1[0] - vec2[0], vec1[1] - vec2[1], vec1[2] - vec2[2]};
+    }
+}
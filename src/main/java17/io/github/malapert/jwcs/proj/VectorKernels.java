@@ -0,0 +1,115 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.proj;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Vectorized computation of the closed-form projections.
+ *
+ * <p>This class is the Java 17 version of the multi-release jar. The
+ * positions are vectorized by {@link VectorKernelsImpl} when the
+ * <code>jdk.incubator.vector</code> module is in the module graph, i.e. when
+ * the JVM is started with <code>--add-modules jdk.incubator.vector</code>,
+ * and when the system property <code>jwcs.vector</code> is not set to
+ * <code>false</code>. Otherwise, no position is processed and the caller
+ * computes all of them with the scalar path, as with Java 11.
+ *
+ * <p>The incubator module is only referenced by {@link VectorKernelsImpl},
+ * which is not loaded when the module is missing.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+final class VectorKernels {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = Logger.getLogger(VectorKernels.class.getName());
+
+    /**
+     * System property disabling the vectorized path when set to false.
+     */
+    private static final String PROPERTY = "jwcs.vector";
+
+    /**
+     * True when the positions are vectorized.
+     */
+    private static final boolean AVAILABLE = Boolean.parseBoolean(System.getProperty(PROPERTY, "true"))
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    static {
+        LOG.log(Level.FINE, "Vectorized projections: {0}", AVAILABLE);
+    }
+
+    /**
+     * Utility class.
+     */
+    private VectorKernels() {
+    }
+
+    /**
+     * Returns true when the positions are vectorized.
+     *
+     * @return true when jdk.incubator.vector is available and not disabled
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) of the first
+     * projection plane coordinates.
+     *
+     * @param kernel projection
+     * @param parameter parameter of the projection, see {@link ProjectionKernel}
+     * @param x projection plane coordinates along X in degrees, read from 0
+     * @param y projection plane coordinates along Y in degrees, read from 0
+     * @param phi array where \u03D5 is written in radians, from offset
+     * @param theta array where \u03B8 is written in radians, from offset
+     * @param offset index where the first position is written
+     * @param count number of positions
+     * @return the number of processed positions, a multiple of the vector
+     * length
+     */
+    static int project(final ProjectionKernel kernel, final double parameter, final double[] x, final double[] y, final double[] phi, final double[] theta, final int offset, final int count) {
+        return AVAILABLE ? VectorKernelsImpl.project(kernel, parameter, x, y, phi, theta, offset, count) : 0;
+    }
+
+    /**
+     * Computes in place the celestial spherical coordinates (\u03B1, \u03B4)
+     * in degrees from the native spherical coordinates (\u03D5, \u03B8) in
+     * radians.
+     *
+     * @param rotation spherical rotation
+     * @param longitude \u03D5 replaced by \u03B1
+     * @param latitude \u03B8 replaced by \u03B4
+     * @param offset index of the first position
+     * @param count number of positions, as returned by
+     * {@link #project(ProjectionKernel, double, double[], double[], double[], double[], int, int)}
+     */
+    static void toCelestial(final SphericalRotation rotation, final double[] longitude, final double[] latitude, final int offset, final int count) {
+        if (AVAILABLE && count > 0) {
+            VectorKernelsImpl.toCelestial(rotation, longitude, latitude, offset, count);
+        }
+    }
+}
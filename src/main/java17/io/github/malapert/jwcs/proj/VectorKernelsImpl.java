@@ -0,0 +1,330 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.proj;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Closed-form projections and spherical rotation computed with the
+ * <code>jdk.incubator.vector</code> API.
+ *
+ * <p>The formulae are the ones of the method <code>project</code> of each
+ * projection and of {@link SphericalRotation#toCelestial(double, double, double[], int)}.
+ * The special cases of the scalar formulae (\u03D5 undefined at the
+ * center of a zenithal projection, arguments of asin or acos close to 1,
+ * positions close to the boundary of the projection, ...) are not computed:
+ * the lanes are set to NaN with a margin of {@link #MARGIN} so that the
+ * caller computes them with the scalar path and gets the same status. The
+ * other lanes differ from the scalar path by a few ulps, the vectorized
+ * functions being accurate to 1 or 2 ulps.
+ *
+ * @author Jean-Christophe Malapert (jcmalapert@gmail.com)
+ * @version 2.0
+ */
+final class VectorKernelsImpl {
+
+    /**
+     * Vector shape.
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Margin around the special cases of the scalar formulae, larger than
+     * the tolerance of {@link io.github.malapert.jwcs.utility.NumericalUtility#equal(double, double)}.
+     */
+    private static final double MARGIN = 1e-10;
+
+    /**
+     * Mask of the high part of a double, as in FastMath.
+     */
+    private static final long HIGH_PART_MASK = 0xffffffffc0000000L;
+
+    /**
+     * Degrees to radians, high part.
+     */
+    private static final double DEG_TO_RAD_A = 0.01745329052209854;
+
+    /**
+     * Degrees to radians, low part.
+     */
+    private static final double DEG_TO_RAD_B = 1.997844754509471E-9;
+
+    /**
+     * Radians to degrees, high part.
+     */
+    private static final double RAD_TO_DEG_A = 57.2957763671875;
+
+    /**
+     * Radians to degrees, low part.
+     */
+    private static final double RAD_TO_DEG_B = 3.145894820876798E-6;
+
+    /**
+     * \u03C0/2.
+     */
+    private static final double HALF_PI = Math.PI / 2;
+
+    /**
+     * Utility class.
+     */
+    private VectorKernelsImpl() {
+    }
+
+    /**
+     * Converts degrees to radians with the same rounding as
+     * FastMath.toRadians, so that the ill-conditioned formulae (\u03D5 of SFL
+     * close to the poles, ...) give the same result as the scalar path.
+     *
+     * @param degrees angles in degrees
+     * @return angles in radians
+     */
+    private static DoubleVector toRadians(final DoubleVector degrees) {
+        final DoubleVector high = degrees.reinterpretAsLongs().and(HIGH_PART_MASK).reinterpretAsDoubles();
+        final DoubleVector low = degrees.sub(high);
+        return low.mul(DEG_TO_RAD_B).add(low.mul(DEG_TO_RAD_A)).add(high.mul(DEG_TO_RAD_B)).add(high.mul(DEG_TO_RAD_A));
+    }
+
+    /**
+     * Converts radians to degrees with the same rounding as
+     * FastMath.toDegrees.
+     *
+     * @param radians angles in radians
+     * @return angles in degrees
+     */
+    private static DoubleVector toDegrees(final DoubleVector radians) {
+        final DoubleVector high = radians.reinterpretAsLongs().and(HIGH_PART_MASK).reinterpretAsDoubles();
+        final DoubleVector low = radians.sub(high);
+        return low.mul(RAD_TO_DEG_B).add(low.mul(RAD_TO_DEG_A)).add(high.mul(RAD_TO_DEG_B)).add(high.mul(RAD_TO_DEG_A));
+    }
+
+    /**
+     * Computes the native spherical coordinates (\u03D5, \u03B8) of the first
+     * projection plane coordinates.
+     *
+     * @param kernel projection
+     * @param parameter parameter of the projection, see {@link ProjectionKernel}
+     * @param x projection plane coordinates along X in degrees, read from 0
+     * @param y projection plane coordinates along Y in degrees, read from 0
+     * @param phi array where \u03D5 is written in radians, from offset
+     * @param theta array where \u03B8 is written in radians, from offset
+     * @param offset index where the first position is written
+     * @param count number of positions
+     * @return the number of processed positions
+     */
+    static int project(final ProjectionKernel kernel, final double parameter, final double[] x, final double[] y, final double[] phi, final double[] theta, final int offset, final int count) {
+        final int upperBound = SPECIES.loopBound(count);
+        switch (kernel) {
+            case TAN:
+            case SIN:
+            case ARC:
+            case ZEA:
+            case STG:
+                projectZenithal(kernel, x, y, phi, theta, offset, upperBound);
+                break;
+            case AIT:
+                projectAit(x, y, phi, theta, offset, upperBound);
+                break;
+            default:
+                projectCylindrical(kernel, parameter, x, y, phi, theta, offset, upperBound);
+                break;
+        }
+        return upperBound;
+    }
+
+    /**
+     * Computes the zenithal projections.
+     *
+     * @param kernel TAN, SIN, ARC, ZEA or STG
+     * @param x projection plane coordinates along X in degrees
+     * @param y projection plane coordinates along Y in degrees
+     * @param phi array where \u03D5 is written in radians
+     * @param theta array where \u03B8 is written in radians
+     * @param offset index where the first position is written
+     * @param upperBound number of positions, a multiple of the vector length
+     */
+    private static void projectZenithal(final ProjectionKernel kernel, final double[] x, final double[] y, final double[] phi, final double[] theta, final int offset, final int upperBound) {
+        for (int i = 0; i < upperBound; i += SPECIES.length()) {
+            final DoubleVector xr = toRadians(DoubleVector.fromArray(SPECIES, x, i));
+            final DoubleVector yr = toRadians(DoubleVector.fromArray(SPECIES, y, i));
+            final DoubleVector radius = xr.lanewise(VectorOperators.HYPOT, yr);
+            // \u03D5 is set to 0 at the center
+            final DoubleVector phiVector = xr.lanewise(VectorOperators.ATAN2, yr.neg())
+                    .blend(Double.NaN, radius.compare(VectorOperators.LT, MARGIN));
+            final DoubleVector thetaVector;
+            switch (kernel) {
+                case TAN:
+                    thetaVector = DoubleVector.broadcast(SPECIES, 1).lanewise(VectorOperators.ATAN2, radius);
+                    break;
+                case SIN:
+                    thetaVector = radius.lanewise(VectorOperators.ACOS)
+                            .blend(Double.NaN, radius.compare(VectorOperators.GT, 1 - MARGIN));
+                    break;
+                case ARC:
+                    thetaVector = radius.neg().add(HALF_PI);
+                    break;
+                case ZEA:
+                    final DoubleVector halfRadius = radius.mul(0.5);
+                    thetaVector = halfRadius.lanewise(VectorOperators.ASIN).mul(-2).add(HALF_PI)
+                            .blend(Double.NaN, halfRadius.compare(VectorOperators.GT, 1 - MARGIN));
+                    break;
+                default:
+                    thetaVector = radius.mul(0.5).lanewise(VectorOperators.ATAN).mul(-2).add(HALF_PI);
+                    break;
+            }
+            phiVector.intoArray(phi, offset + i);
+            thetaVector.intoArray(theta, offset + i);
+        }
+    }
+
+    /**
+     * Computes the cylindrical projections.
+     *
+     * @param kernel CAR, CEA, MER, SFL or PAR
+     * @param parameter \u03BB for CEA
+     * @param x projection plane coordinates along X in degrees
+     * @param y projection plane coordinates along Y in degrees
+     * @param phi array where \u03D5 is written in radians
+     * @param theta array where \u03B8 is written in radians
+     * @param offset index where the first position is written
+     * @param upperBound number of positions, a multiple of the vector length
+     */
+    private static void projectCylindrical(final ProjectionKernel kernel, final double parameter, final double[] x, final double[] y, final double[] phi, final double[] theta, final int offset, final int upperBound) {
+        for (int i = 0; i < upperBound; i += SPECIES.length()) {
+            final DoubleVector xr = toRadians(DoubleVector.fromArray(SPECIES, x, i));
+            final DoubleVector yr = toRadians(DoubleVector.fromArray(SPECIES, y, i));
+            final DoubleVector phiVector;
+            final DoubleVector thetaVector;
+            switch (kernel) {
+                case CAR:
+                    phiVector = xr;
+                    thetaVector = yr;
+                    break;
+                case CEA:
+                    final DoubleVector arg = yr.mul(parameter);
+                    phiVector = xr;
+                    thetaVector = arg.lanewise(VectorOperators.ASIN)
+                            .blend(Double.NaN, arg.abs().compare(VectorOperators.GT, 1 - MARGIN));
+                    break;
+                case MER:
+                    phiVector = xr;
+                    thetaVector = yr.lanewise(VectorOperators.EXP).lanewise(VectorOperators.ATAN).mul(2).sub(HALF_PI);
+                    break;
+                case SFL:
+                    final DoubleVector cosTheta = yr.lanewise(VectorOperators.COS);
+                    phiVector = xr.div(cosTheta)
+                            .blend(Double.NaN, cosTheta.abs().compare(VectorOperators.LT, MARGIN));
+                    thetaVector = yr;
+                    break;
+                default:
+                    final DoubleVector ratio = yr.div(Math.PI);
+                    phiVector = xr.div(ratio.mul(ratio).mul(-4).add(1));
+                    thetaVector = ratio.lanewise(VectorOperators.ASIN).mul(3)
+                            .blend(Double.NaN, ratio.abs().compare(VectorOperators.GT, 1 - MARGIN));
+                    break;
+            }
+            phiVector.intoArray(phi, offset + i);
+            thetaVector.intoArray(theta, offset + i);
+        }
+    }
+
+    /**
+     * Computes the Hammer-Aitoff projection.
+     *
+     * @param x projection plane coordinates along X in degrees
+     * @param y projection plane coordinates along Y in degrees
+     * @param phi array where \u03D5 is written in radians
+     * @param theta array where \u03B8 is written in radians
+     * @param offset index where the first position is written
+     * @param upperBound number of positions, a multiple of the vector length
+     */
+    private static void projectAit(final double[] x, final double[] y, final double[] phi, final double[] theta, final int offset, final int upperBound) {
+        for (int i = 0; i < upperBound; i += SPECIES.length()) {
+            final DoubleVector xr = toRadians(DoubleVector.fromArray(SPECIES, x, i));
+            final DoubleVector yr = toRadians(DoubleVector.fromArray(SPECIES, y, i));
+            final DoubleVector quarterX = xr.mul(0.25);
+            final DoubleVector halfY = yr.mul(0.5);
+            final DoubleVector zSquare = quarterX.mul(quarterX).neg().sub(halfY.mul(halfY)).add(1);
+            final DoubleVector z = zSquare.lanewise(VectorOperators.SQRT);
+            final DoubleVector numerator = z.mul(xr).mul(0.5);
+            final DoubleVector denominator = z.mul(z).mul(2).sub(1);
+            final DoubleVector sinTheta = yr.mul(z);
+            // z close to 0, \u03D5 undefined or \u03B8 close to the poles
+            final VectorMask<Double> special = zSquare.compare(VectorOperators.LT, MARGIN)
+                    .or(numerator.abs().compare(VectorOperators.LT, MARGIN)
+                            .and(denominator.abs().compare(VectorOperators.LT, MARGIN)))
+                    .or(sinTheta.abs().compare(VectorOperators.GT, 1 - MARGIN));
+            numerator.lanewise(VectorOperators.ATAN2, denominator).mul(2)
+                    .blend(Double.NaN, special).intoArray(phi, offset + i);
+            sinTheta.lanewise(VectorOperators.ASIN)
+                    .blend(Double.NaN, special).intoArray(theta, offset + i);
+        }
+    }
+
+    /**
+     * Computes in place the celestial spherical coordinates (\u03B1, \u03B4)
+     * in degrees from the native spherical coordinates (\u03D5, \u03B8) in
+     * radians.
+     *
+     * @param rotation spherical rotation
+     * @param longitude \u03D5 replaced by \u03B1
+     * @param latitude \u03B8 replaced by \u03B4
+     * @param offset index of the first position
+     * @param count number of positions, a multiple of the vector length
+     */
+    static void toCelestial(final SphericalRotation rotation, final double[] longitude, final double[] latitude, final int offset, final int count) {
+        final double alphap = rotation.getAlphap();
+        final double phip = rotation.getPhip();
+        final int pole = rotation.getPole();
+        final double[] n = rotation.getNativeToCelestialMatrix();
+        for (int i = offset; i < offset + count; i += SPECIES.length()) {
+            final DoubleVector phi = DoubleVector.fromArray(SPECIES, longitude, i);
+            final DoubleVector theta = DoubleVector.fromArray(SPECIES, latitude, i);
+            DoubleVector ra;
+            final DoubleVector dec;
+            if (pole == SphericalRotation.NORTH_POLE) {
+                ra = phi.add(alphap - phip - Math.PI);
+                dec = theta;
+            } else if (pole == SphericalRotation.SOUTH_POLE) {
+                ra = phi.neg().add(alphap + phip);
+                dec = theta.neg();
+            } else {
+                final DoubleVector cosTheta = theta.lanewise(VectorOperators.COS);
+                final DoubleVector xs = cosTheta.mul(phi.lanewise(VectorOperators.COS));
+                final DoubleVector ys = cosTheta.mul(phi.lanewise(VectorOperators.SIN));
+                final DoubleVector zs = theta.lanewise(VectorOperators.SIN);
+                final DoubleVector u = xs.mul(n[0]).add(ys.mul(n[1])).add(zs.mul(n[2]));
+                final DoubleVector v = xs.mul(n[3]).add(ys.mul(n[4])).add(zs.mul(n[5]));
+                final DoubleVector w = xs.mul(n[6]).add(ys.mul(n[7])).add(zs.mul(n[8]));
+                // \u03B1 is set to \u03B1_p at the poles of the rotation
+                final VectorMask<Double> atPole = u.abs().compare(VectorOperators.LT, MARGIN)
+                        .and(v.abs().compare(VectorOperators.LT, MARGIN));
+                ra = v.lanewise(VectorOperators.ATAN2, u).add(alphap).blend(Double.NaN, atPole);
+                dec = w.lanewise(VectorOperators.ATAN2, u.mul(u).add(v.mul(v)).lanewise(VectorOperators.SQRT));
+            }
+            ra = toDegrees(ra);
+            ra = ra.add(360, ra.compare(VectorOperators.LT, 0));
+            ra.intoArray(longitude, i);
+            toDegrees(dec).intoArray(latitude, i);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs;
+
+import io.github.malapert.jwcs.Reprojector.Interpolation;
+import io.github.malapert.jwcs.proj.exception.JWcsException;
+import io.github.malapert.jwcs.utility.BatchReport;
+import io.github.malapert.jwcs.utility.ParallelBatch;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class ReprojectorTest {
+
+    public ReprojectorTest() {
+    }
+
+    /**
+     * Creates a TAN WCS centered on (10, 40).
+     */
+    private static AbstractJWcs createWcs(final int naxis1, final int naxis2, final double cdelt) throws JWcsException {
+        final Map<String, String> wcsKeywords = new HashMap<>();
+        wcsKeywords.put(AbstractJWcs.NAXIS, "2");
+        wcsKeywords.put(AbstractJWcs.NAXIS1, String.valueOf(naxis1));
+        wcsKeywords.put(AbstractJWcs.NAXIS2, String.valueOf(naxis2));
+        wcsKeywords.put(AbstractJWcs.RADESYS, "ICRS");
+        wcsKeywords.put(AbstractJWcs.CRPIX1, String.valueOf(0.5 * naxis1 + 0.5));
+        wcsKeywords.put(AbstractJWcs.CRPIX2, String.valueOf(0.5 * naxis2 + 0.5));
+        wcsKeywords.put(AbstractJWcs.CRVAL1, "10");
+        wcsKeywords.put(AbstractJWcs.CRVAL2, "40");
+        wcsKeywords.put(AbstractJWcs.CD11, String.valueOf(-cdelt));
+        wcsKeywords.put(AbstractJWcs.CD12, "0");
+        wcsKeywords.put(AbstractJWcs.CD21, "0");
+        wcsKeywords.put(AbstractJWcs.CD22, String.valueOf(cdelt));
+        wcsKeywords.put(AbstractJWcs.CTYPE1, "RA---TAN");
+        wcsKeywords.put(AbstractJWcs.CTYPE2, "DEC--TAN");
+        final AbstractJWcs wcs = new JWcsMap(wcsKeywords);
+        wcs.doInit();
+        return wcs;
+    }
+
+    /**
+     * Smooth source image.
+     */
+    private static double getValue(final int x, final int y) {
+        return x + 2 * y;
+    }
+
+    /**
+     * Test of reproject method onto the same WCS, of class Reprojector.
+     */
+    @Test
+    public void testReprojectIdentity() throws JWcsException {
+        System.out.println("reproject identity");
+        final AbstractJWcs wcs = createWcs(100, 80, 0.001);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ParallelBatch batch = new ParallelBatch(executor, 1);
+            for (final Interpolation interpolation : Interpolation.values()) {
+                final Reprojector reprojector = new Reprojector(wcs, wcs, interpolation, 32);
+                assertEquals(12, reprojector.getNbTiles());
+                final double[] result = reprojector.reproject(ReprojectorTest::getValue, batch);
+                for (int y = 2; y < 80; y++) {
+                    for (int x = 2; x < 100; x++) {
+                        final double expected = getValue(x, y);
+                        assertEquals(interpolation.name(), expected, result[(y - 1) * 100 + x - 1], 1e-6 * expected);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test of reproject method with a flux conserving interpolation, of
+     * class Reprojector.
+     */
+    @Test
+    public void testReprojectFluxConserving() throws JWcsException {
+        System.out.println("reproject flux conserving");
+        final AbstractJWcs source = createWcs(100, 100, 0.001);
+        final AbstractJWcs target = createWcs(50, 50, 0.002);
+        final Reprojector reprojector = new Reprojector(source, target, Interpolation.FLUX_CONSERVING);
+        final double[] result = reprojector.reproject((x, y) -> 1, new ParallelBatch());
+        double sum = 0;
+        for (int y = 1; y <= 50; y++) {
+            for (int x = 1; x <= 50; x++) {
+                final double value = result[(y - 1) * 50 + x - 1];
+                if (x > 5 && x <= 45 && y > 5 && y <= 45) {
+                    assertEquals(4, value, 1e-3);
+                }
+                sum += value;
+            }
+        }
+        assertEquals(100 * 100, sum, 1.0);
+    }
+
+    /**
+     * Test of reproject method with tiles, of class Reprojector.
+     */
+    @Test
+    public void testReprojectByTiles() throws JWcsException {
+        System.out.println("reproject by tiles");
+        final AbstractJWcs source = createWcs(100, 80, 0.001);
+        final AbstractJWcs target = createWcs(70, 50, 0.0015);
+        final double[] expected = new Reprojector(source, target, Interpolation.BILINEAR, 1000).reproject(ReprojectorTest::getValue, new ParallelBatch());
+        final double[] result = new double[70 * 50];
+        final BatchReport report = new Reprojector(source, target, Interpolation.BILINEAR, 16).reproject(ReprojectorTest::getValue, (x0, y0, width, height, values) -> {
+            for (int j = 0; j < height; j++) {
+                System.arraycopy(values, j * width, result, (y0 - 1 + j) * 70 + x0 - 1, width);
+            }
+        }, new ParallelBatch(ForkJoinPool.commonPool(), 1));
+        assertEquals(20, report.getNbChunks());
+        assertFalse(report.hasFailures());
+        assertArrayEquals(expected, result, 1e-9);
+        assertEquals(49.75 + 2 * 39.75, result[(25 - 1) * 70 + 35 - 1], 1e-6);
+    }
+
+    /**
+     * Test of clipArea method, of class Reprojector.
+     */
+    @Test
+    public void testClipArea() {
+        System.out.println("clipArea");
+        final double[] clipped = new double[2 * Reprojector.MAX_CLIPPED_VERTICES];
+        final double[] buffer = new double[2 * Reprojector.MAX_CLIPPED_VERTICES];
+        final double[] pixel = {-0.5, -0.5, 0.5, -0.5, 0.5, 0.5, -0.5, 0.5};
+        assertEquals(1, Reprojector.clipArea(pixel, -0.5, 0.5, -0.5, 0.5, clipped, buffer), 1e-12);
+        final double[] shifted = {0, 0, 1, 0, 1, 1, 0, 1};
+        assertEquals(0.25, Reprojector.clipArea(shifted, -0.5, 0.5, -0.5, 0.5, clipped, buffer), 1e-12);
+
+        // self-intersecting footprint giving 11 vertices once clipped
+        final double[] crossed = {0.75, 0, -1, -0.75, 0.75, 0.75, -1.25, -1.25};
+        final double area = Reprojector.clipArea(crossed, -0.5, 0.5, -0.5, 0.5, clipped, buffer);
+        assertTrue(area >= 0 && area <= 1);
+    }
+}
@@ -0,0 +1,667 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs;
+
+import io.github.malapert.jwcs.proj.AbstractProjection;
+import io.github.malapert.jwcs.proj.ProjectionStatus;
+import io.github.malapert.jwcs.proj.SIN;
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.proj.exception.JWcsException;
+import io.github.malapert.jwcs.proj.exception.ProjectionException;
+import io.github.malapert.jwcs.utility.BatchReport;
+import io.github.malapert.jwcs.utility.NumericalUtility;
+import io.github.malapert.jwcs.utility.ParallelBatch;
+import io.github.malapert.jwcs.utility.PrecisionPolicy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class WcsTransformTest {
+
+    private static final int NB_THREADS = 8;
+
+    public WcsTransformTest() {
+    }
+
+    /**
+     * Computes the sky positions of a pixel grid, NaN outside the projection.
+     */
+    private static double[] computeGrid(final WcsTransform transform) {
+        final double[] skyPositions = new double[2 * 60 * 30];
+        int i = 0;
+        for (int y = 1; y <= 300; y += 10) {
+            for (int x = 1; x <= 600; x += 10) {
+                try {
+                    final double[] result = transform.pix2wcs(x + 0.25, y + 0.25);
+                    skyPositions[i] = result[0];
+                    skyPositions[i + 1] = result[1];
+                } catch (ProjectionException ex) {
+                    skyPositions[i] = Double.NaN;
+                    skyPositions[i + 1] = Double.NaN;
+                }
+                i += 2;
+            }
+        }
+        return skyPositions;
+    }
+
+    /**
+     * Test of getTransform method, of class AbstractJWcs.
+     */
+    @Test
+    public void testGetTransform() throws JWcsException {
+        System.out.println("getTransform");
+        final AbstractJWcs wcs = JWcsMap.getProjection("TAN");
+        final WcsTransform transform = wcs.getTransform();
+        assertSame(transform, wcs.getTransform());
+        assertEquals(wcs.crpix(1), transform.crpix(1), 0.0);
+        assertEquals(wcs.crpix(2), transform.crpix(2), 0.0);
+        assertEquals(wcs.cd(1, 1), transform.cd(1, 1), 0.0);
+        assertEquals(wcs.cd(2, 2), transform.cd(2, 2), 0.0);
+        assertEquals(wcs.getName(), transform.getName());
+        assertArrayEquals(wcs.pix2wcs(10, 20), transform.pix2wcs(10, 20), 0.0);
+    }
+
+    /**
+     * Test of the copy of the projection, of class WcsTransform.
+     */
+    @Test
+    public void testTransformOwnsProjection() throws JWcsException {
+        System.out.println("transform owns its projection");
+        final AbstractJWcs wcs = JWcsMap.getProjection("SIN");
+        final WcsTransform transform = wcs.getTransform();
+        final double[] expected = transform.pix2wcs(320.5, 165.25);
+        wcs.getProj().setCrval1(wcs.getProj().getCrval1() + 0.1);
+        ((SIN) wcs.getProj()).setKsi(0.5);
+        assertArrayEquals(expected, transform.pix2wcs(320.5, 165.25), 0.0);
+    }
+
+    /**
+     * Test of getTransform method before the initialization.
+     */
+    @Test(expected = JWcsError.class)
+    public void testGetTransformNotInitialized() {
+        System.out.println("getTransform not initialized");
+        new JWcsMap(new HashMap<>()).getTransform();
+    }
+
+    /**
+     * Test of pix2wcs and wcs2pix methods, of class WcsTransform.
+     */
+    @Test
+    public void testRoundTrip() throws JWcsException {
+        System.out.println("pix2wcs/wcs2pix");
+        final WcsTransform transform = JWcsMap.getProjection("AZP").getTransform();
+        final double[] sky = transform.pix2wcs(320.5, 165.25);
+        final double[] pixel = transform.wcs2pix(sky[0], sky[1]);
+        assertEquals(320.5, pixel[0], 1e-9);
+        assertEquals(165.25, pixel[1], 1e-9);
+    }
+
+    /**
+     * Test of pix2wcs and wcs2pix methods with offsets, of class WcsTransform.
+     */
+    @Test
+    public void testBufferWithOffsets() throws JWcsException {
+        System.out.println("pix2wcs/wcs2pix with offsets");
+        final AbstractJWcs wcs = JWcsMap.getProjection("AZP");
+        final double[] pixels = {-1, -1, 300.5, 160.25, 320.5, 165.25, 280, 140};
+        final double[] skyPositions = new double[10];
+        wcs.pix2wcs(pixels, 2, skyPositions, 4, 3);
+        assertEquals(0.0, skyPositions[3], 0.0);
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(wcs.pix2wcs(pixels[2 + 2 * i], pixels[3 + 2 * i]), new double[]{skyPositions[4 + 2 * i], skyPositions[5 + 2 * i]}, 0.0);
+        }
+
+        // in place
+        wcs.wcs2pix(skyPositions, 4, skyPositions, 4, 3);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(pixels[2 + i], skyPositions[4 + i], 1e-9);
+        }
+    }
+
+    /**
+     * Test of pix2wcs and wcs2pix methods with columns, of class WcsTransform.
+     */
+    @Test
+    public void testColumns() throws JWcsException {
+        System.out.println("pix2wcs/wcs2pix with columns");
+        final AbstractJWcs wcs = JWcsMap.getProjection("AZP");
+        final double[] x = {300.5, 320.5, 280};
+        final double[] y = {160.25, 165.25, 140};
+        final double[] longitude = new double[3];
+        final double[] latitude = new double[3];
+        wcs.pix2wcs(x, y, longitude, latitude);
+        final double[] xOut = new double[3];
+        final double[] yOut = new double[3];
+        wcs.wcs2pix(longitude, latitude, xOut, yOut);
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(wcs.pix2wcs(x[i], y[i]), new double[]{longitude[i], latitude[i]}, 0.0);
+        }
+        assertArrayEquals(x, xOut, 1e-9);
+        assertArrayEquals(y, yOut, 1e-9);
+    }
+
+    /**
+     * Test of pix2wcs method with columns of different lengths.
+     */
+    @Test(expected = JWcsError.class)
+    public void testColumnsWithDifferentLengths() throws JWcsException {
+        System.out.println("pix2wcs with columns of different lengths");
+        JWcsMap.getProjection("AZP").pix2wcs(new double[2], new double[2], new double[2], new double[1]);
+    }
+
+    /**
+     * Test of the parallel pix2wcs and wcs2pix methods, of class WcsTransform.
+     */
+    @Test
+    public void testParallel() throws JWcsException {
+        System.out.println("pix2wcs/wcs2pix in parallel");
+        final AbstractJWcs wcs = JWcsMap.getProjection("AZP");
+        final int nb = 1000;
+        final double[] x = new double[nb];
+        final double[] y = new double[nb];
+        for (int i = 0; i < nb; i++) {
+            x[i] = 250 + (i % 100);
+            y[i] = 130 + (i / 100) * 4;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(NB_THREADS);
+        try {
+            final ParallelBatch batch = new ParallelBatch(executor, 100);
+            final double[] longitude = new double[nb];
+            final double[] latitude = new double[nb];
+            BatchReport report = wcs.pix2wcs(x, y, longitude, latitude, batch);
+            assertEquals(10, report.getNbChunks());
+            assertFalse(report.hasFailures());
+            for (int i = 0; i < nb; i++) {
+                assertArrayEquals(wcs.pix2wcs(x[i], y[i]), new double[]{longitude[i], latitude[i]}, 0.0);
+            }
+
+            latitude[555] = 100;
+            final double[] pixels = new double[2 * nb];
+            final double[] skyPositions = new double[2 * nb];
+            for (int i = 0; i < nb; i++) {
+                skyPositions[2 * i] = longitude[i];
+                skyPositions[2 * i + 1] = latitude[i];
+            }
+            report = wcs.wcs2pix(skyPositions, 0, pixels, 0, nb, batch);
+            assertEquals(1, report.getFailures().size());
+            assertEquals(500, report.getFailures().get(0).getFrom());
+            assertEquals(600, report.getFailures().get(0).getTo());
+            assertTrue(report.getFailures().get(0).getCause() instanceof JWcsError);
+            for (int i = 0; i < nb; i++) {
+                if (i >= 500 && i < 600) {
+                    assertTrue(Double.isNaN(pixels[2 * i]));
+                    assertTrue(Double.isNaN(pixels[2 * i + 1]));
+                } else {
+                    assertEquals(x[i], pixels[2 * i], 1e-9);
+                    assertEquals(y[i], pixels[2 * i + 1], 1e-9);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test of the parallel pix2wcs and wcs2pix methods with columns containing
+     * positions beyond the projection, of class WcsTransform.
+     */
+    @Test
+    public void testParallelColumnsBeyondProjection() throws JWcsException {
+        System.out.println("pix2wcs/wcs2pix with columns in parallel beyond the projection");
+        final WcsTransform transform = JWcsMap.getProjection("AIT").getTransform();
+        final int nb = 60 * 30;
+        final double[] x = new double[nb];
+        final double[] y = new double[nb];
+        for (int i = 0; i < nb; i++) {
+            x[i] = -3000 + 100 * (i % 60) + 0.25;
+            y[i] = -1500 + 100 * (i / 60) + 0.25;
+        }
+        final double[] expectedLongitude = new double[nb];
+        final double[] expectedLatitude = new double[nb];
+        final int nbInvalid = transform.pix2wcs(x, y, expectedLongitude, expectedLatitude, (byte[]) null);
+        assertTrue(nbInvalid > 0);
+        final ParallelBatch batch = new ParallelBatch(ForkJoinPool.commonPool(), 100);
+        final double[] longitude = new double[nb];
+        final double[] latitude = new double[nb];
+        BatchReport report = transform.pix2wcs(x, y, longitude, latitude, batch);
+        assertFalse(report.hasFailures());
+        // the chunks do not split the positions as the serial call does, so
+        // that a position may be vectorized in one call only: the valid
+        // positions may differ by one ulp while NaN only matches NaN
+        int nbNaN = 0;
+        for (int i = 0; i < nb; i++) {
+            if (Double.isNaN(longitude[i])) {
+                nbNaN++;
+            }
+        }
+        assertEquals(nbInvalid, nbNaN);
+        assertArrayEquals(expectedLongitude, longitude, 1e-12);
+        assertArrayEquals(expectedLatitude, latitude, 1e-12);
+
+        final double[] expectedX = new double[nb];
+        final double[] expectedY = new double[nb];
+        transform.wcs2pix(longitude, latitude, expectedX, expectedY, (byte[]) null);
+        final double[] xOut = new double[nb];
+        final double[] yOut = new double[nb];
+        report = transform.wcs2pix(longitude, latitude, xOut, yOut, batch);
+        assertFalse(report.hasFailures());
+        assertArrayEquals(expectedX, xOut, 1e-9);
+        assertArrayEquals(expectedY, yOut, 1e-9);
+    }
+
+    /**
+     * Test of pix2wcs and wcs2pix methods in the batch mode, of class
+     * WcsTransform.
+     */
+    @Test
+    public void testBatchMode() throws JWcsException {
+        System.out.println("pix2wcs/wcs2pix in the batch mode");
+        for (final String code : new String[]{"AIT", "MOL", "PAR", "CEA", "SIN", "TAN", "AZP", "SZP", "ZPN", "AIR"}) {
+            final WcsTransform transform = JWcsMap.getProjection(code).getTransform();
+            final double[] pixels = new double[2 * 60 * 30];
+            int i = 0;
+            for (int y = -1500; y < 1500; y += 100) {
+                for (int x = -3000; x < 3000; x += 100) {
+                    pixels[i] = x + 0.25;
+                    pixels[i + 1] = y + 0.25;
+                    i += 2;
+                }
+            }
+            final int count = pixels.length / 2;
+            final double[] skyPositions = new double[pixels.length];
+            final byte[] status = new byte[count];
+            final int nbInvalid = transform.pix2wcs(pixels, 0, skyPositions, 0, count, status);
+            int nbExpectedInvalid = 0;
+            for (int j = 0; j < count; j++) {
+                double[] expected;
+                try {
+                    expected = transform.pix2wcs(pixels[2 * j], pixels[2 * j + 1]);
+                    if (Double.isNaN(expected[0]) || Double.isNaN(expected[1])) {
+                        expected = null;
+                    }
+                } catch (ProjectionException ex) {
+                    expected = null;
+                }
+                if (expected == null) {
+                    nbExpectedInvalid++;
+                    assertNotEquals(code, ProjectionStatus.OK.getCode(), status[j]);
+                    assertTrue(code, Double.isNaN(skyPositions[2 * j]));
+                    assertTrue(code, Double.isNaN(skyPositions[2 * j + 1]));
+                } else {
+                    assertEquals(code, ProjectionStatus.OK, ProjectionStatus.valueOf(status[j]));
+                    assertArrayEquals(code, expected, new double[]{skyPositions[2 * j], skyPositions[2 * j + 1]}, 0.0);
+                }
+            }
+            assertEquals(code, nbExpectedInvalid, nbInvalid);
+
+            final double[] longitude = new double[36 * 19];
+            final double[] latitude = new double[36 * 19];
+            i = 0;
+            for (int lat = -90; lat <= 90; lat += 10) {
+                for (int lon = 0; lon < 360; lon += 10) {
+                    longitude[i] = lon;
+                    latitude[i] = lat;
+                    i++;
+                }
+            }
+            latitude[0] = 95;
+            final double[] x = new double[longitude.length];
+            final double[] y = new double[longitude.length];
+            final byte[] wcsStatus = new byte[longitude.length];
+            transform.wcs2pix(longitude, latitude, x, y, wcsStatus);
+            assertEquals(ProjectionStatus.INVALID_COORDINATES, ProjectionStatus.valueOf(wcsStatus[0]));
+            for (int j = 1; j < longitude.length; j++) {
+                double[] expected;
+                try {
+                    expected = transform.wcs2pix(longitude[j], latitude[j]);
+                    if (Double.isNaN(expected[0]) || Double.isNaN(expected[1])) {
+                        expected = null;
+                    }
+                } catch (ProjectionException ex) {
+                    expected = null;
+                }
+                if (expected == null) {
+                    assertNotEquals(code, ProjectionStatus.OK.getCode(), wcsStatus[j]);
+                    assertTrue(code, Double.isNaN(x[j]));
+                } else {
+                    assertEquals(code, ProjectionStatus.OK, ProjectionStatus.valueOf(wcsStatus[j]));
+                    assertEquals(code, expected[0], x[j], 0.0);
+                    assertEquals(code, expected[1], y[j], 0.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of pix2wcs method in the batch mode without status.
+     */
+    @Test
+    public void testBatchModeWithoutStatus() throws JWcsException {
+        System.out.println("pix2wcs in the batch mode without status");
+        final AbstractJWcs wcs = JWcsMap.getProjection("AIT");
+        final double[] x = {wcs.crpix(1), 1e6};
+        final double[] y = {wcs.crpix(2), 1e6};
+        final double[] longitude = new double[2];
+        final double[] latitude = new double[2];
+        assertEquals(1, wcs.pix2wcs(x, y, longitude, latitude, (byte[]) null));
+        assertArrayEquals(wcs.pix2wcs(x[0], y[0]), new double[]{longitude[0], latitude[0]}, 0.0);
+        assertTrue(Double.isNaN(longitude[1]));
+        assertTrue(Double.isNaN(latitude[1]));
+    }
+
+    /**
+     * Test of pix2wcs method with columns in the batch mode, of class
+     * WcsTransform.
+     *
+     * <p>The closed-form projections may be vectorized: the positions must
+     * have the same status as the positions computed one by one.
+     */
+    @Test
+    public void testColumnsBatchMode() throws JWcsException {
+        System.out.println("pix2wcs with columns in the batch mode");
+        // set by the vector profile, which tests the Java 17 classes
+        assertEquals(Boolean.getBoolean("jwcs.vector.expected"), AbstractProjection.isVectorized());
+        for (final String code : new String[]{"TAN", "SIN", "ARC", "ZEA", "STG", "CAR", "CEA", "MER", "SFL", "PAR", "AIT", "AZP"}) {
+            final WcsTransform transform = JWcsMap.getProjection(code).getTransform();
+            final int count = 60 * 45;
+            final double[] x = new double[count];
+            final double[] y = new double[count];
+            final double[] pixels = new double[2 * count];
+            int i = 0;
+            for (int row = 0; row < 45; row++) {
+                for (int column = 0; column < 60; column++) {
+                    x[i] = -3000 + 100 * column + 0.25;
+                    y[i] = -2000 + 100 * row + 0.75;
+                    pixels[2 * i] = x[i];
+                    pixels[2 * i + 1] = y[i];
+                    i++;
+                }
+            }
+            // center of the zenithal projections
+            x[1] = transform.crpix(1);
+            y[1] = transform.crpix(2);
+            pixels[2] = x[1];
+            pixels[3] = y[1];
+            final double[] longitude = new double[count];
+            final double[] latitude = new double[count];
+            final byte[] status = new byte[count];
+            final int nbInvalid = transform.pix2wcs(x, y, longitude, latitude, status);
+            final double[] skyPositions = new double[2 * count];
+            final byte[] expectedStatus = new byte[count];
+            assertEquals(code, transform.pix2wcs(pixels, 0, skyPositions, 0, count, expectedStatus), nbInvalid);
+            assertArrayEquals(code, expectedStatus, status);
+            for (int j = 0; j < count; j++) {
+                if (status[j] == ProjectionStatus.OK.getCode()) {
+                    final double deltaLongitude = Math.abs(skyPositions[2 * j] - longitude[j]);
+                    assertEquals(code, 0, Math.min(deltaLongitude, 360 - deltaLongitude), 1e-9);
+                    assertEquals(code, skyPositions[2 * j + 1], latitude[j], 1e-9);
+                } else {
+                    assertTrue(code, Double.isNaN(longitude[j]));
+                    assertTrue(code, Double.isNaN(latitude[j]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of pix2wcs method in the batch mode with the edge pixels of PAR, of
+     * class WcsTransform.
+     *
+     * <p>PAR returns an infinite longitude on the row y = 0 without throwing
+     * an exception: a valid position must be finite.
+     */
+    @Test
+    public void testBatchModeEdgeOfPar() throws JWcsException {
+        System.out.println("pix2wcs in the batch mode with the edge pixels of PAR");
+        final WcsTransform transform = JWcsMap.getProjection("PAR").getTransform();
+        final int width = 640;
+        final int height = 340;
+        final int count = width * height;
+        final double[] x = new double[count];
+        final double[] y = new double[count];
+        final double[] pixels = new double[2 * count];
+        for (int i = 0; i < count; i++) {
+            x[i] = -20 + i % width;
+            y[i] = -20 + i / width;
+            pixels[2 * i] = x[i];
+            pixels[2 * i + 1] = y[i];
+        }
+        final double[] longitude = new double[count];
+        final double[] latitude = new double[count];
+        final byte[] status = new byte[count];
+        final int nbInvalid = transform.pix2wcs(x, y, longitude, latitude, status);
+        final double[] skyPositions = new double[2 * count];
+        final byte[] expectedStatus = new byte[count];
+        assertEquals(nbInvalid, transform.pix2wcs(pixels, 0, skyPositions, 0, count, expectedStatus));
+        assertArrayEquals(expectedStatus, status);
+        for (int i = 0; i < count; i++) {
+            if (status[i] == ProjectionStatus.OK.getCode()) {
+                assertTrue(Double.isFinite(longitude[i]) && Double.isFinite(latitude[i]));
+                assertTrue(Double.isFinite(skyPositions[2 * i]) && Double.isFinite(skyPositions[2 * i + 1]));
+            } else {
+                assertTrue(Double.isNaN(longitude[i]) && Double.isNaN(latitude[i]));
+                assertTrue(Double.isNaN(skyPositions[2 * i]) && Double.isNaN(skyPositions[2 * i + 1]));
+            }
+        }
+        // pixel (1, 0)
+        final int edge = 20 * width + 21;
+        assertEquals(ProjectionStatus.BEYOND_PROJECTION, ProjectionStatus.valueOf(status[edge]));
+    }
+
+    /**
+     * Test of computeSkyGrid method, of class AbstractJWcs.
+     */
+    @Test
+    public void testComputeSkyGrid() throws JWcsException {
+        System.out.println("computeSkyGrid");
+        final AbstractJWcs wcs = JWcsMap.getProjection("AZP");
+        final int width = 40;
+        final int height = 25;
+        final double[][] grid = wcs.computeSkyGrid(290, 150, width, height);
+        assertEquals(width * height, grid[0].length);
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                final double[] expected = wcs.pix2wcs(290 + i, 150 + j);
+                assertEquals(expected[0], grid[0][j * width + i], 1e-9);
+                assertEquals(expected[1], grid[1][j * width + i], 1e-9);
+            }
+        }
+
+        final AbstractJWcs ait = JWcsMap.getProjection("AIT");
+        final double[] longitude = new double[100 * 100];
+        final double[] latitude = new double[100 * 100];
+        final byte[] status = new byte[100 * 100];
+        final int nbInvalid = ait.computeSkyGrid(-3000, -2000, 100, 100, longitude, latitude, status);
+        int nbNaN = 0;
+        for (int i = 0; i < longitude.length; i++) {
+            if (Double.isNaN(longitude[i])) {
+                nbNaN++;
+                assertNotEquals(ProjectionStatus.OK.getCode(), status[i]);
+            }
+        }
+        assertTrue(nbInvalid > 0);
+        assertEquals(nbNaN, nbInvalid);
+    }
+
+    /**
+     * Test of computeSkyGrid method with interpolation, of class WcsTransform.
+     */
+    @Test
+    public void testComputeSkyGridInterpolated() throws JWcsException {
+        System.out.println("computeSkyGrid interpolated");
+        final double tolerance = 1.0 / 3600000;
+        for (final String code : new String[]{"AIR", "ZPN", "PCO", "AIT", "TAN"}) {
+            final WcsTransform transform = JWcsMap.getProjection(code).getTransform();
+            final int width = 300;
+            final int height = 200;
+            final double[] longitude = new double[width * height];
+            final double[] latitude = new double[width * height];
+            final byte[] status = new byte[width * height];
+            final int nbInvalid = transform.computeSkyGrid(-200, -100, width, height, longitude, latitude, status, tolerance);
+            final double[] expectedLongitude = new double[width * height];
+            final double[] expectedLatitude = new double[width * height];
+            final int nbExpectedInvalid = transform.computeSkyGrid(-200, -100, width, height, expectedLongitude, expectedLatitude, null);
+            assertEquals(code, nbExpectedInvalid, nbInvalid);
+            for (int i = 0; i < longitude.length; i++) {
+                if (Double.isNaN(expectedLongitude[i])) {
+                    assertTrue(code, Double.isNaN(longitude[i]));
+                    assertNotEquals(code, ProjectionStatus.OK.getCode(), status[i]);
+                } else {
+                    assertEquals(code, ProjectionStatus.OK.getCode(), status[i]);
+                    assertEquals(code, 0, NumericalUtility.separation(expectedLongitude[i], expectedLatitude[i], longitude[i], latitude[i]), tolerance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of pix2wcs method when the positions do not fit in the output.
+     */
+    @Test(expected = JWcsError.class)
+    public void testBufferTooSmall() throws JWcsException {
+        System.out.println("pix2wcs buffer too small");
+        JWcsMap.getProjection("AZP").pix2wcs(new double[]{300, 150, 310, 160}, 0, new double[4], 1, 2);
+    }
+
+    /**
+     * Test of the concurrent use of a single transform, with iterative
+     * projections.
+     */
+    @Test
+    public void testConcurrentPix2wcs() throws Exception {
+        System.out.println("concurrent pix2wcs");
+        final ExecutorService executor = Executors.newFixedThreadPool(NB_THREADS);
+        try {
+            for (final String code : new String[]{"AIR", "MOL", "PCO", "ZPN", "SZP", "TAN"}) {
+                final WcsTransform transform = JWcsMap.getProjection(code).getTransform();
+                final double[] expected = computeGrid(transform);
+                final List<Future<double[]>> results = new ArrayList<>();
+                for (int i = 0; i < NB_THREADS; i++) {
+                    results.add(executor.submit(new Callable<double[]>() {
+                        @Override
+                        public double[] call() {
+                            return computeGrid(transform);
+                        }
+                    }));
+                }
+                for (final Future<double[]> result : results) {
+                    assertArrayEquals(code, expected, result.get(), 0.0);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test of withPrecision method, of class WcsTransform.
+     */
+    @Test
+    public void testWithPrecision() throws JWcsException {
+        System.out.println("withPrecision");
+        final WcsTransform transform = JWcsMap.getProjection("TAN").getTransform();
+        assertEquals(PrecisionPolicy.EXACT, transform.getPrecision());
+        assertSame(transform, transform.withPrecision(PrecisionPolicy.EXACT));
+        final WcsTransform fast = transform.withPrecision(PrecisionPolicy.FAST);
+        assertEquals(PrecisionPolicy.FAST, fast.getPrecision());
+        assertEquals(PrecisionPolicy.EXACT, transform.getPrecision());
+        assertEquals(transform.getName(), fast.getName());
+    }
+
+    /**
+     * Test of withPrecision method with a null policy.
+     */
+    @Test(expected = JWcsError.class)
+    public void testWithPrecisionNull() throws JWcsException {
+        System.out.println("withPrecision null");
+        JWcsMap.getProjection("TAN").getTransform().withPrecision(null);
+    }
+
+    /**
+     * Test of the FAST precision, compared to the EXACT precision in both
+     * directions.
+     */
+    @Test
+    public void testFastPrecision() throws JWcsException {
+        System.out.println("pix2wcs and wcs2pix with the FAST precision");
+        for (final String code : new String[]{"AIR", "AIT", "ARC", "AZP", "BON", "CAR", "CEA", "COD", "COE",
+            "COO", "COP", "CYP", "MER", "MOL", "NCP", "PAR", "PCO", "SFL", "SIN", "STG", "SZP", "TAN", "ZEA", "ZPN"}) {
+            final WcsTransform exact = JWcsMap.getProjection(code).getTransform();
+            final WcsTransform fast = exact.withPrecision(PrecisionPolicy.FAST);
+            final int count = 60 * 30;
+            final double[] pixels = new double[2 * count];
+            int i = 0;
+            for (int y = 1; y <= 300; y += 10) {
+                for (int x = 1; x <= 600; x += 10) {
+                    pixels[i++] = x + 0.25;
+                    pixels[i++] = y + 0.75;
+                }
+            }
+            final double[] expected = new double[2 * count];
+            final byte[] expectedStatus = new byte[count];
+            exact.pix2wcs(pixels, 0, expected, 0, count, expectedStatus);
+            final double[] skyPositions = new double[2 * count];
+            final byte[] status = new byte[count];
+            fast.pix2wcs(pixels, 0, skyPositions, 0, count, status);
+            assertArrayEquals(code, expectedStatus, status);
+            final byte[] pixelStatus = status.clone();
+            for (int j = 0; j < count; j++) {
+                if (status[j] == ProjectionStatus.OK.getCode()) {
+                    assertEquals(code, 0, NumericalUtility.separation(expected[2 * j], expected[2 * j + 1], skyPositions[2 * j], skyPositions[2 * j + 1]), 1e-9);
+                } else {
+                    // NaN positions are not valid inputs of wcs2pix
+                    expected[2 * j] = 0;
+                    expected[2 * j + 1] = 0;
+                }
+            }
+            final double[] expectedPixels = new double[2 * count];
+            exact.wcs2pix(expected, 0, expectedPixels, 0, count, expectedStatus);
+            final double[] fastPixels = new double[2 * count];
+            fast.wcs2pix(expected, 0, fastPixels, 0, count, status);
+            assertArrayEquals(code, expectedStatus, status);
+            for (int j = 0; j < count; j++) {
+                if (status[j] == ProjectionStatus.OK.getCode()) {
+                    assertEquals(code, expectedPixels[2 * j], fastPixels[2 * j], 1e-6);
+                    assertEquals(code, expectedPixels[2 * j + 1], fastPixels[2 * j + 1], 1e-6);
+                }
+            }
+            // single positions, valid in both directions
+            for (int j = 0; j < count; j += 7) {
+                if (pixelStatus[j] == ProjectionStatus.OK.getCode() && status[j] == ProjectionStatus.OK.getCode()) {
+                    assertArrayEquals(code, exact.pix2wcs(pixels[2 * j], pixels[2 * j + 1]), fast.pix2wcs(pixels[2 * j], pixels[2 * j + 1]), 1e-9);
+                    assertArrayEquals(code, exact.wcs2pix(expected[2 * j], expected[2 * j + 1]), fast.wcs2pix(expected[2 * j], expected[2 * j + 1]), 1e-6);
+                }
+            }
+        }
+    }
+}
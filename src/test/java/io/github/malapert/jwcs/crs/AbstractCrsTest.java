@@ -32,10 +32,13 @@ import static io.github.malapert.jwcs.crs.AbstractCrs.convertMatrixEqB19502Gal;
 import io.github.malapert.jwcs.proj.exception.JWcsError;
 import io.github.malapert.jwcs.proj.exception.JWcsException;
 import io.github.malapert.jwcs.proj.exception.ProjectionException;
+import io.github.malapert.jwcs.utility.BatchReport;
 import io.github.malapert.jwcs.utility.NumericalUtility;
+import io.github.malapert.jwcs.utility.ParallelBatch;
 import static io.github.malapert.jwcs.utility.NumericalUtility.createRealIdentityMatrix;
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import nom.tam.fits.Fits;
@@ -126,6 +129,121 @@ public class AbstractCrsTest {
         assertEquals(expectedSeparation, separation, 1e-8);
     }
 
+    /**
+     * Test of the parallel convertTo method, of class AbstractCrs.
+     */
+    @Test
+    public void testConvertToParallel() {
+        System.out.println("convertTo in parallel");
+        final AbstractCrs sysEqFK4 = new Equatorial(new FK4("B1950"));
+        final AbstractCrs galactic = new Galactic();
+        final double[] coordinates = new double[2 * 100];
+        for (int i = 0; i < 100; i++) {
+            coordinates[2 * i] = i * 3.5;
+            coordinates[2 * i + 1] = i * 1.7 - 85;
+        }
+        coordinates[2 * 42 + 1] = 95;
+        final SkyPosition[] result = new SkyPosition[100];
+        final ParallelBatch batch = new ParallelBatch(ForkJoinPool.commonPool(), 10);
+        final BatchReport report = sysEqFK4.convertTo(galactic, coordinates, result, batch);
+        assertEquals(10, report.getNbChunks());
+        assertEquals(1, report.getFailures().size());
+        assertEquals(40, report.getFailures().get(0).getFrom());
+        assertEquals(50, report.getFailures().get(0).getTo());
+        for (int i = 0; i < 100; i++) {
+            if (i >= 40 && i < 50) {
+                assertTrue(Double.isNaN(result[i].getLatitude()));
+            } else {
+                final SkyPosition expected = sysEqFK4.convertTo(galactic, coordinates[2 * i], coordinates[2 * i + 1]);
+                assertEquals(expected.getLongitude(), result[i].getLongitude(), 0.0);
+                assertEquals(expected.getLatitude(), result[i].getLatitude(), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Test of the columnar convertTo method, of class AbstractCrs.
+     */
+    @Test
+    public void testConvertToColumns() {
+        System.out.println("convertTo columns");
+        final AbstractCrs sysEqFK4 = new Equatorial(new FK4("B1950"));
+        final AbstractCrs sysEqFK5 = new Equatorial(new FK5("J2000"));
+        final double[] longitude = new double[100];
+        final double[] latitude = new double[100];
+        for (int i = 0; i < 100; i++) {
+            longitude[i] = i * 3.5;
+            latitude[i] = i * 1.7 - 85;
+        }
+        latitude[42] = 95;
+        longitude[43] = Double.NaN;
+        final double[] longitudeOut = new double[100];
+        final double[] latitudeOut = new double[100];
+        assertEquals(2, sysEqFK4.convertTo(sysEqFK5, longitude, latitude, longitudeOut, latitudeOut));
+        for (int i = 0; i < 100; i++) {
+            if (i == 42 || i == 43) {
+                assertTrue(Double.isNaN(longitudeOut[i]));
+                assertTrue(Double.isNaN(latitudeOut[i]));
+            } else {
+                final SkyPosition expected = sysEqFK4.convertTo(sysEqFK5, longitude[i], latitude[i]);
+                assertEquals(expected.getLongitude(), longitudeOut[i], 0.0);
+                assertEquals(expected.getLatitude(), latitudeOut[i], 0.0);
+            }
+        }
+
+        JWcsError error = null;
+        try {
+            sysEqFK4.convertTo(sysEqFK5, longitude, new double[99], longitudeOut, latitudeOut);
+        } catch (JWcsError ex) {
+            error = ex;
+        }
+        assertNotNull(error);
+        error = null;
+        try {
+            sysEqFK4.convertTo(sysEqFK5, longitude, latitude, longitudeOut, new double[99]);
+        } catch (JWcsError ex) {
+            error = ex;
+        }
+        assertNotNull(error);
+    }
+
+    /**
+     * Test of converterTo method, of class AbstractCrs.
+     */
+    @Test
+    public void testConverterTo() {
+        System.out.println("converterTo");
+        final AbstractCrs sysEqFK4 = new Equatorial(new FK4("B1950"));
+        final AbstractCrs sysEqFK5 = new Equatorial(new FK5("J2000"));
+        final AbstractCrs galactic = new Galactic();
+        final AbstractCrs[][] pairs = {
+            {sysEqFK4, sysEqFK5},
+            {sysEqFK5, sysEqFK4},
+            {sysEqFK4, galactic},
+            {galactic, new SuperGalactic()},
+            {sysEqFK5, new Ecliptic(new FK4("B1950"))}
+        };
+        final double[] coordinates = new double[2 * 100];
+        for (int i = 0; i < 100; i++) {
+            coordinates[2 * i] = i * 3.5;
+            coordinates[2 * i + 1] = i * 1.7 - 85;
+        }
+        final double[] position = new double[2];
+        for (final AbstractCrs[] pair : pairs) {
+            final CrsConverter converter = pair[0].converterTo(pair[1]);
+            final SkyPosition[] expected = pair[0].convertTo(pair[1], coordinates);
+            for (int i = 0; i < 100; i++) {
+                converter.convert(coordinates[2 * i], coordinates[2 * i + 1], position, 0);
+                assertEquals(0, NumericalUtility.separation(expected[i].getLongitude(), expected[i].getLatitude(), position[0], position[1]), EPSILON_SINGLE);
+            }
+        }
+
+        assertSame(sysEqFK4.converterTo(sysEqFK5), new Equatorial(new FK4("B1950")).converterTo(new Equatorial(new FK5("J2000"))));
+        final CrsConverter converter = sysEqFK4.converterTo(sysEqFK5);
+        sysEqFK5.setCoordinateReferenceFrame(new FK5("J2010"));
+        assertNotSame(converter, sysEqFK4.converterTo(sysEqFK5));
+    }
+
     /**
      *
      */
@@ -221,6 +339,7 @@ public class AbstractCrsTest {
         final double expectedLatitude2 = posInGal.getLatitude();
 
         final SkyPosition[] posInGalArray = sysEqIcrs.convertTo(galactic, new double[]{10.68458d, 41.26917d, 0.68458d, 1.26917d});
+        assertEquals(2, posInGalArray.length);
         assertEquals(expectedLongitude1, posInGalArray[0].getLongitude(), EPSILON_SINGLE);
         assertEquals(expectedLatitude1, posInGalArray[0].getLatitude(), EPSILON_SINGLE);
         assertEquals(expectedLongitude2, posInGalArray[1].getLongitude(), EPSILON_SINGLE);
@@ -0,0 +1,158 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.crs;
+
+import io.github.malapert.jwcs.datum.FK4;
+import io.github.malapert.jwcs.datum.FK5;
+import io.github.malapert.jwcs.position.SkyPosition;
+import io.github.malapert.jwcs.utility.ParallelBatch;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of CatalogConverter.
+ * @author Jean-Christophe Malapert
+ */
+public class CatalogConverterTest {
+
+    private static final int NB_POSITIONS = 100;
+
+    private final AbstractCrs source = new Equatorial(new FK4("B1950"));
+
+    private final AbstractCrs target = new Equatorial(new FK5("J2000"));
+
+    public CatalogConverterTest() {
+        //do nothing
+    }
+
+    /**
+     * Creates a catalog converter reading chunks of 7 positions, converted
+     * by chunks of 3 positions.
+     * @return the catalog converter
+     */
+    private CatalogConverter createConverter() {
+        return new CatalogConverter(this.source, this.target, new ParallelBatch(ForkJoinPool.commonPool(), 3), 7);
+    }
+
+    /**
+     * Test of convertText method, of class CatalogConverter.
+     * @throws IOException unexpected
+     */
+    @Test
+    public void testConvertText() throws IOException {
+        System.out.println("convertText");
+        final StringBuilder catalog = new StringBuilder("# comment\nname\tdec\tra\n");
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            catalog.append("star").append(i).append('\t').append(i * 1.7 - 85).append('\t').append(i * 3.5).append('\n');
+            if (i == 50) {
+                catalog.append("\n# another comment\n");
+            }
+        }
+        catalog.append("star\t95\t10\n");
+        final StringWriter output = new StringWriter();
+        assertEquals(NB_POSITIONS + 1, createConverter().convertText(new StringReader(catalog.toString()), output, "\t", 2, 1));
+        final String[] lines = output.toString().split("\n", -1);
+        assertEquals(NB_POSITIONS + 6, lines.length);
+        assertEquals("# comment", lines[0]);
+        assertEquals("name\tdec\tra", lines[1]);
+        assertEquals("", lines[53]);
+        assertEquals("# another comment", lines[54]);
+        assertEquals("star\tNaN\tNaN", lines[NB_POSITIONS + 4]);
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            final String[] fields = lines[i < 51 ? i + 2 : i + 4].split("\t");
+            final SkyPosition expected = this.source.convertTo(this.target, i * 3.5, i * 1.7 - 85);
+            assertEquals("star" + i, fields[0]);
+            assertEquals(expected.getLongitude(), Double.parseDouble(fields[2]), 0);
+            assertEquals(expected.getLatitude(), Double.parseDouble(fields[1]), 0);
+        }
+
+        IOException error = null;
+        try {
+            createConverter().convertText(new StringReader("1,2\n3,x\n"), new StringWriter(), ",", 0, 1);
+        } catch (IOException ex) {
+            error = ex;
+        }
+        assertNotNull(error);
+        assertTrue(error.getMessage().startsWith("line 2"));
+    }
+
+    /**
+     * Test of convertText method with a format, of class CatalogConverter.
+     * @throws IOException unexpected
+     */
+    @Test
+    public void testConvertTextWithFormat() throws IOException {
+        System.out.println("convertText with format");
+        final Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.FRANCE);
+        try {
+            final StringWriter output = new StringWriter();
+            assertEquals(2, createConverter().convertText(new StringReader("ra,dec\n10,20\nNaN,0\n"), output, ",", 0, 1, "%.3f"));
+            final SkyPosition expected = this.source.convertTo(this.target, 10, 20);
+            assertEquals("ra,dec\n"
+                    + String.format(Locale.ROOT, "%.3f,%.3f", expected.getLongitude(), expected.getLatitude()) + "\n"
+                    + "NaN,NaN\n", output.toString());
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    /**
+     * Test of convertBinary method, of class CatalogConverter.
+     * @throws IOException unexpected
+     */
+    @Test
+    public void testConvertBinary() throws IOException {
+        System.out.println("convertBinary");
+        final ByteArrayOutputStream catalog = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(catalog);
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            data.writeDouble(i * 3.5);
+            data.writeDouble(i * 1.7 - 85);
+        }
+        data.flush();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(NB_POSITIONS, createConverter().convertBinary(new ByteArrayInputStream(catalog.toByteArray()), output));
+        final DataInputStream result = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+        for (int i = 0; i < NB_POSITIONS; i++) {
+            final SkyPosition expected = this.source.convertTo(this.target, i * 3.5, i * 1.7 - 85);
+            assertEquals(expected.getLongitude(), result.readDouble(), 0);
+            assertEquals(expected.getLatitude(), result.readDouble(), 0);
+        }
+        assertEquals(-1, result.read());
+
+        IOException error = null;
+        try {
+            createConverter().convertBinary(new ByteArrayInputStream(new byte[20]), new ByteArrayOutputStream());
+        } catch (IOException ex) {
+            error = ex;
+        }
+        assertNotNull(error);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.crs;
+
+import io.github.malapert.jwcs.datum.FK5;
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of Horizontal.
+ *
+ * <p>The reference is the example 13.b of Meeus (Astronomical Algorithms) :
+ * Venus seen from the U.S. Naval Observatory at Washington on 1987 April 10,
+ * 19h21m00s UT.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class HorizontalTest {
+
+    private static final double JD = 2446896.30625;
+
+    private static final double LONGITUDE = -77.065556;
+
+    private static final double LATITUDE = 38.921389;
+
+    private static final double RA = 347.3193375;
+
+    private static final double DEC = -6.719892;
+
+    /**
+     * Equator and equinox of the date of the example.
+     */
+    private final AbstractCrs crs = new Equatorial(new FK5("J1987.27226"));
+
+    private final Horizontal horizontal = new Horizontal(LONGITUDE, LATITUDE);
+
+    public HorizontalTest() {
+        //do nothing
+    }
+
+    /**
+     * Test of getLocalSiderealTime method, of class Horizontal.
+     */
+    @Test
+    public void testGetLocalSiderealTime() {
+        System.out.println("getLocalSiderealTime");
+        assertEquals(128.7378734 + LONGITUDE, this.horizontal.getLocalSiderealTime(JD), 1e-6);
+        assertEquals(308.7378734, new Horizontal(180, 0).getLocalSiderealTime(JD), 1e-6);
+    }
+
+    /**
+     * Test of convertFrom method, of class Horizontal.
+     */
+    @Test
+    public void testConvertFrom() {
+        System.out.println("convertFrom");
+        final double[] result = this.horizontal.convertFrom(this.crs, RA, DEC, JD);
+        // Meeus measures the azimuth from the South
+        assertEquals(68.0337 + 180, result[0], 1e-2);
+        assertEquals(15.1249, result[1], 1e-2);
+
+        JWcsError error = null;
+        try {
+            new Horizontal(0, 91);
+        } catch (JWcsError ex) {
+            error = ex;
+        }
+        assertNotNull(error);
+    }
+
+    /**
+     * Test of convertFrom method on a grid of (time, position), of class
+     * Horizontal.
+     */
+    @Test
+    public void testConvertFromGrid() {
+        System.out.println("convertFromGrid");
+        final double[] jd = {JD, JD + 0.1, Double.NaN, JD + 0.5};
+        final double[] longitude = {RA, 10, 200, Double.NaN, 90};
+        final double[] latitude = {DEC, 80, -30, 0, 95};
+        final int nbPairs = jd.length * longitude.length;
+        final double[] azimuth = new double[nbPairs];
+        final double[] altitude = new double[nbPairs];
+        // a NaN time, then a NaN and an out of range position for the 3 other times
+        assertEquals(longitude.length + 2 * 3, this.horizontal.convertFrom(this.crs, jd, longitude, latitude, azimuth, altitude));
+        for (int t = 0; t < jd.length; t++) {
+            for (int p = 0; p < longitude.length; p++) {
+                final int index = t * longitude.length + p;
+                if (t == 2 || p > 2) {
+                    assertTrue(Double.isNaN(azimuth[index]));
+                    assertTrue(Double.isNaN(altitude[index]));
+                    continue;
+                }
+                final double[] expected = this.horizontal.convertFrom(this.crs, longitude[p], latitude[p], jd[t]);
+                assertEquals(expected[0], azimuth[index], 1e-9);
+                assertEquals(expected[1], altitude[index], 1e-9);
+            }
+        }
+
+        JWcsError error = null;
+        try {
+            this.horizontal.convertFrom(this.crs, jd, longitude, latitude, new double[nbPairs - 1], altitude);
+        } catch (JWcsError ex) {
+            error = ex;
+        }
+        assertNotNull(error);
+    }
+}
@@ -20,8 +20,11 @@
 package io.github.malapert.jwcs.proj;
 
 import io.github.malapert.jwcs.proj.exception.BadProjectionParameterException;
+import io.github.malapert.jwcs.proj.exception.ProjectionException;
+import io.github.malapert.jwcs.utility.AiryFunction;
 import io.github.malapert.jwcs.utility.NumericalUtility;
 import java.util.logging.Logger;
+import org.apache.commons.math3.util.FastMath;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -120,4 +123,120 @@ public class AbstractZenithalProjectionTest {
         String result = instance.getNameFamily();
         assertEquals(expResult, result);
     }  
+
+    /**
+     * Test of the spherical rotation when the native pole is the celestial
+     * pole, of class AbstractProjection.
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException
+     */
+    @Test
+    public void testRotationAtPole() throws ProjectionException {
+        System.out.println("rotation at pole");
+        final AbstractProjection instance = new TAN(30, 90);
+        final double[][] planes = {{1.0, 2.0}, {-3.0, 0.5}, {0.25, -4.0}};
+        for (final double[] plane : planes) {
+            final double[] sky = instance.projectionPlane2wcs(plane[0], plane[1]);
+            final double[] result = instance.wcs2projectionPlane(FastMath.toRadians(sky[0]), FastMath.toRadians(sky[1]));
+            assertArrayEquals(plane, result, 1e-10);
+        }
+    }
+
+    /**
+     * Test of project and projectInverse methods with an output array, of class AbstractProjection.
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException
+     */
+    @Test
+    public void testProjectWithOffset() throws ProjectionException {
+        System.out.println("project with offset");
+        final AbstractProjection instance = new TAN(30, 40);
+        final double[] buffer = {-1, -1, -1, -1, -1};
+        instance.project(1.5, -2.5, buffer, 2);
+        assertArrayEquals(instance.project(1.5, -2.5), new double[]{buffer[2], buffer[3]}, 0.0);
+        instance.projectInverse(buffer[2], buffer[3], buffer, 1);
+        assertArrayEquals(new double[]{-1, 1.5, -2.5, buffer[3], -1}, buffer, 1e-12);
+    }
+
+    /**
+     * Test of setCrval1 method, of class AbstractProjection.
+     * @throws io.github.malapert.jwcs.proj.exception.ProjectionException
+     */
+    @Test
+    public void testSetCrval1() throws ProjectionException {
+        System.out.println("setCrval1");
+        final AbstractProjection instance = new TAN(30, 40);
+        instance.setCrval1(FastMath.toRadians(50));
+        assertArrayEquals(new double[]{50, 40}, instance.projectionPlane2wcs(0, 0), 1e-12);
+        assertEquals(FastMath.toRadians(50), instance.getCoordNativePole()[0], 1e-15);
+    }
+
+    /**
+     * Test of project method, of class AIR.
+     * @throws ProjectionException 
+     */
+    @Test
+    public void testAirProject() throws ProjectionException {
+        System.out.println("AIR project");
+        final double[] thetabs = {90, 45, 0, -45};
+        final double[][] planes = {{0.01, 0.0}, {1.0, 2.0}, {-30.0, 45.0}, {80.0, -120.0}, {0.0, 300.0}};
+        for (final double thetab : thetabs) {
+            final AIR instance = new AIR(0, 90, thetab);
+            for (final double[] plane : planes) {
+                final double[] result = instance.project(plane[0], plane[1]);
+                final double radius = FastMath.hypot(FastMath.toRadians(plane[0]), FastMath.toRadians(plane[1]));
+                final AiryFunction airyFunction = new AiryFunction(FastMath.toRadians(thetab), radius);
+                final double expResult = NumericalUtility.computeFunctionSolution(1000, airyFunction, -NumericalUtility.HALF_PI, NumericalUtility.HALF_PI);
+                assertEquals(expResult, result[1], 1e-10);
+                final double[] plane2 = instance.projectInverse(result[0], result[1]);
+                assertArrayEquals(plane, plane2, 1e-8);
+            }
+        }
+    }
+
+    /**
+     * Test of project method, of class ZPN.
+     * @throws ProjectionException 
+     */
+    @Test
+    public void testZpnProject() throws ProjectionException {
+        System.out.println("ZPN project");
+        final double[] pv = {0.050, 0.975, -0.807, 0.337, -0.065, 0.010, 0.003, -0.001};
+        final ZPN instance = new ZPN(0, 90, pv);
+        final double[][] planes = {{4.0, 2.5}, {-20.0, 35.0}, {60.0, -70.0}, {0.0, 120.0}};
+        for (final double[] plane : planes) {
+            final double[] result = instance.project(plane[0], plane[1]);
+            final double[] coeff = pv.clone();
+            coeff[0] -= FastMath.hypot(FastMath.toRadians(plane[0]), FastMath.toRadians(plane[1]));
+            final double expResult = NumericalUtility.HALF_PI - NumericalUtility.computePolynomialSolution(1000, NumericalUtility.createPolynomialFunction(coeff), 0, FastMath.PI);
+            assertEquals(expResult, result[1], 1e-12);
+            final double[] plane2 = instance.projectInverse(result[0], result[1]);
+            assertArrayEquals(plane, plane2, 1e-9);
+        }
+    }
+
+    /**
+     * Test of computeConstants method, of class AbstractProjection, when the
+     * parameters are set after the construction.
+     * @throws ProjectionException 
+     */
+    @Test
+    public void testComputeConstants() throws ProjectionException {
+        System.out.println("computeConstants");
+        final AZP azp = new AZP(0, 90);
+        azp.setProjectionParameters(2, FastMath.toRadians(30));
+        final AZP expectedAzp = new AZP(0, 90, 2, 30);
+        final SIN sin = new SIN(0, 90);
+        sin.setKsi(0.2);
+        sin.setEta(-0.1);
+        final SIN expectedSin = new SIN(0, 90, 0.2, -0.1);
+        final double[] pv = {0.050, 0.975, -0.807, 0.337, -0.065, 0.010, 0.003, -0.001};
+        final ZPN zpn = new ZPN(0, 90, new double[]{0, 1, 0, 0, 0, 0, 0, 0});
+        zpn.setPv(pv);
+        final ZPN expectedZpn = new ZPN(0, 90, pv);
+        final double[][] planes = {{4.0, 2.5}, {-20.0, 15.0}, {10.0, -12.0}};
+        for (final double[] plane : planes) {
+            assertArrayEquals(expectedAzp.project(plane[0], plane[1]), azp.project(plane[0], plane[1]), 0);
+            assertArrayEquals(expectedSin.project(plane[0], plane[1]), sin.project(plane[0], plane[1]), 0);
+            assertArrayEquals(expectedZpn.project(plane[0], plane[1]), zpn.project(plane[0], plane[1]), 0);
+        }
+    }
 }
@@ -0,0 +1,110 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of FastTrigonometry.
+ * @author Jean-Christophe Malapert
+ */
+public class FastTrigonometryTest {
+
+    private static final int NB_SAMPLES = 100000;
+
+    public FastTrigonometryTest() {
+        //do nothing
+    }
+
+    /**
+     * Test of sin method, of class FastTrigonometry.
+     */
+    @Test
+    public void testSin() {
+        System.out.println("sin");
+        final Random random = new Random(0);
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            final double x = 8 * Math.PI * (2 * random.nextDouble() - 1);
+            assertEquals(Math.sin(x), FastTrigonometry.sin(x), FastTrigonometry.MAX_ERROR);
+        }
+        assertEquals(0, FastTrigonometry.sin(0), 0);
+        assertEquals(1, FastTrigonometry.sin(Math.PI / 2), FastTrigonometry.MAX_ERROR);
+        assertEquals(Math.sin(1e6), FastTrigonometry.sin(1e6), FastTrigonometry.MAX_ERROR);
+        assertTrue(Double.isNaN(FastTrigonometry.sin(Double.NaN)));
+        assertTrue(Double.isNaN(FastTrigonometry.sin(Double.POSITIVE_INFINITY)));
+    }
+
+    /**
+     * Test of cos method, of class FastTrigonometry.
+     */
+    @Test
+    public void testCos() {
+        System.out.println("cos");
+        final Random random = new Random(1);
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            final double x = 8 * Math.PI * (2 * random.nextDouble() - 1);
+            assertEquals(Math.cos(x), FastTrigonometry.cos(x), FastTrigonometry.MAX_ERROR);
+        }
+        assertEquals(1, FastTrigonometry.cos(0), 0);
+        assertEquals(-1, FastTrigonometry.cos(Math.PI), FastTrigonometry.MAX_ERROR);
+        assertEquals(Math.cos(-1e6), FastTrigonometry.cos(-1e6), FastTrigonometry.MAX_ERROR);
+        assertTrue(Double.isNaN(FastTrigonometry.cos(Double.NEGATIVE_INFINITY)));
+    }
+
+    /**
+     * Test of atan2 method, of class FastTrigonometry.
+     */
+    @Test
+    public void testAtan2() {
+        System.out.println("atan2");
+        final Random random = new Random(2);
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            final double y = random.nextGaussian();
+            final double x = random.nextGaussian();
+            assertEquals(Math.atan2(y, x), FastTrigonometry.atan2(y, x), FastTrigonometry.MAX_ERROR);
+        }
+        assertEquals(Math.PI, FastTrigonometry.atan2(0, -1), FastTrigonometry.MAX_ERROR);
+        assertEquals(Math.PI / 2, FastTrigonometry.atan2(1, 0), FastTrigonometry.MAX_ERROR);
+        assertEquals(-Math.PI / 2, FastTrigonometry.atan2(-1e300, 1e-300), FastTrigonometry.MAX_ERROR);
+        assertEquals(Math.PI / 4, FastTrigonometry.atan2(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY), FastTrigonometry.MAX_ERROR);
+        assertTrue(Double.isNaN(FastTrigonometry.atan2(Double.NaN, 1)));
+        assertEquals(Math.atan(3), FastTrigonometry.atan(3), FastTrigonometry.MAX_ERROR);
+    }
+
+    /**
+     * Test of asin and acos methods, of class FastTrigonometry.
+     */
+    @Test
+    public void testAsinAcos() {
+        System.out.println("asin and acos");
+        final Random random = new Random(3);
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            final double x = 2 * random.nextDouble() - 1;
+            assertEquals(Math.asin(x), FastTrigonometry.asin(x), FastTrigonometry.MAX_ERROR);
+            assertEquals(Math.acos(x), FastTrigonometry.acos(x), FastTrigonometry.MAX_ERROR);
+        }
+        assertEquals(Math.PI / 2, FastTrigonometry.asin(1), FastTrigonometry.MAX_ERROR);
+        assertEquals(Math.PI, FastTrigonometry.acos(-1), FastTrigonometry.MAX_ERROR);
+        assertTrue(Double.isNaN(FastTrigonometry.asin(1.5)));
+        assertTrue(Double.isNaN(FastTrigonometry.acos(-1.5)));
+    }
+}
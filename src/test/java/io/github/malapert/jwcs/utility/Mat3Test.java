@@ -0,0 +1,94 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of Mat3 and Vec3.
+ * @author Jean-Christophe Malapert
+ */
+public class Mat3Test {
+
+    private static final double EPSILON = 1e-15;
+
+    public Mat3Test() {
+        //do nothing
+    }
+
+    /**
+     * Test of multiply method, of class Mat3.
+     */
+    @Test
+    public void testMultiply() {
+        System.out.println("multiply");
+        final Mat3 m1 = Mat3.rotZ(57).multiply(Mat3.rotY(62.6)).multiply(Mat3.rotX(-12.5));
+        final Mat3 m2 = Mat3.rotY(-33.3).multiply(Mat3.rotZ(192.25));
+        final RealMatrix expected = m1.toRealMatrix().multiply(m2.toRealMatrix());
+        final double[][] result = m1.multiply(m2).toArray();
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(expected.getRow(i), result[i], EPSILON);
+        }
+        final double[] vec = {0.2, -0.5, 0.7};
+        final double[] expectedVec = expected.operate(vec);
+        assertArrayEquals(expectedVec, m1.multiply(m2).multiply(vec), EPSILON);
+        assertArrayEquals(vec, Mat3.IDENTITY.multiply(vec), 0);
+        final RealMatrix transposed = m1.transpose().multiply(m1).toRealMatrix();
+        assertTrue(transposed.subtract(MatrixUtils.createRealIdentityMatrix(3)).getNorm() < EPSILON * 10);
+    }
+
+    /**
+     * Test of rotX, rotY and rotZ methods, of class Mat3.
+     */
+    @Test
+    public void testRotation() {
+        System.out.println("rotX, rotY, rotZ");
+        final double[] x = {1, 0, 0};
+        final double[] y = {0, 1, 0};
+        final double[] z = {0, 0, 1};
+        assertArrayEquals(new double[]{0, 0, -1}, Mat3.rotX(90).multiply(y), EPSILON);
+        assertArrayEquals(new double[]{0, 0, 1}, Mat3.rotY(90).multiply(x), EPSILON);
+        assertArrayEquals(new double[]{0, -1, 0}, Mat3.rotZ(90).multiply(x), EPSILON);
+        assertArrayEquals(z, Mat3.rotZ(30).multiply(z), 0);
+    }
+
+    /**
+     * Test of fromLongLat and toLongLat methods, of class Vec3.
+     */
+    @Test
+    public void testLongLat() {
+        System.out.println("fromLongLat, toLongLat");
+        for (int lon = 0; lon < 360; lon += 15) {
+            for (int lat = -85; lat <= 85; lat += 17) {
+                final double[] xyz = Vec3.fromLongLat(lon, lat);
+                assertEquals(1, Vec3.norm(xyz[0], xyz[1], xyz[2]), EPSILON * 2);
+                final double[] position = Vec3.toLongLat(new double[]{3 * xyz[0], 3 * xyz[1], 3 * xyz[2]});
+                assertEquals(lon, position[0], 1e-12);
+                assertEquals(lat, position[1], 1e-12);
+            }
+        }
+        assertArrayEquals(new double[]{270, 0}, Vec3.toLongLat(new double[]{0, -1, 0}), 0);
+        assertArrayEquals(new double[]{0.5, 0.5, 1}, Vec3.add(new double[]{0.25, 1, 0}, new double[]{0.25, -0.5, 1}), 0);
+        assertArrayEquals(new double[]{0, 1.5, -1}, Vec3.subtract(new double[]{0.25, 1, 0}, new double[]{0.25, -0.5, 1}), 0);
+    }
+}
@@ -0,0 +1,118 @@
+/* 
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ * 
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import io.github.malapert.jwcs.proj.exception.MathematicalSolutionException;
+import org.apache.commons.math3.util.FastMath;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of NumericalUtility.
+ * @author Jean-Christophe Malapert
+ */
+public class NumericalUtilityTest {
+    
+    public NumericalUtilityTest() {
+        //do nothing
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+        //do nothing
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+        //do nothing
+    }
+    
+    @Before
+    public void setUp() {
+        //do nothing
+    }
+    
+    @After
+    public void tearDown() {
+        //do nothing
+    }
+
+    /**
+     * Test of computeNewtonSolution method, of class NumericalUtility.
+     */
+    @Test
+    public void testComputeNewtonSolution() {
+        System.out.println("computeNewtonSolution");
+        final double[] thetas = {-1.5, -0.7, 0, 0.3, 1.2, 1.5};
+        final double[] startValues = {-FastMath.PI, -1, 0, 2, 10};
+        for (final double theta : thetas) {
+            final GammaFunction function = new GammaFunction(theta);
+            final double expResult = NumericalUtility.computeFunctionSolution(1000, function, -FastMath.PI, FastMath.PI);
+            for (final double startValue : startValues) {
+                final double result = NumericalUtility.computeNewtonSolution(1000, function, -FastMath.PI, FastMath.PI, startValue);
+                assertEquals(expResult, result, 1e-12);
+            }
+        }
+    }
+
+    /**
+     * Test of computeNewtonSolution method with the PCO function, of class NumericalUtility.
+     */
+    @Test
+    public void testComputeNewtonSolutionPco() {
+        System.out.println("computeNewtonSolution PCO");
+        final double[][] positions = {{0.5, 0.7}, {-0.3, 0.1}, {0.46, -0.18}, {-0.9, -1.2}};
+        for (final double[] position : positions) {
+            final PcoFunction function = new PcoFunction(position[0], position[1]);
+            final double min = position[1] > 0 ? 0 : -NumericalUtility.HALF_PI;
+            final double max = position[1] > 0 ? NumericalUtility.HALF_PI : -0.0;
+            final double result = NumericalUtility.computeNewtonSolution(1000, function, min, max, 0.5 * (min + max));
+            assertEquals(0, function.value(result), 1e-12);
+        }
+    }
+
+    /**
+     * Test of computeQuadraticSolution method, of class NumericalUtility.
+     */
+    @Test
+    public void testComputeQuadraticSolution() {
+        System.out.println("computeQuadraticSolution");
+        // roots 0.5 and -0.5, the nearest from the North pole is selected
+        assertEquals(FastMath.PI / 6, NumericalUtility.computeQuadraticSolution(4, 0, -1), 1e-15);
+        // roots 1e-9 and 1e9, the small root is computed without cancellation
+        assertEquals(1e-9, NumericalUtility.computeQuadraticSolution(1, -(1e9 + 1e-9), 1), 1e-24);
+        // same result as the coefficients array
+        assertEquals(NumericalUtility.computeQuadraticSolution(2, 0.3, -0.7), NumericalUtility.computeQuatraticSolution(new double[]{-0.7, 0.3, 2}), 0);
+    }
+
+    /**
+     * Test of computeQuadraticSolution method without solution, of class NumericalUtility.
+     */
+    @Test(expected = MathematicalSolutionException.class)
+    public void testComputeQuadraticSolutionNoSolution() {
+        System.out.println("computeQuadraticSolution no solution");
+        // roots 2 and 3
+        NumericalUtility.computeQuadraticSolution(1, -5, 6);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2014-2022 Jean-Christophe Malapert
+ *
+ * This file is part of JWcs.
+ *
+ * JWcs is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package io.github.malapert.jwcs.utility;
+
+import io.github.malapert.jwcs.proj.AIR;
+import io.github.malapert.jwcs.proj.AbstractProjection;
+import io.github.malapert.jwcs.proj.MOL;
+import io.github.malapert.jwcs.proj.PCO;
+import io.github.malapert.jwcs.proj.exception.JWcsError;
+import io.github.malapert.jwcs.proj.exception.ProjectionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class ParallelBatchTest {
+
+    public ParallelBatchTest() {
+    }
+
+    /**
+     * Test of execute method, of class ParallelBatch.
+     */
+    @Test
+    public void testExecute() {
+        System.out.println("execute");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final double[] output = new double[1000];
+            final ParallelBatch batch = new ParallelBatch(executor, 64);
+            final BatchReport report = batch.execute(output.length, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    if (i == 130 || i == 999) {
+                        throw new IllegalStateException("position " + i);
+                    }
+                    output[i] = i;
+                }
+            }, (from, to) -> Arrays.fill(output, from, to, Double.NaN));
+            assertEquals(16, report.getNbChunks());
+            assertTrue(report.hasFailures());
+            assertEquals(2, report.getFailures().size());
+            assertEquals(128, report.getFailures().get(0).getFrom());
+            assertEquals(192, report.getFailures().get(0).getTo());
+            assertEquals(960, report.getFailures().get(1).getFrom());
+            assertEquals(1000, report.getFailures().get(1).getTo());
+            assertEquals(104, report.getNbFailedPositions());
+            assertTrue(report.getFailures().get(1).getCause() instanceof IllegalStateException);
+            for (int i = 0; i < output.length; i++) {
+                if ((i >= 128 && i < 192) || i >= 960) {
+                    assertTrue(Double.isNaN(output[i]));
+                } else {
+                    assertEquals(i, output[i], 0.0);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test of execute method with a count close to Integer.MAX_VALUE, of
+     * class ParallelBatch.
+     */
+    @Test
+    public void testExecuteLargeCount() {
+        System.out.println("execute large count");
+        final List<int[]> ranges = Collections.synchronizedList(new ArrayList<>());
+        final BatchReport report = new ParallelBatch(ForkJoinPool.commonPool(), 1 << 30).execute(Integer.MAX_VALUE,
+                (from, to) -> ranges.add(new int[]{from, to}), (from, to) -> fail());
+        assertEquals(2, report.getNbChunks());
+        assertFalse(report.hasFailures());
+        ranges.sort((range1, range2) -> Integer.compare(range1[0], range2[0]));
+        assertArrayEquals(new int[]{0, 1 << 30}, ranges.get(0));
+        assertArrayEquals(new int[]{1 << 30, Integer.MAX_VALUE}, ranges.get(1));
+    }
+
+    /**
+     * Test of execute method with an empty batch, of class ParallelBatch.
+     */
+    @Test
+    public void testExecuteEmpty() {
+        System.out.println("execute empty");
+        final BatchReport report = new ParallelBatch().execute(0, (from, to) -> fail(), (from, to) -> fail());
+        assertEquals(0, report.getNbChunks());
+        assertFalse(report.hasFailures());
+    }
+
+    /**
+     * Test of the constructor with a wrong chunk size, of class ParallelBatch.
+     */
+    @Test(expected = JWcsError.class)
+    public void testWrongChunkSize() {
+        System.out.println("wrong chunk size");
+        new ParallelBatch(ForkJoinPool.commonPool(), 0);
+    }
+
+    /**
+     * Test of execute method with the iterative projections, of class ParallelBatch.
+     * @throws ProjectionException 
+     */
+    @Test
+    public void testExecuteIterativeProjections() throws ProjectionException {
+        System.out.println("execute iterative projections");
+        final AbstractProjection[] projections = {new AIR(0, 90, 45), new MOL(), new PCO()};
+        final Random random = new Random(0);
+        final double[] planes = new double[2 * 2000];
+        for (int i = 0; i < planes.length; i++) {
+            planes[i] = 60 * random.nextDouble() - 30;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final AbstractProjection projection : projections) {
+                final double[] expResult = new double[planes.length];
+                roundTrip(projection, planes, expResult, 0, planes.length / 2);
+                assertArrayEquals(planes, expResult, 1e-8);
+                final double[] result = new double[planes.length];
+                final BatchReport report = new ParallelBatch(executor, 16).execute(planes.length / 2, (from, to) -> {
+                    roundTrip(projection, planes, result, from, to);
+                }, (from, to) -> fail());
+                assertFalse(report.hasFailures());
+                assertArrayEquals(expResult, result, 1e-10);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Projects the planes to the sky and back.
+     * @param projection projection
+     * @param planes planes as (x,y) pairs
+     * @param result array where the projected planes are written
+     * @param from first position
+     * @param to last position (exclusive)
+     */
+    private static void roundTrip(final AbstractProjection projection, final double[] planes, final double[] result, final int from, final int to) {
+        final double[] sky = new double[2];
+        for (int i = from; i < to; i++) {
+            projection.projectionPlane2wcs(planes[2 * i], planes[2 * i + 1], sky, 0);
+            projection.wcs2projectionPlane(Math.toRadians(sky[0]), Math.toRadians(sky[1]), result, 2 * i);
+        }
+    }
+}
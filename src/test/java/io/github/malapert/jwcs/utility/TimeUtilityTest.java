@@ -69,6 +69,17 @@ public class TimeUtilityTest {
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of gmst method, of class TimeUtility.
+     */
+    @Test
+    public void testGmst() {
+        System.out.println("gmst");
+        // Meeus, Astronomical Algorithms, examples 12.a and 12.b
+        assertEquals(197.693195d, TimeUtility.gmst(2446895.5d), 1e-6);
+        assertEquals(128.7378734d, TimeUtility.gmst(2446896.30625d), 1e-6);
+    }
+
     /**
      * Test of convertModifiedJulianDateToISO method, of class TimeUtility.
      */